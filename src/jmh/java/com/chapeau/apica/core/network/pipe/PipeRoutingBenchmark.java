@@ -0,0 +1,93 @@
+/**
+ * ============================================================
+ * [PipeRoutingBenchmark.java]
+ * Description: Benchmark JMH du routage BFS et du cache de routes sur des réseaux synthétiques
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Génère un réseau en grille plate de `segments` pipes (couloirs reliés, comme une base réelle)
+ * - bfsUncached : BFS complet entre deux endpoints aléatoires
+ * - routeCached : même requête via PipeRouteCache (pool d'endpoints fixe, cache chaud)
+ * - Lancer avec : ./gradlew jmh
+ * ============================================================
+ */
+package com.chapeau.apica.core.network.pipe;
+
+import net.minecraft.core.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PipeRoutingBenchmark {
+
+    /** Nombre de pipes (segments) du réseau synthétique. */
+    @Param({"1000", "10000", "50000"})
+    public int segments;
+
+    private static final int ENDPOINT_COUNT = 32;
+
+    private PipeGraph graph;
+    private PipeRouteCache cache;
+    private BlockPos[] endpoints;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void buildNetwork() {
+        graph = new PipeGraph();
+        random = new Random(42);
+
+        // Grille de couloirs : une ligne pleine sur quatre en X, reliées par des colonnes tous les 8 blocs
+        int width = (int) Math.ceil(Math.sqrt(segments * 3.0));
+        List<BlockPos> nodes = new ArrayList<>(segments);
+        for (int z = 0; z < width && nodes.size() < segments; z++) {
+            for (int x = 0; x < width && nodes.size() < segments; x++) {
+                if (z % 4 != 0 && x % 8 != 0) continue;
+                BlockPos pos = new BlockPos(x, 64, z);
+                graph.addNode(pos);
+                nodes.add(pos);
+                BlockPos west = pos.west();
+                if (graph.contains(west)) graph.addEdge(pos, west);
+                BlockPos north = pos.north();
+                if (graph.contains(north)) graph.addEdge(pos, north);
+            }
+        }
+
+        endpoints = new BlockPos[ENDPOINT_COUNT];
+        for (int i = 0; i < ENDPOINT_COUNT; i++) {
+            endpoints[i] = nodes.get(random.nextInt(nodes.size()));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCache() {
+        cache = new PipeRouteCache();
+    }
+
+    @Benchmark
+    public List<BlockPos> bfsUncached() {
+        BlockPos from = endpoints[random.nextInt(ENDPOINT_COUNT)];
+        BlockPos to = endpoints[random.nextInt(ENDPOINT_COUNT)];
+        return graph.bfsPath(from, to);
+    }
+
+    @Benchmark
+    public List<BlockPos> routeCached() {
+        BlockPos from = endpoints[random.nextInt(ENDPOINT_COUNT)];
+        BlockPos to = endpoints[random.nextInt(ENDPOINT_COUNT)];
+        return cache.getOrCompute(from, to, graph::bfsPath);
+    }
+}
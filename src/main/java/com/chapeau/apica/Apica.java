@@ -18,15 +18,21 @@
 package com.chapeau.apica;
 
 import com.chapeau.apica.client.ClientSetup;
+import com.chapeau.apica.common.block.hive.FlowerIndex;
 import com.chapeau.apica.common.block.pollenpot.PollenPotEvents;
 import com.chapeau.apica.common.block.storage.StorageBarrelBlock;
 import com.chapeau.apica.common.block.storage.StorageEvents;
+import com.chapeau.apica.common.blockentity.altar.AltarRegionListener;
 import com.chapeau.apica.common.codex.CodexManager;
 import com.chapeau.apica.common.codex.book.CodexBookManager;
 import com.chapeau.apica.common.quest.QuestManager;
 import com.chapeau.apica.core.command.ApicaCommands;
 import com.chapeau.apica.common.codex.CodexPlayerData;
 import com.chapeau.apica.common.entity.bee.MagicBeeEntity;
+import com.chapeau.apica.common.entity.bee.pathfinding.BeePathExecutor;
+import com.chapeau.apica.common.entity.bee.pathfinding.BeeSpatialHash;
+import com.chapeau.apica.common.entity.bee.pathfinding.FlightPassabilityCache;
+import com.chapeau.apica.common.entity.bee.pathfinding.SectionPortalGraph;
 import com.chapeau.apica.common.entity.companion.CompanionBeeEntity;
 import com.chapeau.apica.common.entity.delivery.DeliveryBeeEntity;
 import com.chapeau.apica.common.item.BackpackItem;
@@ -44,6 +50,8 @@ import com.chapeau.apica.core.breeding.BreedingManager;
 import com.chapeau.apica.core.gene.GeneRegistry;
 import com.chapeau.apica.core.multiblock.MultiblockEvents;
 import com.chapeau.apica.core.network.ApicaNetwork;
+import com.chapeau.apica.core.network.pipe.ItemPipeNetworkManager;
+import com.chapeau.apica.core.network.pipe.LiquidPipeNetworkManager;
 import com.chapeau.apica.core.util.CentrifugeItemHandler;
 import com.chapeau.apica.core.util.SplitFluidHandler;
 import com.chapeau.apica.core.util.SplitItemHandler;
@@ -53,8 +61,10 @@ import com.chapeau.apica.core.network.packets.AccessorySyncPacket;
 import com.chapeau.apica.core.network.packets.CodexSyncPacket;
 import com.chapeau.apica.core.network.packets.QuestSyncPacket;
 import com.chapeau.apica.common.quest.QuestPlayerData;
+import com.chapeau.apica.core.recipe.ApicaRecipeIndex;
 import com.chapeau.apica.core.recipe.ApicaRecipeSerializers;
 import com.chapeau.apica.core.recipe.ApicaRecipeTypes;
+import com.chapeau.apica.core.recipe.UncraftingRecipeIndex;
 import com.chapeau.apica.core.registry.ApicaAttachments;
 import com.chapeau.apica.core.registry.ApicaBlockEntities;
 import com.chapeau.apica.core.registry.ApicaBlocks;
@@ -288,6 +298,14 @@ public class Apica {
         NeoForge.EVENT_BUS.register(StorageEvents.class);
         NeoForge.EVENT_BUS.register(MultiblockEvents.class);
         NeoForge.EVENT_BUS.register(PollenPotEvents.class);
+        NeoForge.EVENT_BUS.register(LiquidPipeNetworkManager.class);
+        NeoForge.EVENT_BUS.register(ItemPipeNetworkManager.class);
+        NeoForge.EVENT_BUS.register(FlightPassabilityCache.class);
+        NeoForge.EVENT_BUS.register(BeePathExecutor.class);
+        NeoForge.EVENT_BUS.register(SectionPortalGraph.class);
+        NeoForge.EVENT_BUS.register(BeeSpatialHash.class);
+        NeoForge.EVENT_BUS.register(FlowerIndex.class);
+        NeoForge.EVENT_BUS.register(AltarRegionListener.class);
         NeoForge.EVENT_BUS.addListener(StorageBarrelBlock::onLeftClickBlock);
     }
 
@@ -300,6 +318,15 @@ public class Apica {
 
     private void onServerStopping(final ServerStoppingEvent event) {
         MultiblockEvents.clearAll();
+        LiquidPipeNetworkManager.clearAll();
+        FlightPassabilityCache.clearAll();
+        BeePathExecutor.clearAll();
+        SectionPortalGraph.clearAll();
+        BeeSpatialHash.clearAll();
+        FlowerIndex.clearAll();
+        ApicaRecipeIndex.clearAll();
+        UncraftingRecipeIndex.clearAll();
+        AltarRegionListener.clearAll();
         LOGGER.info("Apica server caches cleared");
     }
 
@@ -412,7 +439,7 @@ public class Apica {
         event.registerBlockEntity(
                 Capabilities.FluidHandler.BLOCK,
                 ApicaBlockEntities.LIQUID_PIPE.get(),
-                (be, side) -> be.getBuffer()
+                (be, side) -> be.getFluidHandler()
         );
 
         event.registerBlockEntity(
@@ -576,12 +603,9 @@ public class Apica {
                 Capabilities.ItemHandler.BLOCK,
                 ApicaBlockEntities.HONEY_RESERVOIR.get(),
                 (be, side) -> {
-                    if (be.getControllerPos() != null) {
-                        var provider = be.findCapabilityProvider();
-                        if (provider != null) {
-                            return provider.getItemHandlerForBlock(be.getBlockPos(), side);
-                        }
-                        return null;
+                    var provider = be.findCapabilityProvider();
+                    if (provider != null) {
+                        return provider.getItemHandlerForBlock(be.getBlockPos(), side);
                     }
                     return null;
                 }
@@ -717,6 +741,10 @@ public class Apica {
         t = System.currentTimeMillis();
         com.chapeau.apica.core.config.ResonatorConfigManager.load(server);
         LOGGER.info("[TIMING]   ResonatorConfigManager.load: {}ms", System.currentTimeMillis() - t);
+
+        t = System.currentTimeMillis();
+        com.chapeau.apica.core.config.PipeConfigManager.load(server);
+        LOGGER.info("[TIMING]   PipeConfigManager.load: {}ms", System.currentTimeMillis() - t);
     }
 
     // =========================================================================
@@ -99,6 +99,17 @@ public class AlembicHeartBlock extends Block implements EntityBlock {
             : null;
     }
 
+    @Override
+    protected void neighborChanged(BlockState state, Level level, BlockPos pos, Block neighborBlock,
+                                   BlockPos neighborPos, boolean movedByPiston) {
+        super.neighborChanged(state, level, pos, neighborBlock, neighborPos, movedByPiston);
+        // Nouveau bloc sous le coeur: le nectar en attente peut peut-etre s'ecouler
+        if (!level.isClientSide() && neighborPos.equals(pos.below())
+                && level.getBlockEntity(pos) instanceof AlembicHeartBlockEntity heartBE) {
+            heartBE.getSleepController().wake();
+        }
+    }
+
     @Override
     protected InteractionResult useWithoutItem(BlockState state, Level level, BlockPos pos,
                                                 Player player, BlockHitResult hitResult) {
@@ -48,6 +48,7 @@ import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.LevelReader;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.Vec3;
 import net.neoforged.neoforge.capabilities.Capabilities;
@@ -191,6 +192,29 @@ public class ItemPipeBlock extends AbstractPipeBlock {
         ItemPipeNetworkManager.get(level).onConnectionChanged(pos, level);
     }
 
+    @Override
+    protected void neighborChanged(BlockState state, Level level, BlockPos pos, Block neighborBlock,
+                                   BlockPos neighborPos, boolean movedByPiston) {
+        super.neighborChanged(state, level, pos, neighborBlock, neighborPos, movedByPiston);
+        wakeExtractionToward(level, pos, neighborPos);
+    }
+
+    @Override
+    public void onNeighborChange(BlockState state, LevelReader level, BlockPos pos, BlockPos neighbor) {
+        // Appelé quand un inventaire voisin change de contenu (updateNeighbourForOutputSignal)
+        wakeExtractionToward(level, pos, neighbor);
+    }
+
+    private static void wakeExtractionToward(LevelReader level, BlockPos pos, BlockPos neighborPos) {
+        if (level.isClientSide()) return;
+        if (!(level.getBlockEntity(pos) instanceof ItemPipeBlockEntity pipe)) return;
+        Direction dir = Direction.fromDelta(
+            neighborPos.getX() - pos.getX(), neighborPos.getY() - pos.getY(), neighborPos.getZ() - pos.getZ());
+        if (dir != null) {
+            pipe.wakeExtraction(dir);
+        }
+    }
+
     @Override
     protected void onPlace(BlockState state, Level level, BlockPos pos, BlockState oldState, boolean movedByPiston) {
         super.onPlace(state, level, pos, oldState, movedByPiston);
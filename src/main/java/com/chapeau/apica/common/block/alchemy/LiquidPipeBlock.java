@@ -10,7 +10,7 @@
  * |---------------------|----------------------|--------------------------------|
  * | AbstractPipeBlock   | Base pipe            | Connexion, shapes, interaction |
  * | LiquidPipeBlockEntity| BlockEntity fluide   | Gestion buffer fluide          |
- * | ApicaBlockEntities| Registre           | Types tiered                   |
+ * | LiquidPipeNetworkManager | Réseau fluide   | Notifier changements connexion |
  * ------------------------------------------------------------
  *
  * UTILISÉ PAR:
@@ -22,20 +22,18 @@
 package com.chapeau.apica.common.block.alchemy;
 
 import com.chapeau.apica.common.blockentity.alchemy.LiquidPipeBlockEntity;
-import com.chapeau.apica.core.registry.ApicaBlockEntities;
+import com.chapeau.apica.core.network.pipe.LiquidPipeNetworkManager;
 import com.mojang.serialization.MapCodec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import net.minecraft.network.chat.Component;
-import net.minecraft.sounds.SoundEvents;
-import net.minecraft.sounds.SoundSource;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.block.BaseEntityBlock;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.block.entity.BlockEntityTicker;
-import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.BlockHitResult;
 import net.neoforged.neoforge.capabilities.Capabilities;
@@ -45,6 +43,7 @@ import javax.annotation.Nullable;
 /**
  * Pipe de fluide. Se connecte aux FluidHandler.
  * Supporte le shift+clic pour vider le buffer interne.
+ * Pas de ticker: le transport est simulé par LiquidPipeNetworkManager.
  */
 public class LiquidPipeBlock extends AbstractPipeBlock {
     public static final MapCodec<LiquidPipeBlock> CODEC = simpleCodec(LiquidPipeBlock::new);
@@ -129,6 +128,32 @@ public class LiquidPipeBlock extends AbstractPipeBlock {
         return null;
     }
 
+    // --- Network hooks ---
+
+    @Override
+    public BlockState updateShape(BlockState state, Direction direction, BlockState neighborState,
+                                   LevelAccessor level, BlockPos pos, BlockPos neighborPos) {
+        BlockState newState = super.updateShape(state, direction, neighborState, level, pos, neighborPos);
+        // Meme principe que ItemPipeBlock: le blockstate n'est pas encore commite,
+        // on planifie un tick pour mettre a jour le reseau apres application.
+        if (!newState.equals(state) && level instanceof ServerLevel serverLevel) {
+            serverLevel.scheduleTick(pos, this, 1);
+        }
+        return newState;
+    }
+
+    @Override
+    protected void tick(BlockState state, ServerLevel level, BlockPos pos, RandomSource random) {
+        LiquidPipeNetworkManager.get(level).onConnectionChanged(pos, level);
+    }
+
+    @Override
+    protected void onConnectionToggled(Level level, BlockPos pos) {
+        if (level instanceof ServerLevel serverLevel) {
+            LiquidPipeNetworkManager.get(serverLevel).onConnectionChanged(pos, serverLevel);
+        }
+    }
+
     // --- BlockEntity ---
 
     @Nullable
@@ -141,18 +166,4 @@ public class LiquidPipeBlock extends AbstractPipeBlock {
             default -> new LiquidPipeBlockEntity(pos, state);
         };
     }
-
-    @Nullable
-    @Override
-    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level level, BlockState state, BlockEntityType<T> type) {
-        if (level.isClientSide()) return null;
-        BlockEntityType<?> expectedType = switch (tier) {
-            case 2 -> ApicaBlockEntities.LIQUID_PIPE_MK2.get();
-            case 3 -> ApicaBlockEntities.LIQUID_PIPE_MK3.get();
-            case 4 -> ApicaBlockEntities.LIQUID_PIPE_MK4.get();
-            default -> ApicaBlockEntities.LIQUID_PIPE.get();
-        };
-        return createTickerHelper(type, (BlockEntityType<LiquidPipeBlockEntity>) expectedType,
-            LiquidPipeBlockEntity::serverTick);
-    }
 }
@@ -0,0 +1,357 @@
+/**
+ * ============================================================
+ * [FlowerIndex.java]
+ * Description: Index par dimension des fleurs (chunk → positions par tag), maintenu par events
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Un chunk est indexe pour un tag a la premiere requete qui le couvre (palette via
+ *   FlowerSearchHelper.collectFlowersInChunk), uniquement s'il est deja charge
+ * - NeighborNotifyEvent (tout setBlock avec mise a jour): ajout/retrait de la position
+ *   pour chaque tag indexe dans ce chunk
+ * - Changements silencieux: chaque entree est reconstruite apres REFRESH_TICKS lors d'un refresh()
+ * - Les ruches s'abonnent a une region (centre, rayon, tags): elles recoivent les deltas
+ *   (ajouts et retraits) au lieu de rescanner toute la zone
+ * - Abonnements indexes par chunk couvert: un delta ne consulte que les abonnes de son chunk
+ * - Dechargement d'un chunk: ses fleurs sont notifiees comme retirees, entree oubliee
+ * - Chargement d'un chunk couvert par un abonnement: indexe pour les tags suivis,
+ *   ses fleurs sont notifiees comme ajoutees
+ * ============================================================
+ *
+ * DEPENDANCES:
+ * ------------------------------------------------------------
+ * | Dependance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | FlowerSearchHelper  | Scan par palette      | Indexation d'un chunk          |
+ * ------------------------------------------------------------
+ *
+ * UTILISE PAR:
+ * - HiveFlowerPool.java: abonnement de la ruche, requete initiale et deltas
+ * - Apica.java (enregistrement events, nettoyage a l'arret serveur)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.common.block.hive;
+
+import com.chapeau.apica.core.util.FlowerSearchHelper;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+public class FlowerIndex {
+
+    /** Age maximal d'une entree avant reconstruction (changements sans NeighborNotify). */
+    private static final int REFRESH_TICKS = 6000;
+
+    private static final Map<ResourceKey<Level>, FlowerIndex> INDEXES = new HashMap<>();
+
+    private final Long2ObjectOpenHashMap<Map<TagKey<Block>, TagEntry>> chunks = new Long2ObjectOpenHashMap<>();
+    /** Abonnements par chunk couvert par leur region. */
+    private final Long2ObjectOpenHashMap<List<Subscription>> subscriptionsByChunk = new Long2ObjectOpenHashMap<>();
+
+    public static FlowerIndex get(ServerLevel level) {
+        return INDEXES.computeIfAbsent(level.dimension(), k -> new FlowerIndex());
+    }
+
+    // --- Abonnements ---
+
+    /**
+     * Abonne une region: le listener recevra les ajouts/retraits de fleurs des tags donnes
+     * dans le cube centre sur center. Les positions deja presentes s'obtiennent via query().
+     */
+    public Subscription subscribe(BlockPos center, int radius, Set<TagKey<Block>> tags, Listener listener) {
+        Subscription subscription = new Subscription(this, center.immutable(), radius, Set.copyOf(tags), listener);
+        forEachChunk(subscription.center, radius, (chunkX, chunkZ) ->
+                subscriptionsByChunk.computeIfAbsent(ChunkPos.asLong(chunkX, chunkZ), k -> new ArrayList<>())
+                        .add(subscription));
+        return subscription;
+    }
+
+    public void unsubscribe(Subscription subscription) {
+        forEachChunk(subscription.center, subscription.radius, (chunkX, chunkZ) -> {
+            long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+            List<Subscription> chunkSubscriptions = subscriptionsByChunk.get(chunkKey);
+            if (chunkSubscriptions != null && chunkSubscriptions.remove(subscription) && chunkSubscriptions.isEmpty()) {
+                subscriptionsByChunk.remove(chunkKey);
+            }
+        });
+    }
+
+    // --- Requetes ---
+
+    /**
+     * Transmet les positions (packees) des blocs du tag dans le cube, chunks charges uniquement.
+     */
+    public void query(ServerLevel level, TagKey<Block> tag, BlockPos center, int radius, LongConsumer out) {
+        long now = level.getGameTime();
+        forEachChunk(center, radius, (chunkX, chunkZ) -> {
+            TagEntry entry = getEntry(level, chunkX, chunkZ, tag, now);
+            if (entry == null) return;
+            LongIterator it = entry.positions.iterator();
+            while (it.hasNext()) {
+                long packed = it.nextLong();
+                if (isInCube(packed, center, radius)) out.accept(packed);
+            }
+        });
+    }
+
+    /**
+     * Indexe les chunks de la region encore absents (ex: recharges) et reconstruit les entrees
+     * perimees. Les differences sont envoyees aux abonnes.
+     */
+    public void refresh(ServerLevel level, Subscription subscription) {
+        long now = level.getGameTime();
+        forEachChunk(subscription.center, subscription.radius, (chunkX, chunkZ) -> {
+            for (TagKey<Block> tag : subscription.tags) {
+                getEntry(level, chunkX, chunkZ, tag, now);
+            }
+        });
+    }
+
+    // --- Index ---
+
+    @Nullable
+    private TagEntry getEntry(ServerLevel level, int chunkX, int chunkZ, TagKey<Block> tag, long now) {
+        long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+        Map<TagKey<Block>, TagEntry> byTag = chunks.get(chunkKey);
+        TagEntry entry = byTag != null ? byTag.get(tag) : null;
+        if (entry != null && now - entry.builtAt < REFRESH_TICKS) return entry;
+
+        if (!(level.getChunkSource().getChunkNow(chunkX, chunkZ) instanceof LevelChunk chunk)) return entry;
+        return indexChunk(chunk, chunkKey, tag, entry, now);
+    }
+
+    /**
+     * Scanne le chunk pour le tag: cree l'entree ou la reconstruit, et notifie les differences.
+     */
+    private TagEntry indexChunk(LevelChunk chunk, long chunkKey, TagKey<Block> tag, @Nullable TagEntry entry, long now) {
+        LongOpenHashSet fresh = new LongOpenHashSet();
+        FlowerSearchHelper.collectFlowersInChunk(chunk, tag, fresh::add);
+
+        if (entry == null) {
+            entry = new TagEntry(fresh, now);
+            chunks.computeIfAbsent(chunkKey, k -> new HashMap<>()).put(tag, entry);
+            notifyAll(chunkKey, tag, fresh, true);
+            return entry;
+        }
+
+        // Reconstruction: deltas entre l'ancienne et la nouvelle indexation
+        LongOpenHashSet removed = new LongOpenHashSet(entry.positions);
+        removed.removeAll(fresh);
+        LongOpenHashSet added = new LongOpenHashSet(fresh);
+        added.removeAll(entry.positions);
+        entry.positions = fresh;
+        entry.builtAt = now;
+        notifyAll(chunkKey, tag, removed, false);
+        notifyAll(chunkKey, tag, added, true);
+        return entry;
+    }
+
+    private void onBlockChanged(BlockPos pos, BlockState state) {
+        long chunkKey = ChunkPos.asLong(pos);
+        Map<TagKey<Block>, TagEntry> byTag = chunks.get(chunkKey);
+        if (byTag == null) return;
+
+        long packed = pos.asLong();
+        List<Subscription> chunkSubscriptions = subscriptionsByChunk.get(chunkKey);
+        for (Map.Entry<TagKey<Block>, TagEntry> e : byTag.entrySet()) {
+            boolean present = state.is(e.getKey());
+            LongOpenHashSet positions = e.getValue().positions;
+            if ((present ? positions.add(packed) : positions.remove(packed)) && chunkSubscriptions != null) {
+                notify(chunkSubscriptions, e.getKey(), packed, present);
+            }
+        }
+    }
+
+    /**
+     * Chunk decharge: ses fleurs quittent les regions abonnees jusqu'a son rechargement.
+     */
+    private void onChunkUnloaded(long chunkKey) {
+        Map<TagKey<Block>, TagEntry> byTag = chunks.remove(chunkKey);
+        if (byTag == null) return;
+        for (Map.Entry<TagKey<Block>, TagEntry> e : byTag.entrySet()) {
+            notifyAll(chunkKey, e.getKey(), e.getValue().positions, false);
+        }
+    }
+
+    /**
+     * Chunk charge dans une region abonnee: indexe pour les tags suivis, fleurs notifiees.
+     */
+    private void onChunkLoaded(ServerLevel level, LevelChunk chunk) {
+        long chunkKey = chunk.getPos().toLong();
+        List<Subscription> chunkSubscriptions = subscriptionsByChunk.get(chunkKey);
+        if (chunkSubscriptions == null) return;
+
+        Set<TagKey<Block>> tags = new HashSet<>();
+        for (Subscription subscription : chunkSubscriptions) {
+            tags.addAll(subscription.tags);
+        }
+        Map<TagKey<Block>, TagEntry> byTag = chunks.get(chunkKey);
+        long now = level.getGameTime();
+        for (TagKey<Block> tag : tags) {
+            indexChunk(chunk, chunkKey, tag, byTag != null ? byTag.get(tag) : null, now);
+        }
+    }
+
+    private void notifyAll(long chunkKey, TagKey<Block> tag, LongOpenHashSet positions, boolean present) {
+        if (positions.isEmpty()) return;
+        List<Subscription> chunkSubscriptions = subscriptionsByChunk.get(chunkKey);
+        if (chunkSubscriptions == null) return;
+        LongIterator it = positions.iterator();
+        while (it.hasNext()) {
+            notify(chunkSubscriptions, tag, it.nextLong(), present);
+        }
+    }
+
+    private void notify(List<Subscription> chunkSubscriptions, TagKey<Block> tag, long packed, boolean present) {
+        BlockPos pos = null;
+        for (int i = 0; i < chunkSubscriptions.size(); i++) {
+            Subscription subscription = chunkSubscriptions.get(i);
+            if (subscription.tags.contains(tag) && isInCube(packed, subscription.center, subscription.radius)) {
+                if (pos == null) pos = BlockPos.of(packed);
+                subscription.listener.onFlowerChanged(tag, pos, present);
+            }
+        }
+    }
+
+    // --- Utilitaires ---
+
+    private static void forEachChunk(BlockPos center, int radius, ChunkVisitor visitor) {
+        int minX = SectionPos.blockToSectionCoord(center.getX() - radius);
+        int maxX = SectionPos.blockToSectionCoord(center.getX() + radius);
+        int minZ = SectionPos.blockToSectionCoord(center.getZ() - radius);
+        int maxZ = SectionPos.blockToSectionCoord(center.getZ() + radius);
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                visitor.visit(x, z);
+            }
+        }
+    }
+
+    private static boolean isInCube(long packed, BlockPos center, int radius) {
+        return Math.abs(BlockPos.getX(packed) - center.getX()) <= radius
+                && Math.abs(BlockPos.getY(packed) - center.getY()) <= radius
+                && Math.abs(BlockPos.getZ(packed) - center.getZ()) <= radius;
+    }
+
+    // --- Events ---
+
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        FlowerIndex index = INDEXES.get(level.dimension());
+        if (index != null) {
+            index.onBlockChanged(event.getPos(), event.getState());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        FlowerIndex index = INDEXES.get(level.dimension());
+        if (index != null) {
+            index.onChunkUnloaded(event.getChunk().getPos().toLong());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        if (!(event.getChunk() instanceof LevelChunk chunk)) return;
+        FlowerIndex index = INDEXES.get(level.dimension());
+        if (index != null) {
+            index.onChunkLoaded(level, chunk);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            INDEXES.remove(level.dimension());
+        }
+    }
+
+    /**
+     * Vide tous les index (appele a l'arret du serveur).
+     */
+    public static void clearAll() {
+        INDEXES.clear();
+    }
+
+    // --- Types ---
+
+    /**
+     * Recoit les changements de fleurs d'une region abonnee.
+     */
+    public interface Listener {
+        void onFlowerChanged(TagKey<Block> tag, BlockPos pos, boolean present);
+    }
+
+    /**
+     * Abonnement d'une ruche: region cubique et tags suivis.
+     */
+    public static final class Subscription {
+        private final FlowerIndex index;
+        private final BlockPos center;
+        private final int radius;
+        private final Set<TagKey<Block>> tags;
+        private final Listener listener;
+
+        private Subscription(FlowerIndex index, BlockPos center, int radius, Set<TagKey<Block>> tags, Listener listener) {
+            this.index = index;
+            this.center = center;
+            this.radius = radius;
+            this.tags = tags;
+            this.listener = listener;
+        }
+
+        public FlowerIndex getIndex() {
+            return index;
+        }
+
+        /**
+         * Vrai si l'abonnement couvre deja exactement cette region sur cet index.
+         */
+        public boolean matches(FlowerIndex index, BlockPos center, int radius, Set<TagKey<Block>> tags) {
+            return this.index == index && this.center.equals(center) && this.radius == radius && this.tags.equals(tags);
+        }
+    }
+
+    private static final class TagEntry {
+        private LongOpenHashSet positions;
+        private long builtAt;
+
+        TagEntry(LongOpenHashSet positions, long builtAt) {
+            this.positions = positions;
+            this.builtAt = builtAt;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkVisitor {
+        void visit(int chunkX, int chunkZ);
+    }
+}
@@ -11,6 +11,7 @@
  * | IHiveInternals           | Interface parent       | Back-reference generique       |
  * | HiveConfig               | Parametres ruche       | Spawn height, search, entry    |
  * | MagicBeeEntity           | Entite abeille         | Spawn/capture/interaction      |
+ * | BeeSpatialHash           | Voisinage abeilles     | Recherche des abeilles de retour |
  * | MagicBeeItem             | Item abeille           | Lecture/ecriture genes         |
  * | BeeBehaviorManager       | Config comportement    | Cooldowns, loot, regeneration  |
  * | BreedingManager          | Logique reproduction   | Offspring species et genes     |
@@ -26,6 +27,7 @@
 package com.chapeau.apica.common.block.hive;
 
 import com.chapeau.apica.common.entity.bee.MagicBeeEntity;
+import com.chapeau.apica.common.entity.bee.pathfinding.BeeSpatialHash;
 import com.chapeau.apica.common.item.bee.BeeLarvaItem;
 import com.chapeau.apica.common.item.bee.MagicBeeItem;
 import com.chapeau.apica.core.behavior.BeeBehaviorConfig;
@@ -425,8 +427,11 @@ public class HiveBeeLifecycleManager {
 
     void checkReturningBees(Level level, BlockPos pos) {
         AABB searchBox = new AABB(pos).inflate(config.searchInflateX(), config.searchInflateY(), config.searchInflateZ());
-        List<MagicBeeEntity> nearbyBees = level.getEntitiesOfClass(MagicBeeEntity.class, searchBox,
-            bee -> bee.hasAssignedHive() && pos.equals(bee.getAssignedHivePos()));
+        BeeSpatialHash hash = BeeSpatialHash.get(level);
+        List<MagicBeeEntity> nearbyBees = hash != null
+            ? hash.getBees(searchBox, bee -> bee.hasAssignedHive() && pos.equals(bee.getAssignedHivePos()))
+            : level.getEntitiesOfClass(MagicBeeEntity.class, searchBox,
+                bee -> bee.hasAssignedHive() && pos.equals(bee.getAssignedHivePos()));
 
         for (MagicBeeEntity bee : nearbyBees) {
             if (canBeeEnter(bee) && bee.isReturning() && bee.position().distanceTo(pos.getCenter()) < config.entryDistance()) {
@@ -4,26 +4,51 @@
  * Description: Gestion du pool partagé de fleurs pour une ruche
  * ============================================================
  *
+ * FONCTIONNEMENT:
+ * - Serveur: abonnement à FlowerIndex sur la région (centre, rayon, tags) de la ruche.
+ *   Requête initiale puis deltas (fleur posée/cassée); scanFlowers() ne fait qu'un refresh
+ *   tant que la région ne change pas
+ * - Hors serveur: scan direct via FlowerSearchHelper (comportement historique)
+ * - Fleurs de la région par tag; disponibles = région - assignées (liste + index pour
+ *   un tirage et un retrait en O(1))
+ * - Attribution par la ruche: les abeilles demandent une fleur (requestFlower), la ruche
+ *   distribue toutes les demandes en une passe par tick (distribute) en round-robin sur les
+ *   fleurs triées par distance, filtrées par tag
+ * - Anneau = fleurs de la région: trié à la reconstruction (nouvelle région ou trop d'entrées
+ *   périmées), une fleur ajoutée va en queue; une fleur rendue garde sa place, atteinte par
+ *   le curseur à son tour (pas de re-tri par retour)
+ * - Réservation prolongée à la récupération et à chaque ping de l'abeille; rendue au pool
+ *   si l'abeille ne donne plus signe de vie pendant RESERVATION_TIMEOUT
+ * ============================================================
+ *
  * DÉPENDANCES:
  * ------------------------------------------------------------
  * | Dépendance          | Raison                | Utilisation                    |
  * |---------------------|----------------------|--------------------------------|
- * | FlowerSearchHelper  | Recherche fleurs     | Scan des fleurs environnantes  |
+ * | FlowerIndex         | Index des fleurs     | Requête et deltas de la région |
+ * | FlowerSearchHelper  | Recherche fleurs     | Scan direct hors serveur       |
  * | FlowerGene          | Gène fleur           | Tag des fleurs valides         |
  * ------------------------------------------------------------
  *
  * UTILISÉ PAR:
  * - MagicHiveBlockEntity.java: Gestion des fleurs pour les abeilles
+ * - HiveMultiblockBlockEntity.java: Gestion des fleurs pour les abeilles
  *
  * ============================================================
  */
 package com.chapeau.apica.common.block.hive;
 
-import com.chapeau.apica.content.gene.flower.FlowerGene;
 import com.chapeau.apica.core.util.FlowerSearchHelper;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.tags.TagKey;
-import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import org.jetbrains.annotations.Nullable;
@@ -31,21 +56,50 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.IntFunction;
 
 /**
  * Gère le pool partagé de fleurs disponibles pour une ruche.
  * Empêche les conflits en assignant les fleurs individuellement aux abeilles.
  */
-public class HiveFlowerPool {
+public class HiveFlowerPool implements FlowerIndex.Listener {
 
     private static final int SCAN_INTERVAL = 100; // 5 secondes
+    /** Une réservation sans récupération ni ping de l'abeille pendant ce délai retourne au pool. */
+    private static final int RESERVATION_TIMEOUT = 1200; // 60 secondes
+    /** Entrées périmées tolérées dans l'anneau avant reconstruction. */
+    private static final int RING_SLACK = 16;
 
+    /** Fleurs de la région par tag (disponibles ou assignées). */
+    private final Map<TagKey<Block>, Set<BlockPos>> regionFlowers = new HashMap<>();
+    private final Set<BlockPos> assignedFlowers = new HashSet<>();
     private final List<BlockPos> availableFlowers = new ArrayList<>();
+    /** Position → index dans availableFlowers (-1 si absente). */
+    private final Object2IntOpenHashMap<BlockPos> availableIndex = new Object2IntOpenHashMap<>();
     private int scanCooldown = 0;
-    private boolean foundMushrooms = false;
+    @Nullable
+    private FlowerIndex.Subscription subscription;
+
+    // Distribution: demandes en attente, réservations par slot, slots sans fleur ce tour
+    private final IntLinkedOpenHashSet pendingSlots = new IntLinkedOpenHashSet();
+    private final Int2ObjectOpenHashMap<Reservation> reservations = new Int2ObjectOpenHashMap<>();
+    private final IntOpenHashSet deniedSlots = new IntOpenHashSet();
+    /** Fleurs de la région triées par distance à la ruche, parcourues en round-robin. */
+    private final List<BlockPos> ring = new ArrayList<>();
+    /** Fleurs de la région présentes dans l'anneau (qui peut garder des entrées périmées). */
+    private final Set<BlockPos> ringMembers = new HashSet<>();
+    private boolean ringDirty = true;
+    private int ringCursor = 0;
+
+    public HiveFlowerPool() {
+        availableIndex.defaultReturnValue(-1);
+    }
 
     // --- Scanning ---
 
@@ -63,7 +117,9 @@ public class HiveFlowerPool {
     }
 
     /**
-     * Scanne les fleurs autour de la ruche.
+     * Met à jour les fleurs autour de la ruche.
+     * Sur serveur, la région n'est relue que si elle change (rayon, tags); sinon seuls les
+     * chunks rechargés ou périmés de l'index sont reconstruits.
      *
      * @param level Le monde
      * @param hivePos Position de la ruche
@@ -75,76 +131,289 @@ public class HiveFlowerPool {
                             int radius, Collection<BlockPos> assignedFlowers) {
         if (level == null) return;
 
-        Set<BlockPos> found = new HashSet<>();
-        foundMushrooms = false;
+        if (level instanceof ServerLevel serverLevel) {
+            FlowerIndex index = FlowerIndex.get(serverLevel);
+            if (subscription != null && subscription.matches(index, hivePos, radius, flowerTags)) {
+                index.refresh(serverLevel, subscription);
+            } else {
+                release();
+                resetRegion();
+                subscription = index.subscribe(hivePos, radius, flowerTags, this);
+                for (TagKey<Block> flowerTag : flowerTags) {
+                    index.query(serverLevel, flowerTag, hivePos, radius,
+                            packed -> onFlowerChanged(flowerTag, BlockPos.of(packed), true));
+                }
+            }
+        } else {
+            resetRegion();
+            for (TagKey<Block> flowerTag : flowerTags) {
+                for (BlockPos flower : FlowerSearchHelper.findAllFlowers(level, hivePos, radius, flowerTag)) {
+                    onFlowerChanged(flowerTag, flower, true);
+                }
+            }
+        }
 
-        for (TagKey<Block> flowerTag : flowerTags) {
-            List<BlockPos> flowers = FlowerSearchHelper.findAllFlowers(level, hivePos, radius, flowerTag);
-            found.addAll(flowers);
+        syncAssigned(assignedFlowers);
+    }
 
-            // Détecter les champignons par le tag
-            if (flowerTag.location().getPath().contains("mushroom")) {
-                foundMushrooms = !flowers.isEmpty();
+    @Override
+    public void onFlowerChanged(TagKey<Block> tag, BlockPos pos, boolean present) {
+        if (present) {
+            boolean wasInRegion = isInRegion(pos);
+            if (!regionFlowers.computeIfAbsent(tag, k -> new HashSet<>()).add(pos)) return;
+            if (!wasInRegion) {
+                addToRing(pos);
+                if (!assignedFlowers.contains(pos)) {
+                    addAvailable(pos);
+                }
+            }
+        } else {
+            Set<BlockPos> flowers = regionFlowers.get(tag);
+            if (flowers == null || !flowers.remove(pos)) return;
+            if (!isInRegion(pos)) {
+                removeAvailable(pos);
+                removeFromRing(pos);
             }
         }
+    }
 
-        // Exclure les fleurs déjà assignées
-        found.removeAll(assignedFlowers);
+    /**
+     * Aligne les fleurs assignées sur celles des slots de la ruche.
+     */
+    private void syncAssigned(Collection<BlockPos> assigned) {
+        Set<BlockPos> current = new HashSet<>(assigned);
+        // Les réservations pas encore récupérées par l'abeille restent assignées
+        for (Reservation reservation : reservations.values()) {
+            current.add(reservation.pos);
+        }
+        for (BlockPos previous : assignedFlowers) {
+            if (!current.contains(previous) && isInRegion(previous)) {
+                addAvailable(previous);
+            }
+        }
+        for (BlockPos flower : current) {
+            removeAvailable(flower);
+        }
+        assignedFlowers.clear();
+        assignedFlowers.addAll(current);
+    }
 
-        // Mettre à jour et mélanger
+    private void resetRegion() {
+        regionFlowers.clear();
         availableFlowers.clear();
-        availableFlowers.addAll(found);
-        Collections.shuffle(availableFlowers);
+        availableIndex.clear();
+        ring.clear();
+        ringMembers.clear();
+        ringDirty = true;
     }
 
     // --- Assignment ---
 
     /**
-     * Assigne une fleur aléatoire depuis le pool.
-     *
-     * @param level Le monde (pour validation)
-     * @param flowerTag Tag de fleur valide pour cette abeille
-     * @param random Source de random
-     * @return La fleur assignée ou null si aucune disponible
+     * Demande une fleur pour un slot, servie au prochain distribute().
+     */
+    public void requestFlower(int slot) {
+        deniedSlots.remove(slot);
+        pendingSlots.add(slot);
+    }
+
+    public boolean isPending(int slot) {
+        return pendingSlots.contains(slot);
+    }
+
+    /**
+     * Récupère la fleur réservée pour le slot; la réservation est prolongée pour le trajet.
+     * @return la fleur, ou null si aucune réservation n'est prête
      */
     @Nullable
-    public BlockPos assignRandomFlower(Level level, @Nullable TagKey<Block> flowerTag, RandomSource random) {
-        if (availableFlowers.isEmpty()) {
+    public BlockPos claimFlower(int slot, long gameTime) {
+        Reservation reservation = reservations.get(slot);
+        if (reservation == null) return null;
+        if (reservation.claimed) {
+            // L'abeille redemande sans avoir rendu sa fleur: l'ancienne repart dans le pool
+            reservations.remove(slot);
+            giveBack(reservation.pos);
             return null;
         }
+        reservation.claimed = true;
+        reservation.lastSeen = gameTime;
+        return reservation.pos;
+    }
 
-        // Essayer jusqu'à 10 fois de trouver une fleur valide
-        for (int attempt = 0; attempt < 10 && !availableFlowers.isEmpty(); attempt++) {
-            int index = random.nextInt(availableFlowers.size());
-            BlockPos flower = availableFlowers.get(index);
+    /**
+     * Prolonge la réservation du slot (ping de l'abeille encore en vie et dehors).
+     */
+    public void keepReservation(int slot, long gameTime) {
+        Reservation reservation = reservations.get(slot);
+        if (reservation != null) {
+            reservation.lastSeen = gameTime;
+        }
+    }
 
-            if (level != null && flowerTag != null) {
-                if (FlowerSearchHelper.isValidFlower(level, flower, flowerTag)) {
-                    availableFlowers.remove(index);
-                    return flower;
-                } else {
-                    // Fleur invalide, la retirer du pool
-                    availableFlowers.remove(index);
-                }
+    /**
+     * Consomme le refus du dernier distribute() pour ce slot (aucune fleur disponible).
+     */
+    public boolean consumeDenied(int slot) {
+        return deniedSlots.remove(slot);
+    }
+
+    /**
+     * Sert toutes les demandes en attente en une passe.
+     * Chaque slot reçoit la prochaine fleur de son tag dans l'anneau trié par distance,
+     * le curseur avançant après chaque attribution pour répartir les abeilles.
+     *
+     * @param level Le monde (pour validation)
+     * @param hivePos Position de la ruche (tri par distance)
+     * @param slotTags Tag de fleur de chaque slot (null: pas de validation possible)
+     * @param gameTime Temps de jeu courant
+     */
+    public void distribute(Level level, BlockPos hivePos, IntFunction<TagKey<Block>> slotTags, long gameTime) {
+        if (pendingSlots.isEmpty()) return;
+        if (ringDirty) {
+            rebuildRing(hivePos);
+        }
+
+        IntIterator it = pendingSlots.iterator();
+        while (it.hasNext()) {
+            int slot = it.nextInt();
+            BlockPos flower = nextFlower(level, slotTags.apply(slot));
+            if (flower != null) {
+                reservations.put(slot, new Reservation(flower, gameTime));
             } else {
-                // Pas de validation possible, utiliser directement
-                availableFlowers.remove(index);
-                return flower;
+                deniedSlots.add(slot);
             }
         }
+        pendingSlots.clear();
+    }
+
+    /**
+     * Rend au pool les réservations sans nouvelle de l'abeille depuis RESERVATION_TIMEOUT.
+     *
+     * @param onExpired Reçoit le slot et la fleur (la ruche libère son slot)
+     */
+    public void expireReservations(long gameTime, SlotFlowerConsumer onExpired) {
+        if (reservations.isEmpty()) return;
+        ObjectIterator<Int2ObjectMap.Entry<Reservation>> it = reservations.int2ObjectEntrySet().iterator();
+        while (it.hasNext()) {
+            Int2ObjectMap.Entry<Reservation> entry = it.next();
+            Reservation reservation = entry.getValue();
+            if (gameTime - reservation.lastSeen < RESERVATION_TIMEOUT) continue;
+            it.remove();
+            giveBack(reservation.pos);
+            onExpired.accept(entry.getIntKey(), reservation.pos);
+        }
+    }
+
+    /**
+     * Retourne une fleur au pool (quand une abeille échoue, meurt ou rentre) et libère le slot.
+     */
+    public void returnFlower(int slot, @Nullable BlockPos flower) {
+        pendingSlots.remove(slot);
+        deniedSlots.remove(slot);
+        Reservation reservation = reservations.remove(slot);
+        if (reservation != null && !reservation.pos.equals(flower)) {
+            giveBack(reservation.pos);
+        }
+        if (flower != null) {
+            giveBack(flower);
+        }
+    }
+
+    @Nullable
+    private BlockPos nextFlower(Level level, @Nullable TagKey<Block> flowerTag) {
+        Set<BlockPos> tagFlowers = flowerTag != null ? regionFlowers.get(flowerTag) : null;
+        if (flowerTag != null && tagFlowers == null) return null;
+
+        int size = ring.size();
+        for (int step = 0; step < size; step++) {
+            int index = (ringCursor + step) % size;
+            BlockPos flower = ring.get(index);
+            if (!availableIndex.containsKey(flower)) continue;
+            if (tagFlowers != null && !tagFlowers.contains(flower)) continue;
 
+            removeAvailable(flower);
+            if (level != null && flowerTag != null && !FlowerSearchHelper.isValidFlower(level, flower, flowerTag)) {
+                // Fleur invalide pour ce tag (changement silencieux): retirée de ce tag seulement,
+                // elle reste disponible pour les autres tags de la région
+                tagFlowers.remove(flower);
+                if (isInRegion(flower)) {
+                    addAvailable(flower);
+                } else {
+                    removeFromRing(flower);
+                }
+                continue;
+            }
+            ringCursor = (index + 1) % size;
+            assignedFlowers.add(flower);
+            return flower;
+        }
         return null;
     }
 
     /**
-     * Retourne une fleur au pool (quand une abeille échoue ou meurt).
+     * Trie l'anneau par distance (région changée ou trop d'entrées périmées).
      */
-    public void returnFlower(BlockPos flower) {
-        if (flower != null && !availableFlowers.contains(flower)) {
-            availableFlowers.add(flower);
+    private void rebuildRing(BlockPos hivePos) {
+        ring.clear();
+        ring.addAll(ringMembers);
+        ring.sort(Comparator.comparingDouble(pos -> pos.distSqr(hivePos)));
+        ringCursor = ring.isEmpty() ? 0 : ringCursor % ring.size();
+        ringDirty = false;
+    }
+
+    /**
+     * Nouvelle fleur de la région: en queue de l'anneau, sans re-tri.
+     */
+    private void addToRing(BlockPos pos) {
+        if (ringMembers.add(pos) && !ringDirty) {
+            ring.add(pos);
         }
     }
 
+    /**
+     * Fleur sortie de la région: son entrée reste (ignorée, plus disponible) jusqu'à
+     * la prochaine reconstruction.
+     */
+    private void removeFromRing(BlockPos pos) {
+        if (ringMembers.remove(pos) && ring.size() > 2 * ringMembers.size() + RING_SLACK) {
+            ringDirty = true;
+        }
+    }
+
+    /**
+     * Fleur rendue: de nouveau disponible, à sa place dans l'anneau.
+     */
+    private void giveBack(BlockPos flower) {
+        assignedFlowers.remove(flower);
+        if (isInRegion(flower)) {
+            addAvailable(flower);
+        }
+    }
+
+    private void addAvailable(BlockPos pos) {
+        if (availableIndex.containsKey(pos)) return;
+        availableIndex.put(pos, availableFlowers.size());
+        availableFlowers.add(pos);
+    }
+
+    private void removeAvailable(BlockPos pos) {
+        int index = availableIndex.removeInt(pos);
+        if (index < 0) return;
+        // Retrait en O(1): le dernier élément prend la place libérée
+        BlockPos last = availableFlowers.remove(availableFlowers.size() - 1);
+        if (index < availableFlowers.size()) {
+            availableFlowers.set(index, last);
+            availableIndex.put(last, index);
+        }
+    }
+
+    private boolean isInRegion(BlockPos pos) {
+        for (Set<BlockPos> flowers : regionFlowers.values()) {
+            if (flowers.contains(pos)) return true;
+        }
+        return false;
+    }
+
     // --- Queries ---
 
     public boolean hasFlowers() {
@@ -152,7 +421,13 @@ public class HiveFlowerPool {
     }
 
     public boolean hasMushrooms() {
-        return foundMushrooms;
+        // Détecter les champignons par le tag
+        for (Map.Entry<TagKey<Block>, Set<BlockPos>> entry : regionFlowers.entrySet()) {
+            if (entry.getKey().location().getPath().contains("mushroom") && !entry.getValue().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public int getFlowerCount() {
@@ -169,8 +444,41 @@ public class HiveFlowerPool {
 
     // --- Utility ---
 
+    /**
+     * Se désabonne de l'index (ruche retirée ou chunk déchargé).
+     */
+    public void release() {
+        if (subscription != null) {
+            subscription.getIndex().unsubscribe(subscription);
+            subscription = null;
+        }
+    }
+
     public void clear() {
-        availableFlowers.clear();
+        release();
+        resetRegion();
+        assignedFlowers.clear();
+        pendingSlots.clear();
+        reservations.clear();
+        deniedSlots.clear();
+        ringCursor = 0;
         scanCooldown = 0;
     }
+
+    @FunctionalInterface
+    public interface SlotFlowerConsumer {
+        void accept(int slot, BlockPos flower);
+    }
+
+    private static final class Reservation {
+        private final BlockPos pos;
+        /** Dernière nouvelle de l'abeille: réservation, récupération ou ping. */
+        private long lastSeen;
+        private boolean claimed;
+
+        Reservation(BlockPos pos, long reservedAt) {
+            this.pos = pos;
+            this.lastSeen = reservedAt;
+        }
+    }
 }
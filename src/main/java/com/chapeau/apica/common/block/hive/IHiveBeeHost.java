@@ -13,7 +13,7 @@
  *
  * UTILISE PAR:
  * - MagicBeeEntity.java (handleBeePing, onBeeKilled)
- * - ForagingBehaviorGoal.java (getAndAssignFlower, returnFlower)
+ * - ForagingBehaviorGoal.java (getAndAssignFlower, isFlowerPending, returnFlower, admitBee)
  * - MagicHiveBlockEntity.java (implements)
  * - HiveMultiblockBlockEntity.java (implements)
  *
@@ -45,17 +45,30 @@ public interface IHiveBeeHost {
     void onBeeKilled(UUID beeUUID);
 
     /**
-     * Assigne une fleur aleatoire du pool a un slot d'abeille.
-     * @return la position de la fleur, ou null si aucune disponible
+     * Recupere la fleur reservee par la ruche pour un slot d'abeille.
+     * Sans reservation prete, la demande est enregistree et servie au prochain tick de la ruche.
+     * @return la position de la fleur, ou null (demande en attente ou aucune disponible)
      */
     @Nullable
     BlockPos getAndAssignFlower(int slot);
 
+    /**
+     * Indique si une demande de fleur du slot attend la distribution du prochain tick.
+     */
+    boolean isFlowerPending(int slot);
+
     /**
      * Retourne une fleur au pool apres utilisation par l'abeille.
      */
     void returnFlower(int slot, BlockPos flower);
 
+    /**
+     * Fait entrer directement une abeille de la ruche, sans qu'elle ait rejoint l'entree
+     * (fin d'un butinage abstrait): butin depose, fleur rendue, entite retiree.
+     * @return false si la ruche n'attend pas cette abeille
+     */
+    boolean admitBee(MagicBeeEntity bee);
+
     /**
      * Position du bloc ruche dans le monde.
      */
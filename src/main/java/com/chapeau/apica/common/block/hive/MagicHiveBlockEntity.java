@@ -156,6 +156,12 @@ public class MagicHiveBlockEntity extends BlockEntity implements MenuProvider, n
         DebugWandItem.addDisplay(this, this::buildDebugText, new Vec3(0, 1.3, 0));
     }
 
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        flowerPool.release();
+    }
+
     // === Manager Accessors (package-private, IHiveInternals) ===
 
     @Override public NonNullList<ItemStack> getItems() { return items; }
@@ -310,42 +316,62 @@ public class MagicHiveBlockEntity extends BlockEntity implements MenuProvider, n
         flowerPool.scanFlowers(level, worldPosition, flowerTags, maxRadius, assigned);
     }
 
+    /**
+     * Retourne la fleur réservée pour le slot, ou null: la demande est alors servie
+     * au prochain tick de la ruche (isFlowerPending) ou aucune fleur n'est disponible.
+     */
     @Override
     @Nullable
     public BlockPos getAndAssignFlower(int slot) {
         if (slot < 0 || slot >= BEE_SLOTS) return null;
 
-        ItemStack beeItem = items.get(slot);
-        TagKey<Block> flowerTag = null;
-        if (!beeItem.isEmpty()) {
-            BeeGeneData geneData = MagicBeeItem.getGeneData(beeItem);
-            Gene flowerGene = geneData.getGene(GeneCategory.FLOWER);
-            if (flowerGene instanceof FlowerGene fg) {
-                flowerTag = fg.getFlowerTag();
-            }
-        }
-
-        RandomSource random = level != null ? level.getRandom() : RandomSource.create();
-        BlockPos flower = flowerPool.assignRandomFlower(level, flowerTag, random);
-
+        BlockPos flower = flowerPool.claimFlower(slot, level.getGameTime());
         if (flower != null) {
             beeSlots[slot].setAssignedFlower(flower);
+            return flower;
+        }
+        if (!flowerPool.consumeDenied(slot)) {
+            flowerPool.requestFlower(slot);
         }
-        return flower;
+        return null;
+    }
+
+    @Override
+    public boolean isFlowerPending(int slot) {
+        return slot >= 0 && slot < BEE_SLOTS && flowerPool.isPending(slot);
     }
 
     @Override
     public void returnFlower(int slot, BlockPos flower) {
         if (slot >= 0 && slot < BEE_SLOTS) {
+            // Réservation déjà recyclée (timeout): la fleur appartient peut-être à un autre slot
+            if (!flower.equals(beeSlots[slot].getAssignedFlower())) return;
             beeSlots[slot].clearAssignedFlower();
         }
-        flowerPool.returnFlower(flower);
+        flowerPool.returnFlower(slot, flower);
     }
 
     @Override
     public void returnAssignedFlower(int slot) {
-        if (slot >= 0 && slot < BEE_SLOTS && beeSlots[slot].hasAssignedFlower()) {
-            flowerPool.returnFlower(beeSlots[slot].getAssignedFlower());
+        if (slot >= 0 && slot < BEE_SLOTS) {
+            flowerPool.returnFlower(slot, beeSlots[slot].getAssignedFlower());
+            beeSlots[slot].clearAssignedFlower();
+        }
+    }
+
+    /**
+     * Tag de fleur de l'abeille du slot (null si slot vide ou sans gène fleur).
+     */
+    @Nullable
+    private TagKey<Block> getFlowerTag(int slot) {
+        ItemStack beeItem = items.get(slot);
+        if (beeItem.isEmpty()) return null;
+        Gene flowerGene = MagicBeeItem.getGeneData(beeItem).getGene(GeneCategory.FLOWER);
+        return flowerGene instanceof FlowerGene fg ? fg.getFlowerTag() : null;
+    }
+
+    private void onReservationExpired(int slot, BlockPos flower) {
+        if (flower.equals(beeSlots[slot].getAssignedFlower())) {
             beeSlots[slot].clearAssignedFlower();
         }
     }
@@ -455,11 +481,24 @@ public class MagicHiveBlockEntity extends BlockEntity implements MenuProvider, n
 
     public void addBee(MagicBeeEntity bee) { lifecycleManager.addBee(bee); }
 
+    @Override
+    public boolean admitBee(MagicBeeEntity bee) {
+        if (!lifecycleManager.canBeeEnter(bee)) return false;
+        lifecycleManager.addBee(bee);
+        bee.discard();
+        return true;
+    }
+
     @Override
     public void onBeeKilled(UUID beeUUID) { lifecycleManager.onBeeKilled(beeUUID); }
 
     @Override
-    public boolean handleBeePing(MagicBeeEntity bee) { return lifecycleManager.handleBeePing(bee); }
+    public boolean handleBeePing(MagicBeeEntity bee) {
+        if (!lifecycleManager.handleBeePing(bee)) return false;
+        // Abeille en vie: sa réservation de fleur dure tant que le trajet continue
+        flowerPool.keepReservation(bee.getAssignedSlot(), level.getGameTime());
+        return true;
+    }
 
     public void insertIntoOutputSlots(ItemStack stack) { lifecycleManager.insertIntoOutputSlots(stack); }
 
@@ -481,6 +520,10 @@ public class MagicHiveBlockEntity extends BlockEntity implements MenuProvider, n
             hive.triggerFlowerScan();
         }
 
+        // Attribution des fleurs: toutes les demandes du tick en une passe
+        hive.flowerPool.expireReservations(level.getGameTime(), hive::onReservationExpired);
+        hive.flowerPool.distribute(level, pos, hive::getFlowerTag, level.getGameTime());
+
         for (int i = 0; i < BEE_SLOTS; i++) {
             hive.lifecycleManager.tickBeeSlot(i);
         }
@@ -10,6 +10,7 @@
  * |-------------------------------|----------------------|--------------------------------|
  * | MultiblockController          | Interface controleur | Formation/destruction          |
  * | MultiblockCapabilityProvider  | Delegation caps      | Capabilities sur reservoirs    |
+ * | MultiblockCapabilityCache     | Cache par face       | Handlers resolus a la formation|
  * | MultiblockIOConfig            | Config IO declarative| IO_CONFIG statique             |
  * | MultiblockPatterns            | Definition pattern   | ALEMBIC_MULTIBLOCK             |
  * | MultiblockValidator           | Validation           | tryFormMultiblock()            |
@@ -17,7 +18,9 @@
  * | SplitFluidHandler             | Handlers directionnels| inputOnly/outputOnly          |
  * | ApicaBlockEntities        | Type registration    | Constructor                    |
  * | ApicaRecipeTypes          | Recettes distilling  | Processing                     |
+ * | CachedRecipeLookup        | Cache de recette     | Recherche de recette           |
  * | ApicaFluids               | Validation fluides   | Tank filtering                 |
+ * | MachineSleepController    | Sommeil si inactif   | serverTick                     |
  * ------------------------------------------------------------
  *
  * UTILISE PAR:
@@ -32,6 +35,7 @@ import com.chapeau.apica.common.block.alchemy.AlembicHeartBlock;
 import com.chapeau.apica.common.menu.alchemy.AlembicMenu;
 import com.chapeau.apica.core.multiblock.BlockIORule;
 import com.chapeau.apica.core.multiblock.IOMode;
+import com.chapeau.apica.core.multiblock.MultiblockCapabilityCache;
 import com.chapeau.apica.core.multiblock.MultiblockCapabilityProvider;
 import com.chapeau.apica.core.multiblock.MultiblockController;
 import com.chapeau.apica.core.multiblock.MultiblockEvents;
@@ -41,8 +45,10 @@ import com.chapeau.apica.core.multiblock.MultiblockPattern;
 import com.chapeau.apica.core.multiblock.MultiblockPatterns;
 import com.chapeau.apica.core.multiblock.MultiblockProperty;
 import com.chapeau.apica.core.multiblock.MultiblockValidator;
+import com.chapeau.apica.core.util.MachineSleepController;
 import com.chapeau.apica.core.util.SplitFluidHandler;
 import com.chapeau.apica.core.recipe.ApicaRecipeTypes;
+import com.chapeau.apica.core.recipe.CachedRecipeLookup;
 import com.chapeau.apica.core.recipe.ProcessingRecipeInput;
 import com.chapeau.apica.core.recipe.type.DistillingRecipe;
 import com.chapeau.apica.core.registry.ApicaBlockEntities;
@@ -79,7 +85,7 @@ import java.util.Optional;
  * Gere la distillation: Honey + Royal Jelly -> Nectar.
  * Ne process que lorsque le multibloc est forme.
  */
-public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockController, MultiblockCapabilityProvider, MenuProvider {
+public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockController, MultiblockCapabilityProvider, MenuProvider, MachineSleepController.Sleeper {
 
     private static final int TANK_CAPACITY = 4000;
     private static final int DEFAULT_PROCESS_TIME = 80;
@@ -107,6 +113,10 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
 
     private boolean formed = false;
     private int multiblockRotation = 0;
+
+    // Handlers exposés par (réservoir, face), résolus à la formation
+    private final MultiblockCapabilityCache<IFluidHandler> fluidCapabilities = new MultiblockCapabilityCache<>(this::resolveFluidHandler);
+
     private boolean isProcessingDrain = false;
 
     private final FluidTank honeyTank = new FluidTank(TANK_CAPACITY) {
@@ -117,6 +127,7 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
         @Override
         protected void onContentsChanged() {
             setChanged();
+            sleepController.wake();
             if (!isProcessingDrain) {
                 currentRecipe = null;
             }
@@ -131,6 +142,7 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
         @Override
         protected void onContentsChanged() {
             setChanged();
+            sleepController.wake();
             if (!isProcessingDrain) {
                 currentRecipe = null;
             }
@@ -139,13 +151,18 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
 
     private final FluidTank nectarTank = new FluidTank(TANK_CAPACITY) {
         @Override
-        protected void onContentsChanged() { setChanged(); }
+        protected void onContentsChanged() {
+            setChanged();
+            sleepController.wake();
+        }
     };
 
     private int progress = 0;
     private int currentProcessTime = DEFAULT_PROCESS_TIME;
     @Nullable
     private RecipeHolder<DistillingRecipe> currentRecipe = null;
+    private final CachedRecipeLookup<ProcessingRecipeInput, DistillingRecipe> recipeLookup = new CachedRecipeLookup<>(ApicaRecipeTypes.DISTILLING);
+    private final MachineSleepController sleepController = new MachineSleepController();
 
     protected final ContainerData dataAccess = new ContainerData() {
         @Override
@@ -197,6 +214,7 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
     @Override
     public void onMultiblockFormed() {
         formed = true;
+        sleepController.wake();
         if (level != null && !level.isClientSide()) {
             // 1. Link reservoirs AU CONTROLLER d'abord (avant que les blockstates ne declenchent updateShape)
             MultiblockFormationHelper.linkReservoirs(level, worldPosition, RESERVOIR_OFFSETS, multiblockRotation, true);
@@ -224,6 +242,7 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
             MultiblockFormationHelper.setFacingOnStructureBlocks(level, worldPosition, getPattern(), multiblockRotation, facing);
 
             // 4. Invalider les capabilities de TOUS les blocs du multibloc
+            fluidCapabilities.precompute(worldPosition, IO_CONFIG.getFluidOffsets(), multiblockRotation);
             MultiblockFormationHelper.invalidateAllCapabilities(level, worldPosition, getPattern(), multiblockRotation);
 
             MultiblockEvents.registerActiveController(level, worldPosition);
@@ -251,6 +270,7 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
     @Override
     public void onMultiblockBroken() {
         formed = false;
+        sleepController.wake();
         if (level != null && !level.isClientSide()) {
             // 1. Changer les blockstates d'abord
             BlockState state = level.getBlockState(worldPosition);
@@ -263,6 +283,7 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
             MultiblockFormationHelper.linkReservoirs(level, worldPosition, RESERVOIR_OFFSETS, multiblockRotation, false);
 
             // 3. Invalider les capabilities de TOUS les blocs du multibloc
+            fluidCapabilities.clear();
             MultiblockFormationHelper.invalidateAllCapabilities(level, worldPosition, getPattern(), multiblockRotation);
 
             multiblockRotation = 0;
@@ -295,7 +316,11 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
     @Nullable
     public IFluidHandler getFluidHandlerForBlock(BlockPos worldPos, @Nullable Direction face) {
         if (!formed) return null;
+        return fluidCapabilities.get(worldPos, face);
+    }
 
+    @Nullable
+    private IFluidHandler resolveFluidHandler(BlockPos worldPos, @Nullable Direction face) {
         IOMode mode = IO_CONFIG.getFluidMode(worldPosition, worldPos, face, multiblockRotation);
         if (mode == null || mode == IOMode.NONE) return null;
 
@@ -326,10 +351,11 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
     // ==================== Processing ====================
 
     public static void serverTick(Level level, BlockPos pos, BlockState state, AlembicHeartBlockEntity be) {
-        if (!be.formed) return;
+        if (!be.formed || be.sleepController.isAsleep(level)) return;
 
         boolean wasDistilling = state.getValue(AlembicHeartBlock.DISTILLING);
         boolean isDistilling = false;
+        MachineSleepController.Reason idleReason = null;
 
         Optional<RecipeHolder<DistillingRecipe>> recipe = be.findRecipe(level);
         if (recipe.isPresent()) {
@@ -347,10 +373,14 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
                 }
             } else {
                 be.progress = 0;
+                idleReason = MachineSleepController.Reason.OUTPUT_FULL;
             }
         } else {
             be.progress = 0;
             be.currentRecipe = null;
+            idleReason = be.honeyTank.isEmpty() && be.royalJellyTank.isEmpty()
+                ? MachineSleepController.Reason.NO_INPUT
+                : MachineSleepController.Reason.NO_RECIPE;
         }
 
         if (be.nectarTank.getFluidAmount() > 0) {
@@ -362,7 +392,11 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
                 if (canFill > 0) {
                     FluidStack actualTransfer = new FluidStack(be.nectarTank.getFluid().getFluid(), canFill);
                     int filled = cap.fill(actualTransfer, IFluidHandler.FluidAction.EXECUTE);
-                    if (filled > 0) be.nectarTank.drain(filled, IFluidHandler.FluidAction.EXECUTE);
+                    if (filled > 0) {
+                        be.nectarTank.drain(filled, IFluidHandler.FluidAction.EXECUTE);
+                        // Le nectar s'ecoule: sortie liberee, pas de sommeil
+                        idleReason = null;
+                    }
                 }
             }
         }
@@ -371,6 +405,10 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
             level.setBlock(pos, state.setValue(AlembicHeartBlock.DISTILLING, isDistilling), 3);
         }
 
+        if (idleReason != null) {
+            be.sleepController.sleep(level, idleReason);
+        }
+
         be.setChanged();
     }
 
@@ -382,11 +420,7 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
             List.of(),
             List.of(honeyTank.getFluid(), royalJellyTank.getFluid())
         );
-        return level.getRecipeManager().getRecipeFor(
-            ApicaRecipeTypes.DISTILLING.get(),
-            input,
-            level
-        );
+        return recipeLookup.find(level, input);
     }
 
     private boolean canProcess(DistillingRecipe recipe) {
@@ -412,6 +446,9 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
     public FluidTank getRoyalJellyTank() { return royalJellyTank; }
     public FluidTank getNectarTank() { return nectarTank; }
 
+    @Override
+    public MachineSleepController getSleepController() { return sleepController; }
+
     // ==================== MenuProvider ====================
 
     @Override
@@ -463,6 +500,7 @@ public class AlembicHeartBlockEntity extends BlockEntity implements MultiblockCo
         super.loadAdditional(tag, registries);
         formed = tag.getBoolean("Formed");
         multiblockRotation = tag.getInt("MultiblockRotation");
+        fluidCapabilities.clear();
         honeyTank.readFromNBT(registries, tag.getCompound("HoneyTank"));
         royalJellyTank.readFromNBT(registries, tag.getCompound("RoyalJellyTank"));
         nectarTank.readFromNBT(registries, tag.getCompound("NectarTank"));
@@ -10,6 +10,8 @@
  * - Honey: 1 slot in/out, 100 ticks (2x)
  * - Royal: 2 slots in/out, 67 ticks (3x), parallele
  * - Nectar: 2 slots in/out, 33 ticks (6x), parallele
+ * - Recherche de recette mise en cache par slot (CachedRecipeLookup)
+ * - Aucun slot actif: en sommeil jusqu'a un changement des slots ou du tank
  *
  * DEPENDANCES:
  * ------------------------------------------------------------
@@ -19,6 +21,8 @@
  * | ApicaFurnaceMenu        | Menu container       | createMenu                     |
  * | ApicaFluids             | Fluides du mod       | Validation du fuel             |
  * | ApicaBlockEntities      | Registre BE          | Type factory                   |
+ * | CachedRecipeLookup      | Cache de recette     | Recette smelting par slot      |
+ * | MachineSleepController  | Sommeil si inactif   | serverTick                     |
  * ------------------------------------------------------------
  *
  * UTILISE PAR:
@@ -31,8 +35,10 @@ package com.chapeau.apica.common.blockentity.alchemy;
 
 import com.chapeau.apica.common.block.alchemy.ApicaFurnaceBlock;
 import com.chapeau.apica.common.menu.alchemy.ApicaFurnaceMenu;
+import com.chapeau.apica.core.recipe.CachedRecipeLookup;
 import com.chapeau.apica.core.registry.ApicaBlockEntities;
 import com.chapeau.apica.core.registry.ApicaFluids;
+import com.chapeau.apica.core.util.MachineSleepController;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
@@ -58,9 +64,11 @@ import net.neoforged.neoforge.fluids.capability.templates.FluidTank;
 import net.neoforged.neoforge.items.ItemStackHandler;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
-public class ApicaFurnaceBlockEntity extends BlockEntity implements MenuProvider {
+public class ApicaFurnaceBlockEntity extends BlockEntity implements MenuProvider, MachineSleepController.Sleeper {
     public static final int TANK_CAPACITY = 8000;
     public static final int FUEL_PER_ITEM = 31;
 
@@ -80,6 +88,9 @@ public class ApicaFurnaceBlockEntity extends BlockEntity implements MenuProvider
 
     private final int[] progress;
     private final int[] maxProgress;
+    // Une recherche de recette par slot d'entree (slots paralleles independants)
+    private final List<CachedRecipeLookup<SingleRecipeInput, SmeltingRecipe>> recipeLookups;
+    private final MachineSleepController sleepController = new MachineSleepController();
 
     protected final ContainerData dataAccess;
 
@@ -101,12 +112,18 @@ public class ApicaFurnaceBlockEntity extends BlockEntity implements MenuProvider
 
         this.inputSlots = new ItemStackHandler(inputCount) {
             @Override
-            protected void onContentsChanged(int slot) { setChanged(); }
+            protected void onContentsChanged(int slot) {
+                setChanged();
+                sleepController.wake();
+            }
         };
 
         this.outputSlots = new ItemStackHandler(outputCount) {
             @Override
-            protected void onContentsChanged(int slot) { setChanged(); }
+            protected void onContentsChanged(int slot) {
+                setChanged();
+                sleepController.wake();
+            }
         };
 
         this.fuelTank = new FluidTank(TANK_CAPACITY) {
@@ -115,7 +132,10 @@ public class ApicaFurnaceBlockEntity extends BlockEntity implements MenuProvider
                 return stack.getFluid().isSame(acceptedFluid);
             }
             @Override
-            protected void onContentsChanged() { setChanged(); }
+            protected void onContentsChanged() {
+                setChanged();
+                sleepController.wake();
+            }
         };
 
         this.progress = new int[inputCount];
@@ -123,6 +143,10 @@ public class ApicaFurnaceBlockEntity extends BlockEntity implements MenuProvider
         for (int i = 0; i < inputCount; i++) {
             this.maxProgress[i] = processTime;
         }
+        this.recipeLookups = new ArrayList<>(inputCount);
+        for (int i = 0; i < inputCount; i++) {
+            this.recipeLookups.add(new CachedRecipeLookup<>(() -> RecipeType.SMELTING));
+        }
 
         this.dataAccess = new ContainerData() {
             @Override
@@ -162,12 +186,19 @@ public class ApicaFurnaceBlockEntity extends BlockEntity implements MenuProvider
     }
 
     public static void serverTick(Level level, BlockPos pos, BlockState state, ApicaFurnaceBlockEntity be) {
+        if (be.sleepController.isAsleep(level)) return;
+
         boolean wasWorking = state.getValue(ApicaFurnaceBlock.WORKING);
         boolean isWorking = false;
+        // Raison la plus parlante parmi les slots inactifs (un slot vide ne masque pas les autres)
+        MachineSleepController.Reason idleReason = MachineSleepController.Reason.NO_INPUT;
 
         for (int slot = 0; slot < be.inputSlotCount; slot++) {
-            if (be.processSlot(level, slot)) {
+            MachineSleepController.Reason slotReason = be.processSlot(level, slot);
+            if (slotReason == null) {
                 isWorking = true;
+            } else if (idleReason == MachineSleepController.Reason.NO_INPUT) {
+                idleReason = slotReason;
             }
         }
 
@@ -175,35 +206,40 @@ public class ApicaFurnaceBlockEntity extends BlockEntity implements MenuProvider
             level.setBlock(pos, state.setValue(ApicaFurnaceBlock.WORKING, isWorking), 3);
         }
 
+        if (!isWorking) {
+            be.sleepController.sleep(level, idleReason);
+        }
+
         be.setChanged();
     }
 
-    private boolean processSlot(Level level, int slot) {
+    /**
+     * Fait avancer un slot d'entree.
+     * @return null si le slot travaille, sinon la raison de son inactivite
+     */
+    @Nullable
+    private MachineSleepController.Reason processSlot(Level level, int slot) {
         ItemStack input = inputSlots.getStackInSlot(slot);
         if (input.isEmpty()) {
             progress[slot] = 0;
-            return false;
+            return MachineSleepController.Reason.NO_INPUT;
         }
 
-        Optional<RecipeHolder<SmeltingRecipe>> recipeOpt = level.getRecipeManager().getRecipeFor(
-            RecipeType.SMELTING,
-            new SingleRecipeInput(input),
-            level
-        );
+        Optional<RecipeHolder<SmeltingRecipe>> recipeOpt = recipeLookups.get(slot).find(level, new SingleRecipeInput(input));
 
         if (recipeOpt.isEmpty()) {
             progress[slot] = 0;
-            return false;
+            return MachineSleepController.Reason.NO_RECIPE;
         }
 
         ItemStack result = recipeOpt.get().value().getResultItem(level.registryAccess());
         if (!canInsertOutput(slot, result)) {
-            return false;
+            return MachineSleepController.Reason.OUTPUT_FULL;
         }
 
         if (progress[slot] == 0) {
             if (fuelTank.getFluidAmount() < FUEL_PER_ITEM) {
-                return false;
+                return MachineSleepController.Reason.NO_FUEL;
             }
             fuelTank.drain(FUEL_PER_ITEM, IFluidHandler.FluidAction.EXECUTE);
             maxProgress[slot] = processTime;
@@ -217,7 +253,7 @@ public class ApicaFurnaceBlockEntity extends BlockEntity implements MenuProvider
             progress[slot] = 0;
         }
 
-        return true;
+        return null;
     }
 
     private boolean canInsertOutput(int slot, ItemStack result) {
@@ -244,6 +280,9 @@ public class ApicaFurnaceBlockEntity extends BlockEntity implements MenuProvider
     public boolean isDualSlot() { return inputSlotCount > 1; }
     public Fluid getAcceptedFluid() { return acceptedFluid; }
 
+    @Override
+    public MachineSleepController getSleepController() { return sleepController; }
+
     @Override
     public Component getDisplayName() {
         return Component.translatable(translationKey);
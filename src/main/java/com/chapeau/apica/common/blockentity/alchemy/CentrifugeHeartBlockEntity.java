@@ -10,6 +10,7 @@
  * |-------------------------------|----------------------|--------------------------------|
  * | MultiblockController          | Interface controleur | Formation/destruction          |
  * | MultiblockCapabilityProvider  | Delegation caps      | Capabilities sur reservoirs    |
+ * | MultiblockCapabilityCache     | Cache par face       | Handlers resolus a la formation|
  * | MultiblockPatterns            | Definition pattern   | CENTRIFUGE_MULTIBLOCK          |
  * | MultiblockValidator           | Validation           | tryFormMultiblock()            |
  * | MultiblockEvents              | Enregistrement       | Detection destruction          |
@@ -17,7 +18,9 @@
  * | SplitItemHandler              | Split insert/extract | Capability item                |
  * | ApicaBlockEntities        | Type registration    | Constructor                    |
  * | ApicaRecipeTypes          | Recettes centrifuge  | Processing                     |
+ * | CachedRecipeLookup        | Cache de recette     | Recherche de recette           |
  * | ApicaFluids               | Validation fluides   | Tank filtering                 |
+ * | MachineSleepController    | Sommeil si inactif   | serverTick                     |
  * ------------------------------------------------------------
  *
  * UTILISE PAR:
@@ -34,6 +37,7 @@ import com.chapeau.apica.common.blockentity.altar.HoneyReservoirBlockEntity;
 import com.chapeau.apica.common.menu.alchemy.PoweredCentrifugeMenu;
 import com.chapeau.apica.core.multiblock.BlockIORule;
 import com.chapeau.apica.core.multiblock.IOMode;
+import com.chapeau.apica.core.multiblock.MultiblockCapabilityCache;
 import com.chapeau.apica.core.multiblock.MultiblockCapabilityProvider;
 import com.chapeau.apica.core.multiblock.MultiblockController;
 import com.chapeau.apica.core.multiblock.MultiblockEvents;
@@ -43,9 +47,11 @@ import com.chapeau.apica.core.multiblock.MultiblockPattern;
 import com.chapeau.apica.core.multiblock.MultiblockPatterns;
 import com.chapeau.apica.core.multiblock.MultiblockProperty;
 import com.chapeau.apica.core.multiblock.MultiblockValidator;
+import com.chapeau.apica.core.util.MachineSleepController;
 import com.chapeau.apica.core.util.SplitFluidHandler;
 import com.chapeau.apica.core.util.SplitItemHandler;
 import com.chapeau.apica.core.recipe.ApicaRecipeTypes;
+import com.chapeau.apica.core.recipe.CachedRecipeLookup;
 import com.chapeau.apica.core.recipe.ProcessingOutput;
 import com.chapeau.apica.core.recipe.ProcessingRecipeInput;
 import com.chapeau.apica.core.recipe.type.CentrifugeRecipe;
@@ -85,7 +91,7 @@ import java.util.Optional;
  * Equivalent au PoweredCentrifugeBlockEntity TIER3 (25mB/tick, 32000mB, 0.3x process time).
  * Ne process que lorsque le multibloc est forme.
  */
-public class CentrifugeHeartBlockEntity extends BlockEntity implements MultiblockController, MultiblockCapabilityProvider, MenuProvider {
+public class CentrifugeHeartBlockEntity extends BlockEntity implements MultiblockController, MultiblockCapabilityProvider, MenuProvider, MachineSleepController.Sleeper {
 
     private static final int HONEY_CONSUMPTION = 25;
     private static final int TANK_CAPACITY = 32000;
@@ -128,6 +134,11 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
 
     private boolean formed = false;
     private int multiblockRotation = 0;
+
+    // Handlers exposés par (réservoir, face), résolus à la formation
+    private final MultiblockCapabilityCache<IFluidHandler> fluidCapabilities = new MultiblockCapabilityCache<>(this::resolveFluidHandler);
+    private final MultiblockCapabilityCache<IItemHandler> itemCapabilities = new MultiblockCapabilityCache<>(this::resolveItemHandler);
+
     private ItemStack previousInputType = ItemStack.EMPTY;
 
     // Animation (client-side principalement)
@@ -139,6 +150,7 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
         @Override
         protected void onContentsChanged(int slot) {
             setChanged();
+            sleepController.wake();
             currentRecipe = null;
             checkInputChanged();
         }
@@ -146,7 +158,10 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
 
     private final ItemStackHandler outputSlots = new ItemStackHandler(4) {
         @Override
-        protected void onContentsChanged(int slot) { setChanged(); }
+        protected void onContentsChanged(int slot) {
+            setChanged();
+            sleepController.wake();
+        }
     };
 
     private final FluidTank fuelTank = new FluidTank(TANK_CAPACITY) {
@@ -155,12 +170,18 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
             return stack.getFluid() == ApicaFluids.HONEY_SOURCE.get();
         }
         @Override
-        protected void onContentsChanged() { setChanged(); }
+        protected void onContentsChanged() {
+            setChanged();
+            sleepController.wake();
+        }
     };
 
     private final FluidTank outputTank = new FluidTank(TANK_CAPACITY) {
         @Override
-        protected void onContentsChanged() { setChanged(); }
+        protected void onContentsChanged() {
+            setChanged();
+            sleepController.wake();
+        }
     };
 
     private final SplitFluidHandler splitFluidHandler;
@@ -170,6 +191,8 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
     private int currentProcessTime = DEFAULT_PROCESS_TIME;
     @Nullable
     private RecipeHolder<CentrifugeRecipe> currentRecipe = null;
+    private final CachedRecipeLookup<ProcessingRecipeInput, CentrifugeRecipe> recipeLookup = new CachedRecipeLookup<>(ApicaRecipeTypes.CENTRIFUGING);
+    private final MachineSleepController sleepController = new MachineSleepController();
 
     protected final ContainerData dataAccess = new ContainerData() {
         @Override
@@ -218,6 +241,7 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
     @Override
     public void onMultiblockFormed() {
         formed = true;
+        sleepController.wake();
         if (level != null && !level.isClientSide()) {
             // 1. Link réservoirs AU CONTROLLER d'abord (avant que les blockstates ne déclenchent updateShape)
             MultiblockFormationHelper.linkReservoirs(level, worldPosition, new BlockPos[][]{FUEL_RESERVOIR_OFFSETS, OUTPUT_RESERVOIR_OFFSETS}, multiblockRotation, true);
@@ -230,6 +254,8 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
             MultiblockFormationHelper.setFormedOnStructureBlocks(level, worldPosition, getPattern(), MultiblockProperty.CENTRIFUGE, multiblockRotation);
 
             // 3. Invalider les capabilities de TOUS les blocs du multibloc
+            fluidCapabilities.precompute(worldPosition, IO_CONFIG.getFluidOffsets(), multiblockRotation);
+            itemCapabilities.precompute(worldPosition, IO_CONFIG.getItemOffsets(), multiblockRotation);
             MultiblockFormationHelper.invalidateAllCapabilities(level, worldPosition, getPattern(), multiblockRotation);
 
             MultiblockEvents.registerActiveController(level, worldPosition);
@@ -240,6 +266,7 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
     @Override
     public void onMultiblockBroken() {
         formed = false;
+        sleepController.wake();
         if (level != null && !level.isClientSide()) {
             // 1. Changer les blockstates d'abord
             BlockState state = level.getBlockState(worldPosition);
@@ -252,6 +279,8 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
             MultiblockFormationHelper.linkReservoirs(level, worldPosition, new BlockPos[][]{FUEL_RESERVOIR_OFFSETS, OUTPUT_RESERVOIR_OFFSETS}, multiblockRotation, false);
 
             // 3. Invalider les capabilities de TOUS les blocs du multibloc
+            fluidCapabilities.clear();
+            itemCapabilities.clear();
             MultiblockFormationHelper.invalidateAllCapabilities(level, worldPosition, getPattern(), multiblockRotation);
 
             MultiblockEvents.unregisterController(level, worldPosition);
@@ -284,6 +313,11 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
     @Nullable
     public IFluidHandler getFluidHandlerForBlock(BlockPos worldPos, @Nullable Direction face) {
         if (!formed) return null;
+        return fluidCapabilities.get(worldPos, face);
+    }
+
+    @Nullable
+    private IFluidHandler resolveFluidHandler(BlockPos worldPos, @Nullable Direction face) {
         IOMode mode = IO_CONFIG.getFluidMode(worldPosition, worldPos, face, multiblockRotation);
         if (mode == null || mode == IOMode.NONE) return null;
         return switch (mode) {
@@ -298,6 +332,11 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
     @Nullable
     public IItemHandler getItemHandlerForBlock(BlockPos worldPos, @Nullable Direction face) {
         if (!formed) return null;
+        return itemCapabilities.get(worldPos, face);
+    }
+
+    @Nullable
+    private IItemHandler resolveItemHandler(BlockPos worldPos, @Nullable Direction face) {
         IOMode mode = IO_CONFIG.getItemMode(worldPosition, worldPos, face, multiblockRotation);
         if (mode == null || mode == IOMode.NONE) return null;
         return switch (mode) {
@@ -357,10 +396,11 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
     }
 
     public static void serverTick(Level level, BlockPos pos, BlockState state, CentrifugeHeartBlockEntity be) {
-        if (!be.formed) return;
+        if (!be.formed || be.sleepController.isAsleep(level)) return;
 
         boolean wasWorking = state.getValue(CentrifugeHeartBlock.WORKING);
         boolean isWorking = false;
+        MachineSleepController.Reason idleReason = null;
 
         if (be.currentRecipe == null) {
             be.findValidRecipe(level);
@@ -377,9 +417,16 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
                     be.progress = 0;
                     be.currentRecipe = null;
                 }
+            } else {
+                idleReason = be.fuelTank.getFluidAmount() < HONEY_CONSUMPTION
+                    ? MachineSleepController.Reason.NO_FUEL
+                    : MachineSleepController.Reason.OUTPUT_FULL;
             }
         } else {
             be.progress = 0;
+            idleReason = be.inputSlot.getStackInSlot(0).isEmpty()
+                ? MachineSleepController.Reason.NO_INPUT
+                : MachineSleepController.Reason.NO_RECIPE;
         }
 
         if (wasWorking != isWorking) {
@@ -391,6 +438,12 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
             be.updateReservoirLevels();
         }
 
+        if (idleReason != null) {
+            // Niveaux a jour avant le sommeil (plus de mise a jour periodique)
+            be.updateReservoirLevels();
+            be.sleepController.sleep(level, idleReason);
+        }
+
         be.setChanged();
     }
 
@@ -445,11 +498,7 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
         }
 
         ProcessingRecipeInput input = ProcessingRecipeInput.ofItem(stack);
-        Optional<RecipeHolder<CentrifugeRecipe>> recipe = level.getRecipeManager().getRecipeFor(
-            ApicaRecipeTypes.CENTRIFUGING.get(),
-            input,
-            level
-        );
+        Optional<RecipeHolder<CentrifugeRecipe>> recipe = recipeLookup.find(level, input);
 
         if (recipe.isPresent()) {
             currentRecipe = recipe.get();
@@ -519,6 +568,9 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
     public SplitFluidHandler getSplitFluidHandler() { return splitFluidHandler; }
     public SplitItemHandler getSplitItemHandler() { return splitItemHandler; }
 
+    @Override
+    public MachineSleepController getSleepController() { return sleepController; }
+
     // ==================== MenuProvider ====================
 
     @Override
@@ -571,6 +623,8 @@ public class CentrifugeHeartBlockEntity extends BlockEntity implements Multibloc
         super.loadAdditional(tag, registries);
         formed = tag.getBoolean("Formed");
         multiblockRotation = tag.getInt("MultiblockRotation");
+        fluidCapabilities.clear();
+        itemCapabilities.clear();
         inputSlot.deserializeNBT(registries, tag.getCompound("Input"));
         outputSlots.deserializeNBT(registries, tag.getCompound("Output"));
         fuelTank.readFromNBT(registries, tag.getCompound("FuelTank"));
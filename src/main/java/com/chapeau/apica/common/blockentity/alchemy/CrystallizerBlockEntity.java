@@ -7,6 +7,8 @@
  * FONCTIONNEMENT:
  * - Transforme les fluides en cristaux selon les recettes JSON
  * - Process time: configurable via recette
+ * - Inactive (tank vide, pas de recette, sortie occupee): en sommeil jusqu'a
+ *   un changement du tank ou de la sortie (MachineSleepController)
  * ============================================================
  */
 package com.chapeau.apica.common.blockentity.alchemy;
@@ -14,9 +16,11 @@ package com.chapeau.apica.common.blockentity.alchemy;
 import com.chapeau.apica.common.block.alchemy.CrystallizerBlock;
 import com.chapeau.apica.common.menu.alchemy.CrystallizerMenu;
 import com.chapeau.apica.core.recipe.ApicaRecipeTypes;
+import com.chapeau.apica.core.recipe.CachedRecipeLookup;
 import com.chapeau.apica.core.recipe.ProcessingRecipeInput;
 import com.chapeau.apica.core.recipe.type.CrystallizingRecipe;
 import com.chapeau.apica.core.registry.ApicaBlockEntities;
+import com.chapeau.apica.core.util.MachineSleepController;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
@@ -41,7 +45,7 @@ import net.neoforged.neoforge.items.ItemStackHandler;
 import javax.annotation.Nullable;
 import java.util.Optional;
 
-public class CrystallizerBlockEntity extends BlockEntity implements MenuProvider {
+public class CrystallizerBlockEntity extends BlockEntity implements MenuProvider, MachineSleepController.Sleeper {
     private static final int DEFAULT_PROCESS_TIME = 100;
 
     // Flag pour eviter l'invalidation de la recette quand la machine drain elle-meme
@@ -51,6 +55,7 @@ public class CrystallizerBlockEntity extends BlockEntity implements MenuProvider
         @Override
         protected void onContentsChanged() {
             setChanged();
+            sleepController.wake();
             // Invalider seulement si ce n'est pas un drain interne
             if (!isProcessingDrain) {
                 currentRecipe = null;
@@ -60,7 +65,10 @@ public class CrystallizerBlockEntity extends BlockEntity implements MenuProvider
 
     private final ItemStackHandler outputSlot = new ItemStackHandler(1) {
         @Override
-        protected void onContentsChanged(int slot) { setChanged(); }
+        protected void onContentsChanged(int slot) {
+            setChanged();
+            sleepController.wake();
+        }
 
         @Override
         public boolean isItemValid(int slot, ItemStack stack) {
@@ -72,6 +80,8 @@ public class CrystallizerBlockEntity extends BlockEntity implements MenuProvider
     private int currentProcessTime = DEFAULT_PROCESS_TIME;
     @Nullable
     private RecipeHolder<CrystallizingRecipe> currentRecipe = null;
+    private final CachedRecipeLookup<ProcessingRecipeInput, CrystallizingRecipe> recipeLookup = new CachedRecipeLookup<>(ApicaRecipeTypes.CRYSTALLIZING);
+    private final MachineSleepController sleepController = new MachineSleepController();
 
     protected final ContainerData dataAccess = new ContainerData() {
         @Override
@@ -97,8 +107,11 @@ public class CrystallizerBlockEntity extends BlockEntity implements MenuProvider
     }
 
     public static void serverTick(Level level, BlockPos pos, BlockState state, CrystallizerBlockEntity be) {
+        if (be.sleepController.isAsleep(level)) return;
+
         boolean wasActive = state.getValue(CrystallizerBlock.ACTIVE);
         boolean isActive = false;
+        MachineSleepController.Reason idleReason = null;
 
         Optional<RecipeHolder<CrystallizingRecipe>> recipe = be.findRecipe(level);
         if (recipe.isPresent()) {
@@ -116,10 +129,14 @@ public class CrystallizerBlockEntity extends BlockEntity implements MenuProvider
                 }
             } else {
                 be.progress = 0;
+                idleReason = MachineSleepController.Reason.OUTPUT_FULL;
             }
         } else {
             be.progress = 0;
             be.currentRecipe = null;
+            idleReason = be.inputTank.isEmpty()
+                ? MachineSleepController.Reason.NO_INPUT
+                : MachineSleepController.Reason.NO_RECIPE;
         }
 
         if (wasActive != isActive) {
@@ -131,6 +148,10 @@ public class CrystallizerBlockEntity extends BlockEntity implements MenuProvider
             level.sendBlockUpdated(pos, state, state, 3);
         }
 
+        if (idleReason != null) {
+            be.sleepController.sleep(level, idleReason);
+        }
+
         be.setChanged();
     }
 
@@ -140,11 +161,7 @@ public class CrystallizerBlockEntity extends BlockEntity implements MenuProvider
             return Optional.empty();
         }
         ProcessingRecipeInput input = createRecipeInput();
-        return level.getRecipeManager().getRecipeFor(
-            ApicaRecipeTypes.CRYSTALLIZING.get(),
-            input,
-            level
-        );
+        return recipeLookup.find(level, input);
     }
 
     private ProcessingRecipeInput createRecipeInput() {
@@ -179,6 +196,9 @@ public class CrystallizerBlockEntity extends BlockEntity implements MenuProvider
     public int getCurrentProcessTime() { return currentProcessTime; }
     public boolean hasOutputCrystal() { return !outputSlot.getStackInSlot(0).isEmpty(); }
 
+    @Override
+    public MachineSleepController getSleepController() { return sleepController; }
+
     @Override
     public Component getDisplayName() {
         return Component.translatable("container.apica.crystallizer");
@@ -8,6 +8,7 @@
  * - Input: Any wood (tag #logs) + 250mB Honey
  * - Output: HONEYED_WOOD (ou selon recette JSON)
  * - Process time: configurable via recette
+ * - Inactif: en sommeil jusqu'a un changement des slots ou du tank (MachineSleepController)
  * ============================================================
  */
 package com.chapeau.apica.common.blockentity.alchemy;
@@ -15,6 +16,7 @@ package com.chapeau.apica.common.blockentity.alchemy;
 import com.chapeau.apica.common.block.alchemy.InfuserBlock;
 import com.chapeau.apica.common.menu.alchemy.InfuserMenu;
 import com.chapeau.apica.core.recipe.ApicaRecipeTypes;
+import com.chapeau.apica.core.recipe.CachedRecipeLookup;
 import com.chapeau.apica.core.recipe.ProcessingRecipeInput;
 import com.chapeau.apica.core.recipe.type.InfusingRecipe;
 import com.chapeau.apica.core.registry.ApicaBlockEntities;
@@ -50,10 +52,11 @@ import net.minecraft.world.level.block.entity.BlockEntityType;
 import javax.annotation.Nullable;
 import com.chapeau.apica.common.item.magazine.MagazineFluidData;
 import com.chapeau.apica.common.item.magazine.MagazineItem;
+import com.chapeau.apica.core.util.MachineSleepController;
 import com.chapeau.apica.core.util.ParticleHelper;
 import java.util.Optional;
 
-public class InfuserBlockEntity extends BlockEntity implements MenuProvider {
+public class InfuserBlockEntity extends BlockEntity implements MenuProvider, MachineSleepController.Sleeper {
     // --- TIER CONFIG ---
     public static final int TIER1_TANK_CAPACITY = 4000;
     public static final float TIER1_PROCESS_MULTIPLIER = 1.0f;
@@ -71,6 +74,7 @@ public class InfuserBlockEntity extends BlockEntity implements MenuProvider {
         @Override
         protected void onContentsChanged(int slot) {
             setChanged();
+            sleepController.wake();
             currentRecipe = null; // Invalidate cached recipe
             if (level != null && !level.isClientSide()) {
                 level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
@@ -82,6 +86,7 @@ public class InfuserBlockEntity extends BlockEntity implements MenuProvider {
         @Override
         protected void onContentsChanged(int slot) {
             setChanged();
+            sleepController.wake();
             if (level != null && !level.isClientSide()) {
                 level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
             }
@@ -97,6 +102,8 @@ public class InfuserBlockEntity extends BlockEntity implements MenuProvider {
     private int currentProcessTime = DEFAULT_PROCESS_TIME;
     @Nullable
     private RecipeHolder<InfusingRecipe> currentRecipe = null;
+    private final CachedRecipeLookup<ProcessingRecipeInput, InfusingRecipe> recipeLookup = new CachedRecipeLookup<>(ApicaRecipeTypes.INFUSING);
+    private final MachineSleepController sleepController = new MachineSleepController();
 
     protected final ContainerData dataAccess = new ContainerData() {
         @Override
@@ -138,6 +145,7 @@ public class InfuserBlockEntity extends BlockEntity implements MenuProvider {
             @Override
             protected void onContentsChanged() {
                 setChanged();
+                sleepController.wake();
                 if (!isProcessingDrain) {
                     currentRecipe = null;
                 }
@@ -155,8 +163,11 @@ public class InfuserBlockEntity extends BlockEntity implements MenuProvider {
     public float getProcessTimeMultiplier() { return processTimeMultiplier; }
 
     public static void serverTick(Level level, BlockPos pos, BlockState state, InfuserBlockEntity be) {
+        if (be.sleepController.isAsleep(level)) return;
+
         boolean wasWorking = state.getValue(InfuserBlock.WORKING);
         boolean isWorking = false;
+        MachineSleepController.Reason idleReason = null;
 
         // Magazine filling: empty magazine + tank with fluid → fill magazine
         if (be.tryMagazineFill()) {
@@ -179,10 +190,12 @@ public class InfuserBlockEntity extends BlockEntity implements MenuProvider {
                     }
                 } else {
                     be.progress = 0;
+                    idleReason = MachineSleepController.Reason.OUTPUT_FULL;
                 }
             } else {
                 be.progress = 0;
                 be.currentRecipe = null;
+                idleReason = be.getIdleReason();
             }
         }
 
@@ -197,20 +210,29 @@ public class InfuserBlockEntity extends BlockEntity implements MenuProvider {
             ParticleHelper.orbitingRing(serverLevel, honeyParticle, center, 0.35, 8, 0.08);
         }
 
+        if (idleReason != null) {
+            be.sleepController.sleep(level, idleReason);
+        }
+
         be.setChanged();
     }
 
+    /**
+     * Raison de l'inactivite quand aucune recette ne correspond.
+     */
+    private MachineSleepController.Reason getIdleReason() {
+        if (inputSlot.getStackInSlot(0).isEmpty()) return MachineSleepController.Reason.NO_INPUT;
+        if (honeyTank.isEmpty()) return MachineSleepController.Reason.NO_FUEL;
+        return MachineSleepController.Reason.NO_RECIPE;
+    }
+
     private Optional<RecipeHolder<InfusingRecipe>> findRecipe(Level level) {
         // Eviter les lookups inutiles si les inputs sont vides
         if (inputSlot.getStackInSlot(0).isEmpty() || honeyTank.isEmpty()) {
             return Optional.empty();
         }
         ProcessingRecipeInput input = createRecipeInput();
-        return level.getRecipeManager().getRecipeFor(
-            ApicaRecipeTypes.INFUSING.get(),
-            input,
-            level
-        );
+        return recipeLookup.find(level, input);
     }
 
     private ProcessingRecipeInput createRecipeInput() {
@@ -304,6 +326,9 @@ public class InfuserBlockEntity extends BlockEntity implements MenuProvider {
     @Nullable
     public RecipeHolder<InfusingRecipe> getCurrentRecipe() { return currentRecipe; }
 
+    @Override
+    public MachineSleepController getSleepController() { return sleepController; }
+
     @Override
     public Component getDisplayName() {
         return Component.translatable("container.apica.infuser");
@@ -10,6 +10,7 @@
  * |-------------------------------|----------------------|--------------------------------|
  * | MultiblockController          | Interface controleur | Formation/destruction          |
  * | MultiblockCapabilityProvider  | Delegation caps      | Capabilities sur reservoirs    |
+ * | MultiblockCapabilityCache     | Cache par face       | Handlers resolus a la formation|
  * | MultiblockPatterns            | Definition pattern   | INFUSER_MULTIBLOCK             |
  * | MultiblockValidator           | Validation           | tryFormMultiblock()            |
  * | MultiblockEvents              | Enregistrement       | Detection destruction          |
@@ -17,8 +18,10 @@
  * | SplitItemHandler              | Split insert/extract | Capability item                |
  * | ApicaBlockEntities        | Type registration    | Constructor                    |
  * | ApicaRecipeTypes          | Recettes infusing    | Processing                     |
+ * | CachedRecipeLookup        | Cache de recette     | Recherche de recette           |
  * | ApicaFluids               | Validation fluides   | Tank filtering                 |
  * | ParticleHelper                | Effets visuels       | Particules processing          |
+ * | MachineSleepController        | Sommeil si inactif   | serverTick                     |
  * ------------------------------------------------------------
  *
  * UTILISE PAR:
@@ -35,6 +38,7 @@ import com.chapeau.apica.common.blockentity.altar.HoneyReservoirBlockEntity;
 import com.chapeau.apica.common.menu.alchemy.InfuserMenu;
 import com.chapeau.apica.core.multiblock.BlockIORule;
 import com.chapeau.apica.core.multiblock.IOMode;
+import com.chapeau.apica.core.multiblock.MultiblockCapabilityCache;
 import com.chapeau.apica.core.multiblock.MultiblockCapabilityProvider;
 import com.chapeau.apica.core.multiblock.MultiblockController;
 import com.chapeau.apica.core.multiblock.MultiblockEvents;
@@ -45,10 +49,12 @@ import com.chapeau.apica.core.multiblock.MultiblockPatterns;
 import com.chapeau.apica.core.multiblock.MultiblockProperty;
 import com.chapeau.apica.core.multiblock.MultiblockValidator;
 import com.chapeau.apica.core.recipe.ApicaRecipeTypes;
+import com.chapeau.apica.core.recipe.CachedRecipeLookup;
 import com.chapeau.apica.core.recipe.ProcessingRecipeInput;
 import com.chapeau.apica.core.recipe.type.InfusingRecipe;
 import com.chapeau.apica.core.registry.ApicaBlockEntities;
 import com.chapeau.apica.core.registry.ApicaFluids;
+import com.chapeau.apica.core.util.MachineSleepController;
 import com.chapeau.apica.core.util.ParticleHelper;
 import com.chapeau.apica.core.util.SplitFluidHandler;
 import com.chapeau.apica.core.util.SplitItemHandler;
@@ -94,7 +100,7 @@ import java.util.Optional;
  * - Y+0: Coeur au centre
  * - Y-1: 4 reservoirs cardinaux (OUTPUT produits)
  */
-public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockController, MultiblockCapabilityProvider, MenuProvider {
+public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockController, MultiblockCapabilityProvider, MenuProvider, MachineSleepController.Sleeper {
 
     private static final int TANK_CAPACITY = 16000;
     private static final float PROCESS_TIME_MULTIPLIER = 0.5f;
@@ -132,12 +138,18 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
 
     private boolean formed = false;
     private int multiblockRotation = 0;
+
+    // Handlers exposés par (réservoir, face), résolus à la formation
+    private final MultiblockCapabilityCache<IFluidHandler> fluidCapabilities = new MultiblockCapabilityCache<>(this::resolveFluidHandler);
+    private final MultiblockCapabilityCache<IItemHandler> itemCapabilities = new MultiblockCapabilityCache<>(this::resolveItemHandler);
+
     private boolean isProcessingDrain = false;
 
     private final ItemStackHandler inputSlot = new ItemStackHandler(1) {
         @Override
         protected void onContentsChanged(int slot) {
             setChanged();
+            sleepController.wake();
             currentRecipe = null;
             if (level != null && !level.isClientSide()) {
                 level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
@@ -149,6 +161,7 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
         @Override
         protected void onContentsChanged(int slot) {
             setChanged();
+            sleepController.wake();
             if (level != null && !level.isClientSide()) {
                 level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
             }
@@ -163,6 +176,7 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
         @Override
         protected void onContentsChanged() {
             setChanged();
+            sleepController.wake();
             if (!isProcessingDrain) {
                 currentRecipe = null;
             }
@@ -173,6 +187,8 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
     private int currentProcessTime = DEFAULT_PROCESS_TIME;
     @Nullable
     private RecipeHolder<InfusingRecipe> currentRecipe = null;
+    private final CachedRecipeLookup<ProcessingRecipeInput, InfusingRecipe> recipeLookup = new CachedRecipeLookup<>(ApicaRecipeTypes.INFUSING);
+    private final MachineSleepController sleepController = new MachineSleepController();
 
     protected final ContainerData dataAccess = new ContainerData() {
         @Override
@@ -217,6 +233,7 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
     @Override
     public void onMultiblockFormed() {
         formed = true;
+        sleepController.wake();
         if (level != null && !level.isClientSide()) {
             // 1. Link reservoirs au controller d'abord
             MultiblockFormationHelper.linkReservoirs(level, worldPosition, new BlockPos[][]{INPUT_RESERVOIR_OFFSETS, OUTPUT_RESERVOIR_OFFSETS}, multiblockRotation, true);
@@ -229,6 +246,8 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
             MultiblockFormationHelper.setFormedOnStructureBlocks(level, worldPosition, getPattern(), MultiblockProperty.INFUSER, multiblockRotation);
 
             // 3. Invalider les capabilities de tous les blocs du multibloc
+            fluidCapabilities.precompute(worldPosition, IO_CONFIG.getFluidOffsets(), multiblockRotation);
+            itemCapabilities.precompute(worldPosition, IO_CONFIG.getItemOffsets(), multiblockRotation);
             MultiblockFormationHelper.invalidateAllCapabilities(level, worldPosition, getPattern(), multiblockRotation);
 
             MultiblockEvents.registerActiveController(level, worldPosition);
@@ -239,6 +258,7 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
     @Override
     public void onMultiblockBroken() {
         formed = false;
+        sleepController.wake();
         if (level != null && !level.isClientSide()) {
             // 1. Changer les blockstates d'abord
             BlockState state = level.getBlockState(worldPosition);
@@ -251,6 +271,8 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
             MultiblockFormationHelper.linkReservoirs(level, worldPosition, new BlockPos[][]{INPUT_RESERVOIR_OFFSETS, OUTPUT_RESERVOIR_OFFSETS}, multiblockRotation, false);
 
             // 3. Invalider les capabilities de tous les blocs du multibloc
+            fluidCapabilities.clear();
+            itemCapabilities.clear();
             MultiblockFormationHelper.invalidateAllCapabilities(level, worldPosition, getPattern(), multiblockRotation);
 
             MultiblockEvents.unregisterController(level, worldPosition);
@@ -283,6 +305,11 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
     @Nullable
     public IFluidHandler getFluidHandlerForBlock(BlockPos worldPos, @Nullable Direction face) {
         if (!formed) return null;
+        return fluidCapabilities.get(worldPos, face);
+    }
+
+    @Nullable
+    private IFluidHandler resolveFluidHandler(BlockPos worldPos, @Nullable Direction face) {
         IOMode mode = IO_CONFIG.getFluidMode(worldPosition, worldPos, face, multiblockRotation);
         if (mode == null || mode == IOMode.NONE) return null;
         return switch (mode) {
@@ -297,6 +324,11 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
     @Nullable
     public IItemHandler getItemHandlerForBlock(BlockPos worldPos, @Nullable Direction face) {
         if (!formed) return null;
+        return itemCapabilities.get(worldPos, face);
+    }
+
+    @Nullable
+    private IItemHandler resolveItemHandler(BlockPos worldPos, @Nullable Direction face) {
         IOMode mode = IO_CONFIG.getItemMode(worldPosition, worldPos, face, multiblockRotation);
         if (mode == null || mode == IOMode.NONE) return null;
         return switch (mode) {
@@ -310,10 +342,11 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
     // ==================== Processing ====================
 
     public static void serverTick(Level level, BlockPos pos, BlockState state, InfuserHeartBlockEntity be) {
-        if (!be.formed) return;
+        if (!be.formed || be.sleepController.isAsleep(level)) return;
 
         boolean wasWorking = state.getValue(InfuserHeartBlock.WORKING);
         boolean isWorking = false;
+        MachineSleepController.Reason idleReason = null;
 
         Optional<RecipeHolder<InfusingRecipe>> recipe = be.findRecipe(level);
         if (recipe.isPresent()) {
@@ -331,10 +364,12 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
                 }
             } else {
                 be.progress = 0;
+                idleReason = MachineSleepController.Reason.OUTPUT_FULL;
             }
         } else {
             be.progress = 0;
             be.currentRecipe = null;
+            idleReason = be.getIdleReason();
         }
 
         if (wasWorking != isWorking) {
@@ -352,6 +387,12 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
             be.updateReservoirLevels();
         }
 
+        if (idleReason != null) {
+            // Niveaux a jour avant le sommeil (plus de mise a jour periodique)
+            be.updateReservoirLevels();
+            be.sleepController.sleep(level, idleReason);
+        }
+
         be.setChanged();
     }
 
@@ -400,11 +441,16 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
             inputSlot.getStackInSlot(0),
             honeyTank.getFluid()
         );
-        return level.getRecipeManager().getRecipeFor(
-            ApicaRecipeTypes.INFUSING.get(),
-            input,
-            level
-        );
+        return recipeLookup.find(level, input);
+    }
+
+    /**
+     * Raison de l'inactivite quand aucune recette ne correspond.
+     */
+    private MachineSleepController.Reason getIdleReason() {
+        if (inputSlot.getStackInSlot(0).isEmpty()) return MachineSleepController.Reason.NO_INPUT;
+        if (honeyTank.isEmpty()) return MachineSleepController.Reason.NO_FUEL;
+        return MachineSleepController.Reason.NO_RECIPE;
     }
 
     private boolean canProcess(InfusingRecipe recipe) {
@@ -435,6 +481,9 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
     public ItemStackHandler getInputSlot() { return inputSlot; }
     public ItemStackHandler getOutputSlot() { return outputSlot; }
 
+    @Override
+    public MachineSleepController getSleepController() { return sleepController; }
+
     // ==================== MenuProvider ====================
 
     @Override
@@ -486,6 +535,8 @@ public class InfuserHeartBlockEntity extends BlockEntity implements MultiblockCo
         super.loadAdditional(tag, registries);
         formed = tag.getBoolean("Formed");
         multiblockRotation = tag.getInt("MultiblockRotation");
+        fluidCapabilities.clear();
+        itemCapabilities.clear();
         inputSlot.deserializeNBT(registries, tag.getCompound("Input"));
         outputSlot.deserializeNBT(registries, tag.getCompound("Output"));
         honeyTank.readFromNBT(registries, tag.getCompound("HoneyTank"));
@@ -10,6 +10,8 @@
  * - Items en transit: suivent une route pré-calculée (BFS) hop par hop
  * - Anti-loss: les items ne sont JAMAIS droppés — backpressure si pas de destination
  * - Round-robin global: distribution équitable entre toutes les destinations du réseau
+ * - Back-off par face: une source vide est re-sondée de moins en moins souvent,
+ *   réveil immédiat sur update voisin ou invalidation de capability
  * ============================================================
  *
  * DÉPENDANCES:
@@ -21,6 +23,7 @@
  * | PipeTransitItem         | Item en transit      | Stockage route + avancement    |
  * | AbstractPipeBlock       | Blockstate connexions| Détection extract/connect      |
  * | DebugWandItem           | Debug display        | Affichage buffer au-dessus     |
+ * | PipeConfigManager       | Configuration        | Back-off max d'extraction      |
  * ------------------------------------------------------------
  *
  * UTILISÉ PAR:
@@ -35,6 +38,7 @@ import com.chapeau.apica.common.block.alchemy.AbstractPipeBlock;
 import com.chapeau.apica.common.block.alchemy.ItemPipeBlock;
 import com.chapeau.apica.common.data.ItemFilterData;
 import com.chapeau.apica.common.item.debug.DebugWandItem;
+import com.chapeau.apica.core.config.PipeConfigManager;
 import com.chapeau.apica.core.network.pipe.ItemPipeNetworkManager;
 import com.chapeau.apica.core.network.pipe.PipeNetwork;
 import com.chapeau.apica.core.network.pipe.PipeTransitItem;
@@ -56,12 +60,14 @@ import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
 import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.items.IItemHandler;
 import net.neoforged.neoforge.items.ItemStackHandler;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
@@ -87,6 +93,15 @@ public class ItemPipeBlockEntity extends BlockEntity {
 
     private int transferCooldown = 0;
 
+    /** Intervalle normal entre deux passes d'extraction (ticks). */
+    private static final int TRANSFER_INTERVAL = 8;
+
+    /** Back-off courant par face d'extraction (0 = pas de back-off), indexé par Direction.ordinal(). */
+    private final int[] extractBackoff = new int[6];
+
+    /** Game time avant lequel la face n'est pas re-sondée. */
+    private final long[] nextExtractTick = new long[6];
+
     /** Items en transit avec route pré-calculée. */
     private final List<PipeTransitItem> transitItems = new ArrayList<>();
 
@@ -103,6 +118,13 @@ public class ItemPipeBlockEntity extends BlockEntity {
     @Nullable
     private ItemFilterData filterData = null;
 
+    /** Vue filtree du buffer, creee une seule fois (lit filterData a chaque appel). */
+    private final IItemHandler filteredView = new FilteredBufferView();
+
+    /** Caches de capability des 6 voisins, crees a la demande cote serveur. */
+    private final EnumMap<Direction, BlockCapabilityCache<IItemHandler, Direction>> neighborCaches =
+        new EnumMap<>(Direction.class);
+
     public ItemPipeBlockEntity(BlockPos pos, BlockState state) {
         this(ApicaBlockEntities.ITEM_PIPE.get(), pos, state, MK1_BUFFER, MK1_TRANSFER);
     }
@@ -163,16 +185,18 @@ public class ItemPipeBlockEntity extends BlockEntity {
         // 2. Extraire de nouveaux items (avec pre-validation)
         be.processExtractions(level, pos, state);
 
-        be.transferCooldown = 8;
+        be.transferCooldown = TRANSFER_INTERVAL;
     }
 
     // --- Extraction avec pre-validation ---
 
     private void processExtractions(Level level, BlockPos pos, BlockState state) {
         if (!(level instanceof ServerLevel serverLevel)) return;
-        if (isBufferFull()) return;
 
         for (Direction dir : Direction.values()) {
+            // Buffer plein (éventuellement rempli par une face précédente): les faces restantes
+            // ne sont pas sondées et leur back-off reste inchangé
+            if (isBufferFull()) return;
             if (!AbstractPipeBlock.isConnected(state, dir)) continue;
             if (!isExtracting(dir)) continue;
 
@@ -181,26 +205,57 @@ public class ItemPipeBlockEntity extends BlockEntity {
             // Ne pas extraire depuis d'autres item pipes
             if (level.getBlockEntity(neighborPos) instanceof ItemPipeBlockEntity) continue;
 
-            IItemHandler cap = level.getCapability(Capabilities.ItemHandler.BLOCK, neighborPos, dir.getOpposite());
+            long now = level.getGameTime();
+            if (now < nextExtractTick[dir.ordinal()]) continue;
+
+            IItemHandler cap = getNeighborItemHandler(dir);
             if (cap == null) continue;
 
-            extractWithPreValidation(cap, serverLevel, pos, neighborPos);
+            if (extractWithPreValidation(cap, serverLevel, pos, neighborPos)) {
+                extractBackoff[dir.ordinal()] = 0;
+            } else {
+                backOffExtraction(dir, now);
+            }
         }
     }
 
+    /**
+     * La source de cette face était vide : doubler le délai avant la prochaine tentative,
+     * borné par la configuration.
+     */
+    private void backOffExtraction(Direction dir, long now) {
+        int idx = dir.ordinal();
+        int max = Math.max(TRANSFER_INTERVAL, PipeConfigManager.getMaxExtractionBackoffTicks());
+        int backoff = extractBackoff[idx] == 0 ? TRANSFER_INTERVAL * 2 : extractBackoff[idx] * 2;
+        extractBackoff[idx] = Math.min(backoff, max);
+        nextExtractTick[idx] = now + extractBackoff[idx];
+    }
+
+    /**
+     * Annule le back-off d'une face : la source a peut-être changé.
+     * Appelé sur update voisin et sur invalidation de la capability voisine.
+     */
+    public void wakeExtraction(Direction dir) {
+        extractBackoff[dir.ordinal()] = 0;
+        nextExtractTick[dir.ordinal()] = 0;
+    }
+
     /**
      * Extrait un item du handler source seulement si une destination valide existe dans le réseau.
      * L'item est immédiatement placé en transit avec une route pré-calculée.
      * @param sourceMachinePos position de la machine source (pour éviter de router vers la même machine)
+     * @return true si la source contenait au moins un item extractible (même sans destination)
      */
-    private void extractWithPreValidation(IItemHandler handler, ServerLevel level, BlockPos myPos,
-                                           BlockPos sourceMachinePos) {
+    private boolean extractWithPreValidation(IItemHandler handler, ServerLevel level, BlockPos myPos,
+                                              BlockPos sourceMachinePos) {
         PipeNetwork network = ItemPipeNetworkManager.get(level).getNetworkAt(myPos);
-        if (network == null) return;
+        if (network == null) return true;
 
+        boolean foundExtractable = false;
         for (int i = 0; i < handler.getSlots() && !isBufferFull(); i++) {
             ItemStack simulated = handler.extractItem(i, transferAmount, true);
             if (simulated.isEmpty()) continue;
+            foundExtractable = true;
 
             // Pre-validation : chercher une destination dans le réseau (exclure la machine source)
             PipeNetwork.RouteResult result = network.findDestination(myPos, simulated, level, sourceMachinePos);
@@ -218,6 +273,7 @@ public class ItemPipeBlockEntity extends BlockEntity {
             setChanged();
             break; // Un seul slot extrait par tick
         }
+        return foundExtractable;
     }
 
     // --- Avancement des items en transit ---
@@ -280,7 +336,9 @@ public class ItemPipeBlockEntity extends BlockEntity {
         Direction insertDir = getDirectionBetween(myPos, destPos);
         if (insertDir == null) return false;
 
-        IItemHandler handler = level.getCapability(Capabilities.ItemHandler.BLOCK, destPos, insertDir.getOpposite());
+        IItemHandler handler = myPos.equals(worldPosition)
+            ? getNeighborItemHandler(insertDir)
+            : level.getCapability(Capabilities.ItemHandler.BLOCK, destPos, insertDir.getOpposite());
         if (handler == null) return false;
 
         ItemStack toInsert = transit.getStack().copy();
@@ -376,38 +434,64 @@ public class ItemPipeBlockEntity extends BlockEntity {
      * Les items rejetés par le filtre ne peuvent pas être insérés via cette vue.
      * Utilisé par le système de capabilities pour que les blocs adjacents
      * (hoppers, autres pipes) respectent le filtre du pipe.
+     * La vue est unique et lit le filtre courant : aucune allocation par requête.
      */
     public IItemHandler getFilteredBuffer() {
-        if (filterData == null) return buffer;
-        final ItemFilterData filter = filterData;
-        final ItemStackHandler inner = buffer;
-        return new IItemHandler() {
-            @Override
-            public int getSlots() { return inner.getSlots(); }
+        return filterData == null ? buffer : filteredView;
+    }
 
-            @Override
-            public ItemStack getStackInSlot(int slot) { return inner.getStackInSlot(slot); }
+    /**
+     * Vue du buffer qui refuse les items rejetés par le filtre courant.
+     * Sans filtre installé, se comporte exactement comme le buffer.
+     */
+    private class FilteredBufferView implements IItemHandler {
+        @Override
+        public int getSlots() { return buffer.getSlots(); }
 
-            @Override
-            public ItemStack insertItem(int slot, ItemStack stack, boolean simulate) {
-                if (!stack.isEmpty() && !filter.matches(stack)) return stack;
-                return inner.insertItem(slot, stack, simulate);
-            }
+        @Override
+        public ItemStack getStackInSlot(int slot) { return buffer.getStackInSlot(slot); }
 
-            @Override
-            public ItemStack extractItem(int slot, int amount, boolean simulate) {
-                return inner.extractItem(slot, amount, simulate);
-            }
+        @Override
+        public ItemStack insertItem(int slot, ItemStack stack, boolean simulate) {
+            ItemFilterData filter = filterData;
+            if (filter != null && !stack.isEmpty() && !filter.matches(stack)) return stack;
+            return buffer.insertItem(slot, stack, simulate);
+        }
 
-            @Override
-            public int getSlotLimit(int slot) { return inner.getSlotLimit(slot); }
+        @Override
+        public ItemStack extractItem(int slot, int amount, boolean simulate) {
+            return buffer.extractItem(slot, amount, simulate);
+        }
 
-            @Override
-            public boolean isItemValid(int slot, ItemStack stack) {
-                if (!stack.isEmpty() && !filter.matches(stack)) return false;
-                return inner.isItemValid(slot, stack);
-            }
-        };
+        @Override
+        public int getSlotLimit(int slot) { return buffer.getSlotLimit(slot); }
+
+        @Override
+        public boolean isItemValid(int slot, ItemStack stack) {
+            ItemFilterData filter = filterData;
+            if (filter != null && !stack.isEmpty() && !filter.matches(stack)) return false;
+            return buffer.isItemValid(slot, stack);
+        }
+    }
+
+    // --- Neighbor capabilities ---
+
+    /**
+     * Retourne l'IItemHandler du bloc voisin dans une direction, via un BlockCapabilityCache.
+     * NeoForge invalide le cache quand le voisin change : pas de re-query à chaque extraction.
+     * L'invalidation réveille aussi le back-off d'extraction de cette face.
+     */
+    @Nullable
+    public IItemHandler getNeighborItemHandler(Direction dir) {
+        if (!(level instanceof ServerLevel serverLevel)) return null;
+        BlockCapabilityCache<IItemHandler, Direction> cache = neighborCaches.get(dir);
+        if (cache == null) {
+            cache = BlockCapabilityCache.create(
+                Capabilities.ItemHandler.BLOCK, serverLevel, worldPosition.relative(dir), dir.getOpposite(),
+                () -> !isRemoved(), () -> wakeExtraction(dir));
+            neighborCaches.put(dir, cache);
+        }
+        return cache.getCapability();
     }
 
     // --- Disconnect / Tint ---
@@ -491,6 +575,9 @@ public class ItemPipeBlockEntity extends BlockEntity {
             ItemPipeNetworkManager manager = ItemPipeNetworkManager.get(serverLevel);
             if (manager.getNetworkAt(worldPosition) == null) {
                 manager.onPipeAdded(worldPosition, serverLevel);
+            } else {
+                // Pipe connue de la sauvegarde : planifier sa vérification contre le monde
+                manager.scheduleValidation(worldPosition);
             }
         }
     }
@@ -5,16 +5,32 @@
  * ============================================================
  *
  * FONCTIONNEMENT:
- * - Mode extraction (par direction): tire le fluide du bloc connecte
- * - Chaque pipe pousse independamment vers ses voisins toutes les 0.5s
- * - Egalisation equitable: calcule la cible, puis transfere simultanement
- * - Push vers conteneurs: pousse jusqu'au transferRate
+ * - Chaque pipe est membre d'un LiquidPipeNetwork (buffer logique unique)
+ * - Le réseau extrait, route et livre le fluide; le pipe ne tick plus
+ * - Le buffer local ne contient que la part du pipe (rendu + sauvegarde chunk)
+ * - La capability expose le tank du réseau
  * - Capacites: T1=1000mb, T2=2000mb, T3=4000mb, T4=8000mb
  * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance               | Raison                | Utilisation                    |
+ * |--------------------------|----------------------|--------------------------------|
+ * | LiquidPipeNetworkManager | Réseau de fluide     | Enregistrement, capability     |
+ * | LiquidPipeNetwork        | Buffer logique       | Tank exposé aux voisins        |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - LiquidPipeBlock.java (création)
+ * - LiquidPipeNetwork.java (capacité, débit, part affichée)
+ * - Apica.java (capability registration)
+ *
+ * ============================================================
  */
 package com.chapeau.apica.common.blockentity.alchemy;
 
-import com.chapeau.apica.common.block.alchemy.LiquidPipeBlock;
+import com.chapeau.apica.core.network.pipe.LiquidPipeNetwork;
+import com.chapeau.apica.core.network.pipe.LiquidPipeNetworkManager;
 import com.chapeau.apica.core.registry.ApicaBlockEntities;
 import com.chapeau.apica.core.registry.ApicaFluids;
 import net.minecraft.core.BlockPos;
@@ -25,19 +41,16 @@ import net.minecraft.network.Connection;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
-import net.minecraft.world.level.Level;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
-import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.fluids.FluidStack;
 import net.neoforged.neoforge.fluids.capability.IFluidHandler;
 import net.neoforged.neoforge.fluids.capability.templates.FluidTank;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
 import java.util.EnumSet;
-import java.util.List;
 
 public class LiquidPipeBlockEntity extends BlockEntity implements com.chapeau.apica.core.util.IDrainable {
     // --- MK CONFIG ---
@@ -51,12 +64,32 @@ public class LiquidPipeBlockEntity extends BlockEntity implements com.chapeau.ap
     public static final int MK3_TRANSFER = 1000;
     public static final int MK4_TRANSFER = 2000;
 
-    private static final int SHARE_INTERVAL = 10; // 0.5 secondes
-
     private final FluidTank buffer;
     private final int transferRate;
 
-    private int shareCooldown = 0;
+    // Handler stable expose aux voisins: delegue au tank du reseau courant (survit aux merge/split)
+    private final IFluidHandler exposedHandler = new IFluidHandler() {
+        @Override
+        public int getTanks() { return currentTank().getTanks(); }
+
+        @Override
+        public FluidStack getFluidInTank(int tank) { return currentTank().getFluidInTank(tank); }
+
+        @Override
+        public int getTankCapacity(int tank) { return currentTank().getTankCapacity(tank); }
+
+        @Override
+        public boolean isFluidValid(int tank, FluidStack stack) { return currentTank().isFluidValid(tank, stack); }
+
+        @Override
+        public int fill(FluidStack resource, FluidAction action) { return currentTank().fill(resource, action); }
+
+        @Override
+        public FluidStack drain(FluidStack resource, FluidAction action) { return currentTank().drain(resource, action); }
+
+        @Override
+        public FluidStack drain(int maxDrain, FluidAction action) { return currentTank().drain(maxDrain, action); }
+    };
 
     // Directions manuellement deconnectees par le joueur
     private final EnumSet<Direction> disconnectedDirections = EnumSet.noneOf(Direction.class);
@@ -67,6 +100,9 @@ public class LiquidPipeBlockEntity extends BlockEntity implements com.chapeau.ap
     // Couleur de teinte du core (-1 = pas de teinte)
     private int tintColor = -1;
 
+    // Retire par dechargement de chunk (et non par destruction): le reseau n'est pas decoupe
+    private boolean chunkUnloading = false;
+
     public LiquidPipeBlockEntity(BlockPos pos, BlockState state) {
         this(ApicaBlockEntities.LIQUID_PIPE.get(), pos, state, MK1_BUFFER, MK1_TRANSFER);
     }
@@ -75,14 +111,7 @@ public class LiquidPipeBlockEntity extends BlockEntity implements com.chapeau.ap
                                  int bufferCapacity, int transferRate) {
         super(type, pos, state);
         this.transferRate = transferRate;
-        this.buffer = new FluidTank(bufferCapacity) {
-            @Override
-            public boolean isFluidValid(FluidStack stack) {
-                return stack.getFluid() == ApicaFluids.HONEY_SOURCE.get()
-                    || stack.getFluid() == ApicaFluids.ROYAL_JELLY_SOURCE.get()
-                    || stack.getFluid() == ApicaFluids.NECTAR_SOURCE.get();
-            }
-
+        this.buffer = new FluidTank(bufferCapacity, LiquidPipeBlockEntity::isPipeFluid) {
             @Override
             protected void onContentsChanged() {
                 setChanged();
@@ -90,6 +119,15 @@ public class LiquidPipeBlockEntity extends BlockEntity implements com.chapeau.ap
         };
     }
 
+    /**
+     * Fluides acceptes par les pipes (et donc par le tank logique des reseaux).
+     */
+    public static boolean isPipeFluid(FluidStack stack) {
+        return stack.getFluid() == ApicaFluids.HONEY_SOURCE.get()
+            || stack.getFluid() == ApicaFluids.ROYAL_JELLY_SOURCE.get()
+            || stack.getFluid() == ApicaFluids.NECTAR_SOURCE.get();
+    }
+
     // Factory methods for MK versions
     public static LiquidPipeBlockEntity createMk2(BlockPos pos, BlockState state) {
         return new LiquidPipeBlockEntity(ApicaBlockEntities.LIQUID_PIPE_MK2.get(), pos, state,
@@ -106,227 +144,80 @@ public class LiquidPipeBlockEntity extends BlockEntity implements com.chapeau.ap
             MK4_BUFFER, MK4_TRANSFER);
     }
 
-    public static void serverTick(Level level, BlockPos pos, BlockState state, LiquidPipeBlockEntity be) {
-        // Extraction depuis les blocs marques pour extraction (chaque tick)
-        be.processExtractions(level, pos, state);
+    // --- Reseau ---
 
-        // Push vers voisins toutes les 0.5 sec
-        be.shareCooldown--;
-        if (be.shareCooldown <= 0) {
-            be.shareCooldown = SHARE_INTERVAL;
-            be.pushToNeighbors(level, pos, state);
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level instanceof ServerLevel serverLevel) {
+            LiquidPipeNetworkManager.get(serverLevel).onPipeAdded(this, serverLevel);
         }
     }
 
-    private void processExtractions(Level level, BlockPos pos, BlockState state) {
-        if (buffer.getFluidAmount() >= buffer.getCapacity()) {
-            return;
-        }
-
-        for (Direction dir : Direction.values()) {
-            if (!LiquidPipeBlock.isConnected(state, dir)) continue;
-            if (!isExtracting(dir)) continue;
-
-            BlockPos neighborPos = pos.relative(dir);
-
-            // Don't extract from other pipes
-            if (level.getBlockEntity(neighborPos) instanceof LiquidPipeBlockEntity) continue;
+    @Override
+    public void onChunkUnloaded() {
+        chunkUnloading = true;
+        super.onChunkUnloaded();
+    }
 
-            var cap = level.getCapability(Capabilities.FluidHandler.BLOCK, neighborPos, dir.getOpposite());
-            if (cap != null) {
-                int space = buffer.getCapacity() - buffer.getFluidAmount();
-                int maxExtract = Math.min(space, transferRate);
-                if (maxExtract <= 0) return;
+    @Override
+    public void setRemoved() {
+        // Avant super: la part du pipe est ecrite dans son buffer pour etre sauvegardee avec le chunk
+        if (level instanceof ServerLevel serverLevel) {
+            LiquidPipeNetworkManager.get(serverLevel).onPipeRemoved(worldPosition, chunkUnloading);
+        }
+        super.setRemoved();
+    }
 
-                FluidStack toDrain = cap.drain(maxExtract, IFluidHandler.FluidAction.SIMULATE);
-                if (!toDrain.isEmpty() && buffer.isFluidValid(toDrain)) {
-                    int canFill = buffer.fill(toDrain, IFluidHandler.FluidAction.SIMULATE);
-                    if (canFill > 0) {
-                        FluidStack drained = cap.drain(canFill, IFluidHandler.FluidAction.EXECUTE);
-                        buffer.fill(drained, IFluidHandler.FluidAction.EXECUTE);
-                    }
-                }
-            }
+    @Nullable
+    private LiquidPipeNetwork getNetwork() {
+        if (level instanceof ServerLevel serverLevel) {
+            return LiquidPipeNetworkManager.get(serverLevel).getNetworkAt(worldPosition);
         }
+        return null;
     }
 
     /**
-     * Pousse le fluide vers les voisins connectes.
-     * Utilise une approche en deux phases pour une repartition equitable:
-     * Phase 1: Calculer la cible d'egalisation entre toutes les pipes voisines
-     * Phase 2: Executer les transferts simultanement
-     * Les conteneurs recoivent ensuite jusqu'au transferRate.
+     * Tank logique du reseau, ou le buffer local cote client
+     * et tant que le pipe n'a pas encore rejoint de reseau.
      */
-    private void pushToNeighbors(Level level, BlockPos pos, BlockState state) {
-        if (buffer.isEmpty()) {
-            return;
-        }
-
-        boolean changed = false;
-        FluidStack myFluid = buffer.getFluid();
-
-        // --- Phase 1: Collecter les voisins et calculer la cible ---
-        List<PipeTarget> pipeTargets = new ArrayList<>();
-        List<ContainerTarget> containerTargets = new ArrayList<>();
-        int myAmount = buffer.getFluidAmount();
-
-        for (Direction dir : Direction.values()) {
-            if (!LiquidPipeBlock.isConnected(state, dir)) continue;
-            if (isExtracting(dir)) continue;
-
-            BlockPos neighborPos = pos.relative(dir);
-            BlockEntity neighborBe = level.getBlockEntity(neighborPos);
-
-            if (neighborBe instanceof LiquidPipeBlockEntity neighborPipe) {
-                FluidStack theirFluid = neighborPipe.buffer.getFluid();
-                // Verifier compatibilite de fluide
-                if (!theirFluid.isEmpty() && !myFluid.getFluid().isSame(theirFluid.getFluid())) {
-                    continue;
-                }
-                int theirAmount = neighborPipe.buffer.getFluidAmount();
-                // Inclure seulement les voisins avec moins de fluide
-                if (myAmount > theirAmount) {
-                    pipeTargets.add(new PipeTarget(neighborPipe, theirAmount));
-                }
-            } else {
-                var cap = level.getCapability(Capabilities.FluidHandler.BLOCK, neighborPos, dir.getOpposite());
-                if (cap != null) {
-                    containerTargets.add(new ContainerTarget(cap, dir));
-                }
-            }
-        }
-
-        // --- Phase 2: Egalisation equitable entre pipes ---
-        if (!pipeTargets.isEmpty()) {
-            // Calculer la cible: total / (participants)
-            // Exclure iterativement les voisins deja au-dessus de la cible
-            int targetAmount = computeEqualTarget(myAmount, pipeTargets);
-
-            // Calculer les transferts pour chaque voisin
-            int totalTransfer = 0;
-            for (PipeTarget target : pipeTargets) {
-                int toGive = targetAmount - target.amount;
-                if (toGive <= 0) {
-                    target.transfer = 0;
-                    continue;
-                }
-                int capped = Math.min(toGive, transferRate);
-                capped = Math.min(capped, target.pipe.buffer.getCapacity() - target.amount);
-                target.transfer = Math.max(capped, 0);
-                totalTransfer += target.transfer;
-            }
-
-            // Securite: si le total depasse ce qu'on peut donner, scaler proportionnellement
-            int maxGive = myAmount - targetAmount;
-            if (totalTransfer > maxGive && totalTransfer > 0) {
-                for (PipeTarget target : pipeTargets) {
-                    target.transfer = (int) ((long) target.transfer * maxGive / totalTransfer);
-                }
-            }
-
-            // Executer les transferts
-            for (PipeTarget target : pipeTargets) {
-                if (target.transfer <= 0) continue;
-
-                FluidStack drained = buffer.drain(target.transfer, IFluidHandler.FluidAction.EXECUTE);
-                if (!drained.isEmpty()) {
-                    target.pipe.buffer.fill(drained, IFluidHandler.FluidAction.EXECUTE);
-                    target.pipe.syncToClient();
-                    changed = true;
-                }
-            }
-        }
-
-        // --- Phase 3: Push vers conteneurs ---
-        for (ContainerTarget ct : containerTargets) {
-            if (buffer.isEmpty()) break;
-            changed |= pushToContainer(ct.handler);
-        }
-
-        if (changed) {
-            syncToClient();
-        }
+    private FluidTank currentTank() {
+        LiquidPipeNetwork network = getNetwork();
+        return network != null ? network.getTank() : buffer;
     }
 
     /**
-     * Calcule la cible d'egalisation equitable.
-     * Exclut iterativement les voisins dont le niveau est deja au-dessus de la cible.
-     *
-     * Exemple: me=1000, voisins=[0, 0, 800]
-     * - Tentative avec 4 participants: cible = 1800/4 = 450
-     * - Voisin a 800 > 450 → exclure
-     * - Recalcul avec 3 participants: cible = 1000/3 = 333
-     * - Tous les restants < 333 → valide
+     * Handler expose via la capability fluide du pipe.
      */
-    private int computeEqualTarget(int myAmount, List<PipeTarget> targets) {
-        // Trier par quantite croissante pour l'exclusion iterative
-        targets.sort((a, b) -> Integer.compare(a.amount, b.amount));
-
-        int totalFluid = myAmount;
-        int participantCount = 1; // moi
-
-        for (PipeTarget target : targets) {
-            totalFluid += target.amount;
-            participantCount++;
-        }
-
-        // Exclure iterativement les voisins au-dessus de la cible
-        for (int i = targets.size() - 1; i >= 0; i--) {
-            int target = totalFluid / participantCount;
-            if (targets.get(i).amount < target) {
-                break; // Tous les restants sont en dessous de la cible
-            }
-            // Ce voisin est au-dessus de la cible, l'exclure
-            totalFluid -= targets.get(i).amount;
-            participantCount--;
-        }
-
-        return participantCount > 0 ? totalFluid / participantCount : myAmount;
+    public IFluidHandler getFluidHandler() {
+        return exposedHandler;
     }
 
     /**
-     * Pousse le fluide vers un conteneur (tank, machine, etc.).
+     * Remplace la part affichee de ce pipe. Appele uniquement par LiquidPipeNetwork.
+     * @return true si la part a change
      */
-    private boolean pushToContainer(IFluidHandler handler) {
-        int toTransfer = Math.min(buffer.getFluidAmount(), transferRate);
-        if (toTransfer <= 0) {
+    public boolean setDisplayedShare(FluidStack share) {
+        FluidStack current = buffer.getFluid();
+        if (current.getAmount() == share.getAmount()
+                && (share.isEmpty() || FluidStack.isSameFluidSameComponents(current, share))) {
             return false;
         }
-
-        FluidStack toFill = new FluidStack(buffer.getFluid().getFluid(), toTransfer);
-        int accepted = handler.fill(toFill, IFluidHandler.FluidAction.SIMULATE);
-
-        if (accepted > 0) {
-            FluidStack drained = buffer.drain(accepted, IFluidHandler.FluidAction.EXECUTE);
-            if (!drained.isEmpty()) {
-                handler.fill(drained, IFluidHandler.FluidAction.EXECUTE);
-                return true;
-            }
-        }
-
-        return false;
+        buffer.setFluid(share);
+        setChanged();
+        return true;
     }
 
-    private static class PipeTarget {
-        final LiquidPipeBlockEntity pipe;
-        final int amount;
-        int transfer;
-
-        PipeTarget(LiquidPipeBlockEntity pipe, int amount) {
-            this.pipe = pipe;
-            this.amount = amount;
-            this.transfer = 0;
-        }
+    public int getTransferRate() {
+        return transferRate;
     }
 
-    private record ContainerTarget(IFluidHandler handler, Direction direction) {}
-
     public FluidTank getBuffer() {
         return buffer;
     }
 
     @Override
-    public FluidTank getDrainableTank() { return buffer; }
+    public FluidTank getDrainableTank() { return currentTank(); }
 
     @Override
     public String getDrainableEmptyName() { return "Pipe"; }
@@ -374,7 +265,7 @@ public class LiquidPipeBlockEntity extends BlockEntity implements com.chapeau.ap
         return tintColor != -1;
     }
 
-    private void syncToClient() {
+    public void syncToClient() {
         if (level != null && !level.isClientSide()) {
             level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
         }
@@ -397,7 +288,6 @@ public class LiquidPipeBlockEntity extends BlockEntity implements com.chapeau.ap
     protected void saveAdditional(CompoundTag tag, HolderLookup.Provider registries) {
         super.saveAdditional(tag, registries);
         tag.put("Buffer", buffer.writeToNBT(registries, new CompoundTag()));
-        tag.putInt("ShareCooldown", shareCooldown);
         int disconnectedBits = 0;
         for (Direction dir : disconnectedDirections) {
             disconnectedBits |= (1 << dir.ordinal());
@@ -423,7 +313,6 @@ public class LiquidPipeBlockEntity extends BlockEntity implements com.chapeau.ap
         if (tag.contains("Buffer")) {
             buffer.readFromNBT(registries, tag.getCompound("Buffer"));
         }
-        shareCooldown = tag.getInt("ShareCooldown");
         disconnectedDirections.clear();
         if (tag.contains("DisconnectedDirs")) {
             int bits = tag.getInt("DisconnectedDirs");
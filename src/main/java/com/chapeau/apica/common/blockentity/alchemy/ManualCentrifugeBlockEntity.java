@@ -15,6 +15,7 @@ package com.chapeau.apica.common.blockentity.alchemy;
 import com.chapeau.apica.common.block.alchemy.ManualCentrifugeBlock;
 import com.chapeau.apica.common.menu.alchemy.ManualCentrifugeMenu;
 import com.chapeau.apica.core.recipe.ApicaRecipeTypes;
+import com.chapeau.apica.core.recipe.CachedRecipeLookup;
 import com.chapeau.apica.core.recipe.ProcessingOutput;
 import com.chapeau.apica.core.recipe.ProcessingRecipeInput;
 import com.chapeau.apica.core.recipe.type.CentrifugeRecipe;
@@ -73,6 +74,7 @@ public class ManualCentrifugeBlockEntity extends BlockEntity implements MenuProv
     private int progress = 0;
     private int lastInteractionTick = 0;
     private boolean isSpinning = false;
+    private final CachedRecipeLookup<ProcessingRecipeInput, CentrifugeRecipe> recipeLookup = new CachedRecipeLookup<>(ApicaRecipeTypes.CENTRIFUGING);
 
     protected final ContainerData dataAccess = new ContainerData() {
         @Override
@@ -149,11 +151,7 @@ public class ManualCentrifugeBlockEntity extends BlockEntity implements MenuProv
     public boolean isValidComb(ItemStack stack, Level level) {
         if (stack.isEmpty() || level == null) return false;
         ProcessingRecipeInput input = ProcessingRecipeInput.ofItem(stack);
-        return level.getRecipeManager().getRecipeFor(
-            ApicaRecipeTypes.CENTRIFUGING.get(),
-            input,
-            level
-        ).isPresent();
+        return recipeLookup.find(level, input).isPresent();
     }
 
     public boolean isValidComb(ItemStack stack) {
@@ -217,11 +215,7 @@ public class ManualCentrifugeBlockEntity extends BlockEntity implements MenuProv
         if (input.isEmpty()) return null;
 
         ProcessingRecipeInput recipeInput = ProcessingRecipeInput.ofItem(input);
-        return level.getRecipeManager().getRecipeFor(
-            ApicaRecipeTypes.CENTRIFUGING.get(),
-            recipeInput,
-            level
-        ).map(RecipeHolder::value).orElse(null);
+        return recipeLookup.find(level, recipeInput).map(RecipeHolder::value).orElse(null);
     }
 
     /**
@@ -3,6 +3,19 @@
  * [MultiblockTankBlockEntity.java]
  * Description: BlockEntity pour tank multibloc cube dynamique
  * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Le master (coin min) stocke le tank sous forme de bornes (min, max) inclusives:
+ *   nombre de blocs, capacité et appartenance se calculent arithmétiquement
+ * - Formation: boîte agrandie couche par couche depuis un bloc; une couche voisine
+ *   pleine étend la boîte, une couche partielle invalide la structure
+ * - Bloc posé contre un tank formé: la boîte part des bornes existantes, seules
+ *   les nouvelles couches et la coque extérieure sont vérifiées
+ * - Cassage et sauvegarde: parcours/écriture des bornes, taille NBT constante
+ * - Tank formé défait (cassage ou structure invalide): son fluide est réparti dans
+ *   ses blocs redevenus isolés, puis regroupé par la reformation; seul ce qui ne
+ *   tient plus sans le bloc cassé est perdu
+ * ============================================================
  */
 package com.chapeau.apica.common.blockentity.alchemy;
 
@@ -43,9 +56,8 @@ import net.neoforged.neoforge.fluids.capability.templates.FluidTank;
 import net.neoforged.neoforge.items.ItemStackHandler;
 
 import javax.annotation.Nullable;
-import java.util.ArrayDeque;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvider, MultiblockController {
     public static final int CAPACITY_PER_BLOCK = 8000;
@@ -54,8 +66,11 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
     @Nullable
     private BlockPos masterPos = null;
 
-    // Only for master: connected blocks and fluid storage
-    private final Set<BlockPos> connectedBlocks = new HashSet<>();
+    // Only for master: cube bounds (inclusive) and fluid storage
+    @Nullable
+    private BlockPos boundsMin;
+    @Nullable
+    private BlockPos boundsMax;
     private FluidTank fluidTank;
     private int cubeSize = 0;
 
@@ -84,7 +99,7 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
             return switch (index) {
                 case 0 -> master.fluidTank != null ? master.fluidTank.getFluidAmount() : 0;
                 case 1 -> master.getTotalCapacity();
-                case 2 -> master.connectedBlocks.size();
+                case 2 -> master.getVolume();
                 case 3 -> master.isFormed() ? 1 : 0;
                 default -> 0;
             };
@@ -102,8 +117,8 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
 
     private void initializeAsSingle() {
         this.masterPos = null;
-        this.connectedBlocks.clear();
-        this.connectedBlocks.add(worldPosition);
+        this.boundsMin = worldPosition;
+        this.boundsMax = worldPosition;
         this.fluidTank = createFluidTank(CAPACITY_PER_BLOCK);
         this.cubeSize = 0;
     }
@@ -168,9 +183,21 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
         // Formation is handled by the custom BFS in formMultiblock()
     }
 
+    @Override
+    public boolean isPatternRevalidated() {
+        // Cube de taille dynamique: ne suit pas TANK_MULTIBLOCK
+        return false;
+    }
+
     @Override
     public void onMultiblockBroken() {
-        onBroken();
+        // Cassage géré par MultiblockTankBlock.onRemove, qui connaît la position cassée
+    }
+
+    @Override
+    public Iterable<BlockPos> getMemberPositions() {
+        if (boundsMin == null || boundsMax == null) return List.of(worldPosition);
+        return BlockPos.betweenClosed(boundsMin, boundsMax);
     }
 
     // ==================== Master/Slave Accessors ====================
@@ -199,12 +226,19 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
     }
 
     public int getTotalCapacity() {
-        return CAPACITY_PER_BLOCK * connectedBlocks.size();
+        return CAPACITY_PER_BLOCK * getVolume();
     }
 
     public int getBlockCount() {
         MultiblockTankBlockEntity master = getMaster();
-        return master != null ? master.connectedBlocks.size() : 1;
+        return master != null ? master.getVolume() : 1;
+    }
+
+    private int getVolume() {
+        if (boundsMin == null || boundsMax == null) return 0;
+        return (boundsMax.getX() - boundsMin.getX() + 1)
+            * (boundsMax.getY() - boundsMin.getY() + 1)
+            * (boundsMax.getZ() - boundsMin.getZ() + 1);
     }
 
     public ItemStackHandler getBucketSlot() {
@@ -220,92 +254,82 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
     }
 
     /**
-     * BFS flood-fill pour découvrir tous les tanks adjacents.
-     * @param excludePos Position à exclure du BFS (bloc en cours de cassage)
+     * Agrandit une boîte couche par couche pour découvrir le cube de tanks connectés.
+     * @param excludePos Position à exclure (bloc en cours de cassage)
      */
     private void tryFormMultiblock(@Nullable BlockPos excludePos) {
         if (level == null) return;
 
-        // BFS depuis cette position
-        Set<BlockPos> found = new HashSet<>();
-        ArrayDeque<BlockPos> queue = new ArrayDeque<>();
-        queue.add(worldPosition);
-        found.add(worldPosition);
+        // Bloc posé contre un tank formé: partir de ses bornes plutôt que de ce seul bloc
+        MultiblockTankBlockEntity grownFrom = excludePos == null && !isFormed() ? findAdjacentFormedMaster() : null;
+        int[] box = grownFrom != null
+            ? toBox(grownFrom.boundsMin, grownFrom.boundsMax)
+            : toBox(worldPosition, worldPosition);
 
-        while (!queue.isEmpty()) {
-            BlockPos current = queue.poll();
+        boolean grown = true;
+        while (grown) {
+            grown = false;
             for (Direction dir : Direction.values()) {
-                BlockPos neighbor = current.relative(dir);
-                if (found.contains(neighbor)) continue;
-                if (excludePos != null && neighbor.equals(excludePos)) continue; // Exclure le bloc cassé
-                if (!level.isLoaded(neighbor)) continue;
-                if (level.getBlockEntity(neighbor) instanceof MultiblockTankBlockEntity) {
-                    found.add(neighbor);
-                    queue.add(neighbor);
+                int count = countLayer(box, dir, excludePos);
+                if (count == 0) continue;
+                if (count != layerArea(box, dir)) {
+                    // Couche partielle: les tanks connectés ne forment pas une boîte
+                    resetBox(box);
+                    if (!isInside(worldPosition, box)) {
+                        resetBlock(worldPosition);
+                    }
+                    return;
                 }
+                extend(box, dir);
+                grown = true;
             }
         }
 
-        // Un seul bloc = pas de multibloc
-        if (found.size() == 1) {
-            resetBlock(worldPosition);
+        // Doit être un cube (toutes dimensions égales), minimum 2x2x2
+        int size = box[3] - box[0] + 1;
+        if (size < 2 || box[4] - box[1] + 1 != size || box[5] - box[2] + 1 != size) {
+            resetBox(box);
             return;
         }
 
-        // Valider que c'est un cube parfait
-        int[] bb = calculateBoundingBox(found);
-        int sizeX = bb[3] - bb[0] + 1;
-        int sizeY = bb[4] - bb[1] + 1;
-        int sizeZ = bb[5] - bb[2] + 1;
+        BlockPos min = new BlockPos(box[0], box[1], box[2]);
+        BlockPos max = new BlockPos(box[3], box[4], box[5]);
 
-        // Doit être un cube (toutes dimensions égales)
-        if (sizeX != sizeY || sizeY != sizeZ) {
-            resetAllBlocks(found);
-            return;
-        }
-
-        // Minimum 2x2x2
-        if (sizeX < 2) {
-            resetAllBlocks(found);
-            return;
-        }
+        // Déjà formé avec ces bornes (validation après chargement)
+        if (isMaster() && isFormed() && min.equals(boundsMin) && max.equals(boundsMax)) return;
 
-        // Vérifier que toutes les positions sont remplies
-        int expectedSize = sizeX * sizeY * sizeZ;
-        if (found.size() != expectedSize) {
-            resetAllBlocks(found);
-            return;
-        }
+        // Cube valide! Former le multibloc
+        formMultiblock(min, max, size);
+    }
 
-        for (int x = bb[0]; x <= bb[3]; x++) {
-            for (int y = bb[1]; y <= bb[4]; y++) {
-                for (int z = bb[2]; z <= bb[5]; z++) {
-                    if (!found.contains(new BlockPos(x, y, z))) {
-                        resetAllBlocks(found);
-                        return;
-                    }
-                }
+    /**
+     * Master formé d'un tank voisin ne contenant pas ce bloc, ou null.
+     * Le master des voisins est lu dans l'index des membres (pas de lecture des voisins).
+     */
+    @Nullable
+    private MultiblockTankBlockEntity findAdjacentFormedMaster() {
+        if (level == null) return null;
+        for (Direction dir : Direction.values()) {
+            BlockPos masterPos = MultiblockEvents.getControllerAt(level, worldPosition.relative(dir));
+            if (masterPos == null || !level.isLoaded(masterPos)) continue;
+            if (level.getBlockEntity(masterPos) instanceof MultiblockTankBlockEntity master
+                    && master.isFormed() && master.boundsMin != null && master.boundsMax != null
+                    && !isInside(worldPosition, toBox(master.boundsMin, master.boundsMax))) {
+                return master;
             }
         }
-
-        // Cube valide! Former le multibloc
-        formMultiblock(found, sizeX);
+        return null;
     }
 
-    private void formMultiblock(Set<BlockPos> blocks, int size) {
+    private void formMultiblock(BlockPos min, BlockPos max, int size) {
         if (level == null) return;
 
-        // Élire le master (plus petite position Y, puis X, puis Z)
-        BlockPos newMasterPos = worldPosition;
-        for (BlockPos pos : blocks) {
-            if (comparePositions(pos, newMasterPos) < 0) {
-                newMasterPos = pos;
-            }
-        }
+        // Le master est le coin min (plus petite position Y, puis X, puis Z)
+        BlockPos newMasterPos = min;
 
-        // Collecter le fluide depuis tous les anciens tanks
+        // Collecter le fluide depuis les anciens masters et les blocs isolés
         FluidStack totalFluid = FluidStack.EMPTY;
-        for (BlockPos pos : blocks) {
+        for (BlockPos pos : BlockPos.betweenClosed(min, max)) {
             BlockEntity be = level.getBlockEntity(pos);
             if (be instanceof MultiblockTankBlockEntity tank && tank.fluidTank != null && !tank.fluidTank.isEmpty()) {
                 FluidStack f = tank.fluidTank.getFluid().copy();
@@ -322,11 +346,11 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
         if (!(masterBe instanceof MultiblockTankBlockEntity master)) return;
 
         master.masterPos = null;
-        master.connectedBlocks.clear();
-        master.connectedBlocks.addAll(blocks);
+        master.boundsMin = min;
+        master.boundsMax = max;
         master.cubeSize = size;
 
-        int newCapacity = blocks.size() * CAPACITY_PER_BLOCK;
+        int newCapacity = master.getTotalCapacity();
         master.fluidTank = master.createFluidTank(newCapacity);
         if (!totalFluid.isEmpty()) {
             int toFill = Math.min(totalFluid.getAmount(), newCapacity);
@@ -335,16 +359,18 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
         master.needsLoadValidation = false;
         master.setChanged();
 
-        // Enregistrer le master dans le framework multibloc
-        MultiblockEvents.registerActiveController(level, newMasterPos);
-
         // Configurer les BlockEntities AVANT setBlock (setBlock peut trigger sync client)
-        for (BlockPos pos : blocks) {
+        for (BlockPos pos : BlockPos.betweenClosed(min, max)) {
             if (!pos.equals(newMasterPos)) {
                 BlockEntity be = level.getBlockEntity(pos);
                 if (be instanceof MultiblockTankBlockEntity tank) {
+                    // Ancien master absorbé par un tank plus grand
+                    if (tank.isMaster() && tank.isFormed()) {
+                        MultiblockEvents.unregisterController(level, pos.immutable());
+                    }
                     tank.masterPos = newMasterPos;
-                    tank.connectedBlocks.clear();
+                    tank.boundsMin = null;
+                    tank.boundsMax = null;
                     tank.fluidTank = null;
                     tank.cubeSize = 0;
                     tank.needsLoadValidation = false;
@@ -353,18 +379,23 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
             }
         }
 
-        // Mettre à jour TOUS les blockstates (sync client avec BE data déjà à jour)
-        for (BlockPos pos : blocks) {
+        // Mettre à jour les blockstates (sync client avec BE data déjà à jour)
+        for (BlockPos pos : BlockPos.betweenClosed(min, max)) {
             boolean isMasterBlock = pos.equals(newMasterPos);
             BlockState blockState = level.getBlockState(pos);
             if (blockState.hasProperty(MultiblockTankBlock.MULTIBLOCK) && blockState.hasProperty(MultiblockTankBlock.MASTER)) {
                 BlockState newState = blockState
                     .setValue(MultiblockTankBlock.MULTIBLOCK, MultiblockProperty.TANK)
                     .setValue(MultiblockTankBlock.MASTER, isMasterBlock);
-                level.setBlock(pos, newState, 3);
+                if (newState != blockState) {
+                    level.setBlock(pos, newState, 3);
+                }
             }
         }
 
+        // Enregistrer le master une fois formé (ses membres sont indexés depuis ses bornes)
+        MultiblockEvents.registerActiveController(level, newMasterPos);
+
         // Sync explicite du master pour le renderer client (cubeSize, fluid)
         level.sendBlockUpdated(newMasterPos, level.getBlockState(newMasterPos),
             level.getBlockState(newMasterPos), 3);
@@ -373,6 +404,11 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
     private void resetBlock(BlockPos pos) {
         if (level == null) return;
 
+        BlockEntity be = level.getBlockEntity(pos);
+        if (be instanceof MultiblockTankBlockEntity tank && tank.isMaster() && tank.isFormed()) {
+            MultiblockEvents.unregisterController(level, pos);
+        }
+
         BlockState blockState = level.getBlockState(pos);
         if (blockState.hasProperty(MultiblockTankBlock.MULTIBLOCK) && blockState.hasProperty(MultiblockTankBlock.MASTER)) {
             BlockState newState = blockState
@@ -381,12 +417,16 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
             level.setBlock(pos, newState, 3);
         }
 
-        BlockEntity be = level.getBlockEntity(pos);
         if (be instanceof MultiblockTankBlockEntity tank) {
+            FluidTank previous = tank.fluidTank;
             tank.masterPos = null;
-            tank.connectedBlocks.clear();
-            tank.connectedBlocks.add(pos);
+            tank.boundsMin = pos;
+            tank.boundsMax = pos;
             tank.fluidTank = tank.createFluidTank(CAPACITY_PER_BLOCK);
+            // Tank isolé: il garde son fluide; celui d'un tank formé est réparti par l'appelant
+            if (previous != null && previous.getCapacity() <= CAPACITY_PER_BLOCK) {
+                tank.fluidTank.setFluid(previous.getFluid().copy());
+            }
             tank.cubeSize = 0;
             tank.setChanged();
             // Sync BE data au client
@@ -394,15 +434,57 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
         }
     }
 
-    private void resetAllBlocks(Set<BlockPos> blocks) {
+    private void resetBox(int[] box) {
         if (level == null) return;
-        for (BlockPos pos : blocks) {
-            resetBlock(pos);
+
+        // Fluide des tanks formés de la boîte, capturé avant que le reset ne vide leur master
+        List<HeldFluid> held = new ArrayList<>();
+        for (BlockPos pos : BlockPos.betweenClosed(box[0], box[1], box[2], box[3], box[4], box[5])) {
+            if (level.getBlockEntity(pos) instanceof MultiblockTankBlockEntity tank) {
+                HeldFluid fluid = tank.heldFluid();
+                if (fluid != null) held.add(fluid);
+            }
+        }
+
+        for (BlockPos pos : BlockPos.betweenClosed(box[0], box[1], box[2], box[3], box[4], box[5])) {
+            resetBlock(pos.immutable());
         }
+        for (HeldFluid fluid : held) {
+            spreadFluid(fluid.min(), fluid.max(), null, fluid.fluid());
+        }
+    }
+
+    /**
+     * Bornes et fluide de ce tank s'il est un master formé non vide, sinon null.
+     */
+    @Nullable
+    private HeldFluid heldFluid() {
+        if (!isMaster() || !isFormed() || boundsMin == null || boundsMax == null) return null;
+        if (fluidTank == null || fluidTank.isEmpty()) return null;
+        return new HeldFluid(boundsMin, boundsMax, fluidTank.getFluid().copy());
     }
 
     /**
-     * Appelé quand un bloc est cassé. Détruit le fluide et reset la structure.
+     * Remplit les tanks isolés des bornes bloc par bloc (hors excludePos).
+     * Le reste qui ne tient plus est perdu.
+     */
+    private void spreadFluid(BlockPos min, BlockPos max, @Nullable BlockPos excludePos, FluidStack fluid) {
+        if (level == null || fluid.isEmpty()) return;
+
+        FluidStack remaining = fluid.copy();
+        for (BlockPos pos : BlockPos.betweenClosed(min, max)) {
+            if (remaining.isEmpty()) return;
+            if (pos.equals(excludePos)) continue;
+            if (level.getBlockEntity(pos) instanceof MultiblockTankBlockEntity tank && tank.fluidTank != null) {
+                remaining.shrink(tank.fluidTank.fill(remaining.copy(), IFluidHandler.FluidAction.EXECUTE));
+            }
+        }
+    }
+
+    private record HeldFluid(BlockPos min, BlockPos max, FluidStack fluid) {}
+
+    /**
+     * Appelé quand un bloc est cassé. Reset la structure et répartit le fluide dans les blocs restants.
      */
     public void onBroken() {
         if (level == null || level.isClientSide()) return;
@@ -414,36 +496,8 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
             // Désenregistrer du framework multibloc
             MultiblockEvents.unregisterController(level, worldPosition);
 
-            // Détruire le fluide
-            if (fluidTank != null) {
-                fluidTank.drain(Integer.MAX_VALUE, IFluidHandler.FluidAction.EXECUTE);
-            }
-
-            // Copier la liste des blocs (exclure le bloc cassé)
-            Set<BlockPos> blocksToReset = new HashSet<>(connectedBlocks);
-            blocksToReset.remove(myPos);
-
-            // Reset TOUS les autres blocs
-            for (BlockPos pos : blocksToReset) {
-                resetBlock(pos);
-            }
-
-            // Trouver un voisin restant pour reformer
-            BlockPos reformFrom = null;
-            for (Direction dir : Direction.values()) {
-                BlockPos neighbor = myPos.relative(dir);
-                if (blocksToReset.contains(neighbor)) {
-                    reformFrom = neighbor;
-                    break;
-                }
-            }
-
-            // Reformer depuis un voisin (en excluant le bloc cassé)
-            if (reformFrom != null) {
-                BlockEntity be = level.getBlockEntity(reformFrom);
-                if (be instanceof MultiblockTankBlockEntity neighbor) {
-                    neighbor.tryFormMultiblock(myPos); // Exclure le bloc cassé!
-                }
+            if (boundsMin != null && boundsMax != null) {
+                resetAndReform(boundsMin, boundsMax, myPos);
             }
         } else if (masterPos != null && isFormed()) {
             // On est un slave: notifier le master en lui passant notre position
@@ -456,7 +510,8 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
 
         // Reset ce bloc (sera retiré juste après par super.onRemove)
         this.masterPos = null;
-        this.connectedBlocks.clear();
+        this.boundsMin = null;
+        this.boundsMax = null;
         this.fluidTank = null;
         this.cubeSize = 0;
     }
@@ -471,62 +526,97 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
         // Désenregistrer du framework multibloc
         MultiblockEvents.unregisterController(level, worldPosition);
 
-        // Détruire le fluide
-        if (fluidTank != null) {
-            fluidTank.drain(Integer.MAX_VALUE, IFluidHandler.FluidAction.EXECUTE);
+        if (boundsMin != null && boundsMax != null) {
+            resetAndReform(boundsMin, boundsMax, brokenPos);
         }
+    }
 
-        // Copier la liste AVANT d'itérer (évite ConcurrentModificationException)
-        Set<BlockPos> allBlocks = new HashSet<>(connectedBlocks);
-        allBlocks.remove(brokenPos);
+    /**
+     * Reset tous les blocs des bornes sauf le cassé, y répartit le fluide du master,
+     * puis reforme depuis un de ses voisins (la formation regroupe le fluide des blocs).
+     * Les bornes sont passées en paramètre: le reset du master les réécrit.
+     */
+    private void resetAndReform(BlockPos min, BlockPos max, BlockPos brokenPos) {
+        if (level == null) return;
 
-        // Reset TOUS les blocs sauf le cassé
-        for (BlockPos pos : allBlocks) {
-            resetBlock(pos);
+        FluidStack fluid = fluidTank != null ? fluidTank.getFluid().copy() : FluidStack.EMPTY;
+        for (BlockPos pos : BlockPos.betweenClosed(min, max)) {
+            if (!pos.equals(brokenPos)) {
+                resetBlock(pos.immutable());
+            }
         }
+        spreadFluid(min, max, brokenPos, fluid);
 
-        // Trouver un voisin du bloc cassé pour reformer
-        BlockPos reformFrom = null;
+        // Reformer depuis un voisin (en excluant le bloc cassé)
+        int[] box = toBox(min, max);
         for (Direction dir : Direction.values()) {
             BlockPos neighbor = brokenPos.relative(dir);
-            if (allBlocks.contains(neighbor)) {
-                reformFrom = neighbor;
-                break;
+            if (isInside(neighbor, box)) {
+                if (level.getBlockEntity(neighbor) instanceof MultiblockTankBlockEntity tank) {
+                    tank.tryFormMultiblock(brokenPos);
+                }
+                return;
             }
         }
+    }
 
-        // Reformer depuis un voisin (en excluant le bloc cassé)
-        if (reformFrom != null) {
-            BlockEntity be = level.getBlockEntity(reformFrom);
-            if (be instanceof MultiblockTankBlockEntity tank) {
-                tank.tryFormMultiblock(brokenPos);
+    // ==================== Helpers ====================
+
+    /**
+     * Nombre de tanks dans la couche adjacente à la boîte du côté dir.
+     */
+    private int countLayer(int[] box, Direction dir, @Nullable BlockPos excludePos) {
+        if (level == null) return 0;
+
+        int axis = dir.getAxis().ordinal();
+        int coord = dir.getAxisDirection() == Direction.AxisDirection.POSITIVE ? box[axis + 3] + 1 : box[axis] - 1;
+        int[] layer = box.clone();
+        layer[axis] = coord;
+        layer[axis + 3] = coord;
+
+        int count = 0;
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int x = layer[0]; x <= layer[3]; x++) {
+            for (int y = layer[1]; y <= layer[4]; y++) {
+                for (int z = layer[2]; z <= layer[5]; z++) {
+                    pos.set(x, y, z);
+                    if (excludePos != null && pos.equals(excludePos)) continue; // Exclure le bloc cassé
+                    if (!level.isLoaded(pos)) continue;
+                    if (level.getBlockEntity(pos) instanceof MultiblockTankBlockEntity) {
+                        count++;
+                    }
+                }
             }
         }
+        return count;
     }
 
-    // ==================== Helpers ====================
-
-    private int[] calculateBoundingBox(Set<BlockPos> blocks) {
-        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
-        int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
-        int minZ = Integer.MAX_VALUE, maxZ = Integer.MIN_VALUE;
+    private static int layerArea(int[] box, Direction dir) {
+        int axis = dir.getAxis().ordinal();
+        int area = 1;
+        for (int i = 0; i < 3; i++) {
+            if (i != axis) area *= box[i + 3] - box[i] + 1;
+        }
+        return area;
+    }
 
-        for (BlockPos pos : blocks) {
-            minX = Math.min(minX, pos.getX());
-            maxX = Math.max(maxX, pos.getX());
-            minY = Math.min(minY, pos.getY());
-            maxY = Math.max(maxY, pos.getY());
-            minZ = Math.min(minZ, pos.getZ());
-            maxZ = Math.max(maxZ, pos.getZ());
+    private static void extend(int[] box, Direction dir) {
+        int axis = dir.getAxis().ordinal();
+        if (dir.getAxisDirection() == Direction.AxisDirection.POSITIVE) {
+            box[axis + 3]++;
+        } else {
+            box[axis]--;
         }
+    }
 
-        return new int[]{minX, minY, minZ, maxX, maxY, maxZ};
+    private static int[] toBox(BlockPos min, BlockPos max) {
+        return new int[]{min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ()};
     }
 
-    private int comparePositions(BlockPos a, BlockPos b) {
-        if (a.getY() != b.getY()) return Integer.compare(a.getY(), b.getY());
-        if (a.getX() != b.getX()) return Integer.compare(a.getX(), b.getX());
-        return Integer.compare(a.getZ(), b.getZ());
+    private static boolean isInside(BlockPos pos, int[] box) {
+        return pos.getX() >= box[0] && pos.getX() <= box[3]
+            && pos.getY() >= box[1] && pos.getY() <= box[4]
+            && pos.getZ() >= box[2] && pos.getZ() <= box[5];
     }
 
     // ==================== Tick ====================
@@ -560,7 +650,10 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
             be.loadValidationDelay++;
             if (be.loadValidationDelay >= LOAD_VALIDATION_WAIT_TICKS) {
                 be.needsLoadValidation = false;
-                be.tryFormMultiblock(null);
+                // Un slave dont le master est présent est validé par ce dernier
+                if (be.isMaster() || !be.isFormed() || be.getMaster() == null) {
+                    be.tryFormMultiblock(null);
+                }
             }
         }
 
@@ -668,12 +761,7 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
             }
             tag.put("Bucket", bucketSlot.serializeNBT(registries));
             tag.putInt("CubeSize", cubeSize);
-
-            ListTag blocksList = new ListTag();
-            for (BlockPos pos : connectedBlocks) {
-                blocksList.add(NbtUtils.writeBlockPos(pos));
-            }
-            tag.put("ConnectedBlocks", blocksList);
+            writeBounds(tag);
         } else if (masterPos != null) {
             tag.put("MasterPos", NbtUtils.writeBlockPos(masterPos));
         }
@@ -688,16 +776,7 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
         if (isMasterData) {
             this.masterPos = null;
 
-            connectedBlocks.clear();
-            if (tag.contains("ConnectedBlocks")) {
-                ListTag blocksList = tag.getList("ConnectedBlocks", Tag.TAG_COMPOUND);
-                for (int i = 0; i < blocksList.size(); i++) {
-                    NbtUtils.readBlockPos(blocksList.getCompound(i), "").ifPresent(connectedBlocks::add);
-                }
-            }
-            if (connectedBlocks.isEmpty()) {
-                connectedBlocks.add(worldPosition);
-            }
+            readBounds(tag);
 
             int capacity = getTotalCapacity();
             this.fluidTank = createFluidTank(capacity);
@@ -712,7 +791,7 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
             this.cubeSize = tag.getInt("CubeSize");
         } else {
             if (tag.contains("MasterPos")) {
-                NbtUtils.readBlockPos(tag.getCompound("MasterPos"), "").ifPresent(pos -> this.masterPos = pos);
+                NbtUtils.readBlockPos(tag, "MasterPos").ifPresent(pos -> this.masterPos = pos);
             }
             this.fluidTank = null;
             this.cubeSize = 0;
@@ -728,8 +807,8 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
             if (fluidTank != null) {
                 tag.put("Fluid", fluidTank.writeToNBT(registries, new CompoundTag()));
             }
-            tag.putInt("BlockCount", connectedBlocks.size());
             tag.putInt("CubeSize", cubeSize);
+            writeBounds(tag);
         } else if (masterPos != null) {
             tag.put("MasterPos", NbtUtils.writeBlockPos(masterPos));
         }
@@ -737,6 +816,41 @@ public class MultiblockTankBlockEntity extends BlockEntity implements MenuProvid
         return tag;
     }
 
+    private void writeBounds(CompoundTag tag) {
+        if (boundsMin != null && boundsMax != null) {
+            tag.put("BoundsMin", NbtUtils.writeBlockPos(boundsMin));
+            tag.put("BoundsMax", NbtUtils.writeBlockPos(boundsMax));
+        }
+    }
+
+    private void readBounds(CompoundTag tag) {
+        boundsMin = NbtUtils.readBlockPos(tag, "BoundsMin").orElse(null);
+        boundsMax = NbtUtils.readBlockPos(tag, "BoundsMax").orElse(null);
+
+        // Ancien format: liste des blocs connectés, réduite à sa boîte englobante
+        if ((boundsMin == null || boundsMax == null) && tag.contains("ConnectedBlocks")) {
+            ListTag blocksList = tag.getList("ConnectedBlocks", Tag.TAG_INT_ARRAY);
+            for (int i = 0; i < blocksList.size(); i++) {
+                int[] coords = blocksList.getIntArray(i);
+                if (coords.length != 3) continue;
+                BlockPos pos = new BlockPos(coords[0], coords[1], coords[2]);
+                if (boundsMin == null || boundsMax == null) {
+                    boundsMin = pos;
+                    boundsMax = pos;
+                } else {
+                    boundsMin = new BlockPos(Math.min(boundsMin.getX(), pos.getX()),
+                        Math.min(boundsMin.getY(), pos.getY()), Math.min(boundsMin.getZ(), pos.getZ()));
+                    boundsMax = new BlockPos(Math.max(boundsMax.getX(), pos.getX()),
+                        Math.max(boundsMax.getY(), pos.getY()), Math.max(boundsMax.getZ(), pos.getZ()));
+                }
+            }
+        }
+        if (boundsMin == null || boundsMax == null) {
+            boundsMin = worldPosition;
+            boundsMax = worldPosition;
+        }
+    }
+
     @Nullable
     @Override
     public Packet<ClientGamePacketListener> getUpdatePacket() {
@@ -15,6 +15,7 @@ package com.chapeau.apica.common.blockentity.alchemy;
 import com.chapeau.apica.common.block.alchemy.PoweredCentrifugeBlock;
 import com.chapeau.apica.common.menu.alchemy.PoweredCentrifugeMenu;
 import com.chapeau.apica.core.recipe.ApicaRecipeTypes;
+import com.chapeau.apica.core.recipe.CachedRecipeLookup;
 import com.chapeau.apica.core.recipe.ProcessingOutput;
 import com.chapeau.apica.core.recipe.ProcessingRecipeInput;
 import com.chapeau.apica.core.recipe.type.CentrifugeRecipe;
@@ -85,6 +86,7 @@ public class PoweredCentrifugeBlockEntity extends BlockEntity implements MenuPro
     private int currentProcessTime = TIER1_PROCESS_TIME;
     @Nullable
     private RecipeHolder<CentrifugeRecipe> currentRecipe = null;
+    private final CachedRecipeLookup<ProcessingRecipeInput, CentrifugeRecipe> recipeLookup = new CachedRecipeLookup<>(ApicaRecipeTypes.CENTRIFUGING);
 
     protected final ContainerData dataAccess = new ContainerData() {
         @Override
@@ -196,11 +198,7 @@ public class PoweredCentrifugeBlockEntity extends BlockEntity implements MenuPro
         }
 
         ProcessingRecipeInput input = ProcessingRecipeInput.ofItem(stack);
-        Optional<RecipeHolder<CentrifugeRecipe>> recipe = level.getRecipeManager().getRecipeFor(
-            ApicaRecipeTypes.CENTRIFUGING.get(),
-            input,
-            level
-        );
+        Optional<RecipeHolder<CentrifugeRecipe>> recipe = recipeLookup.find(level, input);
 
         if (recipe.isPresent()) {
             currentRecipe = recipe.get();
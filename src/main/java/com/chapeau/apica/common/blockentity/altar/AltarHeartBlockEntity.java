@@ -13,6 +13,8 @@
  * | MultiblockValidator      | Validation           | tryFormAltar()                 |
  * | MultiblockFormationHelper| Formation/Destruction| Framework uniforme             |
  * | MultiblockEvents         | Enregistrement       | Détection destruction          |
+ * | CachedRecipeLookup       | Cache de recette     | Recette de l'autel             |
+ * | AltarRegionListener      | Events de blocs      | Invalidation de la topologie   |
  * ------------------------------------------------------------
  *
  * UTILISÉ PAR:
@@ -37,8 +39,10 @@ import com.chapeau.apica.common.item.accessory.CompanionBeeItem;
 import com.chapeau.apica.common.item.bee.MagicBeeItem;
 import com.chapeau.apica.core.recipe.AltarRecipeInput;
 import com.chapeau.apica.core.recipe.ApicaRecipeTypes;
+import com.chapeau.apica.core.recipe.CachedRecipeLookup;
 import com.chapeau.apica.core.recipe.type.AltarRecipe;
 import com.chapeau.apica.core.registry.ApicaBlockEntities;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
@@ -87,6 +91,14 @@ public class AltarHeartBlockEntity extends BlockEntity implements MultiblockCont
     private boolean crafting = false;
     private long craftStartGameTime = 0;
 
+    // === Topologie (positions des pedestals et pollen pots), invalidee par AltarRegionListener ===
+    @Nullable
+    private long[] pedestalPositions;
+    @Nullable
+    private long[] pollenPotPositions;
+
+    private final CachedRecipeLookup<AltarRecipeInput, AltarRecipe> recipeLookup = new CachedRecipeLookup<>(ApicaRecipeTypes.ALTAR);
+
     public AltarHeartBlockEntity(BlockPos pos, BlockState state) {
         super(ApicaBlockEntities.ALTAR_HEART.get(), pos, state);
     }
@@ -137,6 +149,7 @@ public class AltarHeartBlockEntity extends BlockEntity implements MultiblockCont
 
             // 6. Register events
             MultiblockEvents.registerActiveController(level, worldPosition);
+            AltarRegionListener.register(level, getCenterPedestalPos(), this);
             setChanged();
         }
     }
@@ -162,6 +175,8 @@ public class AltarHeartBlockEntity extends BlockEntity implements MultiblockCont
 
             // 5. Unregister events (dimension-aware)
             MultiblockEvents.unregisterController(level, worldPosition);
+            AltarRegionListener.unregister(level, getCenterPedestalPos());
+            invalidateTopology();
             multiblockRotation = 0;
             setChanged();
         }
@@ -233,8 +248,7 @@ public class AltarHeartBlockEntity extends BlockEntity implements MultiblockCont
 
     // ==================== Altar Crafting ====================
 
-    private static final int PEDESTAL_SEARCH_RADIUS = 5;
-    private static final int POLLEN_POT_SEARCH_RADIUS = 5;
+    private static final int SEARCH_RADIUS = AltarRegionListener.SEARCH_RADIUS;
 
     /**
      * Tente d'executer un craft d'altar.
@@ -247,8 +261,7 @@ public class AltarHeartBlockEntity extends BlockEntity implements MultiblockCont
             return false;
         }
 
-        // Position du pedestal central (Y-2 par rapport au coeur)
-        BlockPos centerPedestalPos = worldPosition.offset(0, -2, 0);
+        BlockPos centerPedestalPos = getCenterPedestalPos();
 
         // Recuperer l'item central
         ItemStack centerItem = getCenterItem(centerPedestalPos);
@@ -276,8 +289,7 @@ public class AltarHeartBlockEntity extends BlockEntity implements MultiblockCont
         AltarRecipeInput input = new AltarRecipeInput(centerItem, pedestalItems, availablePollen);
 
         // Chercher une recette qui match
-        Optional<RecipeHolder<AltarRecipe>> recipeHolder = level.getRecipeManager()
-            .getRecipeFor(ApicaRecipeTypes.ALTAR.get(), input, level);
+        Optional<RecipeHolder<AltarRecipe>> recipeHolder = recipeLookup.find(level, input);
 
         if (recipeHolder.isEmpty()) {
             // Pas de recette trouvee - pas de son
@@ -402,45 +414,80 @@ public class AltarHeartBlockEntity extends BlockEntity implements MultiblockCont
     }
 
     /**
-     * Trouve tous les pedestals dans un rayon autour du pedestal central.
+     * Position du pedestal central (Y-2 par rapport au coeur).
      */
-    private List<HoneyPedestalBlockEntity> getSurroundingPedestals(BlockPos centerPos) {
-        List<HoneyPedestalBlockEntity> pedestals = new ArrayList<>();
-        int y = centerPos.getY();
+    private BlockPos getCenterPedestalPos() {
+        return worldPosition.offset(0, -2, 0);
+    }
 
-        for (int dx = -PEDESTAL_SEARCH_RADIUS; dx <= PEDESTAL_SEARCH_RADIUS; dx++) {
-            for (int dz = -PEDESTAL_SEARCH_RADIUS; dz <= PEDESTAL_SEARCH_RADIUS; dz++) {
-                if (dx == 0 && dz == 0) continue; // Skip le pedestal central
+    /**
+     * Oublie les positions des pedestals et pollen pots (bloc modifie dans le rayon).
+     * Rescan a la prochaine verification de craft.
+     */
+    void invalidateTopology() {
+        pedestalPositions = null;
+        pollenPotPositions = null;
+    }
 
-                BlockPos checkPos = new BlockPos(centerPos.getX() + dx, y, centerPos.getZ() + dz);
-                BlockEntity be = level.getBlockEntity(checkPos);
-                if (be instanceof HoneyPedestalBlockEntity pedestal) {
-                    pedestals.add(pedestal);
-                }
+    /**
+     * Pedestals autour du pedestal central, depuis la topologie en cache.
+     */
+    private List<HoneyPedestalBlockEntity> getSurroundingPedestals(BlockPos centerPos) {
+        if (pedestalPositions == null) scanTopology(centerPos);
+        List<HoneyPedestalBlockEntity> pedestals = new ArrayList<>(pedestalPositions.length);
+        for (long packed : pedestalPositions) {
+            if (level.getBlockEntity(BlockPos.of(packed)) instanceof HoneyPedestalBlockEntity pedestal) {
+                pedestals.add(pedestal);
+            } else {
+                // Changement sans event (chunk recharge...): rescan complet
+                invalidateTopology();
+                return getSurroundingPedestals(centerPos);
             }
         }
-
         return pedestals;
     }
 
     /**
-     * Trouve tous les pollen pots dans un rayon autour du pedestal central.
+     * Pollen pots autour du pedestal central, depuis la topologie en cache.
      */
     private List<PollenPotBlockEntity> getSurroundingPollenPots(BlockPos centerPos) {
-        List<PollenPotBlockEntity> pots = new ArrayList<>();
+        if (pollenPotPositions == null) scanTopology(centerPos);
+        List<PollenPotBlockEntity> pots = new ArrayList<>(pollenPotPositions.length);
+        for (long packed : pollenPotPositions) {
+            if (level.getBlockEntity(BlockPos.of(packed)) instanceof PollenPotBlockEntity pot) {
+                pots.add(pot);
+            } else {
+                invalidateTopology();
+                return getSurroundingPollenPots(centerPos);
+            }
+        }
+        return pots;
+    }
+
+    /**
+     * Parcourt le rayon autour du pedestal central et memorise les positions
+     * des pedestals (central exclu) et des pollen pots, dans l'ordre du parcours.
+     */
+    private void scanTopology(BlockPos centerPos) {
+        LongArrayList pedestals = new LongArrayList();
+        LongArrayList pots = new LongArrayList();
+        BlockPos.MutableBlockPos checkPos = new BlockPos.MutableBlockPos();
         int y = centerPos.getY();
 
-        for (int dx = -POLLEN_POT_SEARCH_RADIUS; dx <= POLLEN_POT_SEARCH_RADIUS; dx++) {
-            for (int dz = -POLLEN_POT_SEARCH_RADIUS; dz <= POLLEN_POT_SEARCH_RADIUS; dz++) {
-                BlockPos checkPos = new BlockPos(centerPos.getX() + dx, y, centerPos.getZ() + dz);
+        for (int dx = -SEARCH_RADIUS; dx <= SEARCH_RADIUS; dx++) {
+            for (int dz = -SEARCH_RADIUS; dz <= SEARCH_RADIUS; dz++) {
+                checkPos.set(centerPos.getX() + dx, y, centerPos.getZ() + dz);
                 BlockEntity be = level.getBlockEntity(checkPos);
-                if (be instanceof PollenPotBlockEntity pot) {
-                    pots.add(pot);
+                if (be instanceof HoneyPedestalBlockEntity && (dx != 0 || dz != 0)) {
+                    pedestals.add(checkPos.asLong());
+                } else if (be instanceof PollenPotBlockEntity) {
+                    pots.add(checkPos.asLong());
                 }
             }
         }
 
-        return pots;
+        pedestalPositions = pedestals.toLongArray();
+        pollenPotPositions = pots.toLongArray();
     }
 
     /**
@@ -469,7 +516,7 @@ public class AltarHeartBlockEntity extends BlockEntity implements MultiblockCont
 
             // Petites particules de poussiere
             if (level instanceof ServerLevel serverLevel) {
-                BlockPos centerPedestalPos = worldPosition.offset(0, -2, 0);
+                BlockPos centerPedestalPos = getCenterPedestalPos();
                 double x = centerPedestalPos.getX() + 0.5;
                 double y = centerPedestalPos.getY() + 1.2;
                 double z = centerPedestalPos.getZ() + 0.5;
@@ -529,7 +576,7 @@ public class AltarHeartBlockEntity extends BlockEntity implements MultiblockCont
      * Re-valide la recette pour eviter les exploits.
      */
     private void executeDelayedCraft() {
-        BlockPos centerPedestalPos = worldPosition.offset(0, -2, 0);
+        BlockPos centerPedestalPos = getCenterPedestalPos();
         ItemStack centerItem = getCenterItem(centerPedestalPos);
 
         List<HoneyPedestalBlockEntity> surroundingPedestals = getSurroundingPedestals(centerPedestalPos);
@@ -550,8 +597,7 @@ public class AltarHeartBlockEntity extends BlockEntity implements MultiblockCont
         }
 
         AltarRecipeInput input = new AltarRecipeInput(centerItem, pedestalItems, availablePollen);
-        Optional<RecipeHolder<AltarRecipe>> recipeHolder = level.getRecipeManager()
-            .getRecipeFor(ApicaRecipeTypes.ALTAR.get(), input, level);
+        Optional<RecipeHolder<AltarRecipe>> recipeHolder = recipeLookup.find(level, input);
 
         if (recipeHolder.isEmpty()) {
             playFailSound();
@@ -581,6 +627,7 @@ public class AltarHeartBlockEntity extends BlockEntity implements MultiblockCont
         super.setRemoved();
         if (level != null) {
             MultiblockEvents.unregisterController(level, worldPosition);
+            AltarRegionListener.unregister(level, getCenterPedestalPos());
         } else {
             MultiblockEvents.unregisterController(worldPosition);
         }
@@ -592,6 +639,7 @@ public class AltarHeartBlockEntity extends BlockEntity implements MultiblockCont
         // Si déjà formé au chargement, se réinscrire
         if (altarFormed && level != null && !level.isClientSide()) {
             MultiblockEvents.registerActiveController(level, worldPosition);
+            AltarRegionListener.register(level, getCenterPedestalPos(), this);
         }
     }
 
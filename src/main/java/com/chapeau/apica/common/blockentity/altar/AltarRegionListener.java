@@ -0,0 +1,130 @@
+/**
+ * ============================================================
+ * [AltarRegionListener.java]
+ * Description: Invalidation de la topologie des autels formes par events de blocs
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Un autel forme s'inscrit avec sa region: carre de rayon SEARCH_RADIUS au niveau
+ *   du pedestal central (Y-2 du coeur), ou sont cherches pedestals et pollen pots
+ * - Index par chunk: un autel est inscrit dans chaque chunk que sa region recouvre
+ *   (4 au plus), un NeighborNotifyEvent ne teste que les autels du chunk touche
+ * - NeighborNotifyEvent (tout setBlock avec mise a jour) dans une region: l'autel
+ *   oublie sa topologie, rescannee a la prochaine verification de craft
+ * - Desinscription a la rupture de l'autel, au retrait du BlockEntity (chunk decharge
+ *   compris) et au dechargement de la dimension
+ * ============================================================
+ *
+ * DEPENDANCES:
+ * ------------------------------------------------------------
+ * | Dependance            | Raison                | Utilisation                    |
+ * |-----------------------|----------------------|--------------------------------|
+ * | AltarHeartBlockEntity | Autel inscrit         | invalidateTopology()           |
+ * ------------------------------------------------------------
+ *
+ * UTILISE PAR:
+ * - AltarHeartBlockEntity.java (inscription/desinscription)
+ * - Apica.java (enregistrement events, nettoyage a l'arret serveur)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.common.blockentity.altar;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+public class AltarRegionListener {
+
+    /** Rayon horizontal de recherche des pedestals et pollen pots autour du pedestal central. */
+    public static final int SEARCH_RADIUS = 5;
+
+    /** Autels inscrits par dimension, par chunk recouvert, par position du pedestal central. */
+    private static final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<Map<BlockPos, AltarHeartBlockEntity>>> ALTARS = new HashMap<>();
+
+    public static void register(Level level, BlockPos centerPedestalPos, AltarHeartBlockEntity altar) {
+        if (level.isClientSide()) return;
+        BlockPos center = centerPedestalPos.immutable();
+        Long2ObjectOpenHashMap<Map<BlockPos, AltarHeartBlockEntity>> byChunk =
+                ALTARS.computeIfAbsent(level.dimension(), k -> new Long2ObjectOpenHashMap<>());
+        forEachChunk(center, chunkKey -> byChunk.computeIfAbsent(chunkKey, k -> new HashMap<>()).put(center, altar));
+    }
+
+    public static void unregister(Level level, BlockPos centerPedestalPos) {
+        Long2ObjectOpenHashMap<Map<BlockPos, AltarHeartBlockEntity>> byChunk = ALTARS.get(level.dimension());
+        if (byChunk == null) return;
+        forEachChunk(centerPedestalPos, chunkKey -> {
+            Map<BlockPos, AltarHeartBlockEntity> altars = byChunk.get(chunkKey);
+            if (altars != null && altars.remove(centerPedestalPos) != null && altars.isEmpty()) {
+                byChunk.remove(chunkKey);
+            }
+        });
+        if (byChunk.isEmpty()) {
+            ALTARS.remove(level.dimension());
+        }
+    }
+
+    /**
+     * Chunks recouverts par la region d'un autel (carre de rayon SEARCH_RADIUS).
+     */
+    private static void forEachChunk(BlockPos centerPedestalPos, LongConsumer visitor) {
+        int minX = SectionPos.blockToSectionCoord(centerPedestalPos.getX() - SEARCH_RADIUS);
+        int maxX = SectionPos.blockToSectionCoord(centerPedestalPos.getX() + SEARCH_RADIUS);
+        int minZ = SectionPos.blockToSectionCoord(centerPedestalPos.getZ() - SEARCH_RADIUS);
+        int maxZ = SectionPos.blockToSectionCoord(centerPedestalPos.getZ() + SEARCH_RADIUS);
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                visitor.accept(ChunkPos.asLong(x, z));
+            }
+        }
+    }
+
+    private static boolean isInRegion(BlockPos pos, BlockPos centerPedestalPos) {
+        return pos.getY() == centerPedestalPos.getY()
+                && Math.abs(pos.getX() - centerPedestalPos.getX()) <= SEARCH_RADIUS
+                && Math.abs(pos.getZ() - centerPedestalPos.getZ()) <= SEARCH_RADIUS;
+    }
+
+    // --- Events ---
+
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        Long2ObjectOpenHashMap<Map<BlockPos, AltarHeartBlockEntity>> byChunk = ALTARS.get(level.dimension());
+        if (byChunk == null) return;
+
+        BlockPos pos = event.getPos();
+        Map<BlockPos, AltarHeartBlockEntity> altars = byChunk.get(ChunkPos.asLong(pos));
+        if (altars == null) return;
+        for (Map.Entry<BlockPos, AltarHeartBlockEntity> entry : altars.entrySet()) {
+            if (isInRegion(pos, entry.getKey())) {
+                entry.getValue().invalidateTopology();
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            ALTARS.remove(level.dimension());
+        }
+    }
+
+    /**
+     * Oublie tous les autels inscrits (appele a l'arret du serveur).
+     */
+    public static void clearAll() {
+        ALTARS.clear();
+    }
+}
@@ -36,6 +36,7 @@
  * |-------------------------------|----------------------|--------------------------------|
  * | ApicaBlockEntities            | Type registration    | super()                        |
  * | MultiblockController          | Multiblock check     | isPartOfFormedMultiblock       |
+ * | MultiblockEvents              | Index des membres    | Contrôleur du réservoir        |
  * | MultiblockCapabilityProvider  | Délégation caps      | findCapabilityProvider         |
  * ------------------------------------------------------------
  *
@@ -49,6 +50,7 @@ package com.chapeau.apica.common.blockentity.altar;
 
 import com.chapeau.apica.core.multiblock.MultiblockCapabilityProvider;
 import com.chapeau.apica.core.multiblock.MultiblockController;
+import com.chapeau.apica.core.multiblock.MultiblockEvents;
 import com.chapeau.apica.core.registry.ApicaBlockEntities;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderLookup;
@@ -174,14 +176,26 @@ public class HoneyReservoirBlockEntity extends BlockEntity {
         return controllerPos;
     }
 
+    /**
+     * Contrôleur du multibloc formé dont ce réservoir est membre.
+     * Serveur: index des membres de MultiblockEvents; client: controllerPos synchronisé.
+     */
+    @Nullable
+    private BlockPos resolveControllerPos() {
+        if (level == null) return null;
+        if (level.isClientSide()) return controllerPos;
+        return MultiblockEvents.getControllerAt(level, worldPosition);
+    }
+
     /**
      * Cherche le MultiblockCapabilityProvider du contrôleur associé.
      * Retourne null si pas de contrôleur, pas formé, ou pas un provider.
      */
     @Nullable
     public MultiblockCapabilityProvider findCapabilityProvider() {
-        if (controllerPos == null || level == null) return null;
-        BlockEntity be = level.getBlockEntity(controllerPos);
+        BlockPos ownerPos = resolveControllerPos();
+        if (ownerPos == null) return null;
+        BlockEntity be = level.getBlockEntity(ownerPos);
         if (be instanceof MultiblockCapabilityProvider provider
                 && be instanceof MultiblockController controller
                 && controller.isFormed()) {
@@ -194,8 +208,9 @@ public class HoneyReservoirBlockEntity extends BlockEntity {
      * Vérifie si ce réservoir fait partie d'un multiblock formé.
      */
     public boolean isPartOfFormedMultiblock() {
-        if (controllerPos == null || level == null) return false;
-        BlockEntity be = level.getBlockEntity(controllerPos);
+        BlockPos ownerPos = resolveControllerPos();
+        if (ownerPos == null) return false;
+        BlockEntity be = level.getBlockEntity(ownerPos);
         if (be instanceof MultiblockController controller) {
             return controller.isFormed();
         }
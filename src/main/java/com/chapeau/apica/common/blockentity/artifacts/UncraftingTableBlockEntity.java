@@ -6,7 +6,7 @@
  *
  * FONCTIONNEMENT:
  * - Place un item crafté dans le slot input
- * - Reverse-lookup la recette de crafting
+ * - Reverse-lookup la recette de crafting (UncraftingRecipeIndex, index inverse en cache)
  * - Consomme ~500 mB de nectar graduellement sur 2 minutes
  * - Produit les ingrédients dans une grille 3x3 de sortie
  * - Pause si le tank est vide (0 mB), reprend quand rempli
@@ -19,6 +19,7 @@
  * | UncraftingTableMenu     | Menu container       | createMenu                     |
  * | ApicaFluids             | Fluides du mod       | Validation nectar              |
  * | ApicaBlockEntities      | Registre BE          | Type factory                   |
+ * | UncraftingRecipeIndex   | Index inverse        | Ingredients de l'item          |
  * ------------------------------------------------------------
  *
  * UTILISE PAR:
@@ -31,6 +32,7 @@ package com.chapeau.apica.common.blockentity.artifacts;
 
 import com.chapeau.apica.common.block.artifacts.UncraftingTableBlock;
 import com.chapeau.apica.common.menu.alchemy.UncraftingTableMenu;
+import com.chapeau.apica.core.recipe.UncraftingRecipeIndex;
 import com.chapeau.apica.core.registry.ApicaBlockEntities;
 import com.chapeau.apica.core.registry.ApicaFluids;
 import net.minecraft.core.BlockPos;
@@ -48,10 +50,6 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.ContainerData;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.crafting.CraftingRecipe;
-import net.minecraft.world.item.crafting.Ingredient;
-import net.minecraft.world.item.crafting.RecipeHolder;
-import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
@@ -203,24 +201,10 @@ public class UncraftingTableBlockEntity extends BlockEntity implements MenuProvi
 
     @Nullable
     private NonNullList<ItemStack> findIngredients(Level level, ItemStack target) {
-        for (RecipeHolder<CraftingRecipe> holder : level.getRecipeManager().getAllRecipesFor(RecipeType.CRAFTING)) {
-            CraftingRecipe recipe = holder.value();
-            ItemStack result = recipe.getResultItem(level.registryAccess());
-            if (ItemStack.isSameItem(result, target) && target.getCount() >= result.getCount()) {
-                NonNullList<Ingredient> ingredients = recipe.getIngredients();
-                NonNullList<ItemStack> resolved = NonNullList.withSize(9, ItemStack.EMPTY);
-                for (int i = 0; i < ingredients.size() && i < 9; i++) {
-                    Ingredient ing = ingredients.get(i);
-                    ItemStack[] items = ing.getItems();
-                    if (items.length > 0) {
-                        resolved.set(i, items[0].copy());
-                    }
-                }
-                cachedResultCount = result.getCount();
-                return resolved;
-            }
-        }
-        return null;
+        UncraftingRecipeIndex.Breakdown breakdown = UncraftingRecipeIndex.find(level, target);
+        if (breakdown == null) return null;
+        cachedResultCount = breakdown.resultCount();
+        return breakdown.copyIngredients();
     }
 
     public FluidTank getNectarTank() { return nectarTank; }
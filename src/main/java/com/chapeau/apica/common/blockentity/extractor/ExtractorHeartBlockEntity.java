@@ -36,6 +36,7 @@ import com.chapeau.apica.core.gene.Gene;
 import com.chapeau.apica.core.gene.GeneCategory;
 import com.chapeau.apica.core.multiblock.BlockIORule;
 import com.chapeau.apica.core.multiblock.IOMode;
+import com.chapeau.apica.core.multiblock.MultiblockCapabilityCache;
 import com.chapeau.apica.core.multiblock.MultiblockCapabilityProvider;
 import com.chapeau.apica.core.multiblock.MultiblockController;
 import com.chapeau.apica.core.multiblock.MultiblockEvents;
@@ -99,6 +100,10 @@ public class ExtractorHeartBlockEntity extends BlockEntity implements Multiblock
 
     private boolean extractorFormed = false;
     private int multiblockRotation = 0;
+
+    // Handlers exposés par (réservoir, face), résolus à la formation
+    private final MultiblockCapabilityCache<IFluidHandler> fluidCapabilities = new MultiblockCapabilityCache<>(this::resolveFluidHandler);
+
     private int tickCounter = 0;
 
     /**
@@ -362,6 +367,11 @@ public class ExtractorHeartBlockEntity extends BlockEntity implements Multiblock
     @Nullable
     public IFluidHandler getFluidHandlerForBlock(BlockPos worldPos, @Nullable Direction face) {
         if (!extractorFormed) return null;
+        return fluidCapabilities.get(worldPos, face);
+    }
+
+    @Nullable
+    private IFluidHandler resolveFluidHandler(BlockPos worldPos, @Nullable Direction face) {
         IOMode mode = IO_CONFIG.getFluidMode(worldPosition, worldPos, face, multiblockRotation);
         if (mode == null || mode == IOMode.NONE) return null;
         return switch (mode) {
@@ -411,6 +421,7 @@ public class ExtractorHeartBlockEntity extends BlockEntity implements Multiblock
             // 4. Pedestal rotations (spécifique extractor)
             setPedestalRotations(true, multiblockRotation);
             // 5. Invalider capabilities
+            fluidCapabilities.precompute(worldPosition, IO_CONFIG.getFluidOffsets(), multiblockRotation);
             MultiblockFormationHelper.invalidateAllCapabilities(level, worldPosition, getPattern(), multiblockRotation);
             // 6. Register events
             MultiblockEvents.registerActiveController(level, worldPosition);
@@ -436,6 +447,7 @@ public class ExtractorHeartBlockEntity extends BlockEntity implements Multiblock
             // 4. Unlink réservoirs
             MultiblockFormationHelper.linkReservoirs(level, worldPosition, RESERVOIR_OFFSETS, savedRotation, false);
             // 5. Invalider capabilities
+            fluidCapabilities.clear();
             MultiblockFormationHelper.invalidateAllCapabilities(level, worldPosition, getPattern(), savedRotation);
             // 6. Unregister events (dimension-aware)
             MultiblockEvents.unregisterController(level, worldPosition);
@@ -550,6 +562,7 @@ public class ExtractorHeartBlockEntity extends BlockEntity implements Multiblock
         super.loadAdditional(tag, registries);
         extractorFormed = tag.getBoolean("ExtractorFormed");
         multiblockRotation = tag.getInt("MultiblockRotation");
+        fluidCapabilities.clear();
         if (tag.contains("HoneyTank")) {
             honeyTank.readFromNBT(registries, tag.getCompound("HoneyTank"));
         }
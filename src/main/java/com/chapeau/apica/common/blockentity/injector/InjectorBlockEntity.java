@@ -14,6 +14,7 @@
  * | EssenceItem             | Type/niveau essence  | Identification de l'essence    |
  * | CodexPlayerData         | Knowledge joueur     | Deblocage nom d'espece         |
  * | CodexSyncPacket         | Sync codex           | Envoi data au client           |
+ * | MachineSleepController  | Sommeil si inactif   | serverTick                     |
  * ------------------------------------------------------------
  *
  * UTILISÉ PAR:
@@ -41,6 +42,7 @@ import com.chapeau.apica.core.registry.ApicaBlockEntities;
 import com.chapeau.apica.core.registry.ApicaItems;
 import com.chapeau.apica.core.registry.ApicaParticles;
 import com.chapeau.apica.core.util.BeeInjectionHelper;
+import com.chapeau.apica.core.util.MachineSleepController;
 import com.chapeau.apica.core.util.ParticleHelper;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderLookup;
@@ -66,7 +68,7 @@ import net.neoforged.neoforge.items.ItemStackHandler;
 import net.neoforged.neoforge.network.PacketDistributor;
 import org.jetbrains.annotations.Nullable;
 
-public class InjectorBlockEntity extends BlockEntity implements MenuProvider {
+public class InjectorBlockEntity extends BlockEntity implements MenuProvider, MachineSleepController.Sleeper {
 
     public static final int BEE_SLOT = 0;
     public static final int ESSENCE_SLOT = 1;
@@ -78,6 +80,7 @@ public class InjectorBlockEntity extends BlockEntity implements MenuProvider {
         protected void onContentsChanged(int slot) {
             processTimer = 0;
             setChanged();
+            sleepController.wake();
             if (level != null && !level.isClientSide()) {
                 level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
             }
@@ -100,6 +103,7 @@ public class InjectorBlockEntity extends BlockEntity implements MenuProvider {
     private java.util.UUID lastPlayerUUID = null;
 
     private int processTimer = 0;
+    private final MachineSleepController sleepController = new MachineSleepController();
 
     public final ContainerData containerData = new ContainerData() {
         @Override
@@ -140,22 +144,24 @@ public class InjectorBlockEntity extends BlockEntity implements MenuProvider {
     // ========== TICK ==========
 
     public static void serverTick(Level level, BlockPos pos, BlockState state, InjectorBlockEntity be) {
+        if (be.sleepController.isAsleep(level)) return;
+
         ItemStack beeStack = be.itemHandler.getStackInSlot(BEE_SLOT);
         if (beeStack.isEmpty()) {
-            be.resetTimer();
+            be.idle(level, MachineSleepController.Reason.NO_INPUT);
             return;
         }
 
         // Companion items: seule species essence acceptee
         boolean isCompanion = isCompanionItem(beeStack);
         if (!isCompanion && BeeInjectionHelper.isSatiated(beeStack)) {
-            be.resetTimer();
+            be.idle(level, MachineSleepController.Reason.NO_RECIPE);
             return;
         }
 
         ItemStack essenceStack = be.itemHandler.getStackInSlot(ESSENCE_SLOT);
         if (essenceStack.isEmpty()) {
-            be.resetTimer();
+            be.idle(level, MachineSleepController.Reason.NO_INPUT);
             return;
         }
 
@@ -163,12 +169,12 @@ public class InjectorBlockEntity extends BlockEntity implements MenuProvider {
 
         // Companion items: ONLY species essence allowed
         if (isCompanion && !isSpeciesEssence) {
-            be.resetTimer();
+            be.idle(level, MachineSleepController.Reason.NO_RECIPE);
             return;
         }
 
         if (!isSpeciesEssence && !(essenceStack.getItem() instanceof EssenceItem)) {
-            be.resetTimer();
+            be.idle(level, MachineSleepController.Reason.NO_RECIPE);
             return;
         }
 
@@ -306,6 +312,17 @@ public class InjectorBlockEntity extends BlockEntity implements MenuProvider {
         }
     }
 
+    /**
+     * Rien a injecter: timer remis a zero et sommeil jusqu'au prochain changement des slots.
+     */
+    private void idle(Level level, MachineSleepController.Reason reason) {
+        resetTimer();
+        sleepController.sleep(level, reason);
+    }
+
+    @Override
+    public MachineSleepController getSleepController() { return sleepController; }
+
     // ========== HELPERS ==========
 
     private int getMaxProcessTicks() {
@@ -0,0 +1,180 @@
+/**
+ * ============================================================
+ * [FlightRouteCache.java]
+ * Description: Cache des trajets de vol des delivery bees entre points fixes du reseau
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Cle (from, to): controller, relays, coffres, interfaces (positions fixes)
+ * - Valeur: waypoints lisses (Theta*/planificateur hierarchique) + sections traversees
+ * - Calcul asynchrone via BeePathExecutor: null tant que le resultat n'est pas arrive
+ *   (la bee utilise alors la navigation vanilla, comme avant)
+ * - Validation paresseuse a l'usage: si une section traversee a change depuis la derniere
+ *   validation (FlightPassabilityCache.getLastChange) ou apres RECHECK_TICKS, re-check LOS
+ *   des segments; echec → route supprimee et recalculee
+ * - Trajet introuvable: pas de nouvel essai avant FAILURE_RETRY_TICKS
+ * ============================================================
+ *
+ * DEPENDANCES:
+ * ------------------------------------------------------------
+ * | Dependance                     | Raison                | Utilisation               |
+ * |--------------------------------|----------------------|---------------------------|
+ * | BeePathExecutor                | Calcul hors thread   | Demandes de trajet        |
+ * | PathCollisionHelper            | Ligne de vue         | Validation des segments   |
+ * | FlightPassabilityCache         | Changements de blocs | Invalidation par section  |
+ * ------------------------------------------------------------
+ *
+ * UTILISE PAR:
+ * - StorageDeliveryManager.java (une instance par controller)
+ * - DeliveryBeeEntity.java (requestFlightRoute)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.common.blockentity.storage;
+
+import com.chapeau.apica.common.entity.bee.pathfinding.BeePathExecutor;
+import com.chapeau.apica.common.entity.bee.pathfinding.FlightPassabilityCache;
+import com.chapeau.apica.common.entity.bee.pathfinding.PathCollisionHelper;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache LRU des trajets de vol d'un controller.
+ */
+public class FlightRouteCache {
+    private static final int MAX_ROUTES = 256;
+    private static final int FAILURE_RETRY_TICKS = 200;
+    private static final int RECHECK_TICKS = 1200;
+    private static final double ARRIVAL_DISTANCE_SQ = 1.5 * 1.5;
+
+    private final Map<RouteKey, Route> routes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RouteKey, Route> eldest) {
+            return size() > MAX_ROUTES;
+        }
+    };
+    private final Map<RouteKey, BeePathExecutor.PathRequest> pending = new HashMap<>();
+    private final Map<RouteKey, Long> failures = new HashMap<>();
+
+    /**
+     * Retourne les waypoints lisses de from vers to (to inclus), ou null si pas encore disponibles.
+     */
+    @Nullable
+    public List<BlockPos> getRoute(ServerLevel level, BlockPos from, BlockPos to) {
+        RouteKey key = new RouteKey(from.immutable(), to.immutable());
+        long now = level.getGameTime();
+
+        Route route = routes.get(key);
+        if (route != null) {
+            if (route.revalidate(level, from, now)) return route.waypoints;
+            routes.remove(key);
+        }
+
+        BeePathExecutor.PathRequest request = pending.get(key);
+        if (request != null) {
+            if (!request.isDone()) return null;
+            pending.remove(key);
+            List<BlockPos> path = request.getResult();
+            if (path == null || path.isEmpty() || path.get(path.size() - 1).distSqr(to) > ARRIVAL_DISTANCE_SQ) {
+                failures.put(key, now);
+                return null;
+            }
+            // Le premier point du solver est le depart lui-meme
+            return store(key, from, path.get(0).equals(from) && path.size() > 1 ? path.subList(1, path.size()) : path, now);
+        }
+
+        Long failedAt = failures.get(key);
+        if (failedAt != null) {
+            if (now - failedAt < FAILURE_RETRY_TICKS) return null;
+            failures.remove(key);
+        }
+
+        if (PathCollisionHelper.hasLineOfSight(level, from, to)) {
+            return store(key, from, List.of(key.to()), now);
+        }
+        request = BeePathExecutor.request(level, from, to);
+        if (request != null) {
+            pending.put(key, request);
+        }
+        return null;
+    }
+
+    /**
+     * Supprime une route (ex: la bee n'a pas progresse en la suivant).
+     */
+    public void invalidate(BlockPos from, BlockPos to) {
+        routes.remove(new RouteKey(from, to));
+    }
+
+    public void clear() {
+        routes.clear();
+        pending.clear();
+        failures.clear();
+    }
+
+    private List<BlockPos> store(RouteKey key, BlockPos from, List<BlockPos> waypoints, long now) {
+        List<BlockPos> copy = List.copyOf(waypoints);
+        routes.put(key, new Route(copy, collectSections(from, copy), now));
+        return copy;
+    }
+
+    /**
+     * Sections visitees par les checks LOS des segments (cellule et cellule au-dessus).
+     */
+    private static long[] collectSections(BlockPos from, List<BlockPos> waypoints) {
+        LongOpenHashSet sections = new LongOpenHashSet();
+        long previous = from.asLong();
+        for (BlockPos waypoint : waypoints) {
+            PathCollisionHelper.hasLineOfSight(previous, waypoint.asLong(), packed -> {
+                sections.add(SectionPos.blockToSection(packed));
+                sections.add(SectionPos.blockToSection(BlockPos.offset(packed, 0, 1, 0)));
+                return true;
+            });
+            previous = waypoint.asLong();
+        }
+        return sections.toLongArray();
+    }
+
+    private record RouteKey(BlockPos from, BlockPos to) {}
+
+    private static final class Route {
+        private final List<BlockPos> waypoints;
+        private final long[] sections;
+        private long validatedAt;
+
+        Route(List<BlockPos> waypoints, long[] sections, long validatedAt) {
+            this.waypoints = waypoints;
+            this.sections = sections;
+            this.validatedAt = validatedAt;
+        }
+
+        /**
+         * Re-verifie les segments seulement si une section traversee a change (ou apres RECHECK_TICKS).
+         */
+        boolean revalidate(ServerLevel level, BlockPos from, long now) {
+            if (now - validatedAt < RECHECK_TICKS && !touchedSince(level)) return true;
+            BlockPos previous = from;
+            for (BlockPos waypoint : waypoints) {
+                if (!PathCollisionHelper.hasLineOfSight(level, previous, waypoint)) return false;
+                previous = waypoint;
+            }
+            validatedAt = now;
+            return true;
+        }
+
+        private boolean touchedSince(ServerLevel level) {
+            for (long section : sections) {
+                if (FlightPassabilityCache.getLastChange(level, section) >= validatedAt) return true;
+            }
+            return false;
+        }
+    }
+}
@@ -15,6 +15,7 @@
  * | DeliveryBeeSpawner             | Spawn/recall bees    | spawnDeliveryBee, recall  |
  * | DeliveryContainerOps           | Operations coffres   | Delegation                |
  * | DeliveryNetworkPathfinder      | Pathfinding reseau   | Delegation                |
+ * | FlightRouteCache               | Trajets de vol       | Routes entre points fixes |
  * | DeliveryTaskDisplayBuilder     | Affichage Tasks tab  | buildDisplayData          |
  * | ControllerStats                | Stats essences       | Capacite bee              |
  * ------------------------------------------------------------
@@ -92,6 +93,7 @@ public class StorageDeliveryManager {
     private final DeliveryNetworkPathfinder pathfinder;
     private final DeliveryContainerOps containerOps;
     private final DeliveryBeeSpawner beeSpawner;
+    private final FlightRouteCache routeCache = new FlightRouteCache();
 
     public StorageDeliveryManager(StorageControllerBlockEntity parent) {
         this.parent = parent;
@@ -116,6 +118,7 @@ public class StorageDeliveryManager {
     public DeliveryNetworkPathfinder getPathfinder() { return pathfinder; }
     public DeliveryContainerOps getContainerOps() { return containerOps; }
     public DeliveryBeeSpawner getBeeSpawner() { return beeSpawner; }
+    public FlightRouteCache getRouteCache() { return routeCache; }
     public boolean isHoneyDepleted() { return honeyManager.isHoneyDepleted(); }
 
     // === Task Management ===
@@ -0,0 +1,88 @@
+/**
+ * ============================================================
+ * [BeeLodTier.java]
+ * Description: Niveaux de detail de l'IA des abeilles selon la distance aux joueurs
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - FULL: joueur a moins de FULL_RADIUS blocs, IA complete (goals 1 tick sur 2, separation)
+ * - REDUCED: joueur a moins de la moitie de la distance de simulation, goals tous les 4 ticks,
+ *   pas de separation boids
+ * - ABSTRACT: aucun joueur proche, butinage simule (teleportation par etapes sur un timer)
+ * - Une abeille enragee, avec une cible ou en fuite reste toujours en FULL
+ * - Recalcule par MagicBeeEntity toutes les UPDATE_INTERVAL ticks (etale par entite)
+ * ============================================================
+ *
+ * DEPENDANCES:
+ * ------------------------------------------------------------
+ * | Dependance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | MagicBeeEntity      | Entite abeille       | Position, etat de combat       |
+ * ------------------------------------------------------------
+ *
+ * UTILISE PAR:
+ * - MagicBeeEntity.java: Tier courant
+ * - ForagingBehaviorGoal.java: Cadence des goals, butinage abstrait
+ * - WildBeePatrolGoal.java: Cadence des goals
+ * - BeeFlightHelper.java: Separation uniquement en FULL
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.common.entity.bee;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * Niveau de detail de l'IA d'une abeille.
+ */
+public enum BeeLodTier {
+    FULL(2),
+    REDUCED(4),
+    ABSTRACT(20);
+
+    /** Intervalle de recalcul du tier par abeille. */
+    public static final int UPDATE_INTERVAL = 20;
+
+    private static final double FULL_RADIUS = 32.0;
+    private static final double MIN_REDUCED_RADIUS = 64.0;
+
+    private final int goalInterval;
+
+    BeeLodTier(int goalInterval) {
+        this.goalInterval = goalInterval;
+    }
+
+    /**
+     * Nombre de ticks entre deux evaluations des goals a ce tier.
+     */
+    public int getGoalInterval() {
+        return goalInterval;
+    }
+
+    /**
+     * Vrai si ce tick est celui de l'abeille pour ce tier (phase derivee de l'UUID pour etaler la charge).
+     */
+    public boolean isStep(Entity bee) {
+        return bee.tickCount % goalInterval == (int) Math.floorMod(bee.getUUID().getLeastSignificantBits(), (long) goalInterval);
+    }
+
+    /**
+     * Calcule le tier d'une abeille selon le joueur le plus proche et la distance de simulation.
+     */
+    public static BeeLodTier compute(MagicBeeEntity bee) {
+        if (!(bee.level() instanceof ServerLevel level)) return FULL;
+        if (bee.isEnraged() || bee.getTarget() != null || bee.shouldFlee()) return FULL;
+
+        Player player = level.getNearestPlayer(bee, -1.0);
+        if (player == null) return ABSTRACT;
+
+        double distSq = bee.distanceToSqr(player);
+        if (distSq <= FULL_RADIUS * FULL_RADIUS) return FULL;
+
+        double reducedRadius = Math.max(MIN_REDUCED_RADIUS,
+                level.getServer().getPlayerList().getSimulationDistance() * 8.0);
+        return distSq <= reducedRadius * reducedRadius ? REDUCED : ABSTRACT;
+    }
+}
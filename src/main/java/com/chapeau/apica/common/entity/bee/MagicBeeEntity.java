@@ -13,6 +13,7 @@
  * | BeeBehaviorConfig   | Configuration        | Parametres de comportement     |
  * | BeeBehaviorManager  | Gestionnaire config  | Recuperation config par espece |
  * | MagicHiveBlockEntity| Ruche                | Notification et interaction    |
+ * | BeeLodTier          | Niveau de détail IA  | Tier selon distance joueurs    |
  * ------------------------------------------------------------
  *
  * UTILISÉ PAR:
@@ -121,13 +122,17 @@ public class MagicBeeEntity extends Bee {
     public static final int DEFAULT_ENRAGED_DURATION = 200; // 10 secondes
     private int enragedTimer = 0;
 
-    // --- Hive Ping Timer (transient, not saved) ---
+    // --- Hive Ping Timer (transient, not saved): intervalle multiplie selon le tier LOD ---
+    private static final int HIVE_PING_INTERVAL = 40; // 2 secondes en FULL
     private int hivePingTimer = 0;
 
     // --- Orphan Timer (transient): bee with no hive and no nest is discarded after 2400 ticks ---
     private static final int ORPHAN_ENTITY_TIMEOUT = 2400; // 120 secondes
     private int orphanTicks = 0;
 
+    // --- AI Level Of Detail (transient): recalcule toutes les BeeLodTier.UPDATE_INTERVAL ticks ---
+    private BeeLodTier lodTier = BeeLodTier.FULL;
+
     public MagicBeeEntity(EntityType<? extends Bee> entityType, Level level) {
         super(entityType, level);
         // Forcer le contrôle de vol et désactiver la gravité
@@ -355,14 +360,17 @@ public class MagicBeeEntity extends Bee {
     }
 
     /**
-     * Ping la ruche assignee toutes les 40 ticks (2 secondes) pour valider le UUID.
+     * Ping la ruche assignee pour valider le UUID: toutes les 40 ticks (2 secondes) en FULL,
+     * espace selon le tier LOD (400 ticks en ABSTRACT, sous les timeouts de reservation
+     * de fleur et d'orphelin de la ruche).
      * Si la ruche repond que ce bee est un doublon, se detruit silencieusement.
      */
     private void tickHivePing() {
         if (!hasAssignedHive()) return;
 
         hivePingTimer++;
-        if (hivePingTimer < 40) return;
+        int interval = HIVE_PING_INTERVAL * lodTier.getGoalInterval() / BeeLodTier.FULL.getGoalInterval();
+        if (hivePingTimer < interval) return;
         hivePingTimer = 0;
 
         if (assignedHivePos == null) return;
@@ -390,6 +398,26 @@ public class MagicBeeEntity extends Bee {
         }
     }
 
+    /**
+     * Recalcule le tier LOD, etale entre les abeilles via l'id d'entite.
+     * Un passage en combat repasse immediatement en FULL.
+     */
+    private void tickLodTier() {
+        if (lodTier != BeeLodTier.FULL && (isEnraged() || getTarget() != null)) {
+            lodTier = BeeLodTier.FULL;
+            return;
+        }
+        if ((tickCount + getId()) % BeeLodTier.UPDATE_INTERVAL != 0) return;
+        lodTier = BeeLodTier.compute(this);
+    }
+
+    /**
+     * Niveau de detail de l'IA (toujours FULL cote client).
+     */
+    public BeeLodTier getLodTier() {
+        return lodTier;
+    }
+
     // --- Returning State ---
 
     public boolean isReturning() {
@@ -464,6 +492,8 @@ public class MagicBeeEntity extends Bee {
             tickHivePing();
             // Orphan entity cleanup: bee without hive or nest is discarded after timeout
             tickOrphanCleanup();
+            // Niveau de detail de l'IA selon la distance aux joueurs
+            tickLodTier();
         }
 
         // Apply gene behaviors
@@ -16,6 +16,7 @@
  * | FlowerGene          | Gène fleur           | Tag des fleurs cibles          |
  * | MagicHiveBlockEntity| Ruche                | Liste des fleurs               |
  * | FlowerSearchHelper  | Recherche fleurs     | Recherche de secours           |
+ * | BeeLodTier          | Niveau de détail IA  | Cadence, butinage abstrait     |
  * ------------------------------------------------------------
  *
  * UTILISÉ PAR:
@@ -28,6 +29,7 @@ package com.chapeau.apica.common.entity.bee.goal;
 import com.chapeau.apica.common.block.hive.IHiveBeeHost;
 import com.chapeau.apica.common.entity.bee.BeeAIStateMachine;
 import com.chapeau.apica.common.entity.bee.BeeActivityState;
+import com.chapeau.apica.common.entity.bee.BeeLodTier;
 import com.chapeau.apica.common.entity.bee.pathfinding.BeeFlightHelper;
 import com.chapeau.apica.common.entity.bee.pathfinding.BeePathfinding;
 import com.chapeau.apica.common.entity.bee.MagicBeeEntity;
@@ -46,6 +48,7 @@ import net.minecraft.world.entity.ai.goal.Goal;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.EnumSet;
 import java.util.List;
@@ -58,11 +61,13 @@ import java.util.Random;
  * Améliorations:
  * - Machine à états centralisée (BeeAIStateMachine)
  * - Timeout de 40 secondes sur SEEKING_FLOWER
- * - Sélection aléatoire des fleurs (pas par distance)
+ * - Fleurs réservées par la ruche (une passe par tick, round-robin par distance)
  * - Pathfinding A* pour éviter les obstacles
  * - Approche par le haut (comme une vraie abeille)
  * - Inclinaison vers l'avant pendant le butinage
  * - Descente douce vers le sol si fleur en hauteur
+ * - Cadence selon BeeLodTier; loin des joueurs, butinage abstrait: le voyage entier (aller,
+ *   butinage, retour) dure le temps attendu, puis la ruche est créditée directement (admitBee)
  */
 public class ForagingBehaviorGoal extends Goal {
 
@@ -92,6 +97,17 @@ public class ForagingBehaviorGoal extends Goal {
     private boolean isApproachingFromAbove = false;
     private float originalPitch = 0;
 
+    // Demande de fleur en attente de la distribution par la ruche
+    private boolean waitingForFlower = false;
+
+    // Butinage abstrait (tier ABSTRACT): destination du vol simulé et ticks de vol restants
+    @Nullable
+    private Vec3 abstractDestination;
+    private int abstractFlightTicks = 0;
+
+    // Voyage abstrait en cours: le workTimer couvre aller + butinage + retour
+    private boolean abstractTrip = false;
+
     public ForagingBehaviorGoal(MagicBeeEntity bee) {
         this.bee = bee;
         this.stateMachine = new BeeAIStateMachine(bee);
@@ -140,6 +156,8 @@ public class ForagingBehaviorGoal extends Goal {
         vanillaPathIndex = 0;
 
         ticksSinceStart = 0;
+        abstractDestination = null;
+        abstractTrip = false;
         stateMachine.setState(BeeActivityState.SEEKING_FLOWER);
         isApproachingFromAbove = false;
         resetPitch();
@@ -153,10 +171,21 @@ public class ForagingBehaviorGoal extends Goal {
         boolean timedOut = stateMachine.tick();
         if (timedOut) return;
 
-        // Throttle N=2, skip pendant la grace period
-        if (ticksSinceStart > GRACE_PERIOD_TICKS) {
-            if (bee.tickCount % 2 != (int)(bee.getUUID().getLeastSignificantBits() & 0x1)) return;
+        BeeLodTier lod = bee.getLodTier();
+        if (lod == BeeLodTier.ABSTRACT) {
+            if (lod.isStep(bee)) tickAbstract(lod.getGoalInterval());
+            return;
         }
+        abstractDestination = null;
+        if (abstractTrip) {
+            // Retour en simulation complète: il ne reste que le butinage sur place
+            abstractTrip = false;
+            stateMachine.setWorkTimer(Math.min(stateMachine.getWorkTimer(),
+                    bee.getBehaviorConfig().getForagingDuration()));
+        }
+
+        // Throttle selon le tier (N=2 en FULL), skip pendant la grace period
+        if (ticksSinceStart > GRACE_PERIOD_TICKS && !lod.isStep(bee)) return;
 
         switch (stateMachine.getState()) {
             case SEEKING_FLOWER -> tickSeekingFlower();
@@ -178,9 +207,7 @@ public class ForagingBehaviorGoal extends Goal {
                 if (stateMachine.hasTarget()) {
                     returnFlowerToHive(stateMachine.getTargetPos());
                 }
-                bee.setReturning(true);
-                bee.setDebugDestination(bee.getAssignedHivePos());
-                stateMachine.setState(BeeActivityState.RETURNING);
+                startReturning();
             }
             case RETURNING -> {
                 // Bloqué en retour, téléporter près de la ruche (fallback)
@@ -201,10 +228,13 @@ public class ForagingBehaviorGoal extends Goal {
         if (targetFlower == null) {
             targetFlower = findNextFlower();
             if (targetFlower == null) {
+                if (waitingForFlower) {
+                    // La ruche attribue les fleurs au prochain tick: rester sur place
+                    bee.setDeltaMovement(bee.getDeltaMovement().scale(0.5));
+                    return;
+                }
                 // Pas de fleur trouvée, retourner à la ruche
-                bee.setReturning(true);
-                bee.setDebugDestination(bee.getAssignedHivePos());
-                stateMachine.setState(BeeActivityState.RETURNING);
+                startReturning();
                 return;
             }
             stateMachine.setTargetPos(targetFlower);
@@ -262,6 +292,15 @@ public class ForagingBehaviorGoal extends Goal {
         navigateToExact(targetFlower);
     }
 
+    /**
+     * Passe en retour vers la ruche.
+     */
+    private void startReturning() {
+        bee.setReturning(true);
+        bee.setDebugDestination(bee.getAssignedHivePos());
+        stateMachine.setState(BeeActivityState.RETURNING);
+    }
+
     private void tickWorking() {
         BlockPos targetFlower = stateMachine.getTargetPos();
 
@@ -345,6 +384,142 @@ public class ForagingBehaviorGoal extends Goal {
         }
     }
 
+    // --- Butinage abstrait (tier ABSTRACT) ---
+
+    /**
+     * Version grossière de la machine à états, appelée tous les {@code elapsed} ticks.
+     * Un voyage complet n'est pas simulé: dès qu'une fleur est attribuée, l'abeille se pose dessus
+     * et attend la durée attendue du voyage (aller, butinage, retour), puis la ruche est créditée.
+     */
+    private void tickAbstract(int elapsed) {
+        switch (stateMachine.getState()) {
+            case SEEKING_FLOWER -> {
+                BlockPos targetFlower = stateMachine.getTargetPos();
+                if (targetFlower == null) {
+                    targetFlower = findNextFlower();
+                    if (targetFlower == null) {
+                        if (!waitingForFlower) startReturning();
+                        return;
+                    }
+                    stateMachine.setTargetPos(targetFlower);
+                    bee.setDebugDestination(targetFlower);
+                } else if (!isValidFlower(targetFlower)) {
+                    returnFlowerToHive(targetFlower);
+                    stateMachine.clearTarget();
+                    abstractDestination = null;
+                    return;
+                }
+                startAbstractTrip(targetFlower);
+            }
+            case WORKING -> {
+                if (!abstractTrip) {
+                    tickWorking();
+                    return;
+                }
+                BlockPos targetFlower = stateMachine.getTargetPos();
+                if (targetFlower == null || !isValidFlower(targetFlower)) {
+                    abstractTrip = false;
+                    stateMachine.clearTarget();
+                    stateMachine.setState(BeeActivityState.SEEKING_FLOWER);
+                    return;
+                }
+                if (stateMachine.isWorkComplete()) {
+                    creditAbstractTrip();
+                }
+            }
+            case RETURNING -> {
+                resetPitch();
+                BlockPos hivePos = bee.getAssignedHivePos();
+                if (hivePos == null) return;
+                if (!bee.level().isLoaded(hivePos)) {
+                    bee.setDeltaMovement(Vec3.ZERO);
+                    return;
+                }
+                // Arrivée au centre de la ruche: l'entrée est gérée par la ruche dans serverTick
+                abstractFlyTo(Vec3.atCenterOf(hivePos), elapsed);
+            }
+            default -> {}
+        }
+    }
+
+    /**
+     * Pose l'abeille au-dessus de la fleur et arme le workTimer pour tout le voyage:
+     * vols aller et retour estimés à la vitesse de butinage, plus la durée de butinage.
+     */
+    private void startAbstractTrip(BlockPos targetFlower) {
+        BeeBehaviorConfig config = bee.getBehaviorConfig();
+        double speed = Math.max(config.getForagingSpeed(), 0.01);
+        Vec3 hoverPoint = Vec3.atCenterOf(targetFlower).add(0, HOVER_HEIGHT, 0)
+                .add(calculateApproachOffset(targetFlower));
+        BlockPos hivePos = bee.getAssignedHivePos();
+        double distance = bee.position().distanceTo(hoverPoint)
+                + (hivePos != null ? hoverPoint.distanceTo(Vec3.atCenterOf(hivePos)) : 0);
+
+        bee.setPos(hoverPoint);
+        bee.setDeltaMovement(Vec3.ZERO);
+        abstractDestination = null;
+        isApproachingFromAbove = false;
+        originalPitch = bee.getXRot();
+        abstractTrip = true;
+        stateMachine.setWorkTimer((int) Math.ceil(distance / speed) + config.getForagingDuration());
+        stateMachine.setState(BeeActivityState.WORKING);
+    }
+
+    /**
+     * Fin d'un voyage abstrait: l'abeille pollinisée entre directement dans sa ruche
+     * (butin, fleur rendue, repos). Ruche non chargée ou qui refuse: retour simulé classique.
+     */
+    private void creditAbstractTrip() {
+        abstractTrip = false;
+        bee.setPollinated(true);
+        BlockPos hivePos = bee.getAssignedHivePos();
+        if (hivePos != null && bee.level().isLoaded(hivePos)
+                && bee.level().getBlockEntity(hivePos) instanceof IHiveBeeHost hive
+                && hive.admitBee(bee)) {
+            stateMachine.clearTarget();
+            return;
+        }
+        startReturning();
+    }
+
+    /**
+     * Vol simulé: la durée du trajet est estimée à la vitesse de butinage. Pendant le vol,
+     * l'abeille saute de noeud en noeud sur le chemin vanilla en cache s'il mène à la destination.
+     * @return true une fois la destination atteinte (abeille téléportée dessus)
+     */
+    private boolean abstractFlyTo(Vec3 destination, int elapsed) {
+        double speed = Math.max(bee.getBehaviorConfig().getForagingSpeed(), 0.01);
+        if (!destination.equals(abstractDestination)) {
+            abstractDestination = destination;
+            abstractFlightTicks = (int) Math.ceil(bee.position().distanceTo(destination) / speed);
+        }
+        bee.setDeltaMovement(Vec3.ZERO);
+
+        abstractFlightTicks -= elapsed;
+        if (abstractFlightTicks > 0) {
+            advanceAlongCachedPath(destination, elapsed * speed);
+            return false;
+        }
+        bee.setPos(destination);
+        abstractDestination = null;
+        return true;
+    }
+
+    private void advanceAlongCachedPath(Vec3 destination, double budget) {
+        if (currentVanillaPath == null || currentVanillaPath.isDone()) return;
+        if (!currentVanillaPath.getTarget().closerToCenterThan(destination, 1.5)) return;
+
+        while (vanillaPathIndex < currentVanillaPath.getNodeCount()) {
+            Node node = currentVanillaPath.getNode(vanillaPathIndex);
+            Vec3 nodeCenter = Vec3.atCenterOf(new BlockPos(node.x, node.y, node.z));
+            double dist = bee.position().distanceTo(nodeCenter);
+            if (dist > budget) return;
+            budget -= dist;
+            bee.setPos(nodeCenter);
+            vanillaPathIndex++;
+        }
+    }
+
     /**
      * Navigation avec pathfinding Theta*.
      * L'altitude est gérée par le pathfinding en 3D.
@@ -442,25 +617,29 @@ public class ForagingBehaviorGoal extends Goal {
     }
 
     /**
-     * Trouve la prochaine fleur (sélection aléatoire parmi les disponibles).
+     * Trouve la prochaine fleur: réservation de la ruche uniquement.
+     * Si la ruche n'a pas encore traité la demande, retourne null avec waitingForFlower.
+     * Refus de la ruche (aucune fleur libre): null, l'abeille rentre et redemandera plus tard.
      */
     private BlockPos findNextFlower() {
-        // D'abord essayer depuis la ruche
+        waitingForFlower = false;
+
         BlockPos hivePos = bee.getAssignedHivePos();
         if (hivePos != null && bee.level().getBlockEntity(hivePos) instanceof IHiveBeeHost hive) {
             int slot = bee.getAssignedSlot();
             BlockPos flower = hive.getAndAssignFlower(slot);
-            if (flower != null) {
-                return flower;
+            if (flower == null && hive.isFlowerPending(slot)) {
+                waitingForFlower = true;
             }
+            return flower;
         }
 
-        // Fallback: recherche dans les environs avec sélection aléatoire
+        // Sans ruche (aucun pool de réservation): recherche dans les environs
         return findRandomNearbyFlower();
     }
 
     /**
-     * Trouve une fleur aléatoire dans les environs.
+     * Trouve une fleur aléatoire dans les environs (abeille sans ruche).
      */
     private BlockPos findRandomNearbyFlower() {
         Gene flowerGene = bee.getGeneData().getGene(GeneCategory.FLOWER);
@@ -551,6 +730,8 @@ public class ForagingBehaviorGoal extends Goal {
         bee.setDebugPath(null);
         resetPitch();
         isApproachingFromAbove = false;
+        abstractDestination = null;
+        abstractTrip = false;
         stateMachine.reset();
 
         if (pathfinding != null) {
@@ -12,6 +12,7 @@
  * | BeePathfinding      | Navigation Theta*    | Deplacement vers waypoints     |
  * | BeeBehaviorConfig   | Configuration        | Vitesse de vol                 |
  * | BeeNestBlockEntity  | Nid d'origine        | Notification retour au nid     |
+ * | BeeLodTier          | Niveau de detail IA  | Cadence du goal                |
  * ------------------------------------------------------------
  *
  * UTILISE PAR:
@@ -22,6 +23,7 @@
 package com.chapeau.apica.common.entity.bee.goal;
 
 import com.chapeau.apica.common.block.hive.BeeNestBlockEntity;
+import com.chapeau.apica.common.entity.bee.BeeLodTier;
 import com.chapeau.apica.common.entity.bee.pathfinding.BeeFlightHelper;
 import com.chapeau.apica.common.entity.bee.pathfinding.BeePathfinding;
 import com.chapeau.apica.common.entity.bee.MagicBeeEntity;
@@ -122,10 +124,10 @@ public class WildBeePatrolGoal extends Goal {
         ticksSinceStart++;
         timer--;
 
-        // Throttle N=2, skip pendant la grace period
-        if (ticksSinceStart > GRACE_PERIOD_TICKS) {
-            if (bee.tickCount % 2 != (int)(bee.getUUID().getLeastSignificantBits() & 0x1)) return;
-        }
+        // Throttle selon le tier (N=2 en FULL), skip pendant la grace period.
+        // Pas de production a simuler: loin des joueurs, cadence REDUCED (les timeouts bornent la patrouille)
+        BeeLodTier lod = bee.getLodTier() == BeeLodTier.ABSTRACT ? BeeLodTier.REDUCED : bee.getLodTier();
+        if (ticksSinceStart > GRACE_PERIOD_TICKS && !lod.isStep(bee)) return;
 
         switch (state) {
             case MOVING_TO_WAYPOINT -> tickMovingToWaypoint();
@@ -6,14 +6,16 @@
  *
  * Implémente la separation boids (Reynolds 1987) pour eviter que
  * les abeilles ne se superposent en vol.
- * Complexite: O(nearby_bees) par appel via AABB query.
+ * Complexite: O(nearby_bees) par appel via BeeSpatialHash (AABB query en repli).
+ * Ignoree hors du tier LOD FULL (aucun joueur assez proche pour voir la superposition).
  *
  * DEPENDANCES:
  * ------------------------------------------------------------
  * | Dependance          | Raison                | Utilisation                    |
  * |---------------------|----------------------|--------------------------------|
  * | MagicBeeEntity      | Entite abeille       | Detection des voisines         |
- * | Level               | Monde Minecraft      | AABB entity query              |
+ * | BeeSpatialHash      | Voisinage            | Voisines sans query d'entites  |
+ * | Level               | Monde Minecraft      | AABB entity query (repli)      |
  * ------------------------------------------------------------
  *
  * UTILISE PAR:
@@ -24,6 +26,7 @@
  */
 package com.chapeau.apica.common.entity.bee.pathfinding;
 
+import com.chapeau.apica.common.entity.bee.BeeLodTier;
 import com.chapeau.apica.common.entity.bee.MagicBeeEntity;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
@@ -46,11 +49,17 @@ public class BeeFlightHelper {
      * @return vecteur de separation a ajouter au mouvement, ou Vec3.ZERO si aucune voisine
      */
     public static Vec3 computeSeparation(MagicBeeEntity bee) {
+        if (bee.getLodTier() != BeeLodTier.FULL) {
+            return Vec3.ZERO;
+        }
+
         Vec3 beePos = bee.position();
         AABB searchBox = bee.getBoundingBox().inflate(SEPARATION_RADIUS);
 
-        List<MagicBeeEntity> neighbors = bee.level().getEntitiesOfClass(
-                MagicBeeEntity.class, searchBox, other -> other != bee);
+        BeeSpatialHash hash = BeeSpatialHash.get(bee.level());
+        List<MagicBeeEntity> neighbors = hash != null
+                ? hash.getBees(searchBox, other -> other != bee)
+                : bee.level().getEntitiesOfClass(MagicBeeEntity.class, searchBox, other -> other != bee);
 
         if (neighbors.isEmpty()) {
             return Vec3.ZERO;
@@ -0,0 +1,279 @@
+/**
+ * ============================================================
+ * [BeePathExecutor.java]
+ * Description: Calcul asynchrone des chemins d'abeilles sur snapshots de passabilite
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - request() (thread serveur): retourne un PathRequest propre a l'appelant; les demandes vers
+ *   la meme destination depuis la meme cellule de depart (START_CELL_SHIFT) partagent un calcul
+ * - Chaque demandeur recoit le suffixe du chemin partage a partir du point le plus proche
+ *   de son propre depart; sans ligne de vue jusqu'a ce point, un court troncon Theta* l'y relie
+ * - Fin de chaque tick serveur:
+ *   1. Merge: au plus MERGE_BUDGET resultats termines sont publies aux PathRequest
+ *   2. Submit: au plus SUBMIT_BUDGET demandes sont capturees (snapshot) puis envoyees au worker
+ * - Worker unique (daemon), file bornee: ThetaStarSolver sur FlightPassabilityCache.Snapshot,
+ *   aucun acces au monde hors du thread serveur
+ * - Le thread serveur ne fait que capturer la boite start/end; le worker planifie le corridor
+ *   de sections (HierarchicalFlightPlanner) sur ce snapshot puis le resout par troncons
+ * - Boite trop grande: corridor planifie au submit, seules ses sections sont capturees
+ * - Executor sature: calcul synchrone (comportement historique)
+ * - Au-dela de MAX_PENDING demandes en attente, request() retourne null (l'abeille vole en direct)
+ * ============================================================
+ *
+ * DEPENDANCES:
+ * ------------------------------------------------------------
+ * | Dependance             | Raison              | Utilisation                    |
+ * |------------------------|---------------------|--------------------------------|
+ * | ThetaStarSolver        | Algorithme          | Calcul du chemin               |
+ * | HierarchicalFlightPlanner | Longs vols       | Corridor de sections + troncons|
+ * | FlightPassabilityCache | Passabilite         | Snapshots immuables            |
+ * | PathCollisionHelper    | Ligne de vue        | Raccord des suffixes partages  |
+ * ------------------------------------------------------------
+ *
+ * UTILISE PAR:
+ * - BeePathfinding.java: demandes de chemin
+ * - Apica.java (enregistrement events, arret a l'arret serveur)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.common.entity.bee.pathfinding;
+
+import com.chapeau.apica.Apica;
+import it.unimi.dsi.fastutil.longs.LongList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class BeePathExecutor {
+
+    /** Demandes capturees et envoyees au worker par tick. */
+    private static final int SUBMIT_BUDGET = 16;
+    /** Resultats publies aux abeilles par tick. */
+    private static final int MERGE_BUDGET = 32;
+    /** Demandes en attente (soumission + calcul) au maximum. */
+    private static final int MAX_PENDING = 512;
+    /** Cellule de depart partagee: 4x4x4 blocs. */
+    private static final int START_CELL_SHIFT = 2;
+
+    private static final Map<RequestKey, SharedPath> PENDING = new HashMap<>();
+    private static final ArrayDeque<SharedPath> SUBMIT_QUEUE = new ArrayDeque<>();
+    private static final ConcurrentLinkedQueue<SharedPath> COMPLETED = new ConcurrentLinkedQueue<>();
+
+    @Nullable
+    private static ThreadPoolExecutor executor;
+
+    /**
+     * Demande un chemin. Un calcul deja en attente vers la meme destination depuis la meme
+     * cellule de depart est partage.
+     * @return la demande, ou null si trop de demandes sont en attente
+     */
+    @Nullable
+    public static PathRequest request(ServerLevel level, BlockPos start, BlockPos end) {
+        long startCell = BlockPos.asLong(start.getX() >> START_CELL_SHIFT,
+                start.getY() >> START_CELL_SHIFT, start.getZ() >> START_CELL_SHIFT);
+        RequestKey key = new RequestKey(level.dimension(), startCell, end.asLong());
+        SharedPath shared = PENDING.get(key);
+        if (shared == null) {
+            if (PENDING.size() >= MAX_PENDING) return null;
+            shared = new SharedPath(key, start.immutable(), end.immutable());
+            PENDING.put(key, shared);
+            SUBMIT_QUEUE.add(shared);
+        }
+
+        PathRequest request = new PathRequest(start.immutable(), shared.end);
+        shared.requests.add(request);
+        return request;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        if (PENDING.isEmpty()) return;
+        mergeCompleted(event.getServer());
+        submitQueued(event.getServer());
+    }
+
+    private static void mergeCompleted(MinecraftServer server) {
+        for (int i = 0; i < MERGE_BUDGET; i++) {
+            SharedPath request = COMPLETED.poll();
+            if (request == null) return;
+            finish(server.getLevel(request.key.dimension()), request, request.computed);
+        }
+    }
+
+    private static void submitQueued(MinecraftServer server) {
+        for (int i = 0; i < SUBMIT_BUDGET && !SUBMIT_QUEUE.isEmpty(); i++) {
+            SharedPath request = SUBMIT_QUEUE.poll();
+            ServerLevel level = server.getLevel(request.key.dimension());
+            if (level == null) {
+                finish(null, request, null);
+                continue;
+            }
+
+            // Seule la capture reste sur le thread serveur: le corridor est planifie par le worker
+            int minSection = level.getMinSection();
+            int maxSection = level.getMaxSection();
+            FlightPassabilityCache.Snapshot box = FlightPassabilityCache.snapshot(level, request.start.asLong(), request.end.asLong());
+            Runnable task;
+            if (box != null) {
+                task = () -> {
+                    LongList corridor = HierarchicalFlightPlanner.planCorridor(box, minSection, maxSection, request.start, request.end);
+                    request.computed = corridor != null
+                            ? HierarchicalFlightPlanner.solveAlongCorridor(box::isPassable, corridor, request.start, request.end)
+                            : ThetaStarSolver.solve(box::isPassable, request.start, request.end);
+                };
+            } else {
+                // Boite trop grande a capturer: corridor planifie ici, seules ses sections sont capturees
+                LongList corridor = HierarchicalFlightPlanner.planCorridor(level, request.start, request.end);
+                if (corridor == null) {
+                    finish(level, request, ThetaStarSolver.solve(level, request.start, request.end));
+                    continue;
+                }
+                FlightPassabilityCache.Snapshot snapshot = FlightPassabilityCache.snapshot(level,
+                        HierarchicalFlightPlanner.corridorSections(corridor));
+                task = () -> request.computed = HierarchicalFlightPlanner.solveAlongCorridor(
+                        snapshot::isPassable, corridor, request.start, request.end);
+            }
+            try {
+                getExecutor().execute(() -> {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        Apica.LOGGER.error("Bee path computation failed from {} to {}", request.start, request.end, e);
+                    }
+                    COMPLETED.add(request);
+                });
+            } catch (RejectedExecutionException e) {
+                finish(level, request, HierarchicalFlightPlanner.solve(level, request.start, request.end));
+            }
+        }
+    }
+
+    private static void finish(@Nullable ServerLevel level, SharedPath shared, @Nullable List<BlockPos> path) {
+        PENDING.remove(shared.key);
+        for (PathRequest request : shared.requests) {
+            request.result = path != null && level != null ? suffixFrom(level, path, request.start) : null;
+            request.done = true;
+        }
+    }
+
+    /**
+     * Suffixe du chemin a partir du point le plus proche de start (chemin entier pour
+     * le demandeur qui a fixe le depart du calcul). Sans ligne de vue entre start et ce point,
+     * un court troncon Theta* y mene; null si aucun troncon n'existe.
+     */
+    @Nullable
+    private static List<BlockPos> suffixFrom(ServerLevel level, List<BlockPos> path, BlockPos start) {
+        int nearest = 0;
+        double nearestDist = Double.MAX_VALUE;
+        for (int i = 0; i < path.size(); i++) {
+            double dist = path.get(i).distSqr(start);
+            if (dist < nearestDist) {
+                nearestDist = dist;
+                nearest = i;
+            }
+        }
+        List<BlockPos> suffix = nearest == 0 ? path : path.subList(nearest, path.size());
+        BlockPos joint = suffix.get(0);
+        if (joint.equals(start) || PathCollisionHelper.hasLineOfSight(level, start, joint)) {
+            return nearest == 0 ? path : List.copyOf(suffix);
+        }
+
+        List<BlockPos> leg = ThetaStarSolver.solve(level, start, joint);
+        if (leg == null || leg.isEmpty() || !leg.get(leg.size() - 1).equals(joint)) return null;
+        List<BlockPos> joined = new ArrayList<>(leg.size() + suffix.size() - 1);
+        joined.addAll(leg);
+        joined.addAll(suffix.subList(1, suffix.size()));
+        return joined;
+    }
+
+    private static ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(MAX_PENDING), runnable -> {
+                        Thread thread = new Thread(runnable, "Apica Bee Pathfinding");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        return executor;
+    }
+
+    /**
+     * Arrete le worker et oublie les demandes en cours (appele a l'arret du serveur).
+     */
+    public static void clearAll() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        PENDING.clear();
+        SUBMIT_QUEUE.clear();
+        COMPLETED.clear();
+    }
+
+    private record RequestKey(ResourceKey<Level> dimension, long startCell, long end) {}
+
+    /**
+     * Calcul partage par toutes les demandes d'une meme cle; le depart est celui du
+     * premier demandeur.
+     */
+    private static final class SharedPath {
+        private final RequestKey key;
+        private final BlockPos start;
+        private final BlockPos end;
+        private final List<PathRequest> requests = new ArrayList<>();
+        @Nullable private volatile List<BlockPos> computed;
+
+        private SharedPath(RequestKey key, BlockPos start, BlockPos end) {
+            this.key = key;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Demande de chemin d'un appelant, resolue avec le calcul partage de sa cle.
+     * result et done ne sont ecrits et lus que sur le thread serveur.
+     */
+    public static final class PathRequest {
+        private final BlockPos start;
+        private final BlockPos end;
+        @Nullable private List<BlockPos> result;
+        private boolean done;
+
+        private PathRequest(BlockPos start, BlockPos end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public BlockPos getEnd() {
+            return end;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        @Nullable
+        public List<BlockPos> getResult() {
+            return result;
+        }
+    }
+}
@@ -9,6 +9,8 @@
  *
  * Responsabilites conservees dans la facade:
  * - Cache TTL (20 ticks min entre recalculs pour la meme destination)
+ * - Demande asynchrone (BeePathExecutor) sur serveur: l'abeille garde son chemin precedent
+ *   (meme destination) ou vole en direct jusqu'a l'arrivee du resultat
  * - Stall detection (force recalcul si aucune progression en 60 ticks)
  * - Gestion du waypoint courant et progression le long du chemin
  * - Particules de debug
@@ -17,7 +19,8 @@
  * ------------------------------------------------------------
  * | Dependance           | Raison                | Utilisation                    |
  * |----------------------|----------------------|--------------------------------|
- * | ThetaStarSolver      | Algorithme Lazy Theta*| Calcul de chemin               |
+ * | ThetaStarSolver      | Algorithme Lazy Theta*| Calcul de chemin (synchrone)   |
+ * | BeePathExecutor      | Calcul hors thread   | Demandes de chemin serveur     |
  * | PathCollisionHelper  | Collision            | Vol direct (ligne de vue)      |
  * | ParticleHelper       | Particules           | Debug path rendering           |
  * | Level                | Monde Minecraft      | gameTime, particules           |
@@ -60,6 +63,7 @@ public class BeePathfinding {
     private int currentPathIndex = 0;
     @Nullable private BlockPos cachedEnd = null;
     @Nullable private BlockPos recoveryWaypoint = null;
+    @Nullable private BeePathExecutor.PathRequest pendingRequest = null;
 
     private long lastComputeGameTime = 0;
     private int progressStallCounter = 0;
@@ -76,7 +80,7 @@ public class BeePathfinding {
 
     /**
      * Calcule un chemin de start vers end.
-     * Vol direct si ligne de vue, sinon Lazy Theta*.
+     * Vol direct si ligne de vue, sinon Lazy Theta* (asynchrone sur serveur).
      * Cache TTL: meme destination +   20 ticks → reutilise le chemin existant.
      */
     @Nullable
@@ -85,6 +89,21 @@ public class BeePathfinding {
             return null;
         }
 
+        if (pendingRequest != null) {
+            if (!end.equals(pendingRequest.getEnd())) {
+                pendingRequest = null;
+            } else if (pendingRequest.isDone()) {
+                currentPath = pendingRequest.getResult();
+                currentPathIndex = 0;
+                progressStallCounter = 0;
+                lastTrackedPathIndex = 0;
+                pendingRequest = null;
+                return currentPath;
+            } else {
+                return currentPath;
+            }
+        }
+
         long gameTime = level.getGameTime();
 
         if (end.equals(cachedEnd) && currentPath != null
@@ -92,6 +111,7 @@ public class BeePathfinding {
             return currentPath;
         }
 
+        boolean sameDestination = end.equals(cachedEnd);
         cachedEnd = end;
         lastComputeGameTime = gameTime;
         progressStallCounter = 0;
@@ -103,6 +123,16 @@ public class BeePathfinding {
             return currentPath;
         }
 
+        if (level instanceof ServerLevel serverLevel) {
+            pendingRequest = BeePathExecutor.request(serverLevel, start, end);
+            // En attendant le resultat: chemin precedent si meme destination, sinon vol direct
+            if (pendingRequest == null || !sameDestination || currentPath == null) {
+                currentPath = List.of(end);
+                currentPathIndex = 0;
+            }
+            return currentPath;
+        }
+
         currentPath = ThetaStarSolver.solve(level, start, end);
         currentPathIndex = 0;
         return currentPath;
@@ -211,6 +241,7 @@ public class BeePathfinding {
         progressStallCounter = 0;
         lastTrackedPathIndex = 0;
         recoveryWaypoint = null;
+        pendingRequest = null;
     }
 
     public boolean isPathComplete() {
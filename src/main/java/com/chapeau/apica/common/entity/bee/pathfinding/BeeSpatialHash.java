@@ -0,0 +1,177 @@
+/**
+ * ============================================================
+ * [BeeSpatialHash.java]
+ * Description: Hash spatial par dimension des MagicBeeEntity, reconstruit a chaque tick
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Les abeilles sont suivies via EntityJoinLevelEvent / EntityLeaveLevelEvent (serveur)
+ * - Debut de chaque tick de niveau: reconstruction du hash (cellules de CELL_SIZE blocs,
+ *   listes chainees dans des tableaux reutilises: aucune allocation en regime etabli)
+ * - Requete par boite: parcours des cellules recouvertes (+ CELL_MARGIN pour les abeilles
+ *   ayant bouge depuis la reconstruction), filtre exact sur la hitbox courante
+ * - Remplace les getEntitiesOfClass par abeille (separation) et par ruche (retours)
+ * ============================================================
+ *
+ * DEPENDANCES:
+ * ------------------------------------------------------------
+ * | Dependance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | MagicBeeEntity      | Entite indexee       | Positions et hitbox            |
+ * ------------------------------------------------------------
+ *
+ * UTILISE PAR:
+ * - BeeFlightHelper.java: voisines pour la separation
+ * - HiveBeeLifecycleManager.java: abeilles de retour pres de la ruche
+ * - Apica.java (enregistrement events, nettoyage a l'arret serveur)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.common.entity.bee.pathfinding;
+
+import com.chapeau.apica.common.entity.bee.MagicBeeEntity;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
+import net.neoforged.neoforge.event.entity.EntityLeaveLevelEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+public class BeeSpatialHash {
+
+    /** Taille d'une cellule: rayon de separation + hitbox d'une abeille. */
+    private static final int CELL_SIZE = 2;
+    /** Deplacement tolere depuis la reconstruction (en blocs) avant qu'une abeille soit manquee. */
+    private static final double CELL_MARGIN = 1.0;
+
+    private static final Map<ResourceKey<Level>, BeeSpatialHash> HASHES = new HashMap<>();
+
+    private final ReferenceLinkedOpenHashSet<MagicBeeEntity> tracked = new ReferenceLinkedOpenHashSet<>();
+    /** Cellule → indice de la premiere abeille (-1 si vide). */
+    private final Long2IntOpenHashMap heads = new Long2IntOpenHashMap();
+    private MagicBeeEntity[] entries = new MagicBeeEntity[64];
+    private int[] next = new int[64];
+
+    private BeeSpatialHash() {
+        heads.defaultReturnValue(-1);
+    }
+
+    /**
+     * Hash de la dimension, ou null hors serveur ou si aucune abeille n'y a ete suivie.
+     */
+    @Nullable
+    public static BeeSpatialHash get(Level level) {
+        return level instanceof ServerLevel ? HASHES.get(level.dimension()) : null;
+    }
+
+    // --- Requetes ---
+
+    /**
+     * Abeilles dont la hitbox intersecte la boite et qui satisfont le filtre.
+     */
+    public List<MagicBeeEntity> getBees(AABB box, Predicate<MagicBeeEntity> filter) {
+        List<MagicBeeEntity> result = new ArrayList<>();
+        int minX = cell(box.minX - CELL_MARGIN);
+        int minY = cell(box.minY - CELL_MARGIN);
+        int minZ = cell(box.minZ - CELL_MARGIN);
+        int maxX = cell(box.maxX + CELL_MARGIN);
+        int maxY = cell(box.maxY + CELL_MARGIN);
+        int maxZ = cell(box.maxZ + CELL_MARGIN);
+
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    for (int i = heads.get(BlockPos.asLong(cx, cy, cz)); i != -1; i = next[i]) {
+                        MagicBeeEntity bee = entries[i];
+                        if (!bee.isRemoved() && box.intersects(bee.getBoundingBox()) && filter.test(bee)) {
+                            result.add(bee);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // --- Reconstruction ---
+
+    private void rebuild() {
+        heads.clear();
+        int count = tracked.size();
+        if (entries.length < count) {
+            int capacity = Math.max(count, entries.length * 2);
+            entries = new MagicBeeEntity[capacity];
+            next = new int[capacity];
+        }
+
+        int i = 0;
+        for (MagicBeeEntity bee : tracked) {
+            entries[i] = bee;
+            next[i] = heads.put(BlockPos.asLong(cell(bee.getX()), cell(bee.getY()), cell(bee.getZ())), i);
+            i++;
+        }
+        // Pas de reference vers des abeilles retirees dans la fin du tableau
+        Arrays.fill(entries, count, entries.length, null);
+    }
+
+    private static int cell(double coord) {
+        return Math.floorDiv(Mth.floor(coord), CELL_SIZE);
+    }
+
+    // --- Events ---
+
+    @SubscribeEvent
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (event.getEntity() instanceof MagicBeeEntity bee && event.getLevel() instanceof ServerLevel level) {
+            HASHES.computeIfAbsent(level.dimension(), k -> new BeeSpatialHash()).tracked.add(bee);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (event.getEntity() instanceof MagicBeeEntity bee && event.getLevel() instanceof ServerLevel level) {
+            BeeSpatialHash hash = HASHES.get(level.dimension());
+            if (hash != null) {
+                hash.tracked.remove(bee);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Pre event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        BeeSpatialHash hash = HASHES.get(level.dimension());
+        if (hash != null) {
+            hash.rebuild();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            HASHES.remove(level.dimension());
+        }
+    }
+
+    /**
+     * Oublie toutes les abeilles suivies (appele a l'arret du serveur).
+     */
+    public static void clearAll() {
+        HASHES.clear();
+    }
+}
@@ -0,0 +1,302 @@
+/**
+ * ============================================================
+ * [FlightPassabilityCache.java]
+ * Description: Cache de traversabilite par section de chunk partage entre toutes les abeilles
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Un bitset de 4096 bits (long[64]) par section 16³: bit a 1 = bloc traversable
+ * - Calcule depuis la palette de la section: section vide ou sans bloc bloquant → OPEN partage
+ * - isPassable(pos) = traversable(pos) && traversable(pos.above()), comme PathCollisionHelper
+ * - Invalidation par section sur NeighborNotifyEvent (tout setBlock avec mise a jour),
+ *   par chunk au dechargement, et par age (MAX_AGE_TICKS) pour les changements silencieux
+ * - Chunk non charge ou niveau client: lecture directe sans cache (comportement historique)
+ * - snapshot(): vue immuable d'une zone pour le calcul de chemin hors thread (BeePathExecutor)
+ * ============================================================
+ *
+ * DEPENDANCES:
+ * ------------------------------------------------------------
+ * | Dependance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | PathCollisionHelper | Regle de traversee   | isBlockTraversable             |
+ * | LevelChunkSection   | Palette              | hasOnlyAir, maybeHas           |
+ * ------------------------------------------------------------
+ *
+ * UTILISE PAR:
+ * - ThetaStarSolver.java: passabilite des noeuds et LOS paresseuses
+ * - PathCollisionHelper.java: hasLineOfSight
+ * - BeePathExecutor.java: snapshots pour les workers
+ * - SectionPortalGraph.java: bitsets des sections pour les faces ouvertes (cache ou snapshot)
+ * - FlightRouteCache.java: date du dernier changement par section
+ * - Apica.java (enregistrement events, nettoyage a l'arret serveur)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.common.entity.bee.pathfinding;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.objects.Reference2BooleanOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class FlightPassabilityCache {
+
+    /** Age maximal d'une section avant recalcul (changements sans NeighborNotify). */
+    private static final int MAX_AGE_TICKS = 200;
+    /** Marge (en sections) autour de la boite start/end capturee dans un snapshot. */
+    private static final int SNAPSHOT_MARGIN = 1;
+    /** Au-dela, le chemin est calcule sur le thread serveur (zone trop grande a capturer). */
+    private static final int MAX_SNAPSHOT_SECTIONS = 1024;
+
+    private static final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<Section>> CACHES = new HashMap<>();
+    /** Dernier changement de bloc par section (game time), pour les caches de routes. */
+    private static final Map<ResourceKey<Level>, Long2LongOpenHashMap> CHANGES = new HashMap<>();
+
+    /**
+     * Verifie si une position (packee) est traversable par une abeille, hitbox 1x2 comprise.
+     */
+    public static boolean isPassable(Level level, long packed) {
+        return isTraversable(level, packed) && isTraversable(level, BlockPos.offset(packed, 0, 1, 0));
+    }
+
+    private static boolean isTraversable(Level level, long packed) {
+        int x = BlockPos.getX(packed), y = BlockPos.getY(packed), z = BlockPos.getZ(packed);
+        Section section = level instanceof ServerLevel serverLevel ? getSection(serverLevel, x >> 4, y >> 4, z >> 4) : null;
+        if (section == null) {
+            return PathCollisionHelper.isBlockTraversable(level.getBlockState(new BlockPos(x, y, z)));
+        }
+        return section.get(x, y, z);
+    }
+
+    /**
+     * Retourne la section cachee (recalculee si absente ou trop vieille), ou null si le chunk n'est pas charge.
+     * Une section recalculee est un nouvel objet: SectionPortalGraph s'en sert pour detecter les changements.
+     */
+    @Nullable
+    static Section getSection(ServerLevel level, int sx, int sy, int sz) {
+        Long2ObjectOpenHashMap<Section> sections = CACHES.computeIfAbsent(level.dimension(), k -> new Long2ObjectOpenHashMap<>());
+        long sectionKey = SectionPos.asLong(sx, sy, sz);
+        long now = level.getGameTime();
+        Section section = sections.get(sectionKey);
+        if (section == null || now - section.computedAt > MAX_AGE_TICKS) {
+            section = computeSection(level, sx, sy, sz, now);
+            if (section == null) return null;
+            sections.put(sectionKey, section);
+        }
+        return section;
+    }
+
+    // --- Snapshots pour le calcul hors thread ---
+
+    /**
+     * Capture les sections couvrant la boite start/end elargie de SNAPSHOT_MARGIN sections.
+     * Les bitsets ne sont jamais modifies apres calcul: le snapshot partage les references.
+     * Doit etre appele sur le thread serveur.
+     * @return null si la zone depasse MAX_SNAPSHOT_SECTIONS
+     */
+    @Nullable
+    public static Snapshot snapshot(ServerLevel level, long start, long end) {
+        int minX = (Math.min(BlockPos.getX(start), BlockPos.getX(end)) >> 4) - SNAPSHOT_MARGIN;
+        int maxX = (Math.max(BlockPos.getX(start), BlockPos.getX(end)) >> 4) + SNAPSHOT_MARGIN;
+        int minY = (Math.min(BlockPos.getY(start), BlockPos.getY(end)) >> 4) - SNAPSHOT_MARGIN;
+        int maxY = (Math.max(BlockPos.getY(start), BlockPos.getY(end)) >> 4) + SNAPSHOT_MARGIN;
+        int minZ = (Math.min(BlockPos.getZ(start), BlockPos.getZ(end)) >> 4) - SNAPSHOT_MARGIN;
+        int maxZ = (Math.max(BlockPos.getZ(start), BlockPos.getZ(end)) >> 4) + SNAPSHOT_MARGIN;
+        long count = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        if (count > MAX_SNAPSHOT_SECTIONS) return null;
+
+        Long2ObjectOpenHashMap<Section> captured = new Long2ObjectOpenHashMap<>((int) count);
+        for (int sx = minX; sx <= maxX; sx++) {
+            for (int sy = minY; sy <= maxY; sy++) {
+                for (int sz = minZ; sz <= maxZ; sz++) {
+                    Section section = getSection(level, sx, sy, sz);
+                    if (section != null) {
+                        captured.put(SectionPos.asLong(sx, sy, sz), section);
+                    }
+                }
+            }
+        }
+        return new Snapshot(captured);
+    }
+
+    /**
+     * Capture un ensemble explicite de sections (corridor du planificateur hierarchique).
+     */
+    public static Snapshot snapshot(ServerLevel level, LongCollection sectionKeys) {
+        Long2ObjectOpenHashMap<Section> captured = new Long2ObjectOpenHashMap<>(sectionKeys.size());
+        LongIterator it = sectionKeys.iterator();
+        while (it.hasNext()) {
+            long key = it.nextLong();
+            Section section = getSection(level, SectionPos.x(key), SectionPos.y(key), SectionPos.z(key));
+            if (section != null) {
+                captured.put(key, section);
+            }
+        }
+        return new Snapshot(captured);
+    }
+
+    /**
+     * Vue immuable d'une zone du cache, lisible depuis n'importe quel thread.
+     * Hors zone ou chunk non charge: bloque.
+     */
+    public static final class Snapshot {
+        private final Long2ObjectOpenHashMap<Section> sections;
+
+        private Snapshot(Long2ObjectOpenHashMap<Section> sections) {
+            this.sections = sections;
+        }
+
+        public boolean isPassable(long packed) {
+            return isTraversable(packed) && isTraversable(BlockPos.offset(packed, 0, 1, 0));
+        }
+
+        @Nullable
+        Section getSection(long sectionKey) {
+            return sections.get(sectionKey);
+        }
+
+        private boolean isTraversable(long packed) {
+            int x = BlockPos.getX(packed), y = BlockPos.getY(packed), z = BlockPos.getZ(packed);
+            Section section = sections.get(SectionPos.asLong(x >> 4, y >> 4, z >> 4));
+            return section != null && section.get(x, y, z);
+        }
+    }
+
+    /**
+     * Calcule le bitset d'une section depuis la palette du chunk charge.
+     * @return null si le chunk n'est pas charge
+     */
+    @Nullable
+    private static Section computeSection(ServerLevel level, int sx, int sy, int sz, long now) {
+        LevelChunk chunk = level.getChunkSource().getChunkNow(sx, sz);
+        if (chunk == null) return null;
+
+        int index = level.getSectionIndexFromSectionY(sy);
+        if (index < 0 || index >= chunk.getSectionsCount()) {
+            // Hors hauteur de build: VOID_AIR, traversable
+            return new Section(null, now);
+        }
+        LevelChunkSection chunkSection = chunk.getSection(index);
+        if (chunkSection.hasOnlyAir()
+                || !chunkSection.maybeHas(state -> !PathCollisionHelper.isBlockTraversable(state))) {
+            return new Section(null, now);
+        }
+        if (!chunkSection.maybeHas(PathCollisionHelper::isBlockTraversable)) {
+            return new Section(new long[64], now);
+        }
+
+        // Palette mixte: une evaluation par BlockState distinct, puis remplissage du bitset
+        Reference2BooleanOpenHashMap<BlockState> memo = new Reference2BooleanOpenHashMap<>();
+        long[] bits = new long[64];
+        for (int ly = 0; ly < 16; ly++) {
+            for (int lz = 0; lz < 16; lz++) {
+                for (int lx = 0; lx < 16; lx++) {
+                    BlockState state = chunkSection.getBlockState(lx, ly, lz);
+                    boolean traversable;
+                    if (memo.containsKey(state)) {
+                        traversable = memo.getBoolean(state);
+                    } else {
+                        traversable = PathCollisionHelper.isBlockTraversable(state);
+                        memo.put(state, traversable);
+                    }
+                    if (traversable) {
+                        int bit = (ly << 8) | (lz << 4) | lx;
+                        bits[bit >>> 6] |= 1L << (bit & 63);
+                    }
+                }
+            }
+        }
+        return new Section(bits, now);
+    }
+
+    // --- Invalidation ---
+
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        invalidate(event.getLevel(), event.getPos());
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        Long2ObjectOpenHashMap<Section> sections = CACHES.get(level.dimension());
+        Long2LongOpenHashMap changes = CHANGES.get(level.dimension());
+        ChunkPos chunkPos = event.getChunk().getPos();
+        for (int sy = level.getMinSection(); sy < level.getMaxSection(); sy++) {
+            long key = SectionPos.asLong(chunkPos.x, sy, chunkPos.z);
+            if (sections != null) sections.remove(key);
+            if (changes != null) changes.remove(key);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            CACHES.remove(level.dimension());
+            CHANGES.remove(level.dimension());
+        }
+    }
+
+    private static void invalidate(LevelAccessor accessor, BlockPos pos) {
+        if (!(accessor instanceof ServerLevel level)) return;
+        long key = SectionPos.asLong(pos);
+        Long2ObjectOpenHashMap<Section> sections = CACHES.get(level.dimension());
+        if (sections != null) {
+            sections.remove(key);
+        }
+        CHANGES.computeIfAbsent(level.dimension(), k -> newChangeMap()).put(key, level.getGameTime());
+    }
+
+    /**
+     * Game time du dernier changement de bloc connu dans une section (Long.MIN_VALUE si aucun).
+     * Permet aux caches de routes (FlightRouteCache) de ne re-verifier que les routes touchees.
+     */
+    public static long getLastChange(ServerLevel level, long sectionKey) {
+        Long2LongOpenHashMap changes = CHANGES.get(level.dimension());
+        return changes != null ? changes.get(sectionKey) : Long.MIN_VALUE;
+    }
+
+    private static Long2LongOpenHashMap newChangeMap() {
+        Long2LongOpenHashMap map = new Long2LongOpenHashMap();
+        map.defaultReturnValue(Long.MIN_VALUE);
+        return map;
+    }
+
+    /**
+     * Vide tous les caches (appele a l'arret du serveur).
+     */
+    public static void clearAll() {
+        CACHES.clear();
+        CHANGES.clear();
+    }
+
+    /**
+     * Bitset de traversabilite d'une section. bits == null: section entierement traversable.
+     */
+    record Section(@Nullable long[] bits, long computedAt) {
+        boolean get(int x, int y, int z) {
+            if (bits == null) return true;
+            int bit = ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+            return (bits[bit >>> 6] & (1L << (bit & 63))) != 0;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/**
+ * ============================================================
+ * [HierarchicalFlightPlanner.java]
+ * Description: Planification hierarchique des longs vols (A* sur sections, Theta* en corridor)
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Trajet court (moins de MIN_SECTION_DISTANCE sections): null, Theta* direct
+ * - planCorridor(): A* sur SectionPortalGraph, de la section de depart a celle d'arrivee;
+ *   sur le thread serveur (faces en cache) ou sur un snapshot (faces lues dans ses sections)
+ * - solveAlongCorridor(): Theta* par troncons de LEG_SECTIONS sections, chaque troncon
+ *   restreint aux sections du corridor (+ voisines directes) et termine sur un bloc libre
+ *   proche du centre de la section cible. Chaque troncon reste sous MAX_ITERATIONS.
+ * - Un troncon qui n'atteint pas sa cible arrete la planification: le chemin partiel est
+ *   retourne et sera recalcule par BeePathfinding
+ * ============================================================
+ *
+ * DEPENDANCES:
+ * ------------------------------------------------------------
+ * | Dependance             | Raison              | Utilisation                    |
+ * |------------------------|---------------------|--------------------------------|
+ * | SectionPortalGraph     | Graphe abstrait     | Faces ouvertes entre sections  |
+ * | ThetaStarSolver        | Chemin fin          | Troncons dans le corridor      |
+ * | FlightPassabilityCache | Passabilite         | Version synchrone              |
+ * ------------------------------------------------------------
+ *
+ * UTILISE PAR:
+ * - BeePathExecutor.java: corridor puis troncons sur le worker (snapshot)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.common.entity.bee.pathfinding;
+
+import it.unimi.dsi.fastutil.longs.Long2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.LongPredicate;
+
+public class HierarchicalFlightPlanner {
+
+    /** Distance (en sections, Chebyshev) a partir de laquelle on passe par le graphe abstrait. */
+    private static final int MIN_SECTION_DISTANCE = 2;
+    /** Nombre de sections parcourues par troncon Theta*. */
+    private static final int LEG_SECTIONS = 3;
+    /** Budget d'expansions de l'A* abstrait. */
+    private static final int MAX_SECTION_EXPANSIONS = 4096;
+
+    /**
+     * Solve synchrone: corridor + troncons si le trajet est long, sinon Theta* direct.
+     */
+    @Nullable
+    public static List<BlockPos> solve(ServerLevel level, BlockPos start, BlockPos end) {
+        LongList corridor = planCorridor(level, start, end);
+        if (corridor == null) {
+            return ThetaStarSolver.solve(level, start, end);
+        }
+        return solveAlongCorridor(packed -> FlightPassabilityCache.isPassable(level, packed), corridor, start, end);
+    }
+
+    /**
+     * A* sur les sections. Doit etre appele sur le thread serveur.
+     * @return les sections du corridor dans l'ordre (depart et arrivee inclus),
+     *         ou null si le trajet est court ou si aucun corridor n'a ete trouve
+     */
+    @Nullable
+    public static LongList planCorridor(ServerLevel level, BlockPos start, BlockPos end) {
+        return planCorridor((key, dir) -> SectionPortalGraph.isOpen(level, key, dir),
+                level.getMinSection(), level.getMaxSection(), start, end);
+    }
+
+    /**
+     * A* sur les sections d'un snapshot. N'accede pas au monde: utilisable hors thread.
+     * Le corridor reste dans les sections capturees.
+     */
+    @Nullable
+    public static LongList planCorridor(FlightPassabilityCache.Snapshot snapshot, int minSection, int maxSection,
+                                        BlockPos start, BlockPos end) {
+        return planCorridor((key, dir) -> SectionPortalGraph.isOpen(snapshot, key, dir),
+                minSection, maxSection, start, end);
+    }
+
+    @Nullable
+    private static LongList planCorridor(PortalTest portals, int minSection, int maxSection,
+                                         BlockPos start, BlockPos end) {
+        long from = SectionPos.asLong(start);
+        long to = SectionPos.asLong(end);
+        if (sectionDistance(from, to) < MIN_SECTION_DISTANCE) return null;
+
+        Long2DoubleOpenHashMap gScore = new Long2DoubleOpenHashMap();
+        gScore.defaultReturnValue(Double.MAX_VALUE);
+        Long2LongOpenHashMap parent = new Long2LongOpenHashMap();
+        PriorityQueue<SectionNode> open = new PriorityQueue<>();
+        LongSet closed = new LongOpenHashSet();
+
+        gScore.put(from, 0);
+        parent.put(from, from);
+        open.add(new SectionNode(from, heuristic(from, to)));
+
+        int expansions = 0;
+        while (!open.isEmpty() && expansions < MAX_SECTION_EXPANSIONS) {
+            long current = open.poll().key();
+            if (!closed.add(current)) continue;
+            expansions++;
+            if (current == to) {
+                return reconstruct(parent, from, to);
+            }
+
+            double g = gScore.get(current);
+            for (Direction dir : Direction.values()) {
+                long neighbor = SectionPos.offset(current, dir);
+                int ny = SectionPos.y(neighbor);
+                if (ny < minSection || ny >= maxSection || closed.contains(neighbor)) continue;
+                if (!portals.isOpen(current, dir)) continue;
+                double tentative = g + 1;
+                if (tentative < gScore.get(neighbor)) {
+                    gScore.put(neighbor, tentative);
+                    parent.put(neighbor, current);
+                    open.add(new SectionNode(neighbor, tentative + heuristic(neighbor, to)));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sections du corridor et leurs voisines directes: zone a capturer dans un snapshot.
+     */
+    public static LongSet corridorSections(LongList corridor) {
+        return dilate(corridor, 0, corridor.size() - 1);
+    }
+
+    /**
+     * Theta* troncon par troncon le long du corridor. N'accede pas au monde: utilisable hors thread.
+     */
+    @Nullable
+    public static List<BlockPos> solveAlongCorridor(LongPredicate passable, LongList corridor,
+                                                    BlockPos start, BlockPos end) {
+        List<BlockPos> result = new ArrayList<>();
+        BlockPos legStart = start;
+        int index = 0;
+        int last = corridor.size() - 1;
+
+        while (true) {
+            int targetIndex = Math.min(index + LEG_SECTIONS, last);
+            BlockPos legEnd = targetIndex == last ? end : freeCellNearCenter(passable, corridor.getLong(targetIndex));
+            if (legEnd == null) {
+                targetIndex = last;
+                legEnd = end;
+            }
+
+            LongSet window = dilate(corridor, index, targetIndex);
+            List<BlockPos> leg = ThetaStarSolver.solve(
+                    packed -> window.contains(SectionPos.blockToSection(packed)) && passable.test(packed),
+                    legStart, legEnd);
+            if (leg == null || leg.isEmpty()) break;
+
+            // Le premier point d'un troncon est la fin du precedent
+            result.addAll(result.isEmpty() ? leg : leg.subList(1, leg.size()));
+            if (targetIndex == last || !leg.get(leg.size() - 1).equals(legEnd)) break;
+            legStart = legEnd;
+            index = targetIndex;
+        }
+        return result.isEmpty() ? null : result;
+    }
+
+    // --- Utilitaires ---
+
+    private static LongSet dilate(LongList corridor, int fromIndex, int toIndex) {
+        LongSet sections = new LongOpenHashSet();
+        for (int i = fromIndex; i <= toIndex; i++) {
+            long key = corridor.getLong(i);
+            sections.add(key);
+            for (Direction dir : Direction.values()) {
+                sections.add(SectionPos.offset(key, dir));
+            }
+        }
+        return sections;
+    }
+
+    /**
+     * Bloc libre le plus proche du centre d'une section, ou null si la section est pleine.
+     */
+    @Nullable
+    private static BlockPos freeCellNearCenter(LongPredicate passable, long sectionKey) {
+        int baseX = SectionPos.sectionToBlockCoord(SectionPos.x(sectionKey));
+        int baseY = SectionPos.sectionToBlockCoord(SectionPos.y(sectionKey));
+        int baseZ = SectionPos.sectionToBlockCoord(SectionPos.z(sectionKey));
+        long best = 0;
+        int bestDist = Integer.MAX_VALUE;
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    int dist = (x - 8) * (x - 8) + (y - 8) * (y - 8) + (z - 8) * (z - 8);
+                    if (dist >= bestDist) continue;
+                    long packed = BlockPos.asLong(baseX + x, baseY + y, baseZ + z);
+                    if (passable.test(packed)) {
+                        best = packed;
+                        bestDist = dist;
+                    }
+                }
+            }
+        }
+        return bestDist == Integer.MAX_VALUE ? null : BlockPos.of(best);
+    }
+
+    private static LongList reconstruct(Long2LongOpenHashMap parent, long from, long to) {
+        LongArrayList path = new LongArrayList();
+        long current = to;
+        while (current != from) {
+            path.add(current);
+            current = parent.get(current);
+        }
+        path.add(from);
+        LongArrayList ordered = new LongArrayList(path.size());
+        for (int i = path.size() - 1; i >= 0; i--) {
+            ordered.add(path.getLong(i));
+        }
+        return ordered;
+    }
+
+    private static int sectionDistance(long a, long b) {
+        return Math.max(Math.abs(SectionPos.x(a) - SectionPos.x(b)),
+                Math.max(Math.abs(SectionPos.y(a) - SectionPos.y(b)), Math.abs(SectionPos.z(a) - SectionPos.z(b))));
+    }
+
+    private static double heuristic(long a, long b) {
+        double dx = SectionPos.x(a) - SectionPos.x(b);
+        double dy = SectionPos.y(a) - SectionPos.y(b);
+        double dz = SectionPos.z(a) - SectionPos.z(b);
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /** Face ouverte entre une section et sa voisine (cache serveur ou snapshot). */
+    @FunctionalInterface
+    private interface PortalTest {
+        boolean isOpen(long sectionKey, Direction dir);
+    }
+
+    private record SectionNode(long key, double fScore) implements Comparable<SectionNode> {
+        @Override
+        public int compareTo(SectionNode other) {
+            return Double.compare(fScore, other.fScore);
+        }
+    }
+}
@@ -17,11 +17,14 @@
  * | Dependance          | Raison                | Utilisation                    |
  * |---------------------|----------------------|--------------------------------|
  * | Level               | Monde Minecraft      | Lecture des BlockState         |
+ * | FlightPassabilityCache | Cache partage     | Passabilite pour les LOS       |
  * ------------------------------------------------------------
  *
  * UTILISE PAR:
+ * - FlightPassabilityCache.java: Regle de traversee par BlockState
  * - ThetaStarSolver.java: Verification collisions pendant le pathfinding
  * - BeePathfinding.java: Vol direct (ligne de vue)
+ * - BeePathExecutor.java: Raccord d'un demandeur au chemin partage
  *
  * ============================================================
  */
@@ -34,6 +37,8 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.pathfinder.PathComputationType;
 
+import java.util.function.LongPredicate;
+
 public class PathCollisionHelper {
 
     private static final double WALL_PENALTY = 0.5;
@@ -59,7 +64,7 @@ public class PathCollisionHelper {
      * Combine le hook vanilla isPathfindable avec des checks explicites
      * pour les blocs dangereux et les blocs a collision partielle.
      */
-    private static boolean isBlockTraversable(BlockState state) {
+    static boolean isBlockTraversable(BlockState state) {
         if (state.isSolid() || state.liquid()) {
             return false;
         }
@@ -102,10 +107,19 @@ public class PathCollisionHelper {
      * Verifie la ligne de vue avec l'algorithme DDA 3D.
      * Avance pas-a-pas le long de l'axe dominant, interpolant les deux autres axes.
      * Utilise l'arithmetique entiere pour eviter les erreurs de floating point.
+     * La passabilite passe par FlightPassabilityCache (partage entre abeilles).
      */
     public static boolean hasLineOfSight(Level level, BlockPos start, BlockPos end) {
-        int x0 = start.getX(), y0 = start.getY(), z0 = start.getZ();
-        int x1 = end.getX(), y1 = end.getY(), z1 = end.getZ();
+        return hasLineOfSight(start.asLong(), end.asLong(), packed -> FlightPassabilityCache.isPassable(level, packed));
+    }
+
+    /**
+     * Variante sur coordonnees packees (BlockPos.asLong) avec un test de passabilite fourni.
+     * Permet au solver de reutiliser son cache de passabilite sans allouer de BlockPos.
+     */
+    public static boolean hasLineOfSight(long start, long end, LongPredicate passable) {
+        int x0 = BlockPos.getX(start), y0 = BlockPos.getY(start), z0 = BlockPos.getZ(start);
+        int x1 = BlockPos.getX(end), y1 = BlockPos.getY(end), z1 = BlockPos.getZ(end);
 
         int dx = Math.abs(x1 - x0);
         int dy = Math.abs(y1 - y0);
@@ -123,7 +137,7 @@ public class PathCollisionHelper {
             int y = y0 + (deltaY * i + (deltaY > 0 ? steps / 2 : -steps / 2)) / steps;
             int z = z0 + (deltaZ * i + (deltaZ > 0 ? steps / 2 : -steps / 2)) / steps;
 
-            if (!isPassable(level, new BlockPos(x, y, z))) {
+            if (!passable.test(BlockPos.asLong(x, y, z))) {
                 return false;
             }
         }
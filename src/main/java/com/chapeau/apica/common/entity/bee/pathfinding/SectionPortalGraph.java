@@ -0,0 +1,187 @@
+/**
+ * ============================================================
+ * [SectionPortalGraph.java]
+ * Description: Graphe abstrait des sections 16³ reliees par leurs faces ouvertes
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Une face entre deux sections est ouverte si au moins une paire de blocs
+ *   face a face est passable des deux cotes, hitbox 1x2 comprise (bloc + bloc au-dessus,
+ *   comme FlightPassabilityCache.isPassable); en haut d'une face laterale le bloc
+ *   au-dessus est lu dans la section superieure
+ * - Chaque section stocke ses 3 faces positives (+X, +Y, +Z); les faces negatives
+ *   sont lues chez le voisin
+ * - Mise a jour incrementale: une entree memorise les Section de FlightPassabilityCache
+ *   utilisees; elle n'est recalculee que si l'une d'elles a ete invalidee/recalculee
+ * - Variante snapshot: faces calculees a la volee depuis les sections capturees (hors thread)
+ * - Approximation: la connectivite interne d'une section n'est pas modelisee,
+ *   Theta* la resout dans le corridor
+ * ============================================================
+ *
+ * DEPENDANCES:
+ * ------------------------------------------------------------
+ * | Dependance             | Raison              | Utilisation                    |
+ * |------------------------|---------------------|--------------------------------|
+ * | FlightPassabilityCache | Bitsets par section | Calcul des faces ouvertes      |
+ * ------------------------------------------------------------
+ *
+ * UTILISE PAR:
+ * - HierarchicalFlightPlanner.java: A* sur les sections (serveur ou worker)
+ * - Apica.java (enregistrement events, nettoyage a l'arret serveur)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.common.entity.bee.pathfinding;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class SectionPortalGraph {
+
+    private static final int FACE_POS_X = 1;
+    private static final int FACE_POS_Y = 1 << 1;
+    private static final int FACE_POS_Z = 1 << 2;
+
+    private static final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<Entry>> GRAPHS = new HashMap<>();
+
+    /**
+     * Verifie si une abeille peut passer de la section sectionKey a sa voisine dans la direction dir.
+     */
+    public static boolean isOpen(ServerLevel level, long sectionKey, Direction dir) {
+        int sx = SectionPos.x(sectionKey), sy = SectionPos.y(sectionKey), sz = SectionPos.z(sectionKey);
+        return switch (dir) {
+            case EAST -> (positiveFaces(level, sx, sy, sz) & FACE_POS_X) != 0;
+            case UP -> (positiveFaces(level, sx, sy, sz) & FACE_POS_Y) != 0;
+            case SOUTH -> (positiveFaces(level, sx, sy, sz) & FACE_POS_Z) != 0;
+            case WEST -> (positiveFaces(level, sx - 1, sy, sz) & FACE_POS_X) != 0;
+            case DOWN -> (positiveFaces(level, sx, sy - 1, sz) & FACE_POS_Y) != 0;
+            case NORTH -> (positiveFaces(level, sx, sy, sz - 1) & FACE_POS_Z) != 0;
+        };
+    }
+
+    /**
+     * Meme test sur les sections d'un snapshot, sans cache: utilisable hors thread serveur.
+     * Section absente du snapshot: fermee.
+     */
+    public static boolean isOpen(FlightPassabilityCache.Snapshot snapshot, long sectionKey, Direction dir) {
+        long neighborKey = SectionPos.offset(sectionKey, dir);
+        FlightPassabilityCache.Section self = snapshot.getSection(sectionKey);
+        FlightPassabilityCache.Section neighbor = snapshot.getSection(neighborKey);
+        if (self == null || neighbor == null) return false;
+        FlightPassabilityCache.Section selfAbove = snapshot.getSection(SectionPos.offset(sectionKey, Direction.UP));
+        FlightPassabilityCache.Section neighborAbove = snapshot.getSection(SectionPos.offset(neighborKey, Direction.UP));
+        return dir.getAxisDirection() == Direction.AxisDirection.POSITIVE
+                ? faceOpen(self, neighbor, selfAbove, neighborAbove, dir.getAxis())
+                : faceOpen(neighbor, self, neighborAbove, selfAbove, dir.getAxis());
+    }
+
+    private static int positiveFaces(ServerLevel level, int sx, int sy, int sz) {
+        FlightPassabilityCache.Section self = FlightPassabilityCache.getSection(level, sx, sy, sz);
+        if (self == null) return 0;
+        FlightPassabilityCache.Section east = FlightPassabilityCache.getSection(level, sx + 1, sy, sz);
+        FlightPassabilityCache.Section up = FlightPassabilityCache.getSection(level, sx, sy + 1, sz);
+        FlightPassabilityCache.Section south = FlightPassabilityCache.getSection(level, sx, sy, sz + 1);
+        // Bloc au-dessus des paires de la rangee y=15 des faces laterales
+        FlightPassabilityCache.Section upEast = FlightPassabilityCache.getSection(level, sx + 1, sy + 1, sz);
+        FlightPassabilityCache.Section upSouth = FlightPassabilityCache.getSection(level, sx, sy + 1, sz + 1);
+
+        Long2ObjectOpenHashMap<Entry> entries = GRAPHS.computeIfAbsent(level.dimension(), k -> new Long2ObjectOpenHashMap<>());
+        long key = SectionPos.asLong(sx, sy, sz);
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.matches(self, east, up, south, upEast, upSouth)) {
+            int mask = 0;
+            if (faceOpen(self, east, up, upEast, Direction.Axis.X)) mask |= FACE_POS_X;
+            if (faceOpen(self, up, up, null, Direction.Axis.Y)) mask |= FACE_POS_Y;
+            if (faceOpen(self, south, up, upSouth, Direction.Axis.Z)) mask |= FACE_POS_Z;
+            entry = new Entry((byte) mask, self, east, up, south, upEast, upSouth);
+            entries.put(key, entry);
+        }
+        return entry.mask;
+    }
+
+    /**
+     * Teste la face commune entre a et son voisin positif b sur l'axe donne.
+     * aAbove/bAbove: sections au-dessus de a et b, pour la hitbox en haut de section
+     * (null: non chargee, consideree bloquante).
+     */
+    private static boolean faceOpen(FlightPassabilityCache.Section a, @Nullable FlightPassabilityCache.Section b,
+                                    @Nullable FlightPassabilityCache.Section aAbove,
+                                    @Nullable FlightPassabilityCache.Section bAbove, Direction.Axis axis) {
+        if (b == null) return false;
+        if (a.bits() == null && b.bits() == null) return true;
+        for (int u = 0; u < 16; u++) {
+            for (int v = 0; v < 16; v++) {
+                boolean open = switch (axis) {
+                    case X -> passable(a, aAbove, 15, u, v) && passable(b, bAbove, 0, u, v);
+                    case Y -> passable(a, b, u, 15, v) && passable(b, bAbove, u, 0, v);
+                    case Z -> passable(a, aAbove, u, v, 15) && passable(b, bAbove, u, v, 0);
+                };
+                if (open) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bloc et bloc au-dessus traversables; au-dela de y=15 le second est lu dans above.
+     */
+    private static boolean passable(FlightPassabilityCache.Section section,
+                                    @Nullable FlightPassabilityCache.Section above, int x, int y, int z) {
+        if (!section.get(x, y, z)) return false;
+        if (y < 15) return section.get(x, y + 1, z);
+        return above != null && above.get(x, 0, z);
+    }
+
+    // --- Nettoyage ---
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        Long2ObjectOpenHashMap<Entry> entries = GRAPHS.get(level.dimension());
+        if (entries == null) return;
+        ChunkPos chunkPos = event.getChunk().getPos();
+        for (int sy = level.getMinSection(); sy < level.getMaxSection(); sy++) {
+            entries.remove(SectionPos.asLong(chunkPos.x, sy, chunkPos.z));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            GRAPHS.remove(level.dimension());
+        }
+    }
+
+    /**
+     * Vide tous les graphes (appele a l'arret du serveur).
+     */
+    public static void clearAll() {
+        GRAPHS.clear();
+    }
+
+    /**
+     * Faces positives d'une section et sections sources (comparees par identite).
+     */
+    private record Entry(byte mask, FlightPassabilityCache.Section self, @Nullable FlightPassabilityCache.Section east,
+                         @Nullable FlightPassabilityCache.Section up, @Nullable FlightPassabilityCache.Section south,
+                         @Nullable FlightPassabilityCache.Section upEast, @Nullable FlightPassabilityCache.Section upSouth) {
+        boolean matches(FlightPassabilityCache.Section self, @Nullable FlightPassabilityCache.Section east,
+                        @Nullable FlightPassabilityCache.Section up, @Nullable FlightPassabilityCache.Section south,
+                        @Nullable FlightPassabilityCache.Section upEast, @Nullable FlightPassabilityCache.Section upSouth) {
+            return this.self == self && this.east == east && this.up == up && this.south == south
+                    && this.upEast == upEast && this.upSouth == upSouth;
+        }
+    }
+}
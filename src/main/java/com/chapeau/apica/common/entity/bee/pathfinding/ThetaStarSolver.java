@@ -8,36 +8,42 @@
  * - Extension de Theta* qui reporte les checks de ligne de vue au moment du poll
  * - Reduit de 60-80% le nombre de LOS checks par rapport a Theta* standard
  * - Produit des chemins any-angle quasi-optimaux en espace 3D
- * - Cache de passabilite local par calcul (invalide a chaque nouveau calcul)
+ * - Passabilite lue dans FlightPassabilityCache (bitsets par section, partages entre abeilles)
  *
  * Reference: Nash et al. "Lazy Theta*: Any-Angle Path Planning" (AAAI 2010)
  *
+ * REPRESENTATION:
+ * - Coordonnees packees en long (BlockPos.asLong), aucun BlockPos pendant la recherche
+ * - Noeuds indexes par Long2IntOpenHashMap, donnees en tableaux paralleles (g, f, parent)
+ * - Tas binaire avec index de position: decrease-key en O(log n)
+ * - Tableaux reutilises via un workspace thread-local (aucune allocation en regime etabli)
+ *
  * DEPENDANCES:
  * ------------------------------------------------------------
  * | Dependance          | Raison                | Utilisation                    |
  * |---------------------|----------------------|--------------------------------|
- * | PathCollisionHelper | Collision            | isPassable, hasLineOfSight     |
+ * | PathCollisionHelper | Collision            | hasLineOfSight                 |
+ * | FlightPassabilityCache | Passabilite       | Bitsets par section partages   |
  * | Level               | Monde Minecraft      | Passe au collision helper      |
  * ------------------------------------------------------------
  *
  * UTILISE PAR:
  * - BeePathfinding.java: Delegation du calcul de chemin
+ * - BeePathExecutor.java: Calcul hors thread sur snapshot
  *
  * ============================================================
  */
 package com.chapeau.apica.common.entity.bee.pathfinding;
 
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.Level;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
+import java.util.function.LongPredicate;
 
 public class ThetaStarSolver {
 
@@ -45,8 +51,10 @@ public class ThetaStarSolver {
     private static final double DIAGONAL_COST = 1.414;
     private static final double STRAIGHT_COST = 1.0;
     private static final double ALTITUDE_BONUS = 0.3;
+    private static final double WALL_PENALTY = 0.5;
+    private static final double GOAL_RADIUS_SQR = 1.5 * 1.5;
 
-    // 26 directions 3D pour l'expansion des noeuds
+    // 26 directions 3D pour l'expansion des noeuds (les 6 premieres sont les faces)
     private static final int[][] DIRECTIONS = {
             {1, 0, 0}, {-1, 0, 0}, {0, 1, 0}, {0, -1, 0}, {0, 0, 1}, {0, 0, -1},
             {1, 0, 1}, {1, 0, -1}, {-1, 0, 1}, {-1, 0, -1},
@@ -55,193 +63,333 @@ public class ThetaStarSolver {
             {1, 1, 1}, {1, 1, -1}, {-1, 1, 1}, {-1, 1, -1},
             {1, -1, 1}, {1, -1, -1}, {-1, -1, 1}, {-1, -1, -1}
     };
+    private static final int FACE_COUNT = 6;
+    private static final double[] STEP_COST = new double[DIRECTIONS.length];
+
+    static {
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            STEP_COST[i] = isDiagonal(DIRECTIONS[i]) ? DIAGONAL_COST : STRAIGHT_COST;
+        }
+    }
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
 
     /**
      * Calcule un chemin Lazy Theta* de start vers end.
-     * Le cache de passabilite est local a cet appel: cree au debut, GC'd a la fin.
-     * Aucun risque de donnees stale entre ticks.
+     * La passabilite vient de FlightPassabilityCache, invalide par section a chaque changement de bloc.
      *
      * @return chemin lisse (list de BlockPos), ou chemin vers le noeud le plus proche si echec
      */
     @Nullable
     public static List<BlockPos> solve(Level level, BlockPos start, BlockPos end) {
-        PriorityQueue<Node> openSet = new PriorityQueue<>(Comparator.comparingDouble(n -> n.fScore));
-        Map<BlockPos, Node> allNodes = new HashMap<>();
-        Map<BlockPos, Node> closedSet = new HashMap<>();
-        // Cache local de passabilite — invalide a chaque nouveau solve()
-        Map<BlockPos, Boolean> passableCache = new HashMap<>();
-
-        Node startNode = new Node(start, null, 0, heuristic(start, end));
-        startNode.parent = startNode; // Lazy Theta*: le start est son propre parent
-        openSet.add(startNode);
-        allNodes.put(start, startNode);
-
-        Node closestToGoal = startNode;
-        double closestDist = heuristic(start, end);
-        int iterations = 0;
-
-        while (!openSet.isEmpty() && iterations < MAX_ITERATIONS) {
-            iterations++;
-            Node current = openSet.poll();
-            if (current == null) break;
-
-            // === LAZY THETA*: verification de LOS differee au moment du poll ===
-            if (current.parent != null && current.parent != current && current.parent.parent != null) {
-                if (!PathCollisionHelper.hasLineOfSight(level, current.parent.pos, current.pos)) {
+        return solve(packed -> FlightPassabilityCache.isPassable(level, packed), start, end);
+    }
+
+    /**
+     * Variante sur un test de passabilite arbitraire (ex: FlightPassabilityCache.Snapshot).
+     * Ne touche pas au monde: utilisable depuis un thread worker.
+     */
+    @Nullable
+    public static List<BlockPos> solve(LongPredicate passable, BlockPos start, BlockPos end) {
+        Workspace ws = WORKSPACE.get();
+        ws.reset(passable);
+        try {
+            return ws.search(start.asLong(), end.asLong());
+        } finally {
+            ws.passable = null;
+        }
+    }
+
+    // --- Utilitaires ---
+
+    private static double distance(long from, long to) {
+        double dx = BlockPos.getX(to) - BlockPos.getX(from);
+        double dy = BlockPos.getY(to) - BlockPos.getY(from);
+        double dz = BlockPos.getZ(to) - BlockPos.getZ(from);
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    private static double distanceSqr(long from, long to) {
+        double dx = BlockPos.getX(to) - BlockPos.getX(from);
+        double dy = BlockPos.getY(to) - BlockPos.getY(from);
+        double dz = BlockPos.getZ(to) - BlockPos.getZ(from);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static boolean isDiagonal(int[] dir) {
+        int nonZero = 0;
+        if (dir[0] != 0) nonZero++;
+        if (dir[1] != 0) nonZero++;
+        if (dir[2] != 0) nonZero++;
+        return nonZero > 1;
+    }
+
+    /**
+     * Etat de recherche reutilisable (un par thread).
+     * Les noeuds sont des indices dans des tableaux paralleles; le tas stocke des indices
+     * et heapIndex[node] donne leur position dans le tas (-1 si hors du tas).
+     */
+    private static final class Workspace {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final Long2IntOpenHashMap nodeIndex = new Long2IntOpenHashMap(INITIAL_CAPACITY);
+
+        private long[] pos = new long[INITIAL_CAPACITY];
+        private double[] g = new double[INITIAL_CAPACITY];
+        private double[] f = new double[INITIAL_CAPACITY];
+        private int[] parent = new int[INITIAL_CAPACITY];
+        private boolean[] closed = new boolean[INITIAL_CAPACITY];
+        private int[] heapIndex = new int[INITIAL_CAPACITY];
+        private int[] heap = new int[INITIAL_CAPACITY];
+        private int nodeCount;
+        private int heapSize;
+        private LongPredicate passable;
+
+        Workspace() {
+            nodeIndex.defaultReturnValue(-1);
+        }
+
+        void reset(LongPredicate passable) {
+            this.passable = passable;
+            nodeIndex.clear();
+            nodeCount = 0;
+            heapSize = 0;
+        }
+
+        @Nullable
+        List<BlockPos> search(long start, long end) {
+            int startNode = addNode(start, -1, 0, distance(start, end));
+            parent[startNode] = startNode; // Lazy Theta*: le start est son propre parent
+            heapPush(startNode);
+
+            int closestToGoal = startNode;
+            double closestDist = distance(start, end);
+            int iterations = 0;
+
+            while (heapSize > 0 && iterations < MAX_ITERATIONS) {
+                iterations++;
+                int current = heapPoll();
+                long currentPos = pos[current];
+
+                // === LAZY THETA*: verification de LOS differee au moment du poll ===
+                if (parent[current] != current && !lineOfSight(pos[parent[current]], currentPos)) {
                     // LOS echouee: chercher le meilleur parent parmi les voisins fermes
                     double bestG = Double.MAX_VALUE;
-                    Node bestParent = current;
-                    for (int[] dir : DIRECTIONS) {
-                        BlockPos nPos = current.pos.offset(dir[0], dir[1], dir[2]);
-                        Node closedNeighbor = closedSet.get(nPos);
-                        if (closedNeighbor != null) {
-                            double cost = isDiagonal(dir) ? DIAGONAL_COST : STRAIGHT_COST;
-                            double g = closedNeighbor.gScore + cost;
-                            if (g < bestG) {
-                                bestG = g;
+                    int bestParent = current;
+                    for (int d = 0; d < DIRECTIONS.length; d++) {
+                        int[] dir = DIRECTIONS[d];
+                        int closedNeighbor = nodeIndex.get(BlockPos.offset(currentPos, dir[0], dir[1], dir[2]));
+                        if (closedNeighbor >= 0 && closed[closedNeighbor]) {
+                            double candidate = g[closedNeighbor] + STEP_COST[d];
+                            if (candidate < bestG) {
+                                bestG = candidate;
                                 bestParent = closedNeighbor;
                             }
                         }
                     }
-                    current.parent = bestParent;
-                    current.gScore = bestG;
-                    current.fScore = bestG + heuristic(current.pos, end);
+                    parent[current] = bestParent;
+                    g[current] = bestG;
+                    f[current] = bestG + distance(currentPos, end);
                 }
-            }
 
-            double distToGoal = heuristic(current.pos, end);
-            if (distToGoal < closestDist) {
-                closestDist = distToGoal;
-                closestToGoal = current;
-            }
+                double distToGoal = distance(currentPos, end);
+                if (distToGoal < closestDist) {
+                    closestDist = distToGoal;
+                    closestToGoal = current;
+                }
 
-            if (current.pos.closerThan(end, 1.5)) {
-                return reconstructAndSmooth(level, current, end);
-            }
+                if (distanceSqr(currentPos, end) < GOAL_RADIUS_SQR) {
+                    return reconstructAndSmooth(current, end);
+                }
+
+                closed[current] = true;
 
-            closedSet.put(current.pos, current);
+                // === LAZY THETA*: attribution optimiste du parent (sans check LOS) ===
+                int effectiveParent = parent[current];
+                long parentPos = pos[effectiveParent];
+                double parentG = g[effectiveParent];
 
-            for (int[] dir : DIRECTIONS) {
-                BlockPos neighborPos = current.pos.offset(dir[0], dir[1], dir[2]);
-                if (closedSet.containsKey(neighborPos)) continue;
-                if (!cachedIsPassable(level, neighborPos, passableCache)) continue;
+                for (int[] dir : DIRECTIONS) {
+                    long neighborPos = BlockPos.offset(currentPos, dir[0], dir[1], dir[2]);
+                    int neighbor = nodeIndex.get(neighborPos);
+                    if (neighbor >= 0 && closed[neighbor]) continue;
+                    if (!isPassable(neighborPos)) continue;
 
-                double penalty = computeWallPenaltyCached(level, neighborPos, passableCache);
+                    double tentativeG = parentG + distance(parentPos, neighborPos) + wallPenalty(neighborPos);
 
-                // === LAZY THETA*: attribution optimiste du parent (sans check LOS) ===
-                Node effectiveParent = (current.parent != null) ? current.parent : current;
-                double tentativeG = effectiveParent.gScore
-                        + heuristic(effectiveParent.pos, neighborPos) + penalty;
-
-                Node neighbor = allNodes.get(neighborPos);
-                if (neighbor == null) {
-                    neighbor = new Node(neighborPos, effectiveParent, tentativeG, heuristic(neighborPos, end));
-                    allNodes.put(neighborPos, neighbor);
-                    openSet.add(neighbor);
-                } else if (tentativeG < neighbor.gScore) {
-                    openSet.remove(neighbor);
-                    neighbor.parent = effectiveParent;
-                    neighbor.gScore = tentativeG;
-                    neighbor.fScore = tentativeG + heuristic(neighborPos, end);
-                    openSet.add(neighbor);
+                    if (neighbor < 0) {
+                        neighbor = addNode(neighborPos, effectiveParent, tentativeG, distance(neighborPos, end));
+                        heapPush(neighbor);
+                    } else if (tentativeG < g[neighbor]) {
+                        parent[neighbor] = effectiveParent;
+                        g[neighbor] = tentativeG;
+                        f[neighbor] = tentativeG + distance(neighborPos, end);
+                        heapDecreaseKey(neighbor);
+                    }
                 }
             }
+
+            return reconstructAndSmooth(closestToGoal, pos[closestToGoal]);
         }
 
-        return reconstructAndSmooth(level, closestToGoal, closestToGoal.pos);
-    }
+        // --- Noeuds ---
+
+        private int addNode(long position, int parentNode, double gScore, double h) {
+            int node = nodeCount++;
+            ensureCapacity(nodeCount);
+            pos[node] = position;
+            parent[node] = parentNode;
+            g[node] = gScore;
+            f[node] = gScore + h;
+            closed[node] = false;
+            heapIndex[node] = -1;
+            nodeIndex.put(position, node);
+            return node;
+        }
 
-    // --- Cache de passabilite local ---
+        private void ensureCapacity(int required) {
+            if (required <= pos.length) return;
+            int capacity = Math.max(required, pos.length * 2);
+            pos = Arrays.copyOf(pos, capacity);
+            g = Arrays.copyOf(g, capacity);
+            f = Arrays.copyOf(f, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            closed = Arrays.copyOf(closed, capacity);
+            heapIndex = Arrays.copyOf(heapIndex, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+        }
 
-    private static boolean cachedIsPassable(Level level, BlockPos pos, Map<BlockPos, Boolean> cache) {
-        return cache.computeIfAbsent(pos, p -> PathCollisionHelper.isPassable(level, p));
-    }
+        // --- Tas binaire indexe (min sur f) ---
 
-    private static double computeWallPenaltyCached(Level level, BlockPos pos, Map<BlockPos, Boolean> cache) {
-        int solidCount = 0;
-        for (net.minecraft.core.Direction dir : net.minecraft.core.Direction.values()) {
-            BlockPos rel = pos.relative(dir);
-            boolean passable = cache.computeIfAbsent(rel, p -> PathCollisionHelper.isPassable(level, p));
-            if (!passable) {
-                solidCount++;
+        private void heapPush(int node) {
+            heap[heapSize] = node;
+            heapIndex[node] = heapSize;
+            heapSize++;
+            siftUp(heapSize - 1);
+        }
+
+        private int heapPoll() {
+            int top = heap[0];
+            heapIndex[top] = -1;
+            heapSize--;
+            if (heapSize > 0) {
+                int last = heap[heapSize];
+                heap[0] = last;
+                heapIndex[last] = 0;
+                siftDown(0);
             }
+            return top;
         }
-        return solidCount * 0.5;
-    }
 
-    // --- Reconstruction et lissage ---
+        private void heapDecreaseKey(int node) {
+            int slot = heapIndex[node];
+            if (slot < 0) {
+                heapPush(node);
+            } else {
+                siftUp(slot);
+            }
+        }
 
-    private static List<BlockPos> reconstructAndSmooth(Level level, Node endNode, BlockPos finalDest) {
-        List<BlockPos> path = new ArrayList<>();
-        Node current = endNode;
-        while (current != null && current.parent != current) {
-            path.add(current.pos);
-            current = current.parent;
+        private void siftUp(int slot) {
+            int node = heap[slot];
+            double key = f[node];
+            while (slot > 0) {
+                int parentSlot = (slot - 1) >>> 1;
+                int parentNode = heap[parentSlot];
+                if (f[parentNode] <= key) break;
+                heap[slot] = parentNode;
+                heapIndex[parentNode] = slot;
+                slot = parentSlot;
+            }
+            heap[slot] = node;
+            heapIndex[node] = slot;
         }
-        if (current != null) path.add(current.pos);
-        Collections.reverse(path);
 
-        if (!path.isEmpty() && !path.get(path.size() - 1).equals(finalDest)) {
-            path.add(finalDest);
+        private void siftDown(int slot) {
+            int node = heap[slot];
+            double key = f[node];
+            int half = heapSize >>> 1;
+            while (slot < half) {
+                int child = 2 * slot + 1;
+                int right = child + 1;
+                if (right < heapSize && f[heap[right]] < f[heap[child]]) {
+                    child = right;
+                }
+                int childNode = heap[child];
+                if (key <= f[childNode]) break;
+                heap[slot] = childNode;
+                heapIndex[childNode] = slot;
+                slot = child;
+            }
+            heap[slot] = node;
+            heapIndex[node] = slot;
         }
-        return smoothPath(level, path);
-    }
 
-    /**
-     * Lissage par string pulling: supprime les waypoints intermediaires inutiles
-     * en verifiant la ligne de vue entre points non-consecutifs.
-     */
-    private static List<BlockPos> smoothPath(Level level, List<BlockPos> path) {
-        if (path.size() <= 2) return path;
-
-        List<BlockPos> smoothed = new ArrayList<>();
-        smoothed.add(path.get(0));
-        int current = 0;
-        while (current < path.size() - 1) {
-            int farthestVisible = current + 1;
-            for (int i = path.size() - 1; i > current + 1; i--) {
-                if (PathCollisionHelper.hasLineOfSight(level, path.get(current), path.get(i))) {
-                    farthestVisible = i;
-                    break;
+        // --- Passabilite (cache partage par section) ---
+
+        private boolean isPassable(long packed) {
+            return passable.test(packed);
+        }
+
+        private double wallPenalty(long packed) {
+            int solidCount = 0;
+            for (int d = 0; d < FACE_COUNT; d++) {
+                int[] dir = DIRECTIONS[d];
+                if (!isPassable(BlockPos.offset(packed, dir[0], dir[1], dir[2]))) {
+                    solidCount++;
                 }
             }
-            smoothed.add(path.get(farthestVisible));
-            current = farthestVisible;
+            return solidCount * WALL_PENALTY;
         }
-        return smoothed;
-    }
 
-    // --- Utilitaires ---
+        private boolean lineOfSight(long from, long to) {
+            return PathCollisionHelper.hasLineOfSight(from, to, this::isPassable);
+        }
 
-    private static double heuristic(BlockPos from, BlockPos to) {
-        double dx = to.getX() - from.getX();
-        double dy = to.getY() - from.getY();
-        double dz = to.getZ() - from.getZ();
-        return Math.sqrt(dx * dx + dy * dy + dz * dz);
-    }
+        // --- Reconstruction et lissage ---
 
-    private static boolean isDiagonal(int[] dir) {
-        int nonZero = 0;
-        if (dir[0] != 0) nonZero++;
-        if (dir[1] != 0) nonZero++;
-        if (dir[2] != 0) nonZero++;
-        return nonZero > 1;
-    }
+        private List<BlockPos> reconstructAndSmooth(int endNode, long finalDest) {
+            int length = 1;
+            for (int node = endNode; parent[node] != node; node = parent[node]) {
+                length++;
+            }
+            long[] packedPath = new long[length + 1];
+            int node = endNode;
+            for (int i = length - 1; i >= 0; i--) {
+                packedPath[i] = pos[node];
+                node = parent[node];
+            }
+            if (packedPath[length - 1] != finalDest) {
+                packedPath[length++] = finalDest;
+            }
+            return smoothPath(packedPath, length);
+        }
 
-    /**
-     * Noeud pour Lazy Theta*.
-     */
-    static class Node {
-        final BlockPos pos;
-        Node parent;
-        double gScore;
-        double fScore;
-
-        Node(BlockPos pos, Node parent, double gScore, double h) {
-            this.pos = pos;
-            this.parent = parent;
-            this.gScore = gScore;
-            this.fScore = gScore + h;
+        /**
+         * Lissage par string pulling: supprime les waypoints intermediaires inutiles
+         * en verifiant la ligne de vue entre points non-consecutifs.
+         */
+        private List<BlockPos> smoothPath(long[] path, int length) {
+            List<BlockPos> smoothed = new ArrayList<>();
+            if (length <= 2) {
+                for (int i = 0; i < length; i++) smoothed.add(BlockPos.of(path[i]));
+                return smoothed;
+            }
+
+            smoothed.add(BlockPos.of(path[0]));
+            int current = 0;
+            while (current < length - 1) {
+                int farthestVisible = current + 1;
+                for (int i = length - 1; i > current + 1; i--) {
+                    if (lineOfSight(path[current], path[i])) {
+                        farthestVisible = i;
+                        break;
+                    }
+                }
+                smoothed.add(BlockPos.of(path[farthestVisible]));
+                current = farthestVisible;
+            }
+            return smoothed;
         }
     }
 }
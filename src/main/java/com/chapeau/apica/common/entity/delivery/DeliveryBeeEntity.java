@@ -48,6 +48,7 @@ import net.minecraft.world.entity.ai.navigation.PathNavigation;
 import net.minecraft.world.entity.animal.Bee;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
@@ -585,6 +586,32 @@ public class DeliveryBeeEntity extends Bee {
         return List.of();
     }
 
+    /**
+     * Demande le trajet de vol cache par le controller entre deux points fixes du reseau.
+     *
+     * @return waypoints lisses jusqu'a toPos, ou null si pas encore calcule (navigation vanilla)
+     */
+    @Nullable
+    public List<BlockPos> requestFlightRoute(BlockPos fromPos, BlockPos toPos) {
+        if (controllerPos == null || !(level() instanceof ServerLevel serverLevel) || !serverLevel.hasChunkAt(controllerPos)) {
+            return null;
+        }
+        if (serverLevel.getBlockEntity(controllerPos) instanceof StorageControllerBlockEntity controller) {
+            return controller.getDeliveryManager().getRouteCache().getRoute(serverLevel, fromPos, toPos);
+        }
+        return null;
+    }
+
+    /**
+     * Signale au controller qu'un trajet cache n'a pas pu etre suivi.
+     */
+    public void invalidateFlightRoute(BlockPos fromPos, BlockPos toPos) {
+        if (controllerPos == null || level() == null || !level().hasChunkAt(controllerPos)) return;
+        if (level().getBlockEntity(controllerPos) instanceof StorageControllerBlockEntity controller) {
+            controller.getDeliveryManager().getRouteCache().invalidate(fromPos, toPos);
+        }
+    }
+
     /**
      * Prend un snapshot des items transportes avant la livraison.
      */
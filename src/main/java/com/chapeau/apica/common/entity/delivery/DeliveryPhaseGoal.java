@@ -59,6 +59,10 @@ public class DeliveryPhaseGoal extends Goal {
     private static final Logger LOGGER = LoggerFactory.getLogger(DeliveryPhaseGoal.class);
     private static final double ARRIVAL_DISTANCE_SQ = 4.0;
     private static final int BASE_WAIT_TICKS = 60;
+    // Suivi d'une route cachee: distance de passage d'un waypoint intermediaire
+    private static final double ROUTE_WAYPOINT_REACH_SQ = 1.0;
+    // Ticks sans atteindre de waypoint avant d'abandonner la route cachee (vanilla en secours)
+    private static final int ROUTE_STALL_TICKS = 60;
 
     private final DeliveryBeeEntity bee;
 
@@ -90,6 +94,14 @@ public class DeliveryPhaseGoal extends Goal {
     private List<BlockPos> redirectWaypoints = List.of();
     private List<BlockPos> recallHomeWaypoints = null;
 
+    // Route de vol cachee par le controller pour le troncon courant (null: navigation vanilla)
+    // legAnchor: dernier point fixe atteint (depart du troncon), null apres une annulation en vol
+    private BlockPos legAnchor = null;
+    private List<BlockPos> legRoute = null;
+    private int legRouteIdx = 0;
+    private int legRouteStall = 0;
+    private double legRouteBestDistSq = Double.MAX_VALUE;
+
     public DeliveryPhaseGoal(DeliveryBeeEntity bee) {
         this.bee = bee;
         this.setFlags(EnumSet.of(Flag.MOVE));
@@ -136,6 +148,9 @@ public class DeliveryPhaseGoal extends Goal {
         }
         homeIdx[0] = 0;
         navigationStarted = false;
+        // La bee sort du controller: sa position de spawn est un point fixe
+        legAnchor = bee.blockPosition();
+        legRoute = null;
     }
 
     @Override
@@ -190,6 +205,7 @@ public class DeliveryPhaseGoal extends Goal {
                     // [FIX] Calculer le chemin vers le coffre de sauvegarde via les relays
                     savingWaypoints = calculatePathToPosition(bee.getSavingChestPos());
                     navigationStarted = false;
+                    legAnchor = null;
                 } else {
                     // Pas de coffre dispo: retour au controller (items restitues au reseau a l'arrivee)
                     setPhase(Phase.FLY_HOME);
@@ -197,6 +213,7 @@ public class DeliveryPhaseGoal extends Goal {
                     // [FIX] Calculer le chemin de retour depuis la position actuelle
                     recallHomeWaypoints = calculatePathToController();
                     navigationStarted = false;
+                    legAnchor = null;
                 }
             }
 
@@ -210,6 +227,7 @@ public class DeliveryPhaseGoal extends Goal {
             // [FIX] Calculer le chemin de retour depuis la position actuelle
             recallHomeWaypoints = calculatePathToController();
             navigationStarted = false;
+            legAnchor = null;
         }
 
         // Phase FLY_HOME: retour au controller via les relays
@@ -235,6 +253,7 @@ public class DeliveryPhaseGoal extends Goal {
     private void handleTaskCancellation() {
         cancellationHandled = true;
         navigationStarted = false;
+        legAnchor = null;
 
         if (!bee.getCarriedItems().isEmpty()) {
             BlockPos savingChest = bee.getSavingChestPos();
@@ -383,20 +402,30 @@ public class DeliveryPhaseGoal extends Goal {
             currentTarget = finalTarget;
         }
 
-        if (!navigationStarted || bee.getNavigation().isDone()) {
+        if (!navigationStarted) {
             // [DEBUG] Log navigation start avec le waypoint actuel
             LOGGER.info("[Nav] Bee {} phase={} idx={}/{} target={} (waypoints={})",
                 bee.getTaskId(), phase, indexRef[0], waypoints.size(), currentTarget, waypoints);
-            bee.getNavigation().moveTo(
-                currentTarget.getX() + 0.5, currentTarget.getY() + 0.5, currentTarget.getZ() + 0.5,
-                1.0 * bee.getFlySpeedMultiplier()
-            );
+            // Troncon entre deux points fixes: route cachee par le controller si disponible
+            legRoute = legAnchor != null ? bee.requestFlightRoute(legAnchor, currentTarget) : null;
+            legRouteIdx = 0;
+            legRouteStall = 0;
+            legRouteBestDistSq = Double.MAX_VALUE;
+            if (legRoute == null) {
+                startVanillaMove(currentTarget);
+            }
             navigationStarted = true;
+        } else if (legRoute != null) {
+            followRoute(currentTarget);
+        } else if (bee.getNavigation().isDone()) {
+            startVanillaMove(currentTarget);
         }
 
         if (bee.distanceToSqr(currentTarget.getX() + 0.5, currentTarget.getY() + 0.5, currentTarget.getZ() + 0.5) < ARRIVAL_DISTANCE_SQ) {
             bee.getNavigation().stop();
             navigationStarted = false;
+            legAnchor = currentTarget;
+            legRoute = null;
 
             if (indexRef[0] < waypoints.size()) {
                 LOGGER.info("[Nav] Bee {} reached waypoint {} ({}), advancing to idx={}",
@@ -410,6 +439,47 @@ public class DeliveryPhaseGoal extends Goal {
         return false;
     }
 
+    private void startVanillaMove(BlockPos target) {
+        bee.getNavigation().moveTo(
+            target.getX() + 0.5, target.getY() + 0.5, target.getZ() + 0.5,
+            1.0 * bee.getFlySpeedMultiplier()
+        );
+    }
+
+    /**
+     * Suit la route cachee sans pathfinding: les segments sont en ligne de vue.
+     * Si la bee ne se rapproche plus de son waypoint, la route est invalidee et la navigation vanilla reprend.
+     */
+    private void followRoute(BlockPos finalTarget) {
+        while (legRouteIdx < legRoute.size() - 1) {
+            BlockPos waypoint = legRoute.get(legRouteIdx);
+            if (bee.distanceToSqr(waypoint.getX() + 0.5, waypoint.getY() + 0.5, waypoint.getZ() + 0.5) > ROUTE_WAYPOINT_REACH_SQ) {
+                break;
+            }
+            legRouteIdx++;
+            legRouteBestDistSq = Double.MAX_VALUE;
+        }
+
+        BlockPos waypoint = legRoute.get(legRouteIdx);
+        double distSq = bee.distanceToSqr(waypoint.getX() + 0.5, waypoint.getY() + 0.5, waypoint.getZ() + 0.5);
+        if (distSq < legRouteBestDistSq - 0.25) {
+            legRouteBestDistSq = distSq;
+            legRouteStall = 0;
+        } else if (++legRouteStall > ROUTE_STALL_TICKS) {
+            LOGGER.debug("[Nav] Bee {} stalled on cached route {} -> {}, falling back to vanilla",
+                bee.getTaskId(), legAnchor, finalTarget);
+            bee.invalidateFlightRoute(legAnchor, finalTarget);
+            legRoute = null;
+            startVanillaMove(finalTarget);
+            return;
+        }
+
+        bee.getMoveControl().setWantedPosition(
+            waypoint.getX() + 0.5, waypoint.getY() + 0.5, waypoint.getZ() + 0.5,
+            1.0 * bee.getFlySpeedMultiplier()
+        );
+    }
+
     // =========================================================================
     // STANDARD PHASES
     // =========================================================================
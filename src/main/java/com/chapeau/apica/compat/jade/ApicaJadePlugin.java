@@ -11,6 +11,7 @@
  * | Jade API            | Tooltips in-world    | IWailaPlugin, providers        |
  * | ApiCooldownProvider | Cooldown Api         | Affiche cooldown en debug      |
  * | CompanionProvider   | Cooldown compagnon   | Affiche cooldown en debug      |
+ * | MachineSleepProvider| Sommeil machines     | Affiche la raison d'inactivite |
  * ------------------------------------------------------------
  *
  * UTILISE PAR:
@@ -24,10 +25,25 @@
 package com.chapeau.apica.compat.jade;
 
 import com.chapeau.apica.common.block.api.ApiBlock;
+import com.chapeau.apica.common.block.alchemy.AlembicHeartBlock;
+import com.chapeau.apica.common.block.alchemy.ApicaFurnaceBlock;
+import com.chapeau.apica.common.block.alchemy.CentrifugeHeartBlock;
+import com.chapeau.apica.common.block.alchemy.CrystallizerBlock;
+import com.chapeau.apica.common.block.alchemy.InfuserBlock;
+import com.chapeau.apica.common.block.alchemy.InfuserHeartBlock;
 import com.chapeau.apica.common.block.api.ApiBlockEntity;
+import com.chapeau.apica.common.block.injector.InjectorBlock;
+import com.chapeau.apica.common.blockentity.alchemy.AlembicHeartBlockEntity;
+import com.chapeau.apica.common.blockentity.alchemy.ApicaFurnaceBlockEntity;
+import com.chapeau.apica.common.blockentity.alchemy.CentrifugeHeartBlockEntity;
+import com.chapeau.apica.common.blockentity.alchemy.CrystallizerBlockEntity;
+import com.chapeau.apica.common.blockentity.alchemy.InfuserBlockEntity;
+import com.chapeau.apica.common.blockentity.alchemy.InfuserHeartBlockEntity;
+import com.chapeau.apica.common.blockentity.injector.InjectorBlockEntity;
 import com.chapeau.apica.common.entity.companion.CompanionBeeEntity;
 import com.chapeau.apica.compat.jade.provider.ApiCooldownProvider;
 import com.chapeau.apica.compat.jade.provider.CompanionCooldownProvider;
+import com.chapeau.apica.compat.jade.provider.MachineSleepProvider;
 import snownee.jade.api.IWailaClientRegistration;
 import snownee.jade.api.IWailaCommonRegistration;
 import snownee.jade.api.IWailaPlugin;
@@ -45,6 +61,13 @@ public class ApicaJadePlugin implements IWailaPlugin {
         // Server-side data providers
         registration.registerBlockDataProvider(ApiCooldownProvider.Server.INSTANCE, ApiBlockEntity.class);
         registration.registerEntityDataProvider(CompanionCooldownProvider.Server.INSTANCE, CompanionBeeEntity.class);
+        registration.registerBlockDataProvider(MachineSleepProvider.Server.INSTANCE, CentrifugeHeartBlockEntity.class);
+        registration.registerBlockDataProvider(MachineSleepProvider.Server.INSTANCE, AlembicHeartBlockEntity.class);
+        registration.registerBlockDataProvider(MachineSleepProvider.Server.INSTANCE, InfuserHeartBlockEntity.class);
+        registration.registerBlockDataProvider(MachineSleepProvider.Server.INSTANCE, InfuserBlockEntity.class);
+        registration.registerBlockDataProvider(MachineSleepProvider.Server.INSTANCE, CrystallizerBlockEntity.class);
+        registration.registerBlockDataProvider(MachineSleepProvider.Server.INSTANCE, ApicaFurnaceBlockEntity.class);
+        registration.registerBlockDataProvider(MachineSleepProvider.Server.INSTANCE, InjectorBlockEntity.class);
     }
 
     @Override
@@ -52,5 +75,12 @@ public class ApicaJadePlugin implements IWailaPlugin {
         // Client-side tooltip providers
         registration.registerBlockComponent(ApiCooldownProvider.Client.INSTANCE, ApiBlock.class);
         registration.registerEntityComponent(CompanionCooldownProvider.Client.INSTANCE, CompanionBeeEntity.class);
+        registration.registerBlockComponent(MachineSleepProvider.Client.INSTANCE, CentrifugeHeartBlock.class);
+        registration.registerBlockComponent(MachineSleepProvider.Client.INSTANCE, AlembicHeartBlock.class);
+        registration.registerBlockComponent(MachineSleepProvider.Client.INSTANCE, InfuserHeartBlock.class);
+        registration.registerBlockComponent(MachineSleepProvider.Client.INSTANCE, InfuserBlock.class);
+        registration.registerBlockComponent(MachineSleepProvider.Client.INSTANCE, CrystallizerBlock.class);
+        registration.registerBlockComponent(MachineSleepProvider.Client.INSTANCE, ApicaFurnaceBlock.class);
+        registration.registerBlockComponent(MachineSleepProvider.Client.INSTANCE, InjectorBlock.class);
     }
 }
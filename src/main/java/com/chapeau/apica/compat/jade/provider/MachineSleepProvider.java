@@ -0,0 +1,79 @@
+/**
+ * ============================================================
+ * [MachineSleepProvider.java]
+ * Description: Provider Jade pour la raison de sommeil des machines
+ * ============================================================
+ *
+ * DEPENDANCES:
+ * ------------------------------------------------------------
+ * | Dependance             | Raison                | Utilisation                    |
+ * |------------------------|----------------------|--------------------------------|
+ * | Jade API               | Tooltips in-world    | IComponentProvider             |
+ * | MachineSleepController | Etat de sommeil      | getReason()                    |
+ * ------------------------------------------------------------
+ *
+ * UTILISE PAR:
+ * - ApicaJadePlugin (enregistrement provider)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.compat.jade.provider;
+
+import com.chapeau.apica.Apica;
+import com.chapeau.apica.core.util.MachineSleepController;
+import net.minecraft.ChatFormatting;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import snownee.jade.api.BlockAccessor;
+import snownee.jade.api.IBlockComponentProvider;
+import snownee.jade.api.IServerDataProvider;
+import snownee.jade.api.ITooltip;
+import snownee.jade.api.config.IPluginConfig;
+
+public class MachineSleepProvider {
+
+    public static final ResourceLocation UID = ResourceLocation.fromNamespaceAndPath(
+            Apica.MOD_ID, "machine_sleep");
+
+    public enum Server implements IServerDataProvider<BlockAccessor> {
+        INSTANCE;
+
+        @Override
+        public void appendServerData(CompoundTag data, BlockAccessor accessor) {
+            if (accessor.getBlockEntity() instanceof MachineSleepController.Sleeper sleeper) {
+                MachineSleepController.Reason reason = sleeper.getSleepController().getReason();
+                if (reason != null) {
+                    data.putString("SleepReason", reason.getId());
+                }
+            }
+        }
+
+        @Override
+        public ResourceLocation getUid() {
+            return UID;
+        }
+    }
+
+    public enum Client implements IBlockComponentProvider {
+        INSTANCE;
+
+        @Override
+        public void appendTooltip(ITooltip tooltip, BlockAccessor accessor, IPluginConfig config) {
+            CompoundTag data = accessor.getServerData();
+            if (!data.contains("SleepReason")) return;
+
+            MachineSleepController.Reason reason = MachineSleepController.Reason.byId(data.getString("SleepReason"));
+            if (reason == null) return;
+
+            tooltip.add(Component.translatable("jade.apica.machine_sleep",
+                    Component.translatable(reason.getTranslationKey()))
+                    .withStyle(ChatFormatting.GRAY));
+        }
+
+        @Override
+        public ResourceLocation getUid() {
+            return UID;
+        }
+    }
+}
@@ -12,6 +12,7 @@
  * | QuestPlayerData     | Donnees quetes       | Reset quetes                   |
  * | CodexManager        | Gestionnaire codex   | Acces aux nodes                |
  * | ApicaAttachments    | Attachments          | Sauvegarde donnees             |
+ * | MultiblockBenchmark | Debug multiblocs     | /bee multiblock bench          |
  * ------------------------------------------------------------
  *
  * UTILISE PAR:
@@ -43,6 +44,9 @@ import com.chapeau.apica.core.gene.BeeGeneData;
 import com.chapeau.apica.core.gene.Gene;
 import com.chapeau.apica.core.gene.GeneCategory;
 import com.chapeau.apica.core.gene.GeneRegistry;
+import com.chapeau.apica.core.multiblock.MultiblockBenchmark;
+import com.chapeau.apica.core.multiblock.MultiblockPattern;
+import com.chapeau.apica.core.multiblock.MultiblockPatterns;
 import com.chapeau.apica.core.util.BeeInjectionHelper;
 import net.minecraft.world.item.ItemStack;
 import com.mojang.brigadier.Command;
@@ -51,6 +55,7 @@ import com.mojang.brigadier.arguments.StringArgumentType;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.arguments.ResourceLocationArgument;
+import net.minecraft.core.BlockPos;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceKey;
@@ -222,6 +227,25 @@ public class ApicaCommands {
                         )
                     )
                 )
+                .then(Commands.literal("multiblock")
+                    .then(Commands.literal("bench")
+                        .requires(source -> source.hasPermission(2))
+                        .then(Commands.argument("pattern", StringArgumentType.string())
+                            .suggests((context, builder) -> {
+                                for (String id : MultiblockPatterns.getIds()) {
+                                    if (id.startsWith(builder.getRemainingLowerCase())) {
+                                        builder.suggest(id);
+                                    }
+                                }
+                                return builder.buildFuture();
+                            })
+                            .executes(context -> benchMultiblock(
+                                context.getSource(),
+                                StringArgumentType.getString(context, "pattern")
+                            ))
+                        )
+                    )
+                )
         );
     }
 
@@ -530,6 +554,35 @@ public class ApicaCommands {
         }
     }
 
+    // ============================================================
+    // MULTIBLOCK COMMANDS
+    // ============================================================
+
+    private static final int MULTIBLOCK_BENCH_ITERATIONS = 1000;
+
+    /**
+     * Mesure la validation d'un pattern avec le contrôleur a la position de la source.
+     */
+    private static int benchMultiblock(CommandSourceStack source, String patternId) {
+        MultiblockPattern pattern = MultiblockPatterns.get(patternId);
+        if (pattern == null) {
+            source.sendFailure(Component.literal("Unknown multiblock pattern: " + patternId));
+            return 0;
+        }
+
+        BlockPos controllerPos = BlockPos.containing(source.getPosition());
+        MultiblockBenchmark.Result result = MultiblockBenchmark.run(
+            pattern, source.getLevel(), controllerPos, MULTIBLOCK_BENCH_ITERATIONS);
+
+        String found = result.rotation() >= 0 ? "formed (rotation " + result.rotation() + ")" : "not formed";
+        source.sendSuccess(() -> Component.literal(String.format(
+            "%s at %s: %s, %d positions\n compiled: %.2f us, %.0f checks | declared order: %.2f us, %.0f checks",
+            patternId, controllerPos.toShortString(), found, pattern.getCompiled().size(),
+            result.compiledNanos() / 1000.0, result.compiledChecks(),
+            result.declaredNanos() / 1000.0, result.declaredChecks())), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
     /**
      * Resout le chemin du dossier d'une dimension dans la save.
      * - minecraft:the_nether -> DIM-1
@@ -0,0 +1,87 @@
+/**
+ * ============================================================
+ * [PipeConfigManager.java]
+ * Description: Configuration des pipes (back-off d'extraction des item pipes)
+ * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | Apica               | MOD_ID               | Chemin des ressources          |
+ * | Gson                | Parsing JSON         | Lecture du fichier config       |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - Apica.java (chargement au demarrage serveur)
+ * - ItemPipeBlockEntity.java (back-off max des faces d'extraction)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.config;
+
+import com.chapeau.apica.Apica;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStreamReader;
+import java.util.Optional;
+
+/**
+ * Charge les parametres globaux des pipes depuis config/pipe_config.json.
+ * Valeurs par defaut utilisees si le fichier est absent ou invalide.
+ */
+public class PipeConfigManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipeConfigManager.class);
+    private static final ResourceLocation CONFIG_PATH = ResourceLocation.fromNamespaceAndPath(
+            Apica.MOD_ID, "config/pipe_config.json");
+
+    private static final int DEFAULT_MAX_EXTRACTION_BACKOFF = 160;
+
+    private static int maxExtractionBackoffTicks = DEFAULT_MAX_EXTRACTION_BACKOFF;
+
+    public static void load(MinecraftServer server) {
+        if (server == null) {
+            LOGGER.warn("Server is null, using default pipe config");
+            return;
+        }
+        load(server.getResourceManager());
+    }
+
+    public static void load(ResourceManager resourceManager) {
+        maxExtractionBackoffTicks = DEFAULT_MAX_EXTRACTION_BACKOFF;
+        try {
+            Optional<Resource> resource = resourceManager.getResource(CONFIG_PATH);
+            if (resource.isEmpty()) {
+                LOGGER.warn("pipe_config.json not found, using defaults");
+                return;
+            }
+            try (InputStreamReader reader = new InputStreamReader(resource.get().open())) {
+                JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
+                if (root.has("max_extraction_backoff_ticks")) {
+                    maxExtractionBackoffTicks = Math.max(1, root.get("max_extraction_backoff_ticks").getAsInt());
+                }
+            }
+            LOGGER.info("Loaded pipe config: maxExtractionBackoff={}", maxExtractionBackoffTicks);
+        } catch (Exception e) {
+            LOGGER.error("Failed to load pipe_config.json", e);
+        }
+    }
+
+    // ========== API PUBLIQUE ==========
+
+    /**
+     * Delai maximum (en ticks) entre deux tentatives d'extraction sur une face
+     * dont la source etait vide.
+     */
+    public static int getMaxExtractionBackoffTicks() {
+        return maxExtractionBackoffTicks;
+    }
+}
@@ -13,6 +13,8 @@
  *
  * UTILISÉ PAR:
  * - MultiblockPattern (définition patterns)
+ * - MultiblockLookupTable (matchers par BlockState)
+ * - CompiledMultiblockPattern (ordre de vérification)
  * - MultiblockValidator (validation)
  * - MultiblockSection (rendu codex book)
  *
@@ -43,11 +45,25 @@ public class BlockMatcher {
         boolean matches(Level level, BlockPos pos);
     }
 
+    /**
+     * Matcher qui ne dépend que du BlockState (pas de la position ni du monde).
+     * Son résultat peut être mis en cache par état (MultiblockLookupTable).
+     */
+    @FunctionalInterface
+    public interface StateMatcher extends Matcher {
+        boolean matchesState(BlockState state);
+
+        @Override
+        default boolean matches(Level level, BlockPos pos) {
+            return matchesState(level.getBlockState(pos));
+        }
+    }
+
     // Singleton pour le matcher air - évite les problèmes de comparaison par référence
-    private static final Matcher AIR_MATCHER = (level, pos) -> {
-        BlockState state = level.getBlockState(pos);
-        return state.isAir() || state.canBeReplaced();
-    };
+    private static final StateMatcher AIR_MATCHER = state -> state.isAir() || state.canBeReplaced();
+
+    // Singleton pour any() - position jamais vérifiée par les patterns compilés
+    private static final StateMatcher ANY_MATCHER = state -> true;
 
     /**
      * Accepte l'air ou les blocs remplaçables.
@@ -68,7 +84,7 @@ public class BlockMatcher {
     /**
      * Matcher qui stocke la référence au bloc pour le rendu (codex multiblock module).
      */
-    public static class BlockMatcherImpl implements Matcher {
+    public static class BlockMatcherImpl implements StateMatcher {
         private final Supplier<? extends Block> blockSupplier;
 
         BlockMatcherImpl(Supplier<? extends Block> blockSupplier) {
@@ -76,8 +92,8 @@ public class BlockMatcher {
         }
 
         @Override
-        public boolean matches(Level level, BlockPos pos) {
-            return level.getBlockState(pos).is(blockSupplier.get());
+        public boolean matchesState(BlockState state) {
+            return state.is(blockSupplier.get());
         }
 
         public Block getBlock() {
@@ -108,8 +124,7 @@ public class BlockMatcher {
     public static Matcher stairFacing(Supplier<? extends Block> blockSupplier, Direction facing) {
         return new BlockMatcherImpl(blockSupplier) {
             @Override
-            public boolean matches(Level level, BlockPos pos) {
-                BlockState state = level.getBlockState(pos);
+            public boolean matchesState(BlockState state) {
                 if (!state.is(blockSupplier.get())) return false;
                 if (state.hasProperty(StairBlock.FACING) && state.getValue(StairBlock.FACING) != facing) return false;
                 if (state.hasProperty(StairBlock.HALF) && state.getValue(StairBlock.HALF) != Half.BOTTOM) return false;
@@ -122,13 +137,29 @@ public class BlockMatcher {
      * Accepte n'importe quel bloc (skip cette position dans la validation).
      */
     public static Matcher any() {
-        return (level, pos) -> true;
+        return ANY_MATCHER;
+    }
+
+    /**
+     * Vérifie si un matcher est le matcher any().
+     */
+    public static boolean isAnyMatcher(Matcher matcher) {
+        return matcher == ANY_MATCHER;
     }
 
     /**
      * Combine plusieurs matchers avec OR.
+     * Reste un StateMatcher si tous les matchers combinés en sont.
      */
     public static Matcher or(Matcher... matchers) {
+        if (allStateMatchers(matchers)) {
+            return (StateMatcher) state -> {
+                for (Matcher m : matchers) {
+                    if (((StateMatcher) m).matchesState(state)) return true;
+                }
+                return false;
+            };
+        }
         return (level, pos) -> {
             for (Matcher m : matchers) {
                 if (m.matches(level, pos)) return true;
@@ -141,6 +172,14 @@ public class BlockMatcher {
      * Combine plusieurs matchers avec AND.
      */
     public static Matcher and(Matcher... matchers) {
+        if (allStateMatchers(matchers)) {
+            return (StateMatcher) state -> {
+                for (Matcher m : matchers) {
+                    if (!((StateMatcher) m).matchesState(state)) return false;
+                }
+                return true;
+            };
+        }
         return (level, pos) -> {
             for (Matcher m : matchers) {
                 if (!m.matches(level, pos)) return false;
@@ -155,4 +194,11 @@ public class BlockMatcher {
     public static Matcher slab(Supplier<? extends Block> blockSupplier) {
         return new BlockMatcherImpl(blockSupplier);
     }
+
+    private static boolean allStateMatchers(Matcher[] matchers) {
+        for (Matcher m : matchers) {
+            if (!(m instanceof StateMatcher)) return false;
+        }
+        return true;
+    }
 }
@@ -0,0 +1,142 @@
+/**
+ * ============================================================
+ * [CompiledMultiblockPattern.java]
+ * Description: Forme compilée d'un pattern (ordre de rejet précoce + offsets plats par rotation)
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Ordre de vérification par sélectivité: les blocs les plus rares du pattern d'abord
+ *   (cœur, contrôleur), puis les blocs répétés, les matchers composés,
+ *   et l'air en dernier; any() n'est jamais vérifié
+ * - À ordre égal, l'ordre de déclaration est conservé
+ * - Offsets déjà tournés pour les 4 rotations, stockés en int[] plats (x, y, z)
+ * - Une tentative de formation ratée (cas courant pendant la construction) s'arrête
+ *   dès le premier bloc rare absent au lieu de parcourir tout le pattern
+ * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance            | Raison               | Utilisation           |
+ * |-----------------------|----------------------|-----------------------|
+ * | MultiblockPattern     | Éléments, rotation   | Compilation           |
+ * | MultiblockLookupTable | Cache par BlockState | Vérification blocs    |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - MultiblockPattern.java (forme compilée paresseuse)
+ * - MultiblockValidator.java (validation)
+ * - MultiblockBenchmark.java (mesure du coût)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.multiblock;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Pattern prêt à valider: ordre de vérification et offsets précalculés.
+ */
+public class CompiledMultiblockPattern {
+
+    private static final int ROTATIONS = 4;
+    /** Rang des matchers sans bloc identifiable (or/and, matchers personnalisés). */
+    private static final int COMPOSITE_RANK = Integer.MAX_VALUE - 1;
+    private static final int AIR_RANK = Integer.MAX_VALUE;
+
+    private final MultiblockLookupTable table;
+    /** Indices des éléments dans l'ordre de vérification. */
+    private final int[] order;
+    /** Par rotation: offsets tournés dans l'ordre de vérification (x0, y0, z0, x1, ...). */
+    private final int[][] offsets = new int[ROTATIONS][];
+
+    CompiledMultiblockPattern(MultiblockPattern pattern) {
+        List<MultiblockPattern.PatternElement> elements = pattern.getElements();
+        this.table = pattern.getLookupTable();
+        this.order = computeOrder(elements);
+
+        for (int rotation = 0; rotation < ROTATIONS; rotation++) {
+            int[] flat = new int[order.length * 3];
+            for (int i = 0; i < order.length; i++) {
+                Vec3i offset = MultiblockPattern.rotateY(elements.get(order[i]).offset(), rotation);
+                flat[i * 3] = offset.getX();
+                flat[i * 3 + 1] = offset.getY();
+                flat[i * 3 + 2] = offset.getZ();
+            }
+            offsets[rotation] = flat;
+        }
+    }
+
+    /**
+     * Vrai si le pattern est présent avec cette rotation.
+     */
+    public boolean matches(Level level, BlockPos controllerPos, int rotation) {
+        return check(level, controllerPos, rotation) >= 0;
+    }
+
+    /**
+     * Nombre de positions lues avant la décision (toutes si valide).
+     */
+    public int countChecks(Level level, BlockPos controllerPos, int rotation) {
+        return Math.abs(check(level, controllerPos, rotation));
+    }
+
+    /**
+     * Nombre de positions vérifiées au total (éléments any() exclus).
+     */
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * @return le nombre de positions lues, négatif si le pattern ne correspond pas
+     */
+    private int check(Level level, BlockPos controllerPos, int rotation) {
+        int[] flat = offsets[rotation & 3];
+        BlockPos.MutableBlockPos checkPos = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < order.length; i++) {
+            checkPos.set(controllerPos.getX() + flat[i * 3],
+                    controllerPos.getY() + flat[i * 3 + 1],
+                    controllerPos.getZ() + flat[i * 3 + 2]);
+            if (!table.matches(order[i], level, checkPos)) {
+                return -(i + 1);
+            }
+        }
+        return order.length;
+    }
+
+    // ==================== Compilation ====================
+
+    private static int[] computeOrder(List<MultiblockPattern.PatternElement> elements) {
+        // Fréquence de chaque bloc dans le pattern: moins il apparaît, plus il rejette tôt
+        Object2IntOpenHashMap<Block> frequency = new Object2IntOpenHashMap<>();
+        for (MultiblockPattern.PatternElement element : elements) {
+            Block block = BlockMatcher.getDisplayBlock(element.matcher());
+            if (block != null) frequency.addTo(block, 1);
+        }
+
+        List<Integer> indices = new ArrayList<>();
+        int[] ranks = new int[elements.size()];
+        for (int i = 0; i < elements.size(); i++) {
+            BlockMatcher.Matcher matcher = elements.get(i).matcher();
+            if (BlockMatcher.isAnyMatcher(matcher)) continue;
+            Block block = BlockMatcher.getDisplayBlock(matcher);
+            if (BlockMatcher.isAirMatcher(matcher)) {
+                ranks[i] = AIR_RANK;
+            } else {
+                ranks[i] = block != null ? frequency.getInt(block) : COMPOSITE_RANK;
+            }
+            indices.add(i);
+        }
+        // Tri stable: l'ordre de déclaration départage les égalités
+        indices.sort(Comparator.comparingInt(i -> ranks[i]));
+        return indices.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * ============================================================
+ * [MultiblockBenchmark.java]
+ * Description: Mesure du coût de validation d'un pattern à une position du monde
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Exécute validateWithRotations N fois sur la position donnée (pattern compilé)
+ * - Même mesure avec l'ordre de déclaration et les matchers bruts (référence)
+ * - Rapporte le temps moyen et le nombre moyen de positions lues par validation
+ * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance                | Raison           | Utilisation           |
+ * |---------------------------|------------------|-----------------------|
+ * | CompiledMultiblockPattern | Pattern compilé  | Validation mesurée    |
+ * | MultiblockPattern         | Éléments         | Validation référence  |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - ApicaCommands.java (/bee multiblock bench)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.multiblock;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+
+/**
+ * Benchmark de validation de multibloc (commande de debug).
+ */
+public class MultiblockBenchmark {
+
+    /**
+     * Résultat moyen par validation (4 rotations au pire).
+     * @param rotation rotation trouvée, -1 si le pattern n'est pas présent
+     */
+    public record Result(int rotation, double compiledNanos, double compiledChecks,
+                         double declaredNanos, double declaredChecks) {}
+
+    public static Result run(MultiblockPattern pattern, Level level, BlockPos controllerPos, int iterations) {
+        CompiledMultiblockPattern compiled = pattern.getCompiled();
+        // Préchauffage: tables construites et cache BlockState rempli hors mesure
+        int rotation = MultiblockValidator.validateWithRotations(pattern, level, controllerPos);
+        validateDeclared(pattern, level, controllerPos);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            MultiblockValidator.validateWithRotations(pattern, level, controllerPos);
+        }
+        long compiledNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            validateDeclared(pattern, level, controllerPos);
+        }
+        long declaredNanos = System.nanoTime() - start;
+
+        int compiledChecks = 0;
+        for (int r = 0; r < 4; r++) {
+            compiledChecks += compiled.countChecks(level, controllerPos, r);
+            if (r == rotation) break;
+        }
+
+        return new Result(rotation,
+                (double) compiledNanos / iterations, compiledChecks,
+                (double) declaredNanos / iterations, validateDeclared(pattern, level, controllerPos));
+    }
+
+    /**
+     * Validation historique: ordre de déclaration, matchers appelés directement.
+     * @return nombre de positions lues sur l'ensemble des rotations essayées
+     */
+    private static int validateDeclared(MultiblockPattern pattern, Level level, BlockPos controllerPos) {
+        int checks = 0;
+        for (int rotation = 0; rotation < 4; rotation++) {
+            boolean valid = true;
+            for (MultiblockPattern.PatternElement element : pattern.getElements()) {
+                checks++;
+                BlockPos checkPos = controllerPos.offset(MultiblockPattern.rotateY(element.offset(), rotation));
+                if (!element.matcher().matches(level, checkPos)) {
+                    valid = false;
+                    break;
+                }
+            }
+            if (valid) break;
+        }
+        return checks;
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * ============================================================
+ * [MultiblockCapabilityCache.java]
+ * Description: Cache (position membre, face) → handler résolu d'un contrôleur multibloc
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Une entrée par position membre: 7 handlers (6 faces + requête sans face)
+ * - precompute() à la formation: toutes les positions de la config IO sont résolues
+ * - Position absente du précalcul: résolue à la première requête puis conservée
+ * - clear() à la rupture et au rechargement NBT; le contrôleur appelle ensuite
+ *   invalidateAllCapabilities pour que les caches des voisins (pipes, hoppers,
+ *   réseau de stockage) redemandent le handler
+ * - Les handlers résolus doivent être stables (tanks/slots final du contrôleur)
+ * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance          | Raison                | Utilisation           |
+ * |---------------------|----------------------|-----------------------|
+ * | MultiblockPattern   | Rotation des offsets  | Précalcul             |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - CentrifugeHeartBlockEntity, AlembicHeartBlockEntity, InfuserHeartBlockEntity,
+ *   ExtractorHeartBlockEntity (MultiblockCapabilityProvider)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.multiblock;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.Vec3i;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+
+/**
+ * Handlers de capability résolus par position et par face, pour un contrôleur.
+ * @param <H> type de handler (IFluidHandler, IItemHandler)
+ */
+public class MultiblockCapabilityCache<H> {
+
+    /** Indice de la requête sans face (null). */
+    private static final int NO_FACE = Direction.values().length;
+    /** Marqueur "résolu, aucun handler" (une case null signifie "pas encore résolu"). */
+    private static final Object NO_HANDLER = new Object();
+
+    /**
+     * Résolution d'origine (config IO + rotation) d'un handler.
+     */
+    @FunctionalInterface
+    public interface Resolver<H> {
+        @Nullable
+        H resolve(BlockPos worldPos, @Nullable Direction face);
+    }
+
+    private final Resolver<H> resolver;
+    private final Long2ObjectOpenHashMap<Object[]> handlers = new Long2ObjectOpenHashMap<>();
+
+    public MultiblockCapabilityCache(Resolver<H> resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * Handler exposé par une position membre sur une face.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public H get(BlockPos worldPos, @Nullable Direction face) {
+        Object[] faces = handlers.computeIfAbsent(worldPos.asLong(), k -> new Object[NO_FACE + 1]);
+        int index = face != null ? face.ordinal() : NO_FACE;
+        Object handler = faces[index];
+        if (handler == null) {
+            handler = resolver.resolve(worldPos, face);
+            faces[index] = handler != null ? handler : NO_HANDLER;
+        }
+        return handler == NO_HANDLER ? null : (H) handler;
+    }
+
+    /**
+     * Résout toutes les faces des positions données (offsets non tournés de la config IO).
+     */
+    public void precompute(BlockPos controllerPos, Collection<Vec3i> offsets, int rotation) {
+        handlers.clear();
+        for (Vec3i offset : offsets) {
+            BlockPos worldPos = controllerPos.offset(MultiblockPattern.rotateY(offset, rotation));
+            for (Direction face : Direction.values()) {
+                get(worldPos, face);
+            }
+            get(worldPos, null);
+        }
+    }
+
+    public void clear() {
+        handlers.clear();
+    }
+}
@@ -20,6 +20,10 @@
 package com.chapeau.apica.core.multiblock;
 
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Vec3i;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Interface implémentée par les BlockEntities qui contrôlent un multibloc.
@@ -58,4 +62,28 @@ public interface MultiblockController {
     default int getRotation() {
         return 0;
     }
+
+    /**
+     * @return true si la structure formée correspond à getPattern() avec getRotation(),
+     *         ce qui permet de revalider une position modifiée sans tout revérifier.
+     *         Faux pour les multiblocs à forme dynamique.
+     */
+    default boolean isPatternRevalidated() {
+        return true;
+    }
+
+    /**
+     * @return Les positions monde du multibloc formé (contrôleur inclus), pour l'index
+     *         des membres. Par défaut: positions du pattern avec getRotation().
+     */
+    default Iterable<BlockPos> getMemberPositions() {
+        BlockPos controllerPos = getControllerPos();
+        List<Vec3i> offsets = getPattern().getStructurePositions(getRotation());
+        List<BlockPos> positions = new ArrayList<>(offsets.size() + 1);
+        positions.add(controllerPos);
+        for (Vec3i offset : offsets) {
+            positions.add(controllerPos.offset(offset));
+        }
+        return positions;
+    }
 }
@@ -4,32 +4,58 @@
  * Description: Gestionnaire d'événements pour les multiblocs
  * ============================================================
  *
+ * FONCTIONNEMENT:
+ * - Contrôleurs actifs indexés par dimension
+ * - Index des membres par dimension: position (long) → contrôleur, rempli à partir
+ *   de getMemberPositions() du contrôleur formé (pattern + rotation par défaut),
+ *   vidé quand il est désenregistré
+ * - Un contrôleur enregistré est indexé à la première requête suivante (pas d'accès
+ *   au BlockEntity pendant son onLoad); s'il est encore en attente quand son chunk
+ *   est déchargé, il est oublié (son onLoad le réenregistrera)
+ * - Bloc cassé: une seule lecture de l'index au lieu d'un scan de tous les contrôleurs
+ * - Bloc modifié (NeighborNotify: pistons, explosions, setBlock): seule la position modifiée
+ *   est revérifiée, contre la rotation mémorisée par le contrôleur à la formation
+ * ============================================================
+ *
  * DÉPENDANCES:
  * ------------------------------------------------------------
  * | Dépendance          | Raison                | Utilisation           |
  * |---------------------|----------------------|-----------------------|
  * | MultiblockController| Interface contrôleur | Détection             |
- * | MultiblockValidator | Vérification         | Positions             |
+ * | MultiblockPattern   | Positions du pattern | Indexation des membres|
+ * | MultiblockValidator | Vérification         | Position modifiée     |
  * ------------------------------------------------------------
  *
  * UTILISÉ PAR:
  * - Apica.java (enregistrement events)
  * - Tous les multiblocs (register/unregister)
+ * - HoneyReservoirBlockEntity (capabilities), MultiblockTankBlockEntity (tanks voisins): getControllerAt
  *
  * ============================================================
  */
 package com.chapeau.apica.core.multiblock;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -42,12 +68,20 @@ public class MultiblockEvents {
     // Cache des contrôleurs actifs indexé par dimension
     private static final Map<ResourceKey<Level>, Set<BlockPos>> activeControllers = new HashMap<>();
 
+    // Index des membres par dimension (position packée → contrôleur)
+    private static final Map<ResourceKey<Level>, MemberIndex> memberIndexes = new HashMap<>();
+
     /**
      * Enregistre un contrôleur comme actif (multibloc formé).
+     * Ses membres seront indexés à la prochaine requête sur la dimension.
      */
     public static void registerActiveController(Level level, BlockPos pos) {
         if (!level.isClientSide()) {
-            activeControllers.computeIfAbsent(level.dimension(), k -> new HashSet<>()).add(pos);
+            BlockPos controllerPos = pos.immutable();
+            activeControllers.computeIfAbsent(level.dimension(), k -> new HashSet<>()).add(controllerPos);
+            MemberIndex index = memberIndexes.computeIfAbsent(level.dimension(), k -> new MemberIndex());
+            index.remove(controllerPos);
+            index.pending.add(controllerPos);
         }
     }
 
@@ -63,6 +97,10 @@ public class MultiblockEvents {
                 activeControllers.remove(level.dimension());
             }
         }
+        MemberIndex index = memberIndexes.get(level.dimension());
+        if (index != null) {
+            index.remove(pos);
+        }
     }
 
     /**
@@ -73,6 +111,9 @@ public class MultiblockEvents {
         for (Set<BlockPos> controllers : activeControllers.values()) {
             controllers.remove(pos);
         }
+        for (MemberIndex index : memberIndexes.values()) {
+            index.remove(pos);
+        }
     }
 
     /**
@@ -95,11 +136,32 @@ public class MultiblockEvents {
         return Collections.unmodifiableSet(all);
     }
 
+    /**
+     * Retourne le contrôleur du multibloc formé dont la position fait partie (contrôleur inclus),
+     * ou null. Lecture O(1) de l'index des membres.
+     */
+    @Nullable
+    public static BlockPos getControllerAt(Level level, BlockPos pos) {
+        if (level.isClientSide()) return null;
+        MemberIndex index = memberIndexes.get(level.dimension());
+        if (index == null) return null;
+        index.flushPending(level);
+        return index.members.get(pos.asLong());
+    }
+
+    /**
+     * Vérifie si une position fait partie d'un multibloc formé actif.
+     */
+    public static boolean isMember(Level level, BlockPos pos) {
+        return getControllerAt(level, pos) != null;
+    }
+
     /**
      * Nettoie tous les contrôleurs (appelé au déchargement du monde).
      */
     public static void clearAll() {
         activeControllers.clear();
+        memberIndexes.clear();
     }
 
     @SubscribeEvent
@@ -107,34 +169,119 @@ public class MultiblockEvents {
         if (event.getLevel().isClientSide()) return;
 
         Level level = (Level) event.getLevel();
-        BlockPos brokenPos = event.getPos();
-
-        // Ne chercher que dans la dimension du bloc cassé
-        Set<BlockPos> dimensionControllers = activeControllers.get(level.dimension());
-        if (dimensionControllers == null || dimensionControllers.isEmpty()) return;
-
-        // Copie pour éviter ConcurrentModification
-        Set<BlockPos> controllersToCheck = new HashSet<>(dimensionControllers);
-
-        for (BlockPos controllerPos : controllersToCheck) {
-            if (!level.isLoaded(controllerPos)) continue;
-            // Vérifier si le contrôleur existe encore
-            BlockEntity be = level.getBlockEntity(controllerPos);
-            if (!(be instanceof MultiblockController controller)) {
-                dimensionControllers.remove(controllerPos);
-                continue;
+        BlockPos controllerPos = getControllerAt(level, event.getPos());
+        MultiblockController controller = getFormedController(level, controllerPos);
+        if (controller != null) {
+            breakMultiblock(level, controllerPos, controller);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (!(event.getLevel() instanceof Level level) || level.isClientSide()) return;
+
+        BlockPos changedPos = event.getPos();
+        BlockPos controllerPos = getControllerAt(level, changedPos);
+        MultiblockController controller = getFormedController(level, controllerPos);
+        if (controller == null || !controller.isPatternRevalidated()) return;
+
+        if (!MultiblockValidator.isStillValidAt(controller.getPattern(), level,
+                controllerPos, controller.getRotation(), changedPos)) {
+            breakMultiblock(level, controllerPos, controller);
+        }
+    }
+
+    /**
+     * Contrôleur formé à cette position, ou null (désenregistre les contrôleurs disparus).
+     */
+    @Nullable
+    private static MultiblockController getFormedController(Level level, @Nullable BlockPos controllerPos) {
+        if (controllerPos == null || !level.isLoaded(controllerPos)) return null;
+
+        // Vérifier si le contrôleur existe encore
+        BlockEntity be = level.getBlockEntity(controllerPos);
+        if (!(be instanceof MultiblockController controller)) {
+            unregisterController(level, controllerPos);
+            return null;
+        }
+        return controller.isFormed() ? controller : null;
+    }
+
+    private static void breakMultiblock(Level level, BlockPos controllerPos, MultiblockController controller) {
+        // Désindexer d'abord: onMultiblockBroken modifie les blocs de la structure
+        unregisterController(level, controllerPos);
+        controller.onMultiblockBroken();
+        // Casse gérée par le bloc lui-même (tank): le multibloc reste formé et indexé
+        if (controller.isFormed()) {
+            registerActiveController(level, controllerPos);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        MemberIndex index = memberIndexes.get(level.dimension());
+        if (index == null || index.pending.isEmpty()) return;
+        ChunkPos chunkPos = event.getChunk().getPos();
+        index.pending.removeIf(pos -> SectionPos.blockToSectionCoord(pos.getX()) == chunkPos.x
+                && SectionPos.blockToSectionCoord(pos.getZ()) == chunkPos.z);
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            memberIndexes.remove(level.dimension());
+        }
+    }
+
+    /**
+     * Index des membres d'une dimension.
+     */
+    private static final class MemberIndex {
+        private final Long2ObjectOpenHashMap<BlockPos> members = new Long2ObjectOpenHashMap<>();
+        private final Map<BlockPos, long[]> membersByController = new HashMap<>();
+        /** Contrôleurs enregistrés pas encore indexés. */
+        private final Set<BlockPos> pending = new LinkedHashSet<>();
+
+        /**
+         * Indexe les contrôleurs en attente dont le chunk est chargé.
+         */
+        void flushPending(Level level) {
+            if (pending.isEmpty()) return;
+            List<BlockPos> ready = new ArrayList<>();
+            for (BlockPos controllerPos : pending) {
+                if (level.isLoaded(controllerPos)) ready.add(controllerPos);
+            }
+            for (BlockPos controllerPos : ready) {
+                pending.remove(controllerPos);
+                if (level.getBlockEntity(controllerPos) instanceof MultiblockController controller
+                        && controller.isFormed()) {
+                    add(controllerPos, controller);
+                }
             }
+        }
 
-            if (!controller.isFormed()) {
-                continue;
+        private void add(BlockPos controllerPos, MultiblockController controller) {
+            LongArrayList packed = new LongArrayList();
+            packed.add(controllerPos.asLong());
+            for (BlockPos member : controller.getMemberPositions()) {
+                packed.add(member.asLong());
             }
+            for (int i = 0; i < packed.size(); i++) {
+                members.put(packed.getLong(i), controllerPos);
+            }
+            membersByController.put(controllerPos, packed.toLongArray());
+        }
 
-            // Vérifier si le bloc cassé fait partie de ce multibloc (avec rotation)
-            if (MultiblockValidator.isPartOfMultiblock(
-                    controller.getPattern(), controllerPos, brokenPos, controller.getRotation())) {
-                // Invalider le multibloc
-                controller.onMultiblockBroken();
-                dimensionControllers.remove(controllerPos);
+        void remove(BlockPos controllerPos) {
+            pending.remove(controllerPos);
+            long[] packed = membersByController.remove(controllerPos);
+            if (packed == null) return;
+            for (long member : packed) {
+                // Une position réattribuée à un autre contrôleur reste à ce dernier
+                if (controllerPos.equals(members.get(member))) {
+                    members.remove(member);
+                }
             }
         }
     }
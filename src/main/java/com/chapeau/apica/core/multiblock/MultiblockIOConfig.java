@@ -15,6 +15,7 @@
  * UTILISE PAR:
  * - CentrifugeHeartBlockEntity (IO_CONFIG statique)
  * - AlembicHeartBlockEntity (IO_CONFIG statique)
+ * - MultiblockCapabilityCache (precalcul des handlers a la formation)
  *
  * ============================================================
  */
@@ -27,6 +28,7 @@ import net.minecraft.core.Vec3i;
 import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuration IO complete pour un type de multibloc.
@@ -113,6 +115,20 @@ public class MultiblockIOConfig {
         return rule != null ? rule.getModeFor(patternFace) : null;
     }
 
+    /**
+     * Offsets (non rotates) ayant une regle fluid.
+     */
+    public Set<Vec3i> getFluidOffsets() {
+        return fluidRules.keySet();
+    }
+
+    /**
+     * Offsets (non rotates) ayant une regle item.
+     */
+    public Set<Vec3i> getItemOffsets() {
+        return itemRules.keySet();
+    }
+
     /**
      * Rotate une direction horizontale autour de l'axe Y.
      * UP et DOWN restent inchangées.
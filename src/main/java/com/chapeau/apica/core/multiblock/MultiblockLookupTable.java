@@ -0,0 +1,114 @@
+/**
+ * ============================================================
+ * [MultiblockLookupTable.java]
+ * Description: Table BlockState → matchers acceptants, précompilée par pattern
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Les matchers distincts du pattern reçoivent chacun un bit (63 au maximum),
+ *   les block(X) d'un même bloc partageant le leur
+ * - Pour un BlockState donné, le masque des matchers qui l'acceptent est calculé une seule
+ *   fois puis mis en cache: une vérification de position = une lecture de map + un test de bit
+ * - Matcher dépendant de la position (pas un StateMatcher) ou plus de 63 matchers distincts:
+ *   l'élément est vérifié par son matcher directement, comme avant
+ * - Table utilisée uniquement par la validation côté serveur
+ * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance          | Raison                | Utilisation           |
+ * |---------------------|----------------------|-----------------------|
+ * | BlockMatcher        | StateMatcher         | Calcul des masques    |
+ * | MultiblockPattern   | Éléments du pattern  | Construction          |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - MultiblockPattern.java (table paresseuse par pattern)
+ * - MultiblockValidator.java (vérification des positions)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.multiblock;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache des résultats de matchers par BlockState pour un pattern.
+ */
+public class MultiblockLookupTable {
+
+    /** Le bit de signe reste libre: un masque négatif signifie "pas encore calculé". */
+    private static final int MAX_MATCHERS = Long.SIZE - 1;
+    private static final long UNKNOWN = -1L;
+
+    private final List<BlockMatcher.StateMatcher> stateMatchers = new ArrayList<>();
+    /** Bit du matcher de chaque élément, -1 si l'élément est vérifié sans la table. */
+    private final int[] elementBits;
+    private final BlockMatcher.Matcher[] elementMatchers;
+    private final Reference2LongOpenHashMap<BlockState> masks = new Reference2LongOpenHashMap<>();
+
+    MultiblockLookupTable(List<MultiblockPattern.PatternElement> elements) {
+        masks.defaultReturnValue(UNKNOWN);
+        elementBits = new int[elements.size()];
+        elementMatchers = new BlockMatcher.Matcher[elements.size()];
+
+        Reference2IntOpenHashMap<Object> bits = new Reference2IntOpenHashMap<>();
+        bits.defaultReturnValue(-1);
+        for (int i = 0; i < elements.size(); i++) {
+            BlockMatcher.Matcher matcher = elements.get(i).matcher();
+            elementMatchers[i] = matcher;
+            Object key = dedupKey(matcher);
+            int bit = bits.getInt(key);
+            if (bit < 0 && matcher instanceof BlockMatcher.StateMatcher stateMatcher
+                    && stateMatchers.size() < MAX_MATCHERS) {
+                bit = stateMatchers.size();
+                stateMatchers.add(stateMatcher);
+                bits.put(key, bit);
+            }
+            elementBits[i] = bit;
+        }
+    }
+
+    /**
+     * Chaque block(X) du registre est une nouvelle instance: les matchers simples
+     * d'un même bloc partagent un seul bit.
+     */
+    private static Object dedupKey(BlockMatcher.Matcher matcher) {
+        if (matcher.getClass() == BlockMatcher.BlockMatcherImpl.class) {
+            return ((BlockMatcher.BlockMatcherImpl) matcher).getBlock();
+        }
+        return matcher;
+    }
+
+    /**
+     * Vérifie l'élément d'indice elementIndex à une position du monde.
+     */
+    public boolean matches(int elementIndex, Level level, BlockPos pos) {
+        int bit = elementBits[elementIndex];
+        if (bit < 0) {
+            return elementMatchers[elementIndex].matches(level, pos);
+        }
+        return (getMask(level.getBlockState(pos)) & (1L << bit)) != 0;
+    }
+
+    private long getMask(BlockState state) {
+        long mask = masks.getLong(state);
+        if (mask != UNKNOWN) return mask;
+
+        mask = 0L;
+        for (int bit = 0; bit < stateMatchers.size(); bit++) {
+            if (stateMatchers.get(bit).matchesState(state)) {
+                mask |= 1L << bit;
+            }
+        }
+        masks.put(state, mask);
+        return mask;
+    }
+}
@@ -6,9 +6,11 @@
  *
  * DÉPENDANCES:
  * ------------------------------------------------------------
- * | Dépendance          | Raison                | Utilisation           |
- * |---------------------|----------------------|-----------------------|
- * | BlockMatcher        | Validation blocs     | Predicates            |
+ * | Dépendance                | Raison                | Utilisation           |
+ * |---------------------------|----------------------|-----------------------|
+ * | BlockMatcher              | Validation blocs     | Predicates            |
+ * | MultiblockLookupTable     | Cache par BlockState | Vérification rapide   |
+ * | CompiledMultiblockPattern | Ordre de rejet       | Validation            |
  * ------------------------------------------------------------
  *
  * UTILISÉ PAR:
@@ -19,6 +21,7 @@
  */
 package com.chapeau.apica.core.multiblock;
 
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Vec3i;
 
@@ -35,6 +38,11 @@ public class MultiblockPattern {
     private final List<PatternElement> elements = new ArrayList<>();
     private final Vec3i size;
 
+    // Construits à la première validation (les blocs des matchers doivent être enregistrés)
+    private MultiblockLookupTable lookupTable;
+    private CompiledMultiblockPattern compiled;
+    private Long2IntOpenHashMap elementIndexByOffset;
+
     private MultiblockPattern(String id, Vec3i size) {
         this.id = id;
         this.size = size;
@@ -52,6 +60,45 @@ public class MultiblockPattern {
         return elements;
     }
 
+    /**
+     * Table BlockState → matchers du pattern, construite à la première utilisation.
+     */
+    public MultiblockLookupTable getLookupTable() {
+        if (lookupTable == null) {
+            lookupTable = new MultiblockLookupTable(elements);
+        }
+        return lookupTable;
+    }
+
+    /**
+     * Forme compilée (ordre de rejet précoce, offsets par rotation), construite à la première utilisation.
+     */
+    public CompiledMultiblockPattern getCompiled() {
+        if (compiled == null) {
+            compiled = new CompiledMultiblockPattern(this);
+        }
+        return compiled;
+    }
+
+    /**
+     * Indice de l'élément situé à un offset relatif au contrôleur, pour une rotation donnée.
+     * @return l'indice dans getElements(), ou -1 si aucun élément à cet offset
+     */
+    public int getElementIndexAt(Vec3i rotatedOffset, int rotation) {
+        if (elementIndexByOffset == null) {
+            Long2IntOpenHashMap index = new Long2IntOpenHashMap();
+            index.defaultReturnValue(-1);
+            for (int i = 0; i < elements.size(); i++) {
+                index.putIfAbsent(BlockPos.asLong(elements.get(i).offset().getX(),
+                        elements.get(i).offset().getY(), elements.get(i).offset().getZ()), i);
+            }
+            elementIndexByOffset = index;
+        }
+        // Rotation inverse: ramène l'offset dans le repère du pattern
+        Vec3i offset = rotateY(rotatedOffset, 4 - (rotation & 3));
+        return elementIndexByOffset.get(BlockPos.asLong(offset.getX(), offset.getY(), offset.getZ()));
+    }
+
     /**
      * Retourne toutes les positions qui font partie du multibloc (hors air).
      */
@@ -15,6 +15,7 @@
  *
  * UTILISÉ PAR:
  * - Blocs contrôleurs de multiblocs
+ * - ApicaCommands.java (/bee multiblock bench)
  *
  * ============================================================
  */
@@ -22,8 +23,10 @@ package com.chapeau.apica.core.multiblock;
 
 import com.chapeau.apica.core.registry.ApicaBlocks;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import static com.chapeau.apica.core.multiblock.BlockMatcher.*;
 
@@ -483,4 +486,8 @@ public class MultiblockPatterns {
     public static MultiblockPattern get(String id) {
         return PATTERNS.get(id);
     }
+
+    public static Set<String> getIds() {
+        return Collections.unmodifiableSet(PATTERNS.keySet());
+    }
 }
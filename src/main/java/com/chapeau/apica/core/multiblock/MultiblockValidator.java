@@ -6,14 +6,17 @@
  *
  * DÉPENDANCES:
  * ------------------------------------------------------------
- * | Dépendance          | Raison                | Utilisation           |
- * |---------------------|----------------------|-----------------------|
- * | MultiblockPattern   | Définition pattern   | Validation            |
- * | BlockMatcher        | Predicates           | Vérification blocs    |
+ * | Dépendance                | Raison                | Utilisation           |
+ * |---------------------------|----------------------|-----------------------|
+ * | MultiblockPattern         | Définition pattern   | Validation            |
+ * | BlockMatcher              | Predicates           | Vérification blocs    |
+ * | MultiblockLookupTable     | Cache par BlockState | Vérification blocs    |
+ * | CompiledMultiblockPattern | Ordre de rejet       | Validation            |
  * ------------------------------------------------------------
  *
  * UTILISÉ PAR:
  * - Tout BlockEntity contrôleur de multibloc
+ * - MultiblockEvents.java (revalidation d'une position modifiée)
  *
  * ============================================================
  */
@@ -40,54 +43,41 @@ public class MultiblockValidator {
      * @return true si le pattern est valide
      */
     public static boolean validate(MultiblockPattern pattern, Level level, BlockPos controllerPos) {
-        for (MultiblockPattern.PatternElement element : pattern.getElements()) {
-            BlockPos checkPos = controllerPos.offset(element.offset());
-            if (!element.matcher().matches(level, checkPos)) {
-                return false;
-            }
-        }
-        return true;
+        return validate(pattern, level, controllerPos, 0);
     }
 
     /**
-     * Retourne les positions absolues de tous les blocs du multibloc.
-     * Utile pour détecter si un bloc cassé fait partie du multibloc.
-     *
-     * @param pattern Le pattern
-     * @param controllerPos Position du contrôleur
-     * @return Liste des positions absolues (hors air)
+     * Valide un pattern pour une rotation connue (ex: rotation mémorisée à la formation).
      */
-    public static List<BlockPos> getAbsolutePositions(MultiblockPattern pattern, BlockPos controllerPos) {
-        List<BlockPos> positions = new ArrayList<>();
-        for (Vec3i offset : pattern.getStructurePositions()) {
-            positions.add(controllerPos.offset(offset));
-        }
-        return positions;
+    public static boolean validate(MultiblockPattern pattern, Level level, BlockPos controllerPos, int rotation) {
+        // Blocs les plus rares vérifiés en premier: une structure incomplète est rejetée au plus tôt
+        return pattern.getCompiled().matches(level, controllerPos, rotation);
     }
 
     /**
-     * Vérifie si une position fait partie d'un multibloc formé (sans rotation).
+     * Revalide uniquement la position modifiée d'un multibloc formé, avec sa rotation mémorisée.
+     * @return false si la position appartient au pattern et ne correspond plus à son élément
      */
-    public static boolean isPartOfMultiblock(MultiblockPattern pattern, BlockPos controllerPos, BlockPos checkPos) {
-        return isPartOfMultiblock(pattern, controllerPos, checkPos, 0);
+    public static boolean isStillValidAt(MultiblockPattern pattern, Level level, BlockPos controllerPos,
+                                         int rotation, BlockPos changedPos) {
+        int index = pattern.getElementIndexAt(changedPos.subtract(controllerPos), rotation);
+        return index < 0 || pattern.getLookupTable().matches(index, level, changedPos);
     }
 
     /**
-     * Vérifie si une position fait partie d'un multibloc formé, avec rotation.
+     * Retourne les positions absolues de tous les blocs du multibloc.
+     * Utile pour détecter si un bloc cassé fait partie du multibloc.
      *
      * @param pattern Le pattern
      * @param controllerPos Position du contrôleur
-     * @param checkPos Position à vérifier
-     * @param rotation Rotation horizontale (0-3)
-     * @return true si la position fait partie du multibloc
+     * @return Liste des positions absolues (hors air)
      */
-    public static boolean isPartOfMultiblock(MultiblockPattern pattern, BlockPos controllerPos, BlockPos checkPos, int rotation) {
-        for (Vec3i offset : pattern.getStructurePositions(rotation)) {
-            if (controllerPos.offset(offset).equals(checkPos)) {
-                return true;
-            }
+    public static List<BlockPos> getAbsolutePositions(MultiblockPattern pattern, BlockPos controllerPos) {
+        List<BlockPos> positions = new ArrayList<>();
+        for (Vec3i offset : pattern.getStructurePositions()) {
+            positions.add(controllerPos.offset(offset));
         }
-        return false;
+        return positions;
     }
 
     /**
@@ -97,16 +87,7 @@ public class MultiblockValidator {
      */
     public static int validateWithRotations(MultiblockPattern pattern, Level level, BlockPos controllerPos) {
         for (int rotation = 0; rotation < 4; rotation++) {
-            boolean valid = true;
-            for (MultiblockPattern.PatternElement element : pattern.getElements()) {
-                Vec3i rotatedOffset = MultiblockPattern.rotateY(element.offset(), rotation);
-                BlockPos checkPos = controllerPos.offset(rotatedOffset);
-                if (!element.matcher().matches(level, checkPos)) {
-                    valid = false;
-                    break;
-                }
-            }
-            if (valid) {
+            if (validate(pattern, level, controllerPos, rotation)) {
                 return rotation;
             }
         }
@@ -130,10 +111,12 @@ public class MultiblockValidator {
      * Valide avec détails sur l'échec.
      */
     public static ValidationResult validateDetailed(MultiblockPattern pattern, Level level, BlockPos controllerPos) {
-        for (MultiblockPattern.PatternElement element : pattern.getElements()) {
-            BlockPos checkPos = controllerPos.offset(element.offset());
-            if (!element.matcher().matches(level, checkPos)) {
-                return ValidationResult.failure(checkPos, "Block mismatch at " + element.offset());
+        List<MultiblockPattern.PatternElement> elements = pattern.getElements();
+        MultiblockLookupTable table = pattern.getLookupTable();
+        for (int i = 0; i < elements.size(); i++) {
+            BlockPos checkPos = controllerPos.offset(elements.get(i).offset());
+            if (!table.matches(i, level, checkPos)) {
+                return ValidationResult.failure(checkPos, "Block mismatch at " + elements.get(i).offset());
             }
         }
         return ValidationResult.success();
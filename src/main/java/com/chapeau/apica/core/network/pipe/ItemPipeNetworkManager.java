@@ -4,6 +4,16 @@
  * Description: Gestionnaire SavedData de tous les réseaux de pipes d'items par dimension
  * ============================================================
  *
+ * FONCTIONNEMENT:
+ * - Merge par taille: le plus petit réseau est versé dans le plus grand (sans lecture monde)
+ * - Split: chaque composante est extraite du graphe existant (sans lecture monde)
+ * - Sauvegarde compacte (long[] + masques d'arêtes), ids UUID stables entre sessions
+ * - Validation différée après chargement: VALIDATION_BUDGET pipes par tick,
+ *   alimentée au chargement des données et par l'onLoad de chaque pipe
+ * - Ancien format (positions sans arêtes): graphe de chaque réseau reconstruit une fois
+ *   depuis les blockstates avant la première validation
+ * ============================================================
+ *
  * DÉPENDANCES:
  * ------------------------------------------------------------
  * | Dépendance          | Raison                | Utilisation                    |
@@ -17,7 +27,8 @@
  *
  * UTILISÉ PAR:
  * - ItemPipeBlock.java (onPlace, onRemove)
- * - ItemPipeBlockEntity.java (getNetworkAt pour routage)
+ * - ItemPipeBlockEntity.java (getNetworkAt pour routage, validation à l'onLoad)
+ * - Apica.java (enregistrement du tick de validation)
  *
  * ============================================================
  */
@@ -35,11 +46,14 @@ import net.minecraft.nbt.Tag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.saveddata.SavedData;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -52,17 +66,34 @@ import java.util.UUID;
  */
 public class ItemPipeNetworkManager extends SavedData {
     private static final String DATA_NAME = Apica.MOD_ID + "_item_pipe_networks";
+    private static final Factory<ItemPipeNetworkManager> FACTORY =
+        new Factory<>(ItemPipeNetworkManager::new, ItemPipeNetworkManager::load);
+
+    /** Nombre maximum de pipes validées contre le monde par tick. */
+    private static final int VALIDATION_BUDGET = 64;
 
     private final Map<UUID, PipeNetwork> networks = new HashMap<>();
     private final Map<BlockPos, UUID> positionToNetwork = new HashMap<>();
 
+    /** Pipes chargées depuis la sauvegarde pas encore re-vérifiées contre le monde. */
+    private final ArrayDeque<BlockPos> pendingValidation = new ArrayDeque<>();
+    private final Set<BlockPos> pendingSet = new HashSet<>();
+    /** Réseaux chargés depuis l'ancien format, dont les arêtes restent à recréer. */
+    private final ArrayDeque<UUID> legacyNetworks = new ArrayDeque<>();
+
     // --- Obtention du singleton ---
 
     public static ItemPipeNetworkManager get(ServerLevel level) {
-        return level.getDataStorage().computeIfAbsent(
-            new Factory<>(ItemPipeNetworkManager::new, ItemPipeNetworkManager::load),
-            DATA_NAME
-        );
+        return level.getDataStorage().computeIfAbsent(FACTORY, DATA_NAME);
+    }
+
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (!(event.getLevel() instanceof ServerLevel serverLevel)) return;
+        ItemPipeNetworkManager manager = serverLevel.getDataStorage().get(FACTORY, DATA_NAME);
+        if (manager != null && !manager.pendingValidation.isEmpty()) {
+            manager.processValidation(serverLevel);
+        }
     }
 
     // --- Requêtes ---
@@ -82,38 +113,9 @@ public class ItemPipeNetworkManager extends SavedData {
     public void onPipeAdded(BlockPos pos, ServerLevel level) {
         if (positionToNetwork.containsKey(pos)) return;
 
-        // Collecter les réseaux des voisins connectés
-        Set<UUID> neighborNetworkIds = new HashSet<>();
-        BlockState state = level.getBlockState(pos);
-
-        for (Direction dir : Direction.values()) {
-            if (!AbstractPipeBlock.isConnected(state, dir)) continue;
-            BlockPos neighbor = pos.relative(dir);
-            UUID neighborNetId = positionToNetwork.get(neighbor);
-            if (neighborNetId != null) {
-                neighborNetworkIds.add(neighborNetId);
-            }
-        }
-
-        if (neighborNetworkIds.isEmpty()) {
-            // Aucun voisin : créer un nouveau réseau
-            PipeNetwork network = new PipeNetwork(UUID.randomUUID());
-            network.addPipe(pos);
-            network.refreshEndpoint(pos, level);
-            registerNetwork(network, pos);
-        } else if (neighborNetworkIds.size() == 1) {
-            // Un seul réseau voisin : rejoindre
-            UUID netId = neighborNetworkIds.iterator().next();
-            PipeNetwork network = networks.get(netId);
-            network.addPipe(pos);
-            network.connectPipeToNeighbors(pos, level);
-            network.refreshEndpoint(pos, level);
-            positionToNetwork.put(pos, netId);
-            refreshNeighborEndpoints(pos, network, level);
-        } else {
-            // Plusieurs réseaux : merge
-            mergeNetworks(neighborNetworkIds, pos, level);
-        }
+        PipeNetwork network = attachPipe(pos, level.getBlockState(pos));
+        network.refreshEndpoint(pos, level);
+        refreshNeighborEndpoints(pos, network, level);
 
         setDirty();
     }
@@ -123,25 +125,7 @@ public class ItemPipeNetworkManager extends SavedData {
      * Retire du réseau, et split si nécessaire.
      */
     public void onPipeRemoved(BlockPos pos, ServerLevel level) {
-        UUID netId = positionToNetwork.remove(pos);
-        if (netId == null) return;
-
-        PipeNetwork network = networks.get(netId);
-        if (network == null) return;
-
-        network.removePipe(pos);
-
-        if (network.size() == 0) {
-            networks.remove(netId);
-        } else {
-            // Vérifier si le réseau est splitté
-            List<Set<BlockPos>> components = network.getGraph().findConnectedComponents();
-            if (components.size() > 1) {
-                splitNetwork(netId, components, level);
-            } else {
-                network.rebuildAllEndpoints(level);
-            }
-        }
+        if (!detachPipe(pos)) return;
 
         // Rafraîchir les endpoints des voisins (la machine de ce pipe n'est plus accessible)
         for (Direction dir : Direction.values()) {
@@ -163,36 +147,81 @@ public class ItemPipeNetworkManager extends SavedData {
      * Invalidate le cache et recalcule les endpoints et arêtes.
      */
     public void onConnectionChanged(BlockPos pos, ServerLevel level) {
-        UUID netId = positionToNetwork.get(pos);
+        // Re-scanner les connexions complètes (le pipe peut avoir gagné ou perdu des voisins) :
+        // retirer cette pipe du réseau actuel, puis la re-ajouter (elle trouvera ses nouveaux voisins)
+        detachPipe(pos);
+        onPipeAdded(pos, level);
+    }
 
-        // Re-scanner les connexions complètes (le pipe peut avoir gagné ou perdu des voisins)
-        // D'abord retirer cette pipe du réseau actuel
-        if (netId != null) {
-            positionToNetwork.remove(pos);
-            PipeNetwork network = networks.get(netId);
-            if (network != null) {
-                network.removePipe(pos);
-                if (network.size() == 0) {
-                    networks.remove(netId);
-                } else {
-                    List<Set<BlockPos>> components = network.getGraph().findConnectedComponents();
-                    if (components.size() > 1) {
-                        splitNetwork(netId, components, level);
-                    } else {
-                        network.rebuildAllEndpoints(level);
-                    }
-                }
+    // --- Topologie (sans lecture du monde) ---
+
+    /**
+     * Insère un pipe dans le graphe selon les connexions de son blockstate :
+     * nouveau réseau, réseau voisin rejoint, ou merge des réseaux voisins.
+     * Les endpoints restent à calculer par l'appelant.
+     */
+    PipeNetwork attachPipe(BlockPos pos, BlockState state) {
+        // Collecter les réseaux des voisins connectés
+        Set<UUID> neighborNetworkIds = new LinkedHashSet<>();
+        for (Direction dir : Direction.values()) {
+            if (!AbstractPipeBlock.isConnected(state, dir)) continue;
+            UUID neighborNetId = positionToNetwork.get(pos.relative(dir));
+            if (neighborNetId != null) {
+                neighborNetworkIds.add(neighborNetId);
             }
         }
 
-        // Puis la re-ajouter (elle trouvera ses nouveaux voisins)
-        onPipeAdded(pos, level);
+        PipeNetwork network;
+        if (neighborNetworkIds.isEmpty()) {
+            // Aucun voisin : créer un nouveau réseau
+            network = new PipeNetwork(UUID.randomUUID());
+            networks.put(network.getId(), network);
+        } else if (neighborNetworkIds.size() == 1) {
+            // Un seul réseau voisin : rejoindre
+            network = networks.get(neighborNetworkIds.iterator().next());
+        } else {
+            // Plusieurs réseaux : merge
+            network = mergeNetworks(neighborNetworkIds);
+        }
+
+        network.addPipe(pos);
+        network.connectPipeToNeighbors(pos, state);
+        positionToNetwork.put(pos, network.getId());
+        return network;
+    }
+
+    /**
+     * Retire un pipe de son réseau et découpe le réseau s'il n'est plus connexe
+     * (removePipe retire déjà les endpoints du pipe).
+     * @return false si le pipe n'appartenait à aucun réseau
+     */
+    boolean detachPipe(BlockPos pos) {
+        UUID netId = positionToNetwork.remove(pos);
+        if (netId == null) return false;
+
+        PipeNetwork network = networks.get(netId);
+        if (network == null) return false;
+
+        network.removePipe(pos);
+
+        if (network.size() == 0) {
+            networks.remove(netId);
+        } else {
+            List<Set<BlockPos>> components = network.getGraph().findConnectedComponents();
+            if (components.size() > 1) {
+                splitNetwork(netId, components);
+            }
+        }
+        return true;
     }
 
     // --- Merge ---
 
-    private void mergeNetworks(Set<UUID> networkIds, BlockPos newPipePos, ServerLevel level) {
-        // Choisir le plus grand réseau comme survivant
+    /**
+     * Merge par taille : le plus grand réseau survit et absorbe les autres.
+     * Graphe et endpoints des absorbés sont copiés tels quels, sans lecture du monde.
+     */
+    private PipeNetwork mergeNetworks(Set<UUID> networkIds) {
         UUID survivorId = null;
         int maxSize = -1;
         for (UUID id : networkIds) {
@@ -202,35 +231,29 @@ public class ItemPipeNetworkManager extends SavedData {
                 survivorId = id;
             }
         }
-        if (survivorId == null) return;
 
         PipeNetwork survivor = networks.get(survivorId);
 
-        // Absorber les autres réseaux
         for (UUID id : networkIds) {
             if (id.equals(survivorId)) continue;
             PipeNetwork absorbed = networks.remove(id);
             if (absorbed == null) continue;
 
+            survivor.absorb(absorbed);
             for (BlockPos pos : absorbed.getGraph().getAllNodes()) {
-                survivor.addPipe(pos);
                 positionToNetwork.put(pos, survivorId);
             }
         }
-
-        // Ajouter la nouvelle pipe
-        survivor.addPipe(newPipePos);
-        positionToNetwork.put(newPipePos, survivorId);
-
-        // Reconstruire le graphe complet depuis le monde
-        rebuildGraphFromWorld(survivor, level);
-        survivor.rebuildAllEndpoints(level);
+        return survivor;
     }
 
     // --- Split ---
 
-    private void splitNetwork(UUID originalId, List<Set<BlockPos>> components, ServerLevel level) {
-        // La plus grande composante garde le réseau original
+    /**
+     * La plus grande composante garde l'id d'origine, les autres reçoivent un nouvel id.
+     * Les sous-graphes et endpoints sont extraits du réseau existant.
+     */
+    private void splitNetwork(UUID originalId, List<Set<BlockPos>> components) {
         int largestIdx = 0;
         for (int i = 1; i < components.size(); i++) {
             if (components.get(i).size() > components.get(largestIdx).size()) {
@@ -238,40 +261,107 @@ public class ItemPipeNetworkManager extends SavedData {
             }
         }
 
-        PipeNetwork original = networks.get(originalId);
+        PipeNetwork original = networks.remove(originalId);
+        if (original == null) return;
 
         for (int i = 0; i < components.size(); i++) {
             Set<BlockPos> component = components.get(i);
-            if (i == largestIdx) {
-                // Reconstruire le graphe du réseau original avec seulement cette composante
-                PipeGraph newGraph = PipeGraph.buildFromWorld(component, level);
-                PipeNetwork rebuilt = new PipeNetwork(originalId, newGraph);
-                rebuilt.rebuildAllEndpoints(level);
-                networks.put(originalId, rebuilt);
-                for (BlockPos pos : component) {
-                    positionToNetwork.put(pos, originalId);
-                }
-            } else {
-                // Créer un nouveau réseau pour cette composante
-                UUID newId = UUID.randomUUID();
-                PipeGraph newGraph = PipeGraph.buildFromWorld(component, level);
-                PipeNetwork newNetwork = new PipeNetwork(newId, newGraph);
-                newNetwork.rebuildAllEndpoints(level);
-                networks.put(newId, newNetwork);
-                for (BlockPos pos : component) {
-                    positionToNetwork.put(pos, newId);
+            UUID id = i == largestIdx ? originalId : UUID.randomUUID();
+            PipeNetwork network = original.extractComponent(id, component);
+            networks.put(id, network);
+            for (BlockPos pos : component) {
+                positionToNetwork.put(pos, id);
+            }
+        }
+    }
+
+    // --- Validation différée ---
+
+    /**
+     * Planifie la re-vérification d'une pipe contre le monde.
+     * Appelé au chargement des données et par l'onLoad des pipes déjà connues.
+     */
+    public void scheduleValidation(BlockPos pos) {
+        if (positionToNetwork.containsKey(pos) && pendingSet.add(pos)) {
+            pendingValidation.add(pos);
+        }
+    }
+
+    private void processValidation(ServerLevel level) {
+        if (!legacyNetworks.isEmpty()) {
+            rebuildLegacyGraphs(level);
+        }
+        for (int i = 0; i < VALIDATION_BUDGET && !pendingValidation.isEmpty(); i++) {
+            BlockPos pos = pendingValidation.poll();
+            pendingSet.remove(pos);
+            // Chunk non chargé : l'onLoad de la pipe la re-planifiera
+            if (!level.hasChunkAt(pos)) continue;
+            validatePipe(pos, level);
+        }
+    }
+
+    /**
+     * Recrée en une passe par réseau les arêtes des sauvegardes sans arêtes, depuis les blockstates.
+     * Sans elle, chaque pipe échouerait la comparaison de validatePipe et rejouerait un
+     * retrait/ajout complet (coût quadratique). Pipes de chunks non chargés: arêtes
+     * ajoutées à leur validation.
+     */
+    private void rebuildLegacyGraphs(ServerLevel level) {
+        while (!legacyNetworks.isEmpty()) {
+            PipeNetwork network = networks.get(legacyNetworks.poll());
+            if (network == null) continue;
+            for (BlockPos pos : List.copyOf(network.getGraph().getAllNodes())) {
+                if (level.hasChunkAt(pos)) {
+                    network.connectPipeToNeighbors(pos, level.getBlockState(pos));
                 }
             }
         }
+        setDirty();
     }
 
-    // --- Helpers ---
+    /**
+     * Compare une pipe sauvegardée au monde : retire les pipes disparues, ajoute les arêtes
+     * manquantes vers son propre réseau, rejoue l'ajout si une arête a disparu ou mène
+     * à un autre réseau, sinon recalcule seulement ses endpoints.
+     */
+    private void validatePipe(BlockPos pos, ServerLevel level) {
+        UUID netId = positionToNetwork.get(pos);
+        if (netId == null) return;
+        PipeNetwork network = networks.get(netId);
+        if (network == null) return;
 
-    private void registerNetwork(PipeNetwork network, BlockPos pos) {
-        networks.put(network.getId(), network);
-        positionToNetwork.put(pos, network.getId());
+        BlockState state = level.getBlockState(pos);
+        if (!(state.getBlock() instanceof ItemPipeBlock)) {
+            onPipeRemoved(pos, level);
+            return;
+        }
+
+        Set<BlockPos> expected = new HashSet<>();
+        boolean foreignNeighbor = false;
+        for (Direction dir : Direction.values()) {
+            if (!AbstractPipeBlock.isConnected(state, dir)) continue;
+            BlockPos neighbor = pos.relative(dir);
+            UUID neighborNetId = positionToNetwork.get(neighbor);
+            if (neighborNetId == null) continue;
+            if (!neighborNetId.equals(netId)) foreignNeighbor = true;
+            expected.add(neighbor);
+        }
+
+        Set<BlockPos> actual = network.getGraph().getNeighbors(pos);
+        if (foreignNeighbor || !expected.containsAll(actual)) {
+            onConnectionChanged(pos, level);
+            return;
+        }
+        if (actual.size() != expected.size()) {
+            // Arêtes manquantes dans le même réseau: un ajout ne peut pas splitter
+            network.connectPipeToNeighbors(pos, state);
+            setDirty();
+        }
+        network.refreshEndpoint(pos, level);
     }
 
+    // --- Helpers ---
+
     private void refreshNeighborEndpoints(BlockPos changedPos, PipeNetwork network, ServerLevel level) {
         for (Direction dir : Direction.values()) {
             BlockPos neighbor = changedPos.relative(dir);
@@ -281,22 +371,6 @@ public class ItemPipeNetworkManager extends SavedData {
         }
     }
 
-    private void rebuildGraphFromWorld(PipeNetwork network, ServerLevel level) {
-        Set<BlockPos> allPositions = new HashSet<>(network.getGraph().getAllNodes());
-        PipeGraph rebuilt = PipeGraph.buildFromWorld(allPositions, level);
-        // Remplacer le graphe interne — on utilise addEdge car les noeuds sont déjà dans le graphe
-        // Nettoyage : reconstruire depuis zéro
-        for (BlockPos pos : allPositions) {
-            network.getGraph().removeNode(pos);
-        }
-        for (BlockPos pos : rebuilt.getAllNodes()) {
-            network.getGraph().addNode(pos);
-            for (BlockPos neighbor : rebuilt.getNeighbors(pos)) {
-                network.getGraph().addEdge(pos, neighbor);
-            }
-        }
-    }
-
     // --- Sérialisation SavedData ---
 
     @Override
@@ -313,52 +387,18 @@ public class ItemPipeNetworkManager extends SavedData {
         ItemPipeNetworkManager manager = new ItemPipeNetworkManager();
         ListTag networkList = tag.getList("Networks", Tag.TAG_COMPOUND);
         for (int i = 0; i < networkList.size(); i++) {
-            PipeNetwork network = PipeNetwork.load(networkList.getCompound(i), registries);
+            CompoundTag networkTag = networkList.getCompound(i);
+            PipeNetwork network = PipeNetwork.load(networkTag, registries);
             manager.networks.put(network.getId(), network);
+            if (!networkTag.contains("PipePositions")) {
+                manager.legacyNetworks.add(network.getId());
+            }
             for (BlockPos pos : network.getGraph().getAllNodes()) {
                 manager.positionToNetwork.put(pos, network.getId());
+                // Pas de lecture monde ici : la validation est étalée sur les ticks suivants
+                manager.scheduleValidation(pos);
             }
         }
         return manager;
     }
-
-    /**
-     * Reconstruit les graphes et endpoints de tous les réseaux depuis le monde.
-     * Appelé au chargement pour recréer les arêtes et les endpoints.
-     */
-    public void rebuildAllFromWorld(ServerLevel level) {
-        List<UUID> toRemove = new ArrayList<>();
-        for (Map.Entry<UUID, PipeNetwork> entry : networks.entrySet()) {
-            PipeNetwork network = entry.getValue();
-            Set<BlockPos> positions = new HashSet<>(network.getGraph().getAllNodes());
-
-            // Valider que les pipes existent encore dans le monde
-            positions.removeIf(pos ->
-                !level.hasChunkAt(pos) || !(level.getBlockState(pos).getBlock() instanceof ItemPipeBlock)
-            );
-
-            if (positions.isEmpty()) {
-                toRemove.add(entry.getKey());
-                continue;
-            }
-
-            // Reconstruire le graphe depuis le monde
-            PipeGraph rebuilt = PipeGraph.buildFromWorld(positions, level);
-            for (BlockPos pos : new HashSet<>(network.getGraph().getAllNodes())) {
-                network.getGraph().removeNode(pos);
-            }
-            for (BlockPos pos : rebuilt.getAllNodes()) {
-                network.getGraph().addNode(pos);
-                for (BlockPos neighbor : rebuilt.getNeighbors(pos)) {
-                    network.getGraph().addEdge(pos, neighbor);
-                }
-            }
-            network.rebuildAllEndpoints(level);
-        }
-
-        for (UUID id : toRemove) {
-            networks.remove(id);
-            positionToNetwork.values().removeIf(netId -> netId.equals(id));
-        }
-    }
 }
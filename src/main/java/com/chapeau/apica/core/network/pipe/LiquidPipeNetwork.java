@@ -0,0 +1,359 @@
+/**
+ * ============================================================
+ * [LiquidPipeNetwork.java]
+ * Description: Réseau connexe de pipes de fluide avec buffer logique unique
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Le réseau entier est un seul tank logique (capacité = somme des pipes)
+ * - Chaque solve: extraction depuis les endpoints EXTRACT, puis répartition vers les INSERT
+ * - Débit limité par le tier du pipe de chaque endpoint (transferRate par solve)
+ * - Le niveau de chaque pipe n'est qu'une part dérivée (rendu + sauvegarde chunk)
+ * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance            | Raison                | Utilisation                    |
+ * |-----------------------|----------------------|--------------------------------|
+ * | PipeGraph             | Structure graphe     | Topologie, détection de split  |
+ * | PipeEndpoint          | Points d'entrée      | Sources et puits de fluide     |
+ * | LiquidPipeBlockEntity | Membres du réseau    | Capacité, débit, part affichée |
+ * | LiquidPipeBlock       | Blockstate connexions| Détection des endpoints        |
+ * | Capabilities          | NeoForge fluides     | Détection IFluidHandler        |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - LiquidPipeNetworkManager.java (gestion des réseaux)
+ * - LiquidPipeBlockEntity.java (capability fluide du pipe)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.network.pipe;
+
+import com.chapeau.apica.common.block.alchemy.AbstractPipeBlock;
+import com.chapeau.apica.common.block.alchemy.LiquidPipeBlock;
+import com.chapeau.apica.common.blockentity.alchemy.LiquidPipeBlockEntity;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.capabilities.Capabilities;
+import net.neoforged.neoforge.fluids.FluidStack;
+import net.neoforged.neoforge.fluids.capability.IFluidHandler;
+import net.neoforged.neoforge.fluids.capability.templates.FluidTank;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Un réseau connexe de pipes de fluide.
+ * Le fluide n'est pas égalisé pipe par pipe : le réseau est un buffer unique dont la capacité
+ * est la somme des capacités de ses pipes. Le coût d'un solve dépend du nombre d'endpoints,
+ * pas de la longueur des lignes.
+ */
+public class LiquidPipeNetwork {
+    private final UUID id;
+    private final PipeGraph graph;
+    private final Map<BlockPos, LiquidPipeBlockEntity> members = new HashMap<>();
+    private final List<PipeEndpoint> endpoints = new ArrayList<>();
+    private final FluidTank tank;
+    private int roundRobinIndex = 0;
+
+    /** Le contenu du tank a changé depuis la dernière répartition des parts. */
+    private boolean sharesDirty = false;
+
+    public LiquidPipeNetwork(UUID id) {
+        this(id, new PipeGraph());
+    }
+
+    public LiquidPipeNetwork(UUID id, PipeGraph graph) {
+        this.id = id;
+        this.graph = graph;
+        this.tank = new FluidTank(0, LiquidPipeBlockEntity::isPipeFluid) {
+            @Override
+            protected void onContentsChanged() {
+                sharesDirty = true;
+            }
+        };
+    }
+
+    public UUID getId() { return id; }
+    public PipeGraph getGraph() { return graph; }
+    public int size() { return members.size(); }
+    public FluidTank getTank() { return tank; }
+    public List<PipeEndpoint> getEndpoints() { return endpoints; }
+    public Collection<LiquidPipeBlockEntity> getMembers() { return members.values(); }
+
+    // --- Membres ---
+
+    @Nullable
+    public LiquidPipeBlockEntity getMember(BlockPos pos) { return members.get(pos); }
+
+    /**
+     * Vrai si le fluide peut rejoindre le tank : tank vide, fluide vide ou même fluide.
+     * Deux fluides différents ne se mélangent pas, leurs réseaux restent séparés.
+     */
+    public boolean acceptsFluid(FluidStack fluid) {
+        FluidStack current = tank.getFluid();
+        return current.isEmpty() || fluid.isEmpty() || FluidStack.isSameFluidSameComponents(current, fluid);
+    }
+
+    /**
+     * Ajoute un pipe au réseau. Sa part sauvegardée rejoint le tank logique :
+     * l'appelant garantit que son fluide est accepté (voir acceptsFluid).
+     */
+    public void addMember(LiquidPipeBlockEntity pipe) {
+        BlockPos pos = pipe.getBlockPos();
+        if (members.put(pos, pipe) != null) return;
+        graph.addNode(pos);
+        tank.setCapacity(tank.getCapacity() + pipe.getBuffer().getCapacity());
+        absorbFluid(pipe.getBuffer().getFluid());
+        sharesDirty = true;
+    }
+
+    /**
+     * Retire un pipe du réseau. Les parts doivent avoir été réparties avant l'appel
+     * pour que le fluide retiré corresponde à ce que le pipe emporte.
+     */
+    public void removeMember(BlockPos pos) {
+        LiquidPipeBlockEntity pipe = members.remove(pos);
+        if (pipe == null) return;
+        graph.removeNode(pos);
+        endpoints.removeIf(e -> e.pipePos().equals(pos));
+
+        int share = pipe.getBuffer().getFluidAmount();
+        int newCapacity = Math.max(0, tank.getCapacity() - pipe.getBuffer().getCapacity());
+        int newAmount = Math.min(Math.max(0, tank.getFluidAmount() - share), newCapacity);
+        tank.setCapacity(newCapacity);
+        setTankAmount(newAmount);
+        sharesDirty = true;
+    }
+
+    /**
+     * Absorbe un réseau entier (merge). Le graphe est copié sans relecture du monde.
+     * Les deux tanks doivent contenir le même fluide (ou l'un être vide).
+     */
+    public void absorb(LiquidPipeNetwork other) {
+        graph.addAll(other.graph);
+        members.putAll(other.members);
+        endpoints.addAll(other.endpoints);
+        tank.setCapacity(tank.getCapacity() + other.tank.getCapacity());
+        absorbFluid(other.tank.getFluid());
+        sharesDirty = true;
+    }
+
+    private void absorbFluid(FluidStack incoming) {
+        if (incoming.isEmpty()) return;
+        FluidStack current = tank.getFluid();
+        if (current.isEmpty()) {
+            tank.setFluid(incoming.copyWithAmount(Math.min(incoming.getAmount(), tank.getCapacity())));
+        } else if (FluidStack.isSameFluidSameComponents(current, incoming)) {
+            setTankAmount(Math.min(current.getAmount() + incoming.getAmount(), tank.getCapacity()));
+        }
+    }
+
+    private void setTankAmount(int amount) {
+        FluidStack current = tank.getFluid();
+        tank.setFluid(amount <= 0 || current.isEmpty() ? FluidStack.EMPTY : current.copyWithAmount(amount));
+    }
+
+    /**
+     * Ajoute les arêtes entre un pipe et ses voisins déjà dans le graphe.
+     */
+    public void connectPipeToNeighbors(BlockPos pos, BlockState state) {
+        for (Direction dir : Direction.values()) {
+            if (!AbstractPipeBlock.isConnected(state, dir)) continue;
+            BlockPos neighbor = pos.relative(dir);
+            if (graph.contains(neighbor)) {
+                graph.addEdge(pos, neighbor);
+            }
+        }
+    }
+
+    /**
+     * Recalcule les endpoints (conteneurs connectés) pour un pipe donné.
+     * Scanne les 6 faces pour trouver les IFluidHandler non-pipe.
+     */
+    public void refreshEndpoint(BlockPos pipePos, ServerLevel level) {
+        endpoints.removeIf(e -> e.pipePos().equals(pipePos));
+        LiquidPipeBlockEntity pipe = members.get(pipePos);
+        if (pipe == null) return;
+        BlockState state = level.getBlockState(pipePos);
+        if (!(state.getBlock() instanceof LiquidPipeBlock)) return;
+
+        for (Direction dir : Direction.values()) {
+            if (!AbstractPipeBlock.isConnected(state, dir)) continue;
+            BlockPos neighborPos = pipePos.relative(dir);
+
+            // Ignorer les autres pipes de fluide
+            if (level.getBlockState(neighborPos).getBlock() instanceof LiquidPipeBlock) continue;
+
+            IFluidHandler handler = level.getCapability(Capabilities.FluidHandler.BLOCK, neighborPos, dir.getOpposite());
+            if (handler == null) continue;
+
+            PipeEndpoint.EndpointType type = pipe.isExtracting(dir)
+                ? PipeEndpoint.EndpointType.EXTRACT : PipeEndpoint.EndpointType.INSERT;
+            endpoints.add(new PipeEndpoint(pipePos, dir, neighborPos, type));
+        }
+    }
+
+    // --- Solve ---
+
+    /**
+     * Un pas de simulation du réseau : tire le fluide des sources puis le répartit
+     * équitablement entre les puits, chaque endpoint étant limité par le débit de son pipe.
+     */
+    public void solve(ServerLevel level) {
+        for (PipeEndpoint endpoint : endpoints) {
+            if (endpoint.type() != PipeEndpoint.EndpointType.EXTRACT) continue;
+            if (tank.getSpace() <= 0) break;
+            IFluidHandler source = getHandler(endpoint, level);
+            if (source == null) continue;
+            extractFrom(source, getTransferRate(endpoint));
+        }
+
+        if (!tank.isEmpty()) {
+            List<PipeEndpoint> sinks = new ArrayList<>();
+            for (PipeEndpoint endpoint : endpoints) {
+                if (endpoint.type() == PipeEndpoint.EndpointType.INSERT) sinks.add(endpoint);
+            }
+            if (!sinks.isEmpty()) {
+                distributeToSinks(sinks, level);
+            }
+        }
+
+        if (sharesDirty) {
+            writeShares(true);
+        }
+    }
+
+    private void extractFrom(IFluidHandler source, int maxRate) {
+        int maxExtract = Math.min(tank.getSpace(), maxRate);
+        if (maxExtract <= 0) return;
+
+        FluidStack simulated = source.drain(maxExtract, IFluidHandler.FluidAction.SIMULATE);
+        if (simulated.isEmpty()) return;
+        int canFill = tank.fill(simulated, IFluidHandler.FluidAction.SIMULATE);
+        if (canFill <= 0) return;
+
+        FluidStack drained = source.drain(simulated.copyWithAmount(canFill), IFluidHandler.FluidAction.EXECUTE);
+        if (!drained.isEmpty()) {
+            tank.fill(drained, IFluidHandler.FluidAction.EXECUTE);
+        }
+    }
+
+    /**
+     * Répartit le tank entre les puits : chaque puits reçoit au plus une part égale du reste,
+     * bornée par son débit. Le point de départ tourne pour ne pas favoriser le premier puits.
+     */
+    private void distributeToSinks(List<PipeEndpoint> sinks, ServerLevel level) {
+        int count = sinks.size();
+        int start = roundRobinIndex % count;
+        roundRobinIndex = (start + 1) % count;
+
+        for (int i = 0; i < count && !tank.isEmpty(); i++) {
+            PipeEndpoint sink = sinks.get((start + i) % count);
+            IFluidHandler handler = getHandler(sink, level);
+            if (handler == null) continue;
+
+            int fairShare = Math.max(1, tank.getFluidAmount() / (count - i));
+            int toTransfer = Math.min(fairShare, getTransferRate(sink));
+            FluidStack offer = tank.getFluid().copyWithAmount(toTransfer);
+            int accepted = handler.fill(offer, IFluidHandler.FluidAction.SIMULATE);
+            if (accepted <= 0) continue;
+
+            FluidStack drained = tank.drain(accepted, IFluidHandler.FluidAction.EXECUTE);
+            if (!drained.isEmpty()) {
+                handler.fill(drained, IFluidHandler.FluidAction.EXECUTE);
+            }
+        }
+    }
+
+    private IFluidHandler getHandler(PipeEndpoint endpoint, ServerLevel level) {
+        if (!level.hasChunkAt(endpoint.machinePos())) return null;
+        return level.getCapability(Capabilities.FluidHandler.BLOCK, endpoint.machinePos(), endpoint.face().getOpposite());
+    }
+
+    private int getTransferRate(PipeEndpoint endpoint) {
+        LiquidPipeBlockEntity pipe = members.get(endpoint.pipePos());
+        return pipe != null ? pipe.getTransferRate() : 0;
+    }
+
+    // --- Parts par pipe (rendu uniquement) ---
+
+    /**
+     * Répartit le contenu du tank logique entre les pipes au prorata de leur capacité.
+     * Ces parts ne servent qu'au rendu et à la sauvegarde avec le chunk du pipe.
+     * @param sync envoie une mise à jour client aux pipes dont la part a changé
+     */
+    public void writeShares(boolean sync) {
+        sharesDirty = false;
+        FluidStack fluid = tank.getFluid();
+        int totalCapacity = tank.getCapacity();
+        int remaining = fluid.getAmount();
+        for (LiquidPipeBlockEntity pipe : members.values()) {
+            int share = 0;
+            if (totalCapacity > 0 && remaining > 0) {
+                share = (int) ((long) fluid.getAmount() * pipe.getBuffer().getCapacity() / totalCapacity);
+                share = Math.min(share, remaining);
+            }
+            remaining -= share;
+            boolean changed = pipe.setDisplayedShare(share > 0 ? fluid.copyWithAmount(share) : FluidStack.EMPTY);
+            if (changed && sync) {
+                pipe.syncToClient();
+            }
+        }
+        // Reste des arrondis : le donner au premier pipe qui a de la place
+        if (remaining > 0) {
+            for (LiquidPipeBlockEntity pipe : members.values()) {
+                FluidTank local = pipe.getBuffer();
+                int room = local.getCapacity() - local.getFluidAmount();
+                if (room <= 0) continue;
+                int add = Math.min(room, remaining);
+                boolean changed = pipe.setDisplayedShare(fluid.copyWithAmount(local.getFluidAmount() + add));
+                if (changed && sync) {
+                    pipe.syncToClient();
+                }
+                remaining -= add;
+                if (remaining <= 0) break;
+            }
+        }
+    }
+
+    /**
+     * Réécrit les parts si le tank a changé depuis le dernier solve, sans sync client.
+     * Appelé avant la sauvegarde ou le déchargement des chunks des pipes.
+     */
+    public void flushShares() {
+        if (sharesDirty) {
+            writeShares(false);
+        }
+    }
+
+    /**
+     * Vrai si les parts des pipes ne reflètent plus le contenu du tank.
+     */
+    public boolean hasStaleShares() {
+        return sharesDirty;
+    }
+
+    /**
+     * Vrai si un pipe du réseau se trouve dans le chunk.
+     */
+    public boolean hasMemberIn(ChunkPos chunkPos) {
+        for (BlockPos pos : members.keySet()) {
+            if (SectionPos.blockToSectionCoord(pos.getX()) == chunkPos.x
+                    && SectionPos.blockToSectionCoord(pos.getZ()) == chunkPos.z) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,287 @@
+/**
+ * ============================================================
+ * [LiquidPipeNetworkManager.java]
+ * Description: Gestionnaire runtime des réseaux de pipes de fluide par dimension
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Les pipes s'enregistrent au chargement de leur BlockEntity (onLoad)
+ *   et se retirent au déchargement/destruction (setRemoved)
+ * - Destruction: split local depuis les anciens voisins; déchargement: aucun split
+ * - Deux fluides différents ne partagent jamais un réseau (pas de merge entre eux)
+ * - Pas de SavedData: le fluide est persisté par la part de chaque pipe
+ * - Parts réécrites (si le tank a changé depuis le dernier solve) avant la sauvegarde
+ *   de la dimension, le déchargement d'un chunk de pipes et l'arrêt du serveur
+ * - Un solve par réseau toutes les SOLVE_INTERVAL ticks (LevelTickEvent)
+ * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance            | Raison                | Utilisation                    |
+ * |-----------------------|----------------------|--------------------------------|
+ * | LiquidPipeNetwork     | Réseau connexe       | Gestion des réseaux            |
+ * | LiquidPipeBlockEntity | Membres              | Enregistrement/retrait         |
+ * | AbstractPipeBlock     | Détection connexions | Scanner les voisins            |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - LiquidPipeBlock.java (changements de connexion)
+ * - LiquidPipeBlockEntity.java (onLoad, setRemoved, capability)
+ * - Apica.java (enregistrement events, nettoyage à l'arrêt serveur)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.network.pipe;
+
+import com.chapeau.apica.common.block.alchemy.AbstractPipeBlock;
+import com.chapeau.apica.common.blockentity.alchemy.LiquidPipeBlockEntity;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+import net.neoforged.neoforge.fluids.FluidStack;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Gère tous les réseaux de pipes de fluide d'une dimension.
+ * Responsabilités : création, merge, split, destruction de réseaux,
+ * mapping position → réseau, et cadence des solves.
+ */
+public class LiquidPipeNetworkManager {
+    /** Intervalle entre deux solves (même cadence que l'ancien partage par pipe). */
+    public static final int SOLVE_INTERVAL = 10;
+
+    private static final Map<ResourceKey<Level>, LiquidPipeNetworkManager> MANAGERS = new HashMap<>();
+
+    private final Map<UUID, LiquidPipeNetwork> networks = new HashMap<>();
+    private final Map<BlockPos, UUID> positionToNetwork = new HashMap<>();
+
+    // --- Obtention par dimension ---
+
+    public static LiquidPipeNetworkManager get(ServerLevel level) {
+        return MANAGERS.computeIfAbsent(level.dimension(), k -> new LiquidPipeNetworkManager());
+    }
+
+    /**
+     * Nettoie tous les réseaux (appelé à l'arrêt du serveur, avant la sauvegarde finale).
+     */
+    public static void clearAll() {
+        for (LiquidPipeNetworkManager manager : MANAGERS.values()) {
+            for (LiquidPipeNetwork network : manager.networks.values()) {
+                network.flushShares();
+            }
+        }
+        MANAGERS.clear();
+    }
+
+    @SubscribeEvent
+    public static void onLevelSave(LevelEvent.Save event) {
+        if (!(event.getLevel() instanceof ServerLevel serverLevel)) return;
+        LiquidPipeNetworkManager manager = MANAGERS.get(serverLevel.dimension());
+        if (manager == null) return;
+        for (LiquidPipeNetwork network : manager.networks.values()) {
+            network.flushShares();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel serverLevel)) return;
+        LiquidPipeNetworkManager manager = MANAGERS.get(serverLevel.dimension());
+        if (manager == null) return;
+        // Le chunk est sauvegardé avec les parts de ses pipes: elles doivent refléter le tank
+        ChunkPos chunkPos = event.getChunk().getPos();
+        for (LiquidPipeNetwork network : manager.networks.values()) {
+            if (network.hasStaleShares() && network.hasMemberIn(chunkPos)) {
+                network.flushShares();
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (!(event.getLevel() instanceof ServerLevel serverLevel)) return;
+        LiquidPipeNetworkManager manager = MANAGERS.get(serverLevel.dimension());
+        if (manager == null || manager.networks.isEmpty()) return;
+        if (serverLevel.getGameTime() % SOLVE_INTERVAL != 0) return;
+        manager.tick(serverLevel);
+    }
+
+    // --- Requêtes ---
+
+    @Nullable
+    public LiquidPipeNetwork getNetworkAt(BlockPos pos) {
+        UUID id = positionToNetwork.get(pos);
+        return id != null ? networks.get(id) : null;
+    }
+
+    public void tick(ServerLevel level) {
+        for (LiquidPipeNetwork network : new ArrayList<>(networks.values())) {
+            network.solve(level);
+        }
+    }
+
+    // --- Cycle de vie ---
+
+    /**
+     * Appelé quand un pipe est chargé ou placé.
+     * Rejoint un réseau existant, en crée un nouveau, ou merge plusieurs réseaux.
+     */
+    public void onPipeAdded(LiquidPipeBlockEntity pipe, ServerLevel level) {
+        BlockPos pos = pipe.getBlockPos();
+        if (positionToNetwork.containsKey(pos)) return;
+
+        LiquidPipeNetwork network = attachPipe(pipe, level.getBlockState(pos));
+        network.refreshEndpoint(pos, level);
+    }
+
+    /**
+     * Insère un pipe selon les connexions de son blockstate, sans lecture du monde :
+     * sa part rejoint le tank du réseau rejoint, créé ou issu du merge.
+     * Seuls les réseaux voisins de même fluide sont rejoints : un voisin d'un autre fluide
+     * reste un réseau séparé, sans arête vers ce pipe. Les endpoints restent à calculer par l'appelant.
+     */
+    LiquidPipeNetwork attachPipe(LiquidPipeBlockEntity pipe, BlockState state) {
+        BlockPos pos = pipe.getBlockPos();
+        List<LiquidPipeNetwork> neighborNetworks = new ArrayList<>();
+        for (Direction dir : Direction.values()) {
+            if (!AbstractPipeBlock.isConnected(state, dir)) continue;
+            LiquidPipeNetwork neighbor = getNetworkAt(pos.relative(dir));
+            if (neighbor != null && !neighborNetworks.contains(neighbor)) {
+                neighborNetworks.add(neighbor);
+            }
+        }
+
+        // Fluide de référence: celui du pipe, sinon celui du voisin le plus rempli
+        FluidStack reference = pipe.getBuffer().getFluid();
+        if (reference.isEmpty()) {
+            for (LiquidPipeNetwork neighbor : neighborNetworks) {
+                if (neighbor.getTank().getFluidAmount() > reference.getAmount()) {
+                    reference = neighbor.getTank().getFluid();
+                }
+            }
+        }
+        Set<UUID> neighborNetworkIds = new LinkedHashSet<>();
+        for (LiquidPipeNetwork neighbor : neighborNetworks) {
+            if (neighbor.acceptsFluid(reference)) {
+                neighborNetworkIds.add(neighbor.getId());
+            }
+        }
+
+        LiquidPipeNetwork network;
+        if (neighborNetworkIds.isEmpty()) {
+            network = new LiquidPipeNetwork(UUID.randomUUID());
+            networks.put(network.getId(), network);
+        } else if (neighborNetworkIds.size() == 1) {
+            network = networks.get(neighborNetworkIds.iterator().next());
+        } else {
+            network = mergeNetworks(neighborNetworkIds);
+        }
+
+        network.addMember(pipe);
+        network.connectPipeToNeighbors(pos, state);
+        positionToNetwork.put(pos, network.getId());
+        return network;
+    }
+
+    /**
+     * Appelé quand un pipe est retiré (cassé ou chunk déchargé).
+     * Sa part de fluide reste dans son buffer local. Sur un retrait réel, seules les composantes
+     * détachées autour du pipe sont séparées ; sur un déchargement le réseau n'est pas découpé :
+     * le pipe revient au rechargement et reprend sa place entre les mêmes voisins.
+     */
+    public void onPipeRemoved(BlockPos pos, boolean unloading) {
+        UUID netId = positionToNetwork.remove(pos);
+        if (netId == null) return;
+        LiquidPipeNetwork network = networks.get(netId);
+        if (network == null) return;
+
+        // Les parts doivent être à jour pour que le pipe retiré emporte exactement la sienne
+        network.writeShares(false);
+        List<BlockPos> formerNeighbors = new ArrayList<>(network.getGraph().getNeighbors(pos));
+        network.removeMember(pos);
+
+        if (network.size() == 0) {
+            networks.remove(netId);
+            return;
+        }
+        if (unloading) return;
+
+        for (Set<BlockPos> component : network.getGraph().findDetachedComponents(formerNeighbors)) {
+            splitOff(network, component);
+        }
+    }
+
+    /**
+     * Appelé quand les connexions ou le mode extraction d'un pipe changent.
+     * Retire puis ré-ajoute le pipe pour recalculer arêtes, endpoints et composantes.
+     */
+    public void onConnectionChanged(BlockPos pos, ServerLevel level) {
+        if (!(level.getBlockEntity(pos) instanceof LiquidPipeBlockEntity pipe)) return;
+        onPipeRemoved(pos, false);
+        onPipeAdded(pipe, level);
+    }
+
+    // --- Merge ---
+
+    private LiquidPipeNetwork mergeNetworks(Set<UUID> networkIds) {
+        // Le plus grand réseau survit, les autres y sont absorbés sans relecture du monde
+        LiquidPipeNetwork survivor = null;
+        for (UUID id : networkIds) {
+            LiquidPipeNetwork net = networks.get(id);
+            if (net != null && (survivor == null || net.size() > survivor.size())) {
+                survivor = net;
+            }
+        }
+
+        for (UUID id : networkIds) {
+            if (id.equals(survivor.getId())) continue;
+            LiquidPipeNetwork absorbed = networks.remove(id);
+            if (absorbed == null) continue;
+            survivor.absorb(absorbed);
+            for (BlockPos pos : absorbed.getGraph().getAllNodes()) {
+                positionToNetwork.put(pos, survivor.getId());
+            }
+        }
+        return survivor;
+    }
+
+    // --- Split ---
+
+    /**
+     * Sépare une composante détachée dans un nouveau réseau. Ses pipes quittent l'original
+     * avec leur part, ce qui conserve le fluide total ; le reste du réseau n'est pas touché.
+     */
+    private void splitOff(LiquidPipeNetwork original, Set<BlockPos> component) {
+        LiquidPipeNetwork network = new LiquidPipeNetwork(UUID.randomUUID(), original.getGraph().subgraph(component));
+        for (PipeEndpoint endpoint : original.getEndpoints()) {
+            if (component.contains(endpoint.pipePos())) {
+                network.getEndpoints().add(endpoint);
+            }
+        }
+        for (BlockPos pos : component) {
+            LiquidPipeBlockEntity pipe = original.getMember(pos);
+            original.removeMember(pos);
+            if (pipe != null) {
+                network.addMember(pipe);
+            }
+            positionToNetwork.put(pos, network.getId());
+        }
+        networks.put(network.getId(), network);
+    }
+}
@@ -9,42 +9,38 @@
  * | Dépendance          | Raison                | Utilisation                    |
  * |---------------------|----------------------|--------------------------------|
  * | BlockPos            | Position monde       | Noeuds du graphe               |
- * | AbstractPipeBlock   | Détection connexions | buildFromWorld                 |
- * | ItemPipeBlock       | Type de pipe         | Vérification isSamePipeType    |
+ * | PipeTopology        | Interface graphe     | Vue abstraite pour le routage  |
+ * | PipeRouting         | Algorithmes purs     | BFS, composantes connexes      |
  * ------------------------------------------------------------
  *
  * UTILISÉ PAR:
  * - PipeNetwork.java (graphe interne du réseau)
  * - ItemPipeNetworkManager.java (détection composantes connexes)
+ * - LiquidPipeNetwork.java (topologie des réseaux de fluide)
  *
  * ============================================================
  */
 package com.chapeau.apica.core.network.pipe;
 
-import com.chapeau.apica.common.block.alchemy.AbstractPipeBlock;
-import com.chapeau.apica.common.block.alchemy.ItemPipeBlock;
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.Direction;
-import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.level.block.state.BlockState;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Graphe non-orienté de positions de pipes.
  * Chaque noeud est un BlockPos, chaque arête une connexion entre deux pipes adjacentes.
- * Fournit BFS, détection de composantes connexes, et reconstruction depuis le monde.
+ * Fournit BFS et détection de composantes connexes via PipeRouting.
+ * Ne lit jamais le monde : la topologie est maintenue par les gestionnaires de réseaux.
  */
-public class PipeGraph {
+public class PipeGraph implements PipeTopology<BlockPos> {
     private final Map<BlockPos, Set<BlockPos>> adjacency = new HashMap<>();
 
     public void addNode(BlockPos pos) {
@@ -83,6 +79,12 @@ public class PipeGraph {
         return Collections.unmodifiableSet(adjacency.keySet());
     }
 
+    @Override
+    public Collection<BlockPos> neighbors(BlockPos node) {
+        return getNeighbors(node);
+    }
+
+    @Override
     public boolean contains(BlockPos pos) {
         return adjacency.containsKey(pos);
     }
@@ -97,100 +99,24 @@ public class PipeGraph {
      */
     @Nullable
     public List<BlockPos> bfsPath(BlockPos from, BlockPos to) {
-        if (from.equals(to)) return List.of(from);
-        if (!adjacency.containsKey(from) || !adjacency.containsKey(to)) return null;
-
-        Set<BlockPos> visited = new HashSet<>();
-        Map<BlockPos, BlockPos> parentMap = new HashMap<>();
-        Queue<BlockPos> queue = new LinkedList<>();
-
-        visited.add(from);
-        queue.add(from);
-
-        while (!queue.isEmpty()) {
-            BlockPos current = queue.poll();
-            for (BlockPos neighbor : getNeighbors(current)) {
-                if (visited.add(neighbor)) {
-                    parentMap.put(neighbor, current);
-                    if (neighbor.equals(to)) {
-                        return reconstructPath(parentMap, from, to);
-                    }
-                    queue.add(neighbor);
-                }
-            }
-        }
-        return null;
+        return PipeRouting.bfsPath(this, from, to, pos -> true);
     }
 
     /**
      * BFS filtre : meme algo que bfsPath mais skip les nodes ou canTraverse retourne false.
      * La position source (from) n'est PAS testee ici — l'appelant doit la verifier separement.
      * Toutes les autres nodes, y compris la destination, sont testees par canTraverse.
-     * Ne pas utiliser le route cache (le resultat depend de l'item).
      */
     @Nullable
-    public List<BlockPos> bfsPathFiltered(BlockPos from, BlockPos to,
-                                           java.util.function.Predicate<BlockPos> canTraverse) {
-        if (from.equals(to)) return List.of(from);
-        if (!adjacency.containsKey(from) || !adjacency.containsKey(to)) return null;
-
-        Set<BlockPos> visited = new HashSet<>();
-        Map<BlockPos, BlockPos> parentMap = new HashMap<>();
-        Queue<BlockPos> queue = new LinkedList<>();
-
-        visited.add(from);
-        queue.add(from);
-
-        while (!queue.isEmpty()) {
-            BlockPos current = queue.poll();
-            for (BlockPos neighbor : getNeighbors(current)) {
-                if (visited.add(neighbor)) {
-                    if (!canTraverse.test(neighbor)) {
-                        continue;
-                    }
-                    parentMap.put(neighbor, current);
-                    if (neighbor.equals(to)) {
-                        return reconstructPath(parentMap, from, to);
-                    }
-                    queue.add(neighbor);
-                }
-            }
-        }
-        return null;
-    }
-
-    private List<BlockPos> reconstructPath(Map<BlockPos, BlockPos> parentMap, BlockPos from, BlockPos to) {
-        List<BlockPos> path = new ArrayList<>();
-        BlockPos current = to;
-        while (current != null && !current.equals(from)) {
-            path.add(current);
-            current = parentMap.get(current);
-        }
-        path.add(from);
-        Collections.reverse(path);
-        return path;
+    public List<BlockPos> bfsPathFiltered(BlockPos from, BlockPos to, Predicate<BlockPos> canTraverse) {
+        return PipeRouting.bfsPath(this, from, to, canTraverse);
     }
 
     /**
      * Flood fill depuis un point de départ. Retourne toutes les positions atteignables.
      */
     public Set<BlockPos> floodFill(BlockPos start) {
-        Set<BlockPos> component = new HashSet<>();
-        if (!adjacency.containsKey(start)) return component;
-
-        Queue<BlockPos> queue = new LinkedList<>();
-        queue.add(start);
-        component.add(start);
-
-        while (!queue.isEmpty()) {
-            BlockPos current = queue.poll();
-            for (BlockPos neighbor : getNeighbors(current)) {
-                if (component.add(neighbor)) {
-                    queue.add(neighbor);
-                }
-            }
-        }
-        return component;
+        return PipeRouting.floodFill(this, start);
     }
 
     /**
@@ -198,35 +124,38 @@ public class PipeGraph {
      * Utilisé après un removeNode pour vérifier si le réseau s'est splitté.
      */
     public List<Set<BlockPos>> findConnectedComponents() {
-        List<Set<BlockPos>> components = new ArrayList<>();
-        Set<BlockPos> visited = new HashSet<>();
-
-        for (BlockPos node : adjacency.keySet()) {
-            if (visited.add(node)) {
-                Set<BlockPos> component = floodFill(node);
-                visited.addAll(component);
-                components.add(component);
-            }
+        return PipeRouting.connectedComponents(this, adjacency.keySet());
+    }
+
+    /**
+     * Composantes détachées par le retrait d'un noeud, cherchées localement depuis ses anciens voisins.
+     * Le reste du graphe n'est pas parcouru : seules les composantes à séparer sont retournées.
+     */
+    public List<Set<BlockPos>> findDetachedComponents(Collection<BlockPos> formerNeighbors) {
+        return PipeRouting.detachedComponents(this, formerNeighbors);
+    }
+
+    /**
+     * Copie dans ce graphe tous les noeuds et arêtes d'un autre graphe.
+     * Utilisé lors d'un merge de réseaux pour éviter une relecture du monde.
+     */
+    public void addAll(PipeGraph other) {
+        for (Map.Entry<BlockPos, Set<BlockPos>> entry : other.adjacency.entrySet()) {
+            adjacency.computeIfAbsent(entry.getKey(), k -> new HashSet<>()).addAll(entry.getValue());
         }
-        return components;
     }
 
     /**
-     * Reconstruit le graphe depuis le monde en scannant les connexions réelles des pipes.
-     * Utilisé au chargement depuis SavedData.
+     * Extrait le sous-graphe induit par un ensemble de positions (arêtes internes uniquement).
+     * Utilisé lors d'un split pour reconstruire chaque composante sans relire le monde.
      */
-    public static PipeGraph buildFromWorld(Set<BlockPos> pipePositions, ServerLevel level) {
+    public PipeGraph subgraph(Set<BlockPos> positions) {
         PipeGraph graph = new PipeGraph();
-        for (BlockPos pos : pipePositions) {
-            if (!level.hasChunkAt(pos)) continue;
-            BlockState state = level.getBlockState(pos);
-            if (!(state.getBlock() instanceof ItemPipeBlock)) continue;
-
+        for (BlockPos pos : positions) {
+            if (!adjacency.containsKey(pos)) continue;
             graph.addNode(pos);
-            for (Direction dir : Direction.values()) {
-                if (!AbstractPipeBlock.isConnected(state, dir)) continue;
-                BlockPos neighbor = pos.relative(dir);
-                if (pipePositions.contains(neighbor)) {
+            for (BlockPos neighbor : getNeighbors(pos)) {
+                if (positions.contains(neighbor)) {
                     graph.addEdge(pos, neighbor);
                 }
             }
@@ -10,6 +10,7 @@
  * |---------------------|----------------------|--------------------------------|
  * | PipeGraph           | Structure graphe     | Topologie du réseau            |
  * | PipeRouteCache      | Cache routes         | Optimisation BFS               |
+ * | PipeRouting         | Algorithmes purs     | Sélection par priorité         |
  * | PipeEndpoint        | Points d'entrée      | Machines connectées            |
  * | AbstractPipeBlock   | Blockstate connexions| Détection extract/insert       |
  * | ItemPipeBlock       | Type de pipe         | Vérification type              |
@@ -43,8 +44,6 @@ import net.neoforged.neoforge.items.IItemHandler;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -83,14 +82,35 @@ public class PipeNetwork {
     public void removePipe(BlockPos pos) {
         graph.removeNode(pos);
         endpoints.removeIf(e -> e.pipePos().equals(pos));
+        routeCache.invalidateRoutesThrough(pos);
+    }
+
+    /**
+     * Absorbe un autre réseau (merge) : graphe et endpoints sont copiés sans relecture du monde.
+     */
+    public void absorb(PipeNetwork other) {
+        graph.addAll(other.graph);
+        endpoints.addAll(other.endpoints);
         routeCache.invalidateAll();
     }
 
+    /**
+     * Crée un réseau limité à une composante de ce réseau (split), sans relecture du monde.
+     */
+    public PipeNetwork extractComponent(UUID newId, Set<BlockPos> component) {
+        PipeNetwork network = new PipeNetwork(newId, graph.subgraph(component));
+        for (PipeEndpoint endpoint : endpoints) {
+            if (component.contains(endpoint.pipePos())) {
+                network.endpoints.add(endpoint);
+            }
+        }
+        return network;
+    }
+
     /**
      * Ajoute les arêtes entre un pipe et ses voisins déjà dans le graphe.
      */
-    public void connectPipeToNeighbors(BlockPos pos, ServerLevel level) {
-        BlockState state = level.getBlockState(pos);
+    public void connectPipeToNeighbors(BlockPos pos, BlockState state) {
         if (!(state.getBlock() instanceof ItemPipeBlock)) return;
 
         for (Direction dir : Direction.values()) {
@@ -164,17 +184,14 @@ public class PipeNetwork {
         List<ScoredRoute> validRoutes = new ArrayList<>();
         for (PipeEndpoint candidate : insertEndpoints) {
             if (!level.hasChunkAt(candidate.machinePos())) continue;
-            IItemHandler handler = level.getCapability(
-                Capabilities.ItemHandler.BLOCK, candidate.machinePos(), candidate.face().getOpposite());
+            IItemHandler handler = getEndpointHandler(candidate, level);
             if (handler == null) continue;
             if (!canInsertAny(handler, stack)) continue;
 
             // Verifier que l'item peut traverser le pipe source lui-meme
             if (!canItemTraverse(sourcePipePos, stack, level)) continue;
 
-            // BFS item-aware : skip pipes dont le filtre refuse l'item
-            List<BlockPos> route = graph.bfsPathFiltered(sourcePipePos, candidate.pipePos(),
-                pos -> canItemTraverse(pos, stack, level));
+            List<BlockPos> route = findRoute(sourcePipePos, candidate.pipePos(), stack, level);
             if (route == null) continue;
 
             int maxPriority = getMaxPriorityOnRoute(route, level);
@@ -183,11 +200,8 @@ public class PipeNetwork {
 
         if (validRoutes.isEmpty()) return null;
 
-        // Trier par priority desc
-        validRoutes.sort(Comparator.comparingInt(ScoredRoute::priority).reversed());
-        int topPriority = validRoutes.get(0).priority();
-        List<ScoredRoute> topRoutes = validRoutes.stream()
-            .filter(r -> r.priority() == topPriority).toList();
+        // Garder le groupe de priority maximale
+        List<ScoredRoute> topRoutes = PipeRouting.topPriority(validRoutes, ScoredRoute::priority);
 
         // Round-robin dans le groupe le plus prioritaire
         int idx = roundRobinIndex % topRoutes.size();
@@ -196,6 +210,36 @@ public class PipeNetwork {
         return new RouteResult(chosen.endpoint(), chosen.route());
     }
 
+    /**
+     * Retourne l'IItemHandler d'un endpoint via le cache de capability du pipe qui le porte.
+     */
+    @Nullable
+    private IItemHandler getEndpointHandler(PipeEndpoint endpoint, ServerLevel level) {
+        if (level.getBlockEntity(endpoint.pipePos()) instanceof ItemPipeBlockEntity pipe) {
+            return pipe.getNeighborItemHandler(endpoint.face());
+        }
+        return level.getCapability(Capabilities.ItemHandler.BLOCK, endpoint.machinePos(), endpoint.face().getOpposite());
+    }
+
+    /**
+     * Route item-aware. Le plus court chemin non filtré est caché ; s'il laisse passer l'item
+     * il est aussi le plus court chemin filtré. Sinon BFS filtré (non caché, dépend de l'item).
+     */
+    @Nullable
+    private List<BlockPos> findRoute(BlockPos from, BlockPos to, ItemStack stack, ServerLevel level) {
+        List<BlockPos> shortest = routeCache.getOrCompute(from, to, graph::bfsPath);
+        if (shortest == null) return null;
+
+        boolean traversable = true;
+        for (int i = 1; i < shortest.size() && traversable; i++) {
+            traversable = canItemTraverse(shortest.get(i), stack, level);
+        }
+        if (traversable) return shortest;
+
+        // BFS item-aware : skip pipes dont le filtre refuse l'item
+        return graph.bfsPathFiltered(from, to, pos -> canItemTraverse(pos, stack, level));
+    }
+
     /**
      * Verifie si un item peut traverser un pipe (en tenant compte du filtre).
      */
@@ -251,37 +295,64 @@ public class PipeNetwork {
 
     // --- Sérialisation NBT ---
 
+    /**
+     * Sauvegarde compacte : positions en long[] et, pour chaque pipe, un masque 6 bits
+     * des arêtes (bit = Direction.ordinal()). Le graphe est restauré sans lecture du monde.
+     */
     public CompoundTag save(HolderLookup.Provider registries) {
         CompoundTag tag = new CompoundTag();
         tag.putUUID("Id", id);
         tag.putInt("RoundRobin", roundRobinIndex);
 
-        ListTag pipesTag = new ListTag();
-        for (BlockPos pos : graph.getAllNodes()) {
-            CompoundTag posTag = new CompoundTag();
-            posTag.put("Pos", NbtUtils.writeBlockPos(pos));
-            pipesTag.add(posTag);
+        Set<BlockPos> nodes = graph.getAllNodes();
+        long[] positions = new long[nodes.size()];
+        byte[] links = new byte[nodes.size()];
+        int i = 0;
+        for (BlockPos pos : nodes) {
+            positions[i] = pos.asLong();
+            int mask = 0;
+            for (BlockPos neighbor : graph.getNeighbors(pos)) {
+                Direction dir = Direction.fromDelta(
+                    neighbor.getX() - pos.getX(), neighbor.getY() - pos.getY(), neighbor.getZ() - pos.getZ());
+                if (dir != null) mask |= 1 << dir.ordinal();
+            }
+            links[i] = (byte) mask;
+            i++;
         }
-        tag.put("Pipes", pipesTag);
+        tag.putLongArray("PipePositions", positions);
+        tag.putByteArray("PipeLinks", links);
 
         return tag;
     }
 
     public static PipeNetwork load(CompoundTag tag, HolderLookup.Provider registries) {
         UUID id = tag.getUUID("Id");
-        int roundRobin = tag.getInt("RoundRobin");
-
-        Set<BlockPos> positions = new HashSet<>();
-        ListTag pipesTag = tag.getList("Pipes", Tag.TAG_COMPOUND);
-        for (int i = 0; i < pipesTag.size(); i++) {
-            NbtUtils.readBlockPos(pipesTag.getCompound(i), "Pos").ifPresent(positions::add);
-        }
-
         PipeNetwork network = new PipeNetwork(id);
-        for (BlockPos pos : positions) {
-            network.graph.addNode(pos);
+        network.roundRobinIndex = tag.getInt("RoundRobin");
+
+        if (tag.contains("PipePositions")) {
+            long[] positions = tag.getLongArray("PipePositions");
+            byte[] links = tag.getByteArray("PipeLinks");
+            for (long packed : positions) {
+                network.graph.addNode(BlockPos.of(packed));
+            }
+            for (int i = 0; i < positions.length && i < links.length; i++) {
+                BlockPos pos = BlockPos.of(positions[i]);
+                for (Direction dir : Direction.values()) {
+                    if ((links[i] & (1 << dir.ordinal())) == 0) continue;
+                    BlockPos neighbor = pos.relative(dir);
+                    if (network.graph.contains(neighbor)) {
+                        network.graph.addEdge(pos, neighbor);
+                    }
+                }
+            }
+        } else {
+            // Ancien format : positions seules, arêtes recréées par le manager avant la validation
+            ListTag pipesTag = tag.getList("Pipes", Tag.TAG_COMPOUND);
+            for (int i = 0; i < pipesTag.size(); i++) {
+                NbtUtils.readBlockPos(pipesTag.getCompound(i), "Pos").ifPresent(network.graph::addNode);
+            }
         }
-        network.roundRobinIndex = roundRobin;
         return network;
     }
 }
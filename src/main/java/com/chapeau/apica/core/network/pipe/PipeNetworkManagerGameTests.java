@@ -0,0 +1,307 @@
+/**
+ * ============================================================
+ * [PipeNetworkManagerGameTests.java]
+ * Description: Split/merge au niveau des managers: endpoints, items en transit, fluide
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * Les managers manipulent des blockstates et des block entities du mod: ces cas
+ * ont besoin des registres amorcés et tournent donc en GameTest, pas en JUnit.
+ * Chaque test construit son propre manager hors du monde; la structure "empty"
+ * ne sert qu'à satisfaire le runner.
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | ItemPipeNetworkManager | Manager testé     | Split/merge des réseaux items  |
+ * | LiquidPipeNetworkManager | Manager testé   | Split/merge des tanks          |
+ * | LiquidPipeBlockEntity | Membre fluide      | Parts de fluide par pipe       |
+ * | ApicaBlocks         | Registres            | Blockstates des pipes          |
+ * | ApicaFluids         | Registres            | Fluides miel et nectar         |
+ * | GameTestHelper      | Runner NeoForge      | Assertions                     |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - runGameTestServer (neoforge.enabledGameTestNamespaces=apica)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.network.pipe;
+
+import com.chapeau.apica.Apica;
+import com.chapeau.apica.common.block.alchemy.AbstractPipeBlock;
+import com.chapeau.apica.common.blockentity.alchemy.LiquidPipeBlockEntity;
+import com.chapeau.apica.core.registry.ApicaBlocks;
+import com.chapeau.apica.core.registry.ApicaFluids;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.fluids.FluidStack;
+import net.neoforged.neoforge.fluids.capability.IFluidHandler;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@GameTestHolder(Apica.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class PipeNetworkManagerGameTests {
+
+    private static final String TEMPLATE = "empty";
+
+    /** Ligne de pipes le long de X, reliées est-ouest. */
+    private static final int LINE_LENGTH = 5;
+    private static final int SHARE = 600;
+
+    private static BlockPos at(int x) {
+        return new BlockPos(x, 64, 0);
+    }
+
+    /** Blockstate d'un pipe connecté à l'est et à l'ouest. */
+    private static BlockState lineState(BlockState base) {
+        return base.setValue(AbstractPipeBlock.getConnectionProperty(Direction.EAST), true)
+            .setValue(AbstractPipeBlock.getConnectionProperty(Direction.WEST), true);
+    }
+
+    private static PipeEndpoint endpoint(int x, PipeEndpoint.EndpointType type) {
+        return new PipeEndpoint(at(x), Direction.NORTH, at(x).north(), type);
+    }
+
+    private static void assertEquals(GameTestHelper helper, Object expected, Object actual, String what) {
+        helper.assertTrue(Objects.equals(expected, actual), what + ": attendu " + expected + ", obtenu " + actual);
+    }
+
+    // --- Items ---
+
+    @GameTest(template = TEMPLATE)
+    public static void itemSplitSendsEndpointsToTheirComponent(GameTestHelper helper) {
+        ItemPipeNetworkManager manager = new ItemPipeNetworkManager();
+        BlockState state = lineState(ApicaBlocks.ITEM_PIPE.get().defaultBlockState());
+        for (int x = 0; x < LINE_LENGTH; x++) {
+            manager.attachPipe(at(x), state);
+        }
+        PipeEndpoint extract = endpoint(0, PipeEndpoint.EndpointType.EXTRACT);
+        PipeEndpoint nearSink = endpoint(1, PipeEndpoint.EndpointType.INSERT);
+        PipeEndpoint farSink = endpoint(4, PipeEndpoint.EndpointType.INSERT);
+        manager.getNetworkAt(at(0)).getEndpoints().addAll(List.of(extract, nearSink, farSink));
+
+        helper.assertTrue(manager.detachPipe(at(2)), "le pipe du milieu doit être détaché");
+
+        PipeNetwork left = manager.getNetworkAt(at(0));
+        PipeNetwork right = manager.getNetworkAt(at(4));
+        helper.assertTrue(manager.getNetworkAt(at(2)) == null, "le pipe retiré ne doit plus avoir de réseau");
+        helper.assertTrue(left != null && right != null, "chaque moitié doit garder un réseau");
+        helper.assertFalse(left == right, "les deux moitiés doivent être séparées");
+        helper.assertTrue(manager.getNetworkAt(at(1)) == left, "x=1 doit rester à gauche");
+        helper.assertTrue(manager.getNetworkAt(at(3)) == right, "x=3 doit rester à droite");
+        assertEquals(helper, Set.of(extract, nearSink), Set.copyOf(left.getEndpoints()), "endpoints de gauche");
+        assertEquals(helper, Set.of(farSink), Set.copyOf(right.getEndpoints()), "endpoints de droite");
+        helper.succeed();
+    }
+
+    @GameTest(template = TEMPLATE)
+    public static void itemMergeJoinsEndpointsUnderOneNetwork(GameTestHelper helper) {
+        ItemPipeNetworkManager manager = new ItemPipeNetworkManager();
+        BlockState state = lineState(ApicaBlocks.ITEM_PIPE.get().defaultBlockState());
+        // Deux segments disjoints, puis le pipe du milieu qui les relie
+        for (int x : new int[] {0, 1, 3, 4}) {
+            manager.attachPipe(at(x), state);
+        }
+        PipeEndpoint extract = endpoint(0, PipeEndpoint.EndpointType.EXTRACT);
+        PipeEndpoint sink = endpoint(4, PipeEndpoint.EndpointType.INSERT);
+        manager.getNetworkAt(at(0)).getEndpoints().add(extract);
+        manager.getNetworkAt(at(4)).getEndpoints().add(sink);
+        helper.assertFalse(manager.getNetworkAt(at(0)) == manager.getNetworkAt(at(4)), "segments disjoints avant le merge");
+
+        PipeNetwork merged = manager.attachPipe(at(2), state);
+
+        for (int x = 0; x < LINE_LENGTH; x++) {
+            helper.assertTrue(manager.getNetworkAt(at(x)) == merged, "x=" + x + " doit appartenir au réseau fusionné");
+        }
+        assertEquals(helper, LINE_LENGTH, merged.size(), "taille du réseau fusionné");
+        assertEquals(helper, Set.of(extract, sink), Set.copyOf(merged.getEndpoints()), "endpoints fusionnés");
+        helper.assertTrue(merged.getGraph().bfsPath(at(0), at(4)) != null, "chemin de bout en bout après merge");
+        helper.succeed();
+    }
+
+    @GameTest(template = TEMPLATE)
+    public static void transitItemsKeepOrLoseTheirRouteWithTheSplit(GameTestHelper helper) {
+        ItemPipeNetworkManager manager = new ItemPipeNetworkManager();
+        BlockState state = lineState(ApicaBlocks.ITEM_PIPE.get().defaultBlockState());
+        List<BlockPos> route = new ArrayList<>();
+        for (int x = 0; x < LINE_LENGTH; x++) {
+            manager.attachPipe(at(x), state);
+            route.add(at(x));
+        }
+        PipeEndpoint nearSink = endpoint(1, PipeEndpoint.EndpointType.INSERT);
+        PipeEndpoint farSink = endpoint(4, PipeEndpoint.EndpointType.INSERT);
+        manager.getNetworkAt(at(0)).getEndpoints().addAll(List.of(nearSink, farSink));
+
+        // Un item déjà passé le point de coupure, un autre qui doit le traverser
+        PipeTransitItem beyondCut = new PipeTransitItem(new ItemStack(Items.DIRT), route, 3, farSink.machinePos());
+        PipeTransitItem acrossCut = new PipeTransitItem(new ItemStack(Items.DIRT), route, 0, farSink.machinePos());
+
+        manager.detachPipe(at(2));
+
+        helper.assertTrue(remainingRouteInNetwork(manager, beyondCut), "l'item passé la coupure garde sa route");
+        helper.assertFalse(remainingRouteInNetwork(manager, acrossCut), "l'item avant la coupure perd sa route");
+
+        // Le re-routage depuis la position courante ne voit que les endpoints de sa composante
+        PipeNetwork network = manager.getNetworkAt(acrossCut.currentPos());
+        assertEquals(helper, List.of(nearSink), network.getEndpoints(), "endpoints visibles au re-routage");
+        helper.assertTrue(network.getGraph().bfsPath(acrossCut.currentPos(), nearSink.pipePos()) != null,
+            "le puits proche reste joignable");
+        helper.assertTrue(network.getGraph().bfsPath(acrossCut.currentPos(), farSink.pipePos()) == null,
+            "le puits lointain n'est plus joignable");
+        helper.succeed();
+    }
+
+    private static boolean remainingRouteInNetwork(ItemPipeNetworkManager manager, PipeTransitItem transit) {
+        PipeNetwork network = manager.getNetworkAt(transit.currentPos());
+        if (network == null) return false;
+        List<BlockPos> route = transit.getRoute();
+        for (int i = transit.getCurrentRouteIndex(); i < route.size(); i++) {
+            if (manager.getNetworkAt(route.get(i)) != network) return false;
+        }
+        return true;
+    }
+
+    // --- Fluide ---
+
+    private static List<LiquidPipeBlockEntity> filledLine(LiquidPipeNetworkManager manager) {
+        List<LiquidPipeBlockEntity> pipes = new ArrayList<>();
+        for (int x = 0; x < LINE_LENGTH; x++) {
+            pipes.add(filledPipe(manager, x, new FluidStack(ApicaFluids.HONEY_SOURCE.get(), SHARE)));
+        }
+        return pipes;
+    }
+
+    private static LiquidPipeBlockEntity filledPipe(LiquidPipeNetworkManager manager, int x, FluidStack share) {
+        BlockState state = lineState(ApicaBlocks.LIQUID_PIPE.get().defaultBlockState());
+        LiquidPipeBlockEntity pipe = new LiquidPipeBlockEntity(at(x), state);
+        pipe.setDisplayedShare(share);
+        manager.attachPipe(pipe, state);
+        return pipe;
+    }
+
+    @GameTest(template = TEMPLATE)
+    public static void liquidMergeSumsSharesIntoOneTank(GameTestHelper helper) {
+        LiquidPipeNetworkManager manager = new LiquidPipeNetworkManager();
+        List<LiquidPipeBlockEntity> pipes = filledLine(manager);
+
+        LiquidPipeNetwork network = manager.getNetworkAt(at(0));
+        int capacity = 0;
+        for (LiquidPipeBlockEntity pipe : pipes) {
+            helper.assertTrue(manager.getNetworkAt(pipe.getBlockPos()) == network, "tous les pipes dans un seul tank");
+            capacity += pipe.getBuffer().getCapacity();
+        }
+        assertEquals(helper, LINE_LENGTH * SHARE, network.getTank().getFluidAmount(), "fluide du tank");
+        assertEquals(helper, capacity, network.getTank().getCapacity(), "capacité du tank");
+        helper.succeed();
+    }
+
+    @GameTest(template = TEMPLATE)
+    public static void liquidSplitRedistributesFluidAndEndpoints(GameTestHelper helper) {
+        LiquidPipeNetworkManager manager = new LiquidPipeNetworkManager();
+        filledLine(manager);
+        LiquidPipeNetwork whole = manager.getNetworkAt(at(0));
+        PipeEndpoint source = endpoint(0, PipeEndpoint.EndpointType.EXTRACT);
+        PipeEndpoint sink = endpoint(4, PipeEndpoint.EndpointType.INSERT);
+        whole.getEndpoints().addAll(List.of(source, sink));
+        // Le tank a bougé depuis le dernier solve: les parts ne sont plus à jour
+        whole.getTank().drain(500, IFluidHandler.FluidAction.EXECUTE);
+        int total = whole.getTank().getFluidAmount();
+
+        LiquidPipeBlockEntity removed = whole.getMember(at(2));
+        manager.onPipeRemoved(at(2), false);
+
+        LiquidPipeNetwork left = manager.getNetworkAt(at(0));
+        LiquidPipeNetwork right = manager.getNetworkAt(at(4));
+        helper.assertTrue(manager.getNetworkAt(at(2)) == null, "le pipe retiré ne doit plus avoir de réseau");
+        helper.assertFalse(left == right, "les deux moitiés doivent être séparées");
+        assertEquals(helper, List.of(source), left.getEndpoints(), "endpoints de gauche");
+        assertEquals(helper, List.of(sink), right.getEndpoints(), "endpoints de droite");
+
+        // Le pipe retiré emporte sa part, chaque composante repart avec celles de ses pipes
+        int carried = removed.getBuffer().getFluidAmount();
+        helper.assertTrue(carried > 0, "le pipe retiré emporte sa part");
+        assertEquals(helper, total, left.getTank().getFluidAmount() + right.getTank().getFluidAmount() + carried,
+            "fluide conservé au split");
+        assertEquals(helper, left.getTank().getFluidAmount(), right.getTank().getFluidAmount(), "moitiés équilibrées");
+
+        // Re-poser le pipe fusionne à nouveau sans perte
+        BlockState state = lineState(ApicaBlocks.LIQUID_PIPE.get().defaultBlockState());
+        LiquidPipeNetwork merged = manager.attachPipe(removed, state);
+        assertEquals(helper, total, merged.getTank().getFluidAmount(), "fluide conservé au merge");
+        assertEquals(helper, Set.of(source, sink), Set.copyOf(merged.getEndpoints()), "endpoints fusionnés");
+        helper.succeed();
+    }
+
+    @GameTest(template = TEMPLATE)
+    public static void differentFluidsNeverShareANetwork(GameTestHelper helper) {
+        LiquidPipeNetworkManager manager = new LiquidPipeNetworkManager();
+        FluidStack honey = new FluidStack(ApicaFluids.HONEY_SOURCE.get(), SHARE);
+        FluidStack nectar = new FluidStack(ApicaFluids.NECTAR_SOURCE.get(), SHARE);
+        // Miel à gauche, nectar à droite, puis un pipe vide qui touche les deux segments
+        filledPipe(manager, 0, honey.copy());
+        filledPipe(manager, 1, honey.copy());
+        filledPipe(manager, 3, nectar.copy());
+        filledPipe(manager, 4, nectar.copy());
+        BlockState state = lineState(ApicaBlocks.LIQUID_PIPE.get().defaultBlockState());
+        LiquidPipeNetwork bridge = manager.attachPipe(new LiquidPipeBlockEntity(at(2), state), state);
+
+        LiquidPipeNetwork left = manager.getNetworkAt(at(0));
+        LiquidPipeNetwork right = manager.getNetworkAt(at(4));
+        helper.assertFalse(left == right, "miel et nectar ne doivent pas fusionner");
+        helper.assertTrue(bridge == left || bridge == right, "le pont rejoint un seul des deux segments");
+        helper.assertFalse(bridge.getGraph().contains(at(1)) && bridge.getGraph().contains(at(3)),
+            "le pont ne relie pas les deux fluides");
+        helper.assertTrue(FluidStack.isSameFluidSameComponents(honey, left.getTank().getFluid()), "miel à gauche");
+        assertEquals(helper, 2 * SHARE, left.getTank().getFluidAmount(), "miel conservé");
+        helper.assertTrue(FluidStack.isSameFluidSameComponents(nectar, right.getTank().getFluid()), "nectar à droite");
+        assertEquals(helper, 2 * SHARE, right.getTank().getFluidAmount(), "nectar conservé");
+        helper.succeed();
+    }
+
+    @GameTest(template = TEMPLATE)
+    public static void pipeOfAnotherFluidKeepsItInItsOwnNetwork(GameTestHelper helper) {
+        LiquidPipeNetworkManager manager = new LiquidPipeNetworkManager();
+        filledPipe(manager, 0, new FluidStack(ApicaFluids.HONEY_SOURCE.get(), SHARE));
+        filledPipe(manager, 1, new FluidStack(ApicaFluids.HONEY_SOURCE.get(), SHARE));
+
+        // Posé plein de nectar contre du miel: ni perte ni mélange
+        filledPipe(manager, 2, new FluidStack(ApicaFluids.NECTAR_SOURCE.get(), SHARE));
+
+        LiquidPipeNetwork honey = manager.getNetworkAt(at(0));
+        LiquidPipeNetwork nectar = manager.getNetworkAt(at(2));
+        helper.assertFalse(honey == nectar, "le pipe de nectar garde son propre réseau");
+        assertEquals(helper, 2 * SHARE, honey.getTank().getFluidAmount(), "miel conservé");
+        assertEquals(helper, SHARE, nectar.getTank().getFluidAmount(), "nectar conservé");
+        helper.assertTrue(nectar.getTank().getFluid().getFluid() == ApicaFluids.NECTAR_SOURCE.get(),
+            "le réseau du pipe contient du nectar");
+        helper.succeed();
+    }
+
+    @GameTest(template = TEMPLATE)
+    public static void unloadingAPipeKeepsTheNetworkWhole(GameTestHelper helper) {
+        LiquidPipeNetworkManager manager = new LiquidPipeNetworkManager();
+        filledLine(manager);
+        LiquidPipeNetwork whole = manager.getNetworkAt(at(0));
+
+        manager.onPipeRemoved(at(2), true);
+
+        helper.assertTrue(manager.getNetworkAt(at(2)) == null, "le pipe déchargé ne doit plus avoir de réseau");
+        helper.assertTrue(manager.getNetworkAt(at(0)) == whole, "pas de split au déchargement (gauche)");
+        helper.assertTrue(manager.getNetworkAt(at(4)) == whole, "pas de split au déchargement (droite)");
+        assertEquals(helper, (LINE_LENGTH - 1) * SHARE, whole.getTank().getFluidAmount(), "part du pipe déchargé retirée");
+        helper.succeed();
+    }
+}
@@ -24,40 +24,56 @@ import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 
 /**
  * Cache de routes pré-calculées entre positions de pipes.
- * Invalidé entièrement à chaque changement topologique du réseau (ajout/retrait de pipe, toggle connexion).
+ * Une route cachée reste un plus court chemin tant qu'aucune arête n'est ajoutée :
+ * un ajout impose invalidateAll(), un retrait de pipe seulement invalidateRoutesThrough().
  * Les routes sont calculées à la demande par BFS et mises en cache pour réutilisation.
  */
 public class PipeRouteCache {
-    private final Map<Long, List<BlockPos>> cache = new HashMap<>();
+    private final Map<RouteKey, List<BlockPos>> cache = new HashMap<>();
 
     /**
-     * Génère une clé unique pour le couple source-destination.
-     * Utilise le hash des deux positions combiné en un long.
+     * Clé exacte du couple source-destination (pas de collision possible, contrairement à un hash combiné).
      */
-    private static long cacheKey(BlockPos from, BlockPos to) {
-        return ((long) from.hashCode() << 32) | (to.hashCode() & 0xFFFFFFFFL);
-    }
+    private record RouteKey(BlockPos from, BlockPos to) {}
 
     /**
      * Récupère une route cachée, ou null si absente.
      */
     @Nullable
     public List<BlockPos> getCachedRoute(BlockPos from, BlockPos to) {
-        return cache.get(cacheKey(from, to));
+        return cache.get(new RouteKey(from, to));
     }
 
     /**
      * Stocke une route dans le cache.
      */
     public void putRoute(BlockPos from, BlockPos to, List<BlockPos> route) {
-        cache.put(cacheKey(from, to), route);
+        cache.put(new RouteKey(from, to), route);
+    }
+
+    /**
+     * Retourne la route cachée ou la calcule. Les absences de route ne sont pas cachées.
+     */
+    @Nullable
+    public List<BlockPos> getOrCompute(BlockPos from, BlockPos to,
+                                       BiFunction<BlockPos, BlockPos, List<BlockPos>> compute) {
+        RouteKey key = new RouteKey(from, to);
+        List<BlockPos> route = cache.get(key);
+        if (route == null) {
+            route = compute.apply(from, to);
+            if (route != null) {
+                cache.put(key, route);
+            }
+        }
+        return route;
     }
 
     /**
-     * Invalide tout le cache. Appelé à chaque changement topologique.
+     * Invalide tout le cache. Appelé à chaque ajout d'arête.
      */
     public void invalidateAll() {
         cache.clear();
@@ -65,12 +81,10 @@ public class PipeRouteCache {
 
     /**
      * Invalide toutes les routes passant par une position donnée.
-     * Plus ciblé que invalidateAll() mais plus coûteux à calculer.
+     * Suffisant après un retrait de pipe : les autres routes restent des plus courts chemins.
      */
     public void invalidateRoutesThrough(BlockPos pos) {
-        cache.entrySet().removeIf(entry ->
-            entry.getValue().contains(pos)
-        );
+        cache.values().removeIf(route -> route.contains(pos));
     }
 
     public int size() {
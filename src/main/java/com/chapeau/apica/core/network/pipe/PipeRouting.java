@@ -0,0 +1,226 @@
+/**
+ * ============================================================
+ * [PipeRouting.java]
+ * Description: Algorithmes de routage des pipes, sans dépendance au monde
+ * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | PipeTopology        | Graphe abstrait      | Parcours BFS, composantes      |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - PipeGraph.java (bfsPath, bfsPathFiltered, composantes connexes, split local)
+ * - PipeNetwork.java (sélection des destinations par priorité)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.network.pipe;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Fonctions pures de routage : BFS filtré, composantes connexes et sélection par priorité.
+ * Ne touche ni au monde ni aux BlockEntities, ce qui permet de les tester et mesurer isolément.
+ */
+public final class PipeRouting {
+
+    private PipeRouting() {}
+
+    /**
+     * BFS du plus court chemin entre deux noeuds.
+     * Le noeud source n'est PAS testé par canTraverse ; tous les autres (destination incluse) le sont.
+     * @return le chemin (from et to inclus), ou null si aucun chemin
+     */
+    @Nullable
+    public static <N> List<N> bfsPath(PipeTopology<N> topology, N from, N to, Predicate<N> canTraverse) {
+        if (from.equals(to)) return List.of(from);
+        if (!topology.contains(from) || !topology.contains(to)) return null;
+
+        Map<N, N> parentMap = new HashMap<>();
+        ArrayDeque<N> queue = new ArrayDeque<>();
+        parentMap.put(from, from);
+        queue.add(from);
+
+        while (!queue.isEmpty()) {
+            N current = queue.poll();
+            for (N neighbor : topology.neighbors(current)) {
+                if (parentMap.containsKey(neighbor)) continue;
+                if (!canTraverse.test(neighbor)) {
+                    // Marqué visité pour ne pas re-tester le filtre
+                    parentMap.put(neighbor, null);
+                    continue;
+                }
+                parentMap.put(neighbor, current);
+                if (neighbor.equals(to)) {
+                    return reconstructPath(parentMap, from, to);
+                }
+                queue.add(neighbor);
+            }
+        }
+        return null;
+    }
+
+    private static <N> List<N> reconstructPath(Map<N, N> parentMap, N from, N to) {
+        List<N> path = new ArrayList<>();
+        N current = to;
+        while (!current.equals(from)) {
+            path.add(current);
+            current = parentMap.get(current);
+        }
+        path.add(from);
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Vérifie qu'un chemin est valide dans la topologie : non vide, noeuds présents et consécutifs adjacents.
+     */
+    public static <N> boolean isValidPath(PipeTopology<N> topology, List<N> path) {
+        if (path.isEmpty()) return false;
+        for (int i = 0; i < path.size(); i++) {
+            if (!topology.contains(path.get(i))) return false;
+            if (i > 0 && !topology.neighbors(path.get(i - 1)).contains(path.get(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Flood fill depuis un noeud. Retourne tous les noeuds atteignables (start inclus).
+     */
+    public static <N> Set<N> floodFill(PipeTopology<N> topology, N start) {
+        Set<N> component = new HashSet<>();
+        if (!topology.contains(start)) return component;
+
+        ArrayDeque<N> queue = new ArrayDeque<>();
+        queue.add(start);
+        component.add(start);
+        while (!queue.isEmpty()) {
+            N current = queue.poll();
+            for (N neighbor : topology.neighbors(current)) {
+                if (component.add(neighbor)) {
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return component;
+    }
+
+    /**
+     * Partitionne les noeuds donnés en composantes connexes.
+     */
+    public static <N> List<Set<N>> connectedComponents(PipeTopology<N> topology, Iterable<N> nodes) {
+        List<Set<N>> components = new ArrayList<>();
+        Set<N> visited = new HashSet<>();
+        for (N node : nodes) {
+            if (visited.contains(node)) continue;
+            Set<N> component = floodFill(topology, node);
+            visited.addAll(component);
+            components.add(component);
+        }
+        return components;
+    }
+
+    /**
+     * Composantes détachées par le retrait d'un noeud, cherchées depuis ses anciens voisins.
+     * Un BFS par voisin avance en alternance, un noeud à la fois ; deux BFS qui se rencontrent
+     * fusionnent leur groupe. Un groupe dont tous les BFS sont épuisés est une composante complète.
+     * S'arrête dès qu'il ne reste qu'un groupe actif : celui-ci garde le reste du graphe sans
+     * l'avoir parcouru, le coût est donc borné par la taille des composantes détachées.
+     * @return les composantes à séparer (vide si le graphe reste connexe autour du retrait)
+     */
+    public static <N> List<Set<N>> detachedComponents(PipeTopology<N> topology, Collection<N> formerNeighbors) {
+        List<N> seeds = new ArrayList<>();
+        for (N seed : formerNeighbors) {
+            if (topology.contains(seed) && !seeds.contains(seed)) seeds.add(seed);
+        }
+        int count = seeds.size();
+        if (count < 2) return List.of();
+
+        int[] group = new int[count];
+        boolean[] exhausted = new boolean[count];
+        Map<N, Integer> owner = new HashMap<>();
+        List<ArrayDeque<N>> frontiers = new ArrayList<>(count);
+        List<List<N>> visited = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            group[i] = i;
+            owner.put(seeds.get(i), i);
+            frontiers.add(new ArrayDeque<>(List.of(seeds.get(i))));
+            visited.add(new ArrayList<>(List.of(seeds.get(i))));
+        }
+
+        List<Set<N>> detached = new ArrayList<>();
+        int activeGroups = count;
+        while (activeGroups > 1) {
+            for (int i = 0; i < count && activeGroups > 1; i++) {
+                ArrayDeque<N> frontier = frontiers.get(i);
+                if (frontier.isEmpty()) continue;
+                N current = frontier.poll();
+                for (N neighbor : topology.neighbors(current)) {
+                    Integer other = owner.putIfAbsent(neighbor, i);
+                    if (other == null) {
+                        frontier.add(neighbor);
+                        visited.get(i).add(neighbor);
+                    } else if (group[other] != group[i]) {
+                        mergeGroups(group, group[other], group[i]);
+                        activeGroups--;
+                    }
+                }
+                int g = group[i];
+                if (frontier.isEmpty() && !exhausted[g] && isGroupExhausted(group, frontiers, g) && activeGroups > 1) {
+                    exhausted[g] = true;
+                    activeGroups--;
+                    Set<N> component = new HashSet<>();
+                    for (int j = 0; j < count; j++) {
+                        if (group[j] == g) component.addAll(visited.get(j));
+                    }
+                    detached.add(component);
+                }
+            }
+        }
+        return detached;
+    }
+
+    private static void mergeGroups(int[] group, int from, int into) {
+        for (int j = 0; j < group.length; j++) {
+            if (group[j] == from) group[j] = into;
+        }
+    }
+
+    private static <N> boolean isGroupExhausted(int[] group, List<ArrayDeque<N>> frontiers, int g) {
+        for (int j = 0; j < group.length; j++) {
+            if (group[j] == g && !frontiers.get(j).isEmpty()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Garde les candidats de priorité maximale, dans leur ordre d'origine
+     * (l'ordre compte pour le round-robin de PipeNetwork).
+     */
+    public static <T> List<T> topPriority(List<T> candidates, ToIntFunction<T> priority) {
+        if (candidates.isEmpty()) return List.of();
+        int max = Integer.MIN_VALUE;
+        for (T candidate : candidates) {
+            max = Math.max(max, priority.applyAsInt(candidate));
+        }
+        List<T> top = new ArrayList<>();
+        for (T candidate : candidates) {
+            if (priority.applyAsInt(candidate) == max) top.add(candidate);
+        }
+        return top;
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * ============================================================
+ * [PipeTopology.java]
+ * Description: Vue minimale d'un graphe de pipes, indépendante du monde
+ * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | (aucune)            | Java pur             | Testable sans Minecraft        |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - PipeGraph.java (implémentation sur BlockPos)
+ * - PipeRouting.java (algorithmes de routage)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.network.pipe;
+
+import java.util.Collection;
+
+/**
+ * Topologie non-orientée sur laquelle opèrent les algorithmes de PipeRouting.
+ * @param <N> type de noeud (BlockPos en jeu, n'importe quel type en test/benchmark)
+ */
+public interface PipeTopology<N> {
+
+    /**
+     * Voisins directs d'un noeud (vide si le noeud est absent).
+     */
+    Collection<N> neighbors(N node);
+
+    boolean contains(N node);
+}
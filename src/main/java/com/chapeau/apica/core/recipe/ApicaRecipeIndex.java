@@ -0,0 +1,217 @@
+/**
+ * ============================================================
+ * [ApicaRecipeIndex.java]
+ * Description: Index des recettes Apica par input principal (item ou fluide)
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Un index par type de recette Apica, construit au premier appel apres chaque
+ *   chargement des datapacks (nouveau RecipeManager cote serveur)
+ * - Cle: item de l'ingredient principal (centrifuge, infusing, altar: item central)
+ *   ou fluide du premier ingredient fluide (crystallizing, distilling)
+ * - Recettes non indexables (ingredient vide ou personnalise, tag de plus de
+ *   MAX_INDEXED_ITEMS items, aucun fluide): liste parcourue a chaque recherche
+ * - Le resultat reste celui du RecipeManager: premiere recette qui matche dans
+ *   l'ordre des recettes (rang conserve dans chaque liste)
+ * - Types sans index (smelting...) et cote client: RecipeManager directement
+ * ============================================================
+ *
+ * DEPENDANCES:
+ * ------------------------------------------------------------
+ * | Dependance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | RecipeManager       | Recettes par type     | Construction, types non indexes|
+ * | ApicaRecipeTypes    | Types indexes         | Cles par type                  |
+ * | FluidIngredient     | Ingredients fluides   | Cle fluide                     |
+ * ------------------------------------------------------------
+ *
+ * UTILISE PAR:
+ * - CachedRecipeLookup.java (recherche complete)
+ * - AltarHeartBlockEntity.java (recette de l'autel)
+ * - Apica.java (nettoyage a l'arret serveur)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.recipe;
+
+import com.chapeau.apica.core.recipe.type.AltarRecipe;
+import com.chapeau.apica.core.recipe.type.CentrifugeRecipe;
+import com.chapeau.apica.core.recipe.type.CrystallizingRecipe;
+import com.chapeau.apica.core.recipe.type.DistillingRecipe;
+import com.chapeau.apica.core.recipe.type.InfusingRecipe;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeInput;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.Level;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+public class ApicaRecipeIndex {
+
+    /** Au-dela, un ingredient (tag large) est verifie par parcours plutot qu'indexe. */
+    private static final int MAX_INDEXED_ITEMS = 64;
+
+    @Nullable
+    private static RecipeManager indexedManager;
+    private static final Map<RecipeType<?>, TypeIndex<?, ?>> INDEXES = new HashMap<>();
+
+    /**
+     * Equivalent de RecipeManager.getRecipeFor(type, input, level), via l'index du type.
+     */
+    @SuppressWarnings("unchecked")
+    public static <I extends RecipeInput, R extends Recipe<I>> Optional<RecipeHolder<R>> getRecipeFor(
+            RecipeType<R> type, I input, Level level) {
+        RecipeManager recipes = level.getRecipeManager();
+        // Le RecipeManager client est modifie sur place: pas d'index
+        if (!(level instanceof ServerLevel)) {
+            return recipes.getRecipeFor(type, input, level);
+        }
+        if (input.isEmpty()) {
+            return Optional.empty();
+        }
+        if (recipes != indexedManager) {
+            INDEXES.clear();
+            indexedManager = recipes;
+        }
+
+        TypeIndex<I, R> index = (TypeIndex<I, R>) INDEXES.get(type);
+        if (index == null) {
+            KeySpec<I, R> spec = (KeySpec<I, R>) specFor(type);
+            if (spec == null) {
+                return recipes.getRecipeFor(type, input, level);
+            }
+            index = new TypeIndex<>(spec, recipes.getAllRecipesFor(type));
+            INDEXES.put(type, index);
+        }
+        return index.find(input, level);
+    }
+
+    /**
+     * Oublie les index (appele a l'arret du serveur).
+     */
+    public static void clearAll() {
+        INDEXES.clear();
+        indexedManager = null;
+    }
+
+    // --- Cles par type ---
+
+    @Nullable
+    private static KeySpec<?, ?> specFor(RecipeType<?> type) {
+        if (type == ApicaRecipeTypes.CENTRIFUGING.get()) {
+            return new KeySpec<ProcessingRecipeInput, CentrifugeRecipe>(
+                recipe -> itemKeys(recipe.ingredient()),
+                input -> input.getItem(0).getItem());
+        }
+        if (type == ApicaRecipeTypes.INFUSING.get()) {
+            return new KeySpec<ProcessingRecipeInput, InfusingRecipe>(
+                recipe -> itemKeys(recipe.ingredient()),
+                input -> input.getItem(0).getItem());
+        }
+        if (type == ApicaRecipeTypes.ALTAR.get()) {
+            return new KeySpec<AltarRecipeInput, AltarRecipe>(
+                recipe -> itemKeys(recipe.centerItem()),
+                input -> input.centerItem().getItem());
+        }
+        if (type == ApicaRecipeTypes.CRYSTALLIZING.get()) {
+            return new KeySpec<ProcessingRecipeInput, CrystallizingRecipe>(
+                recipe -> List.<Object>of(recipe.fluidIngredient().fluid()),
+                input -> input.getFluid(0).getFluid());
+        }
+        if (type == ApicaRecipeTypes.DISTILLING.get()) {
+            return new KeySpec<ProcessingRecipeInput, DistillingRecipe>(
+                recipe -> recipe.fluidIngredients().isEmpty()
+                    ? null : List.<Object>of(recipe.fluidIngredients().get(0).fluid()),
+                input -> input.getFluid(0).getFluid());
+        }
+        return null;
+    }
+
+    /**
+     * Items acceptes par l'ingredient, ou null s'il doit etre verifie par parcours.
+     */
+    @Nullable
+    private static Collection<Object> itemKeys(Ingredient ingredient) {
+        if (!ingredient.isSimple()) return null;
+        ItemStack[] stacks = ingredient.getItems();
+        if (stacks.length == 0 || stacks.length > MAX_INDEXED_ITEMS) return null;
+
+        List<Object> keys = new ArrayList<>(stacks.length);
+        for (ItemStack stack : stacks) {
+            Item item = stack.getItem();
+            if (!keys.contains(item)) keys.add(item);
+        }
+        return keys;
+    }
+
+    /**
+     * Extraction des cles: depuis une recette (null = non indexable) et depuis un input.
+     */
+    private record KeySpec<I extends RecipeInput, R extends Recipe<I>>(
+        Function<R, Collection<Object>> recipeKeys,
+        Function<I, Object> inputKey
+    ) {}
+
+    /**
+     * Recette et son rang dans l'ordre du RecipeManager.
+     */
+    private record Entry<R extends Recipe<?>>(int rank, RecipeHolder<R> holder) {}
+
+    private static final class TypeIndex<I extends RecipeInput, R extends Recipe<I>> {
+        private final KeySpec<I, R> spec;
+        private final Reference2ObjectOpenHashMap<Object, List<Entry<R>>> byKey = new Reference2ObjectOpenHashMap<>();
+        private final List<Entry<R>> unindexed = new ArrayList<>();
+
+        TypeIndex(KeySpec<I, R> spec, List<RecipeHolder<R>> recipes) {
+            this.spec = spec;
+            for (int rank = 0; rank < recipes.size(); rank++) {
+                RecipeHolder<R> holder = recipes.get(rank);
+                Entry<R> entry = new Entry<>(rank, holder);
+                Collection<Object> keys = spec.recipeKeys().apply(holder.value());
+                if (keys == null) {
+                    unindexed.add(entry);
+                    continue;
+                }
+                for (Object key : keys) {
+                    byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+                }
+            }
+        }
+
+        Optional<RecipeHolder<R>> find(I input, Level level) {
+            Entry<R> best = null;
+            List<Entry<R>> candidates = byKey.get(spec.inputKey().apply(input));
+            if (candidates != null) {
+                for (Entry<R> entry : candidates) {
+                    if (entry.holder().value().matches(input, level)) {
+                        best = entry;
+                        break;
+                    }
+                }
+            }
+            // Une recette non indexee passe devant si elle la precede dans l'ordre des recettes
+            for (Entry<R> entry : unindexed) {
+                if (best != null && entry.rank() > best.rank()) break;
+                if (entry.holder().value().matches(input, level)) {
+                    best = entry;
+                    break;
+                }
+            }
+            return best != null ? Optional.of(best.holder()) : Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * ============================================================
+ * [CachedRecipeLookup.java]
+ * Description: Cache de recherche de recette par machine (empreinte des inputs)
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Empreinte de l'input: item, quantite et hash des components de chaque stack
+ *   (fluides inclus pour ProcessingRecipeInput)
+ * - Meme empreinte que la derniere recherche: resultat reutilise ("aucune recette"
+ *   compris), la recette trouvee est seulement re-verifiee via matches()
+ * - Empreinte differente: la derniere recette trouvee est essayee avant l'index
+ * - Rechargement des recettes (/reload): nouveau RecipeManager, cache oublie
+ * ============================================================
+ *
+ * DEPENDANCES:
+ * ------------------------------------------------------------
+ * | Dependance            | Raison                | Utilisation                    |
+ * |-----------------------|----------------------|--------------------------------|
+ * | ApicaRecipeIndex      | Recherche complete    | Cache manquant ou invalide     |
+ * | ProcessingRecipeInput | Fluides d'entree      | Empreinte                      |
+ * ------------------------------------------------------------
+ *
+ * UTILISE PAR:
+ * - CentrifugeHeartBlockEntity, PoweredCentrifugeBlockEntity, ManualCentrifugeBlockEntity
+ * - AlembicHeartBlockEntity, InfuserBlockEntity, InfuserHeartBlockEntity
+ * - CrystallizerBlockEntity, ApicaFurnaceBlockEntity
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.recipe;
+
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeInput;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.fluids.FluidStack;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Derniere recette d'une machine, reutilisee tant que ses inputs ne changent pas.
+ * Une instance par machine (ou par slot independant).
+ */
+public class CachedRecipeLookup<I extends RecipeInput, R extends Recipe<I>> {
+
+    private final Supplier<RecipeType<R>> type;
+
+    @Nullable
+    private RecipeManager manager;
+    private boolean cached;
+    private long fingerprint;
+    /** Derniere recherche sans resultat pour cette empreinte. */
+    private boolean miss;
+    /** Derniere recette trouvee, conservee comme premier essai apres un changement. */
+    @Nullable
+    private RecipeHolder<R> lastRecipe;
+
+    public CachedRecipeLookup(Supplier<RecipeType<R>> type) {
+        this.type = type;
+    }
+
+    /**
+     * Equivalent de RecipeManager.getRecipeFor(type, input, level), sans recherche
+     * complete tant que l'input est inchange.
+     */
+    public Optional<RecipeHolder<R>> find(Level level, I input) {
+        RecipeManager recipes = level.getRecipeManager();
+        if (recipes != manager) {
+            manager = recipes;
+            invalidate();
+        }
+
+        long inputFingerprint = fingerprint(input);
+        boolean sameInput = cached && inputFingerprint == fingerprint;
+        if (sameInput && miss) {
+            return Optional.empty();
+        }
+        if (lastRecipe != null && lastRecipe.value().matches(input, level)) {
+            remember(inputFingerprint, false);
+            return Optional.of(lastRecipe);
+        }
+
+        Optional<RecipeHolder<R>> found = ApicaRecipeIndex.getRecipeFor(type.get(), input, level);
+        found.ifPresent(holder -> lastRecipe = holder);
+        remember(inputFingerprint, found.isEmpty());
+        return found;
+    }
+
+    /**
+     * Oublie le resultat memorise (la prochaine recherche interroge le RecipeManager).
+     */
+    public void invalidate() {
+        cached = false;
+        miss = false;
+        lastRecipe = null;
+    }
+
+    private void remember(long inputFingerprint, boolean noRecipe) {
+        cached = true;
+        fingerprint = inputFingerprint;
+        miss = noRecipe;
+    }
+
+    /**
+     * Empreinte des stacks de l'input: item, quantite, components (et fluides).
+     */
+    public static long fingerprint(RecipeInput input) {
+        long hash = input.size();
+        for (int i = 0; i < input.size(); i++) {
+            ItemStack stack = input.getItem(i);
+            hash = hash * 31 + ItemStack.hashItemAndComponents(stack);
+            hash = hash * 31 + stack.getCount();
+        }
+        if (input instanceof ProcessingRecipeInput processing) {
+            for (int i = 0; i < processing.fluidSize(); i++) {
+                FluidStack fluid = processing.getFluid(i);
+                hash = hash * 31 + FluidStack.hashFluidAndComponents(fluid);
+                hash = hash * 31 + fluid.getAmount();
+            }
+        }
+        return hash;
+    }
+}
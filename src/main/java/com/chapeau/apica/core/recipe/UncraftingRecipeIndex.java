@@ -0,0 +1,157 @@
+/**
+ * ============================================================
+ * [UncraftingRecipeIndex.java]
+ * Description: Index inverse resultat -> recettes de crafting (Uncrafting Table)
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Construit au premier appel apres chaque chargement des datapacks (nouveau
+ *   RecipeManager serveur): item resultat -> recettes de crafting qui le produisent
+ * - Ordre de preference deterministe: resultat avec les memes components que l'item
+ *   a decomposer d'abord, puis identifiant de recette (ordre alphabetique)
+ * - Decomposition (ingredients resolus + quantite produite) mise en cache par item
+ *   (au plus une entree par item enregistre, "aucune recette" compris);
+ *   les components de l'item sont compares a la lecture
+ * - Choix final: premiere decomposition dont la quantite produite tient dans le stack
+ * ============================================================
+ *
+ * DEPENDANCES:
+ * ------------------------------------------------------------
+ * | Dependance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | RecipeManager       | Recettes de crafting  | Construction de l'index        |
+ * ------------------------------------------------------------
+ *
+ * UTILISE PAR:
+ * - UncraftingTableBlockEntity.java (ingredients de l'item en entree)
+ * - Apica.java (nettoyage a l'arret serveur)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.recipe;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.NonNullList;
+import net.minecraft.core.component.DataComponentPatch;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.CraftingRecipe;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.Level;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class UncraftingRecipeIndex {
+
+    private static final int GRID_SIZE = 9;
+
+    @Nullable
+    private static RecipeManager indexedManager;
+    /** Recettes par item resultat, triees par identifiant. */
+    private static final Reference2ObjectOpenHashMap<Item, List<RecipeHolder<CraftingRecipe>>> BY_RESULT =
+        new Reference2ObjectOpenHashMap<>();
+    /** Decompositions par item resultat, dans l'ordre des recettes. */
+    private static final Reference2ObjectOpenHashMap<Item, List<CachedBreakdown>> BREAKDOWNS =
+        new Reference2ObjectOpenHashMap<>();
+
+    /**
+     * Ingredients resolus (grille 3x3) et quantite d'items consommee par decomposition.
+     */
+    public record Breakdown(int resultCount, NonNullList<ItemStack> ingredients) {
+
+        /**
+         * Copie des ingredients (le cache partage l'original).
+         */
+        public NonNullList<ItemStack> copyIngredients() {
+            NonNullList<ItemStack> copy = NonNullList.withSize(ingredients.size(), ItemStack.EMPTY);
+            for (int i = 0; i < ingredients.size(); i++) {
+                copy.set(i, ingredients.get(i).copy());
+            }
+            return copy;
+        }
+    }
+
+    /** Decomposition et components du resultat de sa recette. */
+    private record CachedBreakdown(DataComponentPatch resultComponents, Breakdown breakdown) {}
+
+    /**
+     * Decomposition preferee pour le stack, ou null si aucune recette ne le produit
+     * en quantite inferieure ou egale a la taille du stack.
+     */
+    @Nullable
+    public static Breakdown find(Level level, ItemStack target) {
+        if (target.isEmpty()) return null;
+
+        RecipeManager recipes = level.getRecipeManager();
+        if (recipes != indexedManager) {
+            clearAll();
+            indexedManager = recipes;
+            buildIndex(level, recipes);
+        }
+
+        List<CachedBreakdown> breakdowns = BREAKDOWNS.computeIfAbsent(target.getItem(), item -> resolve(level, item));
+        // Resultat avec les memes components d'abord, puis les autres
+        Breakdown breakdown = firstFitting(breakdowns, target, true);
+        return breakdown != null ? breakdown : firstFitting(breakdowns, target, false);
+    }
+
+    @Nullable
+    private static Breakdown firstFitting(List<CachedBreakdown> breakdowns, ItemStack target, boolean sameComponents) {
+        for (CachedBreakdown cached : breakdowns) {
+            if (cached.resultComponents().equals(target.getComponentsPatch()) != sameComponents) continue;
+            if (target.getCount() >= cached.breakdown().resultCount()) {
+                return cached.breakdown();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Oublie l'index et les decompositions (appele a l'arret du serveur).
+     */
+    public static void clearAll() {
+        BY_RESULT.clear();
+        BREAKDOWNS.clear();
+        indexedManager = null;
+    }
+
+    private static void buildIndex(Level level, RecipeManager recipes) {
+        for (RecipeHolder<CraftingRecipe> holder : recipes.getAllRecipesFor(RecipeType.CRAFTING)) {
+            ItemStack result = holder.value().getResultItem(level.registryAccess());
+            if (result.isEmpty()) continue;
+            BY_RESULT.computeIfAbsent(result.getItem(), k -> new ArrayList<>()).add(holder);
+        }
+        Comparator<RecipeHolder<CraftingRecipe>> byId = Comparator.comparing(holder -> holder.id().toString());
+        for (List<RecipeHolder<CraftingRecipe>> candidates : BY_RESULT.values()) {
+            candidates.sort(byId);
+        }
+    }
+
+    private static List<CachedBreakdown> resolve(Level level, Item item) {
+        List<RecipeHolder<CraftingRecipe>> candidates = BY_RESULT.get(item);
+        if (candidates == null) return List.of();
+
+        List<CachedBreakdown> breakdowns = new ArrayList<>(candidates.size());
+        for (RecipeHolder<CraftingRecipe> holder : candidates) {
+            CraftingRecipe recipe = holder.value();
+            ItemStack result = recipe.getResultItem(level.registryAccess());
+
+            NonNullList<Ingredient> ingredients = recipe.getIngredients();
+            NonNullList<ItemStack> resolved = NonNullList.withSize(GRID_SIZE, ItemStack.EMPTY);
+            for (int i = 0; i < ingredients.size() && i < GRID_SIZE; i++) {
+                ItemStack[] items = ingredients.get(i).getItems();
+                if (items.length > 0) {
+                    resolved.set(i, items[0].copy());
+                }
+            }
+            breakdowns.add(new CachedBreakdown(result.getComponentsPatch(), new Breakdown(result.getCount(), resolved)));
+        }
+        return List.copyOf(breakdowns);
+    }
+}
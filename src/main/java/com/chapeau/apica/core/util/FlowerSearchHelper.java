@@ -4,29 +4,47 @@
  * Description: Utilitaire pour rechercher des fleurs dans un rayon
  * ============================================================
  *
+ * FONCTIONNEMENT:
+ * - Recherche directe sur les LevelChunkSection des chunks déjà chargés
+ * - Une section dont la palette ne contient aucun bloc du tag (maybeHas) est rejetée
+ *   sans lire un seul bloc; seules les sections candidates sont parcourues
+ * - findClosestFlower: coquilles cubiques croissantes, arrêt dès que la coquille
+ *   ne peut plus contenir de fleur plus proche
+ * - Chunks non chargés ignorés (aucun chargement synchrone)
+ * - collectFlowersInChunk: même filtrage par palette sur une colonne entière (FlowerIndex)
+ * ============================================================
+ *
  * DÉPENDANCES:
  * ------------------------------------------------------------
  * | Dépendance          | Raison                | Utilisation                    |
  * |---------------------|----------------------|--------------------------------|
  * | FlowerGene          | Gène fleur           | Tag des blocs cibles           |
+ * | LevelChunkSection   | Palette              | maybeHas, lecture des blocs    |
  * ------------------------------------------------------------
  *
  * UTILISÉ PAR:
  * - MagicHiveBlockEntity.java: Detection fleurs pour abeilles
  * - ForagingBehaviorGoal.java: Recherche de fleurs
+ * - FlowerIndex.java: Indexation d'un chunk par tag
+ * - HiveFlowerPool.java: Scan direct hors serveur
  *
  * ============================================================
  */
 package com.chapeau.apica.core.util;
 
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.tags.TagKey;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
 
 /**
  * Utilitaire pour rechercher des blocs correspondant à un tag dans un rayon.
@@ -52,14 +70,36 @@ public final class FlowerSearchHelper {
             return flowers;
         }
 
-        for (int x = -radius; x <= radius; x++) {
-            for (int y = -radius; y <= radius; y++) {
-                for (int z = -radius; z <= radius; z++) {
-                    BlockPos checkPos = center.offset(x, y, z);
-                    BlockState blockState = level.getBlockState(checkPos);
+        SectionGrid grid = SectionGrid.collect(level, center, radius, state -> state.is(flowerTag));
+        if (grid == null) {
+            return flowers;
+        }
+
+        int minX = center.getX() - radius;
+        int minY = center.getY() - radius;
+        int minZ = center.getZ() - radius;
+        int maxX = center.getX() + radius;
+        int maxY = center.getY() + radius;
+        int maxZ = center.getZ() + radius;
+
+        for (int i = 0; i < grid.sections.length; i++) {
+            LevelChunkSection section = grid.sections[i];
+            if (section == null) continue;
 
-                    if (blockState.is(flowerTag)) {
-                        flowers.add(checkPos.immutable());
+            // Intersection de la section avec le cube de recherche
+            int baseX = SectionPos.sectionToBlockCoord(grid.sectionX(i));
+            int baseY = SectionPos.sectionToBlockCoord(grid.sectionY(i));
+            int baseZ = SectionPos.sectionToBlockCoord(grid.sectionZ(i));
+            int fromX = Math.max(minX, baseX), toX = Math.min(maxX, baseX + 15);
+            int fromY = Math.max(minY, baseY), toY = Math.min(maxY, baseY + 15);
+            int fromZ = Math.max(minZ, baseZ), toZ = Math.min(maxZ, baseZ + 15);
+
+            for (int y = fromY; y <= toY; y++) {
+                for (int z = fromZ; z <= toZ; z++) {
+                    for (int x = fromX; x <= toX; x++) {
+                        if (section.getBlockState(x & 15, y & 15, z & 15).is(flowerTag)) {
+                            flowers.add(new BlockPos(x, y, z));
+                        }
                     }
                 }
             }
@@ -82,20 +122,30 @@ public final class FlowerSearchHelper {
             return null;
         }
 
-        BlockPos closest = null;
-        double closestDist = Double.MAX_VALUE;
+        SectionGrid grid = SectionGrid.collect(level, center, radius, state -> state.is(flowerTag));
+        if (grid == null) {
+            return null;
+        }
 
-        for (int x = -radius; x <= radius; x++) {
-            for (int y = -radius; y <= radius; y++) {
-                for (int z = -radius; z <= radius; z++) {
-                    BlockPos checkPos = center.offset(x, y, z);
-                    BlockState blockState = level.getBlockState(checkPos);
+        BlockPos closest = null;
+        int closestDist = Integer.MAX_VALUE;
+        int cx = center.getX();
+        int cy = center.getY();
+        int cz = center.getZ();
 
-                    if (blockState.is(flowerTag)) {
-                        double dist = checkPos.distSqr(center);
-                        if (dist < closestDist) {
+        // Coquille d: blocs a distance de Chebyshev d, donc a distance euclidienne >= d
+        for (int d = 0; d <= radius && d * d < closestDist; d++) {
+            for (int x = -d; x <= d; x++) {
+                for (int y = -d; y <= d; y++) {
+                    boolean onFace = Math.abs(x) == d || Math.abs(y) == d;
+                    int zStep = onFace ? 1 : Math.max(2 * d, 1);
+                    for (int z = -d; z <= d; z += zStep) {
+                        int dist = x * x + y * y + z * z;
+                        if (dist >= closestDist) continue;
+                        LevelChunkSection section = grid.get(cx + x, cy + y, cz + z);
+                        if (section != null && section.getBlockState((cx + x) & 15, (cy + y) & 15, (cz + z) & 15).is(flowerTag)) {
                             closestDist = dist;
-                            closest = checkPos.immutable();
+                            closest = new BlockPos(cx + x, cy + y, cz + z);
                         }
                     }
                 }
@@ -105,6 +155,36 @@ public final class FlowerSearchHelper {
         return closest;
     }
 
+    /**
+     * Parcourt toutes les sections d'un chunk et transmet les positions (packées) des blocs du tag.
+     * Les sections dont la palette ne contient aucun bloc du tag sont ignorées.
+     *
+     * @param chunk Le chunk chargé
+     * @param flowerTag Tag des blocs à rechercher
+     * @param out Reçoit chaque position trouvée (BlockPos.asLong)
+     */
+    public static void collectFlowersInChunk(LevelChunk chunk, TagKey<Block> flowerTag, LongConsumer out) {
+        int baseX = chunk.getPos().getMinBlockX();
+        int baseZ = chunk.getPos().getMinBlockZ();
+        LevelChunkSection[] sections = chunk.getSections();
+
+        for (int i = 0; i < sections.length; i++) {
+            LevelChunkSection section = sections[i];
+            if (section.hasOnlyAir() || !section.maybeHas(state -> state.is(flowerTag))) continue;
+
+            int baseY = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(i));
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (section.getBlockState(x, y, z).is(flowerTag)) {
+                            out.accept(BlockPos.asLong(baseX + x, baseY + y, baseZ + z));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Vérifie si une position contient une fleur valide.
      *
@@ -119,4 +199,76 @@ public final class FlowerSearchHelper {
         }
         return level.getBlockState(pos).is(flowerTag);
     }
+
+    /**
+     * Sections candidates recouvrant le cube de recherche (null = section rejetée
+     * par sa palette, vide ou dans un chunk non chargé).
+     */
+    private static final class SectionGrid {
+        private final int minSX, minSY, minSZ;
+        private final int sizeX, sizeY, sizeZ;
+        private final LevelChunkSection[] sections;
+
+        private SectionGrid(int minSX, int minSY, int minSZ, int sizeX, int sizeY, int sizeZ) {
+            this.minSX = minSX;
+            this.minSY = minSY;
+            this.minSZ = minSZ;
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+            this.sections = new LevelChunkSection[sizeX * sizeY * sizeZ];
+        }
+
+        /**
+         * @return la grille, ou null si aucune section ne peut contenir de bloc du tag
+         */
+        static SectionGrid collect(Level level, BlockPos center, int radius, Predicate<BlockState> filter) {
+            int minSX = SectionPos.blockToSectionCoord(center.getX() - radius);
+            int maxSX = SectionPos.blockToSectionCoord(center.getX() + radius);
+            int minSY = Math.max(level.getMinSection(), SectionPos.blockToSectionCoord(center.getY() - radius));
+            int maxSY = Math.min(level.getMaxSection() - 1, SectionPos.blockToSectionCoord(center.getY() + radius));
+            int minSZ = SectionPos.blockToSectionCoord(center.getZ() - radius);
+            int maxSZ = SectionPos.blockToSectionCoord(center.getZ() + radius);
+            if (minSY > maxSY) return null;
+
+            SectionGrid grid = new SectionGrid(minSX, minSY, minSZ, maxSX - minSX + 1, maxSY - minSY + 1, maxSZ - minSZ + 1);
+            boolean any = false;
+            for (int sx = minSX; sx <= maxSX; sx++) {
+                for (int sz = minSZ; sz <= maxSZ; sz++) {
+                    if (!(level.getChunkSource().getChunkNow(sx, sz) instanceof LevelChunk chunk)) continue;
+                    for (int sy = minSY; sy <= maxSY; sy++) {
+                        LevelChunkSection section = chunk.getSection(level.getSectionIndexFromSectionY(sy));
+                        if (section.hasOnlyAir() || !section.maybeHas(filter)) continue;
+                        grid.sections[grid.index(sx - minSX, sy - minSY, sz - minSZ)] = section;
+                        any = true;
+                    }
+                }
+            }
+            return any ? grid : null;
+        }
+
+        LevelChunkSection get(int x, int y, int z) {
+            int sx = SectionPos.blockToSectionCoord(x) - minSX;
+            int sy = SectionPos.blockToSectionCoord(y) - minSY;
+            int sz = SectionPos.blockToSectionCoord(z) - minSZ;
+            if (sx < 0 || sy < 0 || sz < 0 || sx >= sizeX || sy >= sizeY || sz >= sizeZ) return null;
+            return sections[index(sx, sy, sz)];
+        }
+
+        private int index(int dx, int dy, int dz) {
+            return (dy * sizeZ + dz) * sizeX + dx;
+        }
+
+        int sectionX(int i) {
+            return minSX + i % sizeX;
+        }
+
+        int sectionY(int i) {
+            return minSY + i / (sizeX * sizeZ);
+        }
+
+        int sectionZ(int i) {
+            return minSZ + (i / sizeX) % sizeZ;
+        }
+    }
 }
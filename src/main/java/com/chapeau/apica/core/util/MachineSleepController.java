@@ -0,0 +1,125 @@
+/**
+ * ============================================================
+ * [MachineSleepController.java]
+ * Description: Mise en sommeil des machines de traitement inactives
+ * ============================================================
+ *
+ * FONCTIONNEMENT:
+ * - Fin d'un tick sans travail: la machine s'endort avec la raison de son inactivité
+ *   (pas d'input, pas de recette, pas de carburant, sortie pleine)
+ * - Machine endormie: le serverTick s'arrête après isAsleep(), sans recherche de recette
+ * - Réveil par wake(): contenu d'un item handler ou d'un tank modifié, formation/rupture
+ *   du multibloc, bloc voisin modifié (alembic: écoulement du nectar vers le bas)
+ * - Réveil de sécurité après MAX_SLEEP_TICKS (stack modifié sans notification,
+ *   /reload des recettes, tank voisin vidé sans update de bloc)
+ * - Non sauvegardé: une machine rechargée se réveille et réévalue son état
+ * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | Level               | Temps de jeu          | Réveil de sécurité             |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - CentrifugeHeartBlockEntity, AlembicHeartBlockEntity, InfuserHeartBlockEntity
+ * - InfuserBlockEntity, CrystallizerBlockEntity, ApicaFurnaceBlockEntity, InjectorBlockEntity
+ * - AlembicHeartBlock (réveil sur changement du bloc inférieur)
+ * - MachineSleepProvider (affichage Jade de la raison)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.util;
+
+import net.minecraft.world.level.Level;
+
+import javax.annotation.Nullable;
+
+/**
+ * État de sommeil d'une machine et raison de son inactivité.
+ * Une instance par machine.
+ */
+public class MachineSleepController {
+
+    /** Durée maximale d'un sommeil avant réévaluation complète. */
+    private static final int MAX_SLEEP_TICKS = 100;
+
+    /**
+     * Raison de l'inactivité, affichée par Jade.
+     */
+    public enum Reason {
+        NO_INPUT("no_input"),
+        NO_RECIPE("no_recipe"),
+        NO_FUEL("no_fuel"),
+        OUTPUT_FULL("output_full");
+
+        private final String id;
+
+        Reason(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getTranslationKey() {
+            return "jade.apica.machine_sleep." + id;
+        }
+
+        @Nullable
+        public static Reason byId(String id) {
+            for (Reason reason : values()) {
+                if (reason.id.equals(id)) return reason;
+            }
+            return null;
+        }
+    }
+
+    @Nullable
+    private Reason reason;
+    private long wakeTime;
+
+    /**
+     * Vrai si le travail de ce tick peut être sauté.
+     */
+    public boolean isAsleep(Level level) {
+        if (reason == null) return false;
+        if (level.getGameTime() >= wakeTime) {
+            reason = null;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Endort la machine jusqu'au prochain wake() (ou réveil de sécurité).
+     */
+    public void sleep(Level level, Reason reason) {
+        this.reason = reason;
+        this.wakeTime = level.getGameTime() + MAX_SLEEP_TICKS;
+    }
+
+    /**
+     * Réveille la machine: le prochain tick réévalue recette, carburant et sortie.
+     */
+    public void wake() {
+        reason = null;
+    }
+
+    /**
+     * Raison du sommeil en cours, ou null si la machine est éveillée.
+     */
+    @Nullable
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * Accès au contrôleur de sommeil d'une machine (Jade, réveil par les blocs).
+     */
+    public interface Sleeper {
+        MachineSleepController getSleepController();
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * ============================================================
+ * [PipeGraphSplitMergeTest.java]
+ * Description: Invariants de split (composantes, sous-graphes) et de merge (addAll) du graphe
+ * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | PipeGraph           | Graphe testé         | Split, sous-graphes, addAll    |
+ * | PipeRouting         | Référence            | Composantes connexes           |
+ * | RandomPipeGraphs    | Générateur           | Graphes aléatoires             |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - Gradle test (JUnit 5, unitTest NeoForge)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.network.pipe;
+
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PipeGraphSplitMergeTest {
+
+    private static final int RUNS = 200;
+
+    @Test
+    void splitComponentsPartitionRemainingNodes() {
+        Random random = new Random(0x5B117L);
+        for (int run = 0; run < RUNS; run++) {
+            PipeGraph graph = RandomPipeGraphs.randomGrid(random, 6, 0.6, 0.8);
+            if (graph.size() < 2) continue;
+            graph.removeNode(RandomPipeGraphs.randomNode(random, graph));
+
+            List<Set<BlockPos>> components = graph.findConnectedComponents();
+
+            Set<BlockPos> seen = new HashSet<>();
+            for (Set<BlockPos> component : components) {
+                for (BlockPos pos : component) {
+                    assertTrue(seen.add(pos), "run " + run + ": noeud présent dans deux composantes");
+                }
+                // Aucune arête ne sort d'une composante
+                for (BlockPos pos : component) {
+                    assertTrue(component.containsAll(graph.getNeighbors(pos)),
+                        "run " + run + ": arête entre deux composantes");
+                }
+            }
+            assertEquals(graph.getAllNodes(), seen, "run " + run + ": composantes incomplètes");
+        }
+    }
+
+    @Test
+    void localSplitFindsAllButOneComponentAroundTheRemovedNode() {
+        Random random = new Random(0x10CA1L);
+        for (int run = 0; run < RUNS; run++) {
+            PipeGraph graph = RandomPipeGraphs.randomGrid(random, 6, 0.6, 0.8);
+            if (graph.size() < 2) continue;
+            BlockPos removed = RandomPipeGraphs.randomNode(random, graph);
+            Set<BlockPos> formerNeighbors = new HashSet<>(graph.getNeighbors(removed));
+            Set<BlockPos> region = graph.floodFill(removed);
+            region.remove(removed);
+            graph.removeNode(removed);
+
+            List<Set<BlockPos>> expected = PipeRouting.connectedComponents(graph, region);
+            List<Set<BlockPos>> detached = graph.findDetachedComponents(formerNeighbors);
+
+            assertEquals(Math.max(0, expected.size() - 1), detached.size(), "run " + run + ": nombre de composantes détachées");
+            Set<BlockPos> seen = new HashSet<>();
+            for (Set<BlockPos> component : detached) {
+                assertTrue(expected.contains(component), "run " + run + ": composante détachée incomplète");
+                for (BlockPos pos : component) {
+                    assertTrue(seen.add(pos), "run " + run + ": noeud présent dans deux composantes");
+                }
+            }
+        }
+    }
+
+    @Test
+    void subgraphsOfComponentsMergeBackToOriginal() {
+        Random random = new Random(0x3E26EL);
+        for (int run = 0; run < RUNS; run++) {
+            PipeGraph graph = RandomPipeGraphs.randomGrid(random, 6, 0.5, 0.6);
+            List<Set<BlockPos>> components = graph.findConnectedComponents();
+
+            PipeGraph merged = new PipeGraph();
+            for (Set<BlockPos> component : components) {
+                PipeGraph sub = graph.subgraph(component);
+                assertEquals(component, sub.getAllNodes());
+                assertEquals(1, sub.findConnectedComponents().size(), "run " + run + ": sous-graphe non connexe");
+                merged.addAll(sub);
+            }
+
+            assertEquals(graph.getAllNodes(), merged.getAllNodes());
+            for (BlockPos pos : graph.getAllNodes()) {
+                assertEquals(graph.getNeighbors(pos), merged.getNeighbors(pos),
+                    "run " + run + ": arêtes perdues au merge");
+            }
+        }
+    }
+
+    @Test
+    void mergingDisjointGraphsPreservesRoutes() {
+        Random random = new Random(0x4E26EL);
+        for (int run = 0; run < RUNS; run++) {
+            PipeGraph a = RandomPipeGraphs.randomGrid(random, 5, 0.6, 0.8);
+            PipeGraph b = new PipeGraph();
+            // b est décalé pour être disjoint de a
+            PipeGraph source = RandomPipeGraphs.randomGrid(random, 5, 0.6, 0.8);
+            for (BlockPos pos : source.getAllNodes()) {
+                b.addNode(pos.offset(100, 0, 0));
+                for (BlockPos neighbor : source.getNeighbors(pos)) {
+                    b.addEdge(pos.offset(100, 0, 0), neighbor.offset(100, 0, 0));
+                }
+            }
+            if (a.size() < 2) continue;
+
+            BlockPos from = RandomPipeGraphs.randomNode(random, a);
+            BlockPos to = RandomPipeGraphs.randomNode(random, a);
+            List<BlockPos> before = a.bfsPath(from, to);
+
+            a.addAll(b);
+            List<BlockPos> after = a.bfsPath(from, to);
+
+            assertEquals(before == null, after == null, "run " + run + ": joignabilité modifiée par un merge disjoint");
+            if (before != null) {
+                assertEquals(before.size(), after.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * ============================================================
+ * [PipeRouteCachePropertyTest.java]
+ * Description: Cohérence du cache de routes après des modifications aléatoires du graphe
+ * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | PipeRouteCache      | Cache testé          | Invalidation des routes        |
+ * | PipeGraph           | Graphe support       | Modifications aléatoires       |
+ * | PipeRouting         | Référence            | Validité des chemins           |
+ * | RandomPipeGraphs    | Générateur           | Graphes aléatoires             |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - Gradle test (JUnit 5, unitTest NeoForge)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.network.pipe;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PipeRouteCachePropertyTest {
+
+    private static final int RUNS = 50;
+    private static final int EDITS = 40;
+    private static final int QUERIES = 20;
+
+    /**
+     * Applique la même politique d'invalidation que PipeNetwork : invalidateRoutesThrough
+     * au retrait d'un pipe, invalidateAll à l'ajout d'une arête. Chaque réponse du cache
+     * doit rester une route valide de longueur minimale.
+     */
+    @Test
+    void cachedRoutesStayValidAndShortestAfterRandomEdits() {
+        Random random = new Random(0xCAC4EL);
+        for (int run = 0; run < RUNS; run++) {
+            PipeGraph graph = RandomPipeGraphs.randomGrid(random, 7, 0.7, 0.7);
+            PipeRouteCache cache = new PipeRouteCache();
+
+            for (int edit = 0; edit < EDITS && graph.size() > 2; edit++) {
+                if (random.nextBoolean()) {
+                    BlockPos removed = RandomPipeGraphs.randomNode(random, graph);
+                    graph.removeNode(removed);
+                    cache.invalidateRoutesThrough(removed);
+                } else {
+                    BlockPos pos = RandomPipeGraphs.randomNode(random, graph);
+                    BlockPos neighbor = pos.relative(Direction.values()[random.nextInt(6)]);
+                    graph.addEdge(pos, neighbor);
+                    cache.invalidateAll();
+                }
+
+                for (int q = 0; q < QUERIES; q++) {
+                    BlockPos from = RandomPipeGraphs.randomNode(random, graph);
+                    BlockPos to = RandomPipeGraphs.randomNode(random, graph);
+                    List<BlockPos> cached = cache.getOrCompute(from, to, graph::bfsPath);
+                    List<BlockPos> fresh = graph.bfsPath(from, to);
+
+                    if (fresh == null) {
+                        assertNull(cached, "run " + run + ": route cachée vers une destination devenue injoignable");
+                        continue;
+                    }
+                    assertTrue(cached != null && PipeRouting.isValidPath(graph, cached),
+                        "run " + run + ": route cachée invalide après modification");
+                    assertEquals(fresh.size(), cached.size(), "run " + run + ": route cachée non minimale");
+                }
+            }
+        }
+    }
+
+    @Test
+    void missingRoutesAreNotCached() {
+        PipeGraph graph = new PipeGraph();
+        BlockPos a = new BlockPos(0, 0, 0);
+        BlockPos b = new BlockPos(5, 0, 0);
+        graph.addNode(a);
+        graph.addNode(b);
+        PipeRouteCache cache = new PipeRouteCache();
+
+        assertNull(cache.getOrCompute(a, b, graph::bfsPath));
+        assertEquals(0, cache.size());
+    }
+}
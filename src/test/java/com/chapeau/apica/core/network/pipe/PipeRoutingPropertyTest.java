@@ -0,0 +1,125 @@
+/**
+ * ============================================================
+ * [PipeRoutingPropertyTest.java]
+ * Description: Tests de propriétés du routage BFS (validité, optimalité, filtres, priorité)
+ * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | PipeRouting         | Routage testé        | Validité, priorité             |
+ * | PipeGraph           | Graphe support       | Topologie des scénarios        |
+ * | RandomPipeGraphs    | Générateur           | Grilles, distances BFS         |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - Gradle test (JUnit 5, unitTest NeoForge)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.network.pipe;
+
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PipeRoutingPropertyTest {
+
+    private static final int RUNS = 200;
+
+    @Test
+    void bfsPathIsValidAndShortest() {
+        Random random = new Random(0xA71CAL);
+        for (int run = 0; run < RUNS; run++) {
+            PipeGraph graph = RandomPipeGraphs.randomGrid(random, 6, 0.6, 0.8);
+            if (graph.size() < 2) continue;
+            BlockPos from = RandomPipeGraphs.randomNode(random, graph);
+            BlockPos to = RandomPipeGraphs.randomNode(random, graph);
+
+            List<BlockPos> path = graph.bfsPath(from, to);
+            Map<BlockPos, Integer> dist = RandomPipeGraphs.distancesFrom(graph, from);
+
+            if (!dist.containsKey(to)) {
+                assertNull(path, "run " + run + ": route vers une destination injoignable");
+                continue;
+            }
+            assertNotNull(path, "run " + run + ": aucune route vers une destination joignable");
+            assertEquals(from, path.get(0));
+            assertEquals(to, path.get(path.size() - 1));
+            assertTrue(PipeRouting.isValidPath(graph, path), "run " + run + ": route non contiguë");
+            assertEquals(dist.get(to) + 1, path.size(), "run " + run + ": route non minimale");
+        }
+    }
+
+    @Test
+    void filteredPathOnlyCrossesTraversableNodes() {
+        Random random = new Random(0xF17E5L);
+        for (int run = 0; run < RUNS; run++) {
+            PipeGraph graph = RandomPipeGraphs.randomGrid(random, 6, 0.7, 0.9);
+            if (graph.size() < 2) continue;
+            Set<BlockPos> blocked = new HashSet<>();
+            for (BlockPos pos : graph.getAllNodes()) {
+                if (random.nextDouble() < 0.2) blocked.add(pos);
+            }
+            BlockPos from = RandomPipeGraphs.randomNode(random, graph);
+            BlockPos to = RandomPipeGraphs.randomNode(random, graph);
+
+            List<BlockPos> path = graph.bfsPathFiltered(from, to, pos -> !blocked.contains(pos));
+
+            // Référence : BFS sur le sous-graphe sans les noeuds bloqués (la source reste autorisée)
+            Set<BlockPos> allowed = new HashSet<>(graph.getAllNodes());
+            allowed.removeAll(blocked);
+            allowed.add(from);
+            PipeGraph filtered = graph.subgraph(allowed);
+            Map<BlockPos, Integer> dist = RandomPipeGraphs.distancesFrom(filtered, from);
+
+            if (!from.equals(to) && !dist.containsKey(to)) {
+                assertNull(path, "run " + run + ": route à travers un filtre");
+                continue;
+            }
+            assertNotNull(path, "run " + run + ": route filtrée manquante");
+            for (int i = 1; i < path.size(); i++) {
+                assertTrue(!blocked.contains(path.get(i)), "run " + run + ": noeud filtré traversé");
+            }
+            assertTrue(PipeRouting.isValidPath(graph, path));
+            if (!from.equals(to)) {
+                assertEquals(dist.get(to) + 1, path.size(), "run " + run + ": route filtrée non minimale");
+            }
+        }
+    }
+
+    @Test
+    void topPriorityKeepsOnlyMaximumInOrder() {
+        Random random = new Random(0x9210L);
+        for (int run = 0; run < RUNS; run++) {
+            int count = 1 + random.nextInt(12);
+            List<int[]> candidates = new java.util.ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                candidates.add(new int[]{i, random.nextInt(4)});
+            }
+            int max = candidates.stream().mapToInt(c -> c[1]).max().orElseThrow();
+
+            List<int[]> top = PipeRouting.topPriority(candidates, c -> c[1]);
+
+            assertTrue(!top.isEmpty());
+            int lastIndex = -1;
+            for (int[] candidate : top) {
+                assertEquals(max, candidate[1]);
+                assertTrue(candidate[0] > lastIndex, "ordre d'origine non conservé");
+                lastIndex = candidate[0];
+            }
+            assertEquals(candidates.stream().filter(c -> c[1] == max).count(), top.size());
+        }
+    }
+}
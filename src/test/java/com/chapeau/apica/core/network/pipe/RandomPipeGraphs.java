@@ -0,0 +1,93 @@
+/**
+ * ============================================================
+ * [RandomPipeGraphs.java]
+ * Description: Générateurs de graphes de pipes aléatoires pour les tests de propriétés
+ * ============================================================
+ *
+ * DÉPENDANCES:
+ * ------------------------------------------------------------
+ * | Dépendance          | Raison                | Utilisation                    |
+ * |---------------------|----------------------|--------------------------------|
+ * | PipeGraph           | Graphe généré        | Grilles aléatoires             |
+ * | BlockPos            | Position monde       | Noeuds générés                 |
+ * | Direction           | Voisinage            | Arêtes de la grille            |
+ * ------------------------------------------------------------
+ *
+ * UTILISÉ PAR:
+ * - PipeRoutingPropertyTest.java (grilles, distances de référence)
+ * - PipeRouteCachePropertyTest.java (graphes à muter)
+ * - PipeGraphSplitMergeTest.java (graphes à découper)
+ *
+ * ============================================================
+ */
+package com.chapeau.apica.core.network.pipe;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Construit des graphes de pipes plausibles : positions sur une grille, arêtes uniquement
+ * entre voisins directs, comme dans le monde.
+ */
+final class RandomPipeGraphs {
+
+    private RandomPipeGraphs() {}
+
+    /**
+     * Graphe aléatoire : chaque case d'une boîte size³ est un pipe avec probabilité density,
+     * et chaque paire de pipes adjacents est reliée avec probabilité linkChance.
+     */
+    static PipeGraph randomGrid(Random random, int size, double density, double linkChance) {
+        PipeGraph graph = new PipeGraph();
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                for (int z = 0; z < size; z++) {
+                    if (random.nextDouble() < density) {
+                        graph.addNode(new BlockPos(x, y, z));
+                    }
+                }
+            }
+        }
+        for (BlockPos pos : new ArrayList<>(graph.getAllNodes())) {
+            for (Direction dir : new Direction[]{Direction.EAST, Direction.UP, Direction.SOUTH}) {
+                BlockPos neighbor = pos.relative(dir);
+                if (graph.contains(neighbor) && random.nextDouble() < linkChance) {
+                    graph.addEdge(pos, neighbor);
+                }
+            }
+        }
+        return graph;
+    }
+
+    static BlockPos randomNode(Random random, PipeGraph graph) {
+        List<BlockPos> nodes = new ArrayList<>(graph.getAllNodes());
+        return nodes.get(random.nextInt(nodes.size()));
+    }
+
+    /**
+     * Distances BFS de référence, calculées indépendamment de PipeRouting.
+     */
+    static Map<BlockPos, Integer> distancesFrom(PipeGraph graph, BlockPos source) {
+        Map<BlockPos, Integer> dist = new HashMap<>();
+        ArrayDeque<BlockPos> queue = new ArrayDeque<>();
+        dist.put(source, 0);
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            BlockPos current = queue.poll();
+            for (BlockPos neighbor : graph.getNeighbors(current)) {
+                if (!dist.containsKey(neighbor)) {
+                    dist.put(neighbor, dist.get(current) + 1);
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return dist;
+    }
+}